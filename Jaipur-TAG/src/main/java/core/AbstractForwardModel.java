@@ -6,7 +6,9 @@ import core.actions.DoNothing;
 import utilities.ActionTreeNode;
 import utilities.ElapsedCpuChessTimer;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
 import java.util.stream.IntStream;
@@ -75,6 +77,27 @@ public abstract class AbstractForwardModel {
     protected abstract List<AbstractAction> _computeAvailableActions(AbstractGameState gameState);
     protected List<AbstractAction> _computeAvailableActions(AbstractGameState gameState, ActionSpace actionSpace) { return _computeAvailableActions(gameState); }
 
+    /**
+     * Generates the available actions one at a time. Games with very large action spaces can override this so that
+     * an agent which only looks at the first few (see availableActionIterator()) does not pay for all of them.
+     * The default enumerates them all up front.
+     */
+    protected Iterator<AbstractAction> _availableActionIterator(AbstractGameState gameState, ActionSpace actionSpace) {
+        if (actionSpace != null && !actionSpace.isDefault())
+            return _computeAvailableActions(gameState, actionSpace).iterator();
+        return _computeAvailableActions(gameState).iterator();
+    }
+
+    /**
+     * Games where the actions computed from a player's observation (see AbstractGameState.copy(playerId)) can differ
+     * from those computed from the game state itself, because they depend on information that the observation
+     * redeterminises, override this to return true. In lean mode (see Game.setLeanMode()) players of these games are
+     * then still given a copy of the game state, so that they choose from the same actions as in the normal mode.
+     */
+    public boolean actionsDependOnObservation() {
+        return false;
+    }
+
     /**
      * Gets a copy of the FM with a new random number generator.
      *
@@ -121,8 +144,11 @@ public abstract class AbstractForwardModel {
      * @param gameState - game state to be modified.
      */
     public final void setup(AbstractGameState gameState) {
+        gameState.actionsBeingApplied++;
         gameState.reset();
         abstractSetup(gameState);
+        gameState.actionsBeingApplied--;
+        gameState.markModified();
     }
 
     /**
@@ -132,6 +158,8 @@ public abstract class AbstractForwardModel {
      * @param action       - action requested to be played by a player.
      */
     public final void next(AbstractGameState currentState, AbstractAction action) {
+        // the available actions are not cached while the state is part way through an action
+        currentState.actionsBeingApplied++;
         if (action != null) {
             int player = currentState.getCurrentPlayer();
             currentState.recordAction(action, player);
@@ -143,6 +171,8 @@ public abstract class AbstractForwardModel {
             illegalActionPlayed(currentState, action);
         }
         currentState.advanceGameTick();
+        currentState.actionsBeingApplied--;
+        currentState.markModified();
     }
 
     /**
@@ -156,6 +186,20 @@ public abstract class AbstractForwardModel {
     }
 
     public final List<AbstractAction> computeAvailableActions(AbstractGameState gameState, ActionSpace actionSpace) {
+        if (!gameState.coreGameParameters.cacheAvailableActions)
+            return generateAvailableActions(gameState, actionSpace);
+        // The cached actions are kept apart from those returned, as callers may change either the list or the actions
+        // (which copy() does not need to do for the many that are immutable)
+        List<AbstractAction> cached = gameState.getCachedActions(actionSpace);
+        if (cached == null) {
+            List<AbstractAction> retValue = generateAvailableActions(gameState, actionSpace);
+            gameState.cacheActions(actionSpace, copyActions(retValue));
+            return retValue;
+        }
+        return copyActions(cached);
+    }
+
+    private List<AbstractAction> generateAvailableActions(AbstractGameState gameState, ActionSpace actionSpace) {
         // If there is an action in progress (see IExtendedSequence), then delegate to that
         if (gameState.isActionInProgress()) {
             return gameState.actionsInProgress.peek()._computeAvailableActions(gameState, actionSpace);
@@ -166,6 +210,28 @@ public abstract class AbstractForwardModel {
         return _computeAvailableActions(gameState);
     }
 
+    private static List<AbstractAction> copyActions(List<AbstractAction> actions) {
+        List<AbstractAction> retValue = new ArrayList<>(actions.size());
+        for (AbstractAction action : actions)
+            retValue.add(action.copy());
+        return retValue;
+    }
+
+    /**
+     * Returns the same actions as computeAvailableActions(), but generated as they are needed. This is for agents
+     * that may only look at a few of the actions, such as MCTS with progressive widening.
+     * The iterator must be used up (or discarded) before the game state is changed.
+     *
+     * @param gameState - game state to compute the available actions for.
+     * @return - an iterator over the actions available.
+     */
+    public final Iterator<AbstractAction> availableActionIterator(AbstractGameState gameState, ActionSpace actionSpace) {
+        if (gameState.isActionInProgress()) {
+            return gameState.actionsInProgress.peek()._computeAvailableActions(gameState, actionSpace).iterator();
+        }
+        return _availableActionIterator(gameState, actionSpace);
+    }
+
     /**
      * Performs any end of game computations, as needed.
      * This should not normally need to be overriden - but can be. For example if a game is purely co-operative
@@ -1,6 +1,7 @@
 package core;
 
 import core.actions.AbstractAction;
+import core.actions.ActionSpace;
 import core.actions.LogEvent;
 import core.components.Area;
 import core.components.Component;
@@ -9,10 +10,12 @@ import core.interfaces.IComponentContainer;
 import core.interfaces.IExtendedSequence;
 import core.interfaces.IGameEvent;
 import core.interfaces.IGamePhase;
+import core.interfaces.IRedeterminisable;
 import evaluation.listeners.IGameListener;
 import evaluation.metrics.Event;
 import games.GameType;
 import utilities.ElapsedCpuChessTimer;
+import utilities.SplitMixRandom;
 
 import java.util.*;
 import java.util.function.BiFunction;
@@ -68,8 +71,30 @@ public abstract class AbstractGameState {
     // rnd is used for all random number generation in the game - for events within the game
     protected Random rnd;
     // redeterminisationRnd is used for redeterminisation only - this is to ensure that the main game is not affected
-    // this is not initialised from any seed, as redeterminisation is used to hide data from players and cannot affect the game itself
-    protected Random redeterminisationRnd = new Random();
+    // it is split from rnd on reset, and shared with copies, so that runs are reproducible without the redeterminisation
+    // of hidden data ever changing the game itself (a copy only has its own generator while in _copy())
+    protected Random redeterminisationRnd = new SplitMixRandom();
+    // Counts the changes made to this state, so that its available actions can be cached (see markModified())
+    private int modificationCount;
+    // Nesting depth of forward model calls changing this state, during which the available actions are not cached
+    int actionsBeingApplied;
+    private ActionCache actionCache;
+
+    /**
+     * The available actions for one modificationCount and ActionSpace. This is immutable, so that a cache shared
+     * by unchanged copies of a state can be read from several threads.
+     */
+    static final class ActionCache {
+        final int modificationCount;
+        final ActionSpace actionSpace;
+        final List<AbstractAction> actions;
+
+        ActionCache(int modificationCount, ActionSpace actionSpace, List<AbstractAction> actions) {
+            this.modificationCount = modificationCount;
+            this.actionSpace = actionSpace;
+            this.actions = actions;
+        }
+    }
 
     /**
      * @param gameParameters - game parameters.
@@ -101,7 +126,9 @@ public abstract class AbstractGameState {
         roundCounter = 0;
         firstPlayer = 0;
         actionsInProgress.clear();
-        rnd = new Random(gameParameters.randomSeed);
+        markModified();
+        rnd = new SplitMixRandom(gameParameters.randomSeed);
+        redeterminisationRnd = SplitMixRandom.split(rnd);
     }
 
     /**
@@ -186,22 +213,60 @@ public abstract class AbstractGameState {
     }
     public final void setGameStatus(CoreConstants.GameResult status) {
         this.gameStatus = status;
+        markModified();
     }
     public final void setPlayerResult(CoreConstants.GameResult result, int playerIdx) {
         this.playerResults[playerIdx] = result;
+        markModified();
     }
     public final void setGamePhase(IGamePhase gamePhase) {
         this.gamePhase = gamePhase;
+        markModified();
     }
     void setGameID(int id) {
         gameID = id;
     } // package level deliberately
     void advanceGameTick() {tick++;}
 
-    public void setTurnOwner(int newTurnOwner) {turnOwner = newTurnOwner;}
+    public void setTurnOwner(int newTurnOwner) {
+        turnOwner = newTurnOwner;
+        markModified();
+    }
     public void setFirstPlayer(int newFirstPlayer) {
         firstPlayer = newFirstPlayer;
         turnOwner = newFirstPlayer;
+        markModified();
+    }
+
+    /**
+     * Records that this state has changed, so that any available actions cached for it are recomputed.
+     * The forward model does this for every action, and so do the setters here. Components do not know which state
+     * they belong to, so code that changes them directly (outside of the forward model) must call this itself
+     * before the available actions are next asked for.
+     */
+    public final void markModified() {
+        modificationCount++;
+    }
+
+    public final int getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * @return - the actions cached for this state and action space, or null if they have not been, or the state has
+     * changed since. The list and its actions are shared, and must not be changed.
+     */
+    final List<AbstractAction> getCachedActions(ActionSpace actionSpace) {
+        ActionCache cache = actionCache;
+        if (cache == null || cache.modificationCount != modificationCount || actionsBeingApplied > 0
+                || !Objects.equals(cache.actionSpace, actionSpace))
+            return null;
+        return cache.actions;
+    }
+
+    final void cacheActions(ActionSpace actionSpace, List<AbstractAction> actions) {
+        if (actionsBeingApplied == 0)
+            actionCache = new ActionCache(modificationCount, actionSpace, actions);
     }
 
     /**
@@ -214,6 +279,16 @@ public abstract class AbstractGameState {
     public Random getRnd() {
         return rnd;
     }
+
+    /**
+     * Sets the generator used for random events in this state, and in copies of it made with copy().
+     * A Random must only be used by one thread at a time, so a search that simulates on several threads gives
+     * each of them their own.
+     */
+    public void setRnd(Random rnd) {
+        this.rnd = rnd;
+    }
+
     public void addListener(IGameListener listener) {
         if (!listeners.contains(listener))
             listeners.add(listener);
@@ -303,7 +378,12 @@ public abstract class AbstractGameState {
         // If we are copying from a player's perspective, then we branch the RNG so that the master copy
         // is not called an arbitrary number of times. This is to ensure that all shuffles in the main game are
         // the same if we start with the same seed
-        s.rnd = playerId == -1 ? rnd : new Random(System.currentTimeMillis());
+        s.rnd = playerId == -1 ? rnd : SplitMixRandom.split(rnd);
+        s.redeterminisationRnd = redeterminisationRnd;
+        // a full copy has the same actions available; a player's view may not, as hidden information is shuffled
+        s.modificationCount = modificationCount;
+        if (playerId == -1)
+            s.actionCache = actionCache;
 
         if (!coreGameParameters.competitionMode) {
             s.history = new ArrayList<>(history);
@@ -331,6 +411,63 @@ public abstract class AbstractGameState {
         return s;
     }
 
+    /**
+     * Equivalent to copy(playerId), but if this state implements IRedeterminisable, the copy is written into the
+     * given scratch state (a previous result of copy() or copyInto() of this state or its ancestors), reusing its
+     * containers, and hidden information is re-sampled with the given random number generator.
+     *
+     * @param target   - scratch state to overwrite. If null, or not compatible, a new copy is returned instead.
+     * @param playerId - player observing the state, or -1 for a full copy.
+     * @param rnd      - random number generator used to redeterminise hidden information.
+     * @return - the copy; target itself if it could be reused.
+     */
+    public final AbstractGameState copyInto(AbstractGameState target, int playerId, Random rnd) {
+        if (!(this instanceof IRedeterminisable) || target == null || target == this ||
+                target.getClass() != getClass() || target.nPlayers != nPlayers)
+            return copy(playerId);
+
+        ((IRedeterminisable) target).resetFrom(this);
+        // Copy super class things, as in copy(playerId)
+        target.gameStatus = gameStatus;
+        System.arraycopy(playerResults, 0, target.playerResults, 0, playerResults.length);
+        target.gamePhase = gamePhase;
+        target.coreGameParameters = coreGameParameters;
+        target.tick = tick;
+        target.roundCounter = roundCounter;
+        target.turnCounter = turnCounter;
+        target.turnOwner = turnOwner;
+        target.firstPlayer = firstPlayer;
+        // For player views the target keeps its own branched RNG, as created by copy(playerId)
+        if (playerId == -1) target.rnd = this.rnd;
+        else if (target.rnd == this.rnd) target.rnd = SplitMixRandom.split(this.rnd);
+        target.redeterminisationRnd = redeterminisationRnd;
+        target.modificationCount = modificationCount;
+        target.actionCache = playerId == -1 ? actionCache : null;
+
+        target.history.clear();
+        target.historyText.clear();
+        if (!coreGameParameters.competitionMode) {
+            target.history.addAll(history);
+            target.historyText.addAll(historyText);
+        }
+
+        target.actionsInProgress.clear();
+        actionsInProgress.forEach(
+                a -> target.actionsInProgress.push(a.copy())
+        );
+
+        for (int i = 0; i < getNPlayers(); i++) {
+            target.playerTimer[i] = playerTimer[i].copy();
+        }
+
+        if (playerId != -1)
+            ((IRedeterminisable) target).redeterminise(playerId, rnd);
+
+        // Update the list of components for ID matching in actions.
+        target.addAllComponents();
+        return target;
+    }
+
     /**
      * Used by ForwardModel.next() to log history (very useful for debugging)
      *
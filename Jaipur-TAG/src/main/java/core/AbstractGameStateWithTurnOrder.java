@@ -1,5 +1,6 @@
 package core;
 
+import core.rules.RuleCursor;
 import core.turnorders.TurnOrder;
 import evaluation.listeners.IGameListener;
 
@@ -17,6 +18,8 @@ import evaluation.listeners.IGameListener;
 public abstract class AbstractGameStateWithTurnOrder extends AbstractGameState {
 
     protected TurnOrder turnOrder;
+    // Position in the rule graph, for games using an AbstractRuleBasedForwardModel
+    protected RuleCursor ruleCursor;
 
     /**
      * Constructor. Initialises some generic game state variables.
@@ -61,6 +64,12 @@ public abstract class AbstractGameStateWithTurnOrder extends AbstractGameState {
     public final void setTurnOrder(TurnOrder turnOrder) {
         this.turnOrder = turnOrder;
     }
+    public final RuleCursor getRuleCursor() {
+        return ruleCursor;
+    }
+    public final void setRuleCursor(RuleCursor ruleCursor) {
+        this.ruleCursor = ruleCursor;
+    }
 
 
     public void addListener(IGameListener listener) {
@@ -80,6 +89,7 @@ public abstract class AbstractGameStateWithTurnOrder extends AbstractGameState {
     protected  AbstractGameStateWithTurnOrder _copy(int playerId) {
         AbstractGameStateWithTurnOrder retValue = __copy(playerId);
         retValue.turnOrder = turnOrder.copy();
+        if (ruleCursor != null) retValue.ruleCursor = ruleCursor.copy();
         return retValue;
     }
 
@@ -95,6 +105,7 @@ public abstract class AbstractGameStateWithTurnOrder extends AbstractGameState {
     public int hashCode() {
         int result = super.hashCode();
         result = 31 * result + turnOrder.hashCode();
+        if (ruleCursor != null) result = 31 * result + ruleCursor.hashCode();
         return result;
     }
 }
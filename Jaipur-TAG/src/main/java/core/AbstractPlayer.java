@@ -4,6 +4,7 @@ import core.actions.AbstractAction;
 import core.interfaces.IPlayerDecorator;
 import evaluation.metrics.Event;
 import players.PlayerParameters;
+import utilities.SplitMixRandom;
 
 import java.util.*;
 
@@ -12,7 +13,7 @@ public abstract class AbstractPlayer {
     // ID of this player, assigned by the game
     int playerID;
     String name;
-    protected Random rnd = new Random(System.currentTimeMillis());
+    protected Random rnd;
     // Forward model for the game
     private AbstractForwardModel forwardModel;
     public PlayerParameters parameters;
@@ -21,6 +22,7 @@ public abstract class AbstractPlayer {
     public AbstractPlayer(PlayerParameters params, String name) {
         this.parameters = params != null ? params : new PlayerParameters();
         this.name = name;
+        rnd = new SplitMixRandom(parameters.getRandomSeed());
         // We may have one Decorator defined in the Parameters
         // others can then be added by calling addDecorator()
         decorators = new ArrayList<>();
@@ -181,4 +183,11 @@ public abstract class AbstractPlayer {
     public Random getRnd() {
         return rnd;
     }
+
+    /**
+     * Replaces the random number generator of this player, for example to restore it from a checkpoint.
+     */
+    public void setRnd(Random rnd) {
+        this.rnd = rnd;
+    }
 }
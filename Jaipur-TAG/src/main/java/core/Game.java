@@ -4,6 +4,7 @@ import core.actions.AbstractAction;
 import core.actions.DoNothing;
 import core.interfaces.IExtendedSequence;
 import core.interfaces.IPrintable;
+import core.interfaces.ITrustedPlayer;
 import core.turnorders.ReactiveTurnOrder;
 import evaluation.listeners.IGameListener;
 import evaluation.metrics.Event;
@@ -64,6 +65,8 @@ public class Game {
     String codecName = null;
     int snapsPerSecond = 10;
     private int turnPause;
+    // Lean mode skips work that nobody uses when generating data in bulk (see setLeanMode())
+    private boolean lean = false;
 
     /**
      * Game constructor. Receives a list of players, a forward model and a game state. Sets unique and final
@@ -324,6 +327,32 @@ public class Game {
         this.turnPause = turnPause;
     }
 
+    /**
+     * Lean mode is for bulk simulation, and gives the same games as the normal mode while skipping work that
+     * nobody uses:
+     * - players that implement ITrustedPlayer (and have no decorators) are given the real game state instead of a copy,
+     * unless the actions of the game depend on the observation (see AbstractForwardModel.actionsDependOnObservation())
+     * - when there are no listeners (which is where metrics come from), the timers, action space sizes and
+     * actions per turn are not recorded, so their getters return zero (or an empty list)
+     */
+    public void setLeanMode(boolean lean) {
+        this.lean = lean;
+    }
+
+    public boolean isLeanMode() {
+        return lean;
+    }
+
+    /**
+     * @return - the observation to give to the player: a copy of the game state from their perspective, or
+     * the game state itself for a trusted player in lean mode, if that gives them the same actions.
+     */
+    private AbstractGameState observationFor(AbstractPlayer player, int playerId) {
+        if (lean && player instanceof ITrustedPlayer && player.decorators.isEmpty() && !forwardModel.actionsDependOnObservation())
+            return gameState;
+        return gameState.copy(playerId);
+    }
+
     /**
      * Performs GUI update.
      *
@@ -377,7 +406,7 @@ public class Game {
                 // Create a FM copy for this player (different random seed)
                 player.setForwardModel(this.forwardModel.copy());
                 // Create initial state observation
-                AbstractGameState observation = gameState.copy(player.playerID);
+                AbstractGameState observation = observationFor(player, player.playerID);
                 // Allow player to initialize
 
                 player.initializePlayer(observation);
@@ -451,7 +480,7 @@ public class Game {
                         && ((ReactiveTurnOrder) ((AbstractGameStateWithTurnOrder) gameState).getTurnOrder()).getReactivePlayers().size() > 0);
 
                 // Check if this is the same player as last, count number of actions per turn
-                if (!reacting) {
+                if (!reacting && (!lean || !listeners.isEmpty())) {
                     if (currentPlayer != null && activePlayer == lastPlayer) {
                         nActionsPerTurn++;
                     } else {
@@ -510,17 +539,21 @@ public class Game {
             throw new AssertionError("Player " + activePlayer + " is not allowed to move");
         AbstractPlayer currentPlayer = players.get(activePlayer);
         if (debug) System.out.printf("Starting oneAction for player %s%n", activePlayer);
+        boolean recordStats = !lean || !listeners.isEmpty();
 
         // Get player observation, and time how long it takes
-        double s = System.nanoTime();
+        double s = recordStats ? System.nanoTime() : 0;
         // copying the gamestate also copies the game parameters and resets the random seed (so agents cannot use this
         // to reconstruct the starting hands etc.)
-        AbstractGameState observation = gameState.copy(activePlayer);
-        copyTime = (System.nanoTime() - s);
+        AbstractGameState observation = observationFor(currentPlayer, activePlayer);
+        if (recordStats) copyTime = (System.nanoTime() - s);
+        // The timeout is checked against the time used before this decision (as copied into the observation)
+        boolean timedOut = gameState.playerTimer[activePlayer].exceededMaxTime();
+        Random gameRnd = gameState.rnd;
         //      System.out.printf("Total copyTime in ms = %.2f at tick %d (Avg %.3f) %n", copyTime / 1e6, tick, copyTime / (tick +1.0) / 1e6);
 
         // Get actions for the player
-        s = System.nanoTime();
+        if (recordStats) s = System.nanoTime();
         List<AbstractAction> observedActions = forwardModel.computeAvailableActions(observation, currentPlayer.getParameters().actionSpace);
         if (observedActions.size() == 0) {
             Stack<IExtendedSequence> actionsInProgress = gameState.getActionsInProgress();
@@ -538,8 +571,10 @@ public class Game {
                     + (topOfStack != null ? ". Top of stack: " + topOfStack.getClass().getSimpleName() + " (" + topOfStack + ")" : ""));
 
         }
-        actionComputeTime = (System.nanoTime() - s);
-        actionSpaceSize.add(new Pair<>(activePlayer, observedActions.size()));
+        if (recordStats) {
+            actionComputeTime = (System.nanoTime() - s);
+            actionSpaceSize.add(new Pair<>(activePlayer, observedActions.size()));
+        }
 
         if (gameState.coreGameParameters.verbose) {
             System.out.println("Round: " + gameState.getRoundCounter());
@@ -561,14 +596,16 @@ public class Game {
                 currentPlayer.registerUpdatedObservation(observation);
             } else {
                 // Get action from player, and time it
-                s = System.nanoTime();
+                if (recordStats) s = System.nanoTime();
                 if (debug)
                     System.out.printf("About to get action for player %d%n", gameState.getCurrentPlayer());
                 action = currentPlayer.getAction(observation, observedActions);
+                // getAction() gives the observation the player's generator, which must not stay in the real state
+                if (observation == gameState) gameState.rnd = gameRnd;
                 if (debug)
                     System.out.printf("Game: %2d Tick: %3d\t%s%n", gameState.getGameID(), getTick(), action.getString(gameState));
 
-                agentTime += (System.nanoTime() - s);
+                if (recordStats) agentTime += (System.nanoTime() - s);
                 nDecisions++;
             }
             if (gameState.coreGameParameters.competitionMode && action != null && !observedActions.contains(action)) {
@@ -594,13 +631,13 @@ public class Game {
             throw new AssertionError("We have a NULL action in the Game loop");
 
         // Check player timeout
-        if (observation.playerTimer[activePlayer].exceededMaxTime()) {
+        if (timedOut) {
             action = forwardModel.disqualifyOrRandomAction(gameState.coreGameParameters.disqualifyPlayerOnTimeout, gameState);
         } else {
             // Resolve action and game rules, time it
-            s = System.nanoTime();
+            if (recordStats) s = System.nanoTime();
             forwardModel.next(gameState, action);
-            nextTime = (System.nanoTime() - s);
+            if (recordStats) nextTime = (System.nanoTime() - s);
         }
 
         lastPlayer = activePlayer;
@@ -638,7 +675,7 @@ public class Game {
 
         // Allow players to terminate
         for (AbstractPlayer player : players) {
-            player.finalizePlayer(gameState.copy(player.getPlayerID()));
+            player.finalizePlayer(observationFor(player, player.getPlayerID()));
         }
 
         //System.out.println(new CustomJaipurObjective().evaluateGame(this));
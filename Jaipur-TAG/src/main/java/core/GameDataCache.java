@@ -0,0 +1,91 @@
+package core;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Process-wide cache of game data parsed from JSON files (boards, decks, cards...), so that games set up many times
+ * (e.g. in tournaments) read and parse their data files only once.
+ *
+ * Each entry is keyed by the kind of data and the path it was loaded from, and remembers the size and modification
+ * time of the file (or of all files in the directory) at loading time; it is reloaded if any of these change.
+ *
+ * The cached objects are prototypes shared by all games and threads: callers must copy them (or only read them),
+ * never modify them. Safe to use from several threads at once.
+ */
+public class GameDataCache {
+
+    private static final Map<String, Entry> cache = new ConcurrentHashMap<>();
+
+    private static class Entry {
+        final long stamp;
+        final Object data;
+
+        Entry(long stamp, Object data) {
+            this.stamp = stamp;
+            this.data = data;
+        }
+    }
+
+    /**
+     * Returns the data loaded from the given path, using the cached copy if the file(s) have not changed since.
+     *
+     * @param kind   - type of data, distinguishes different loaders applied to the same path.
+     * @param path   - file or directory to load from.
+     * @param loader - parses the data from the path, called only if no valid cached copy exists.
+     * @return - the shared prototype data. Do not modify.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T get(String kind, String path, Function<String, T> loader) {
+        File file = new File(path);
+        String key = kind + "|" + file.getAbsolutePath();
+        long stamp = stamp(file);
+        Entry entry = cache.get(key);
+        if (entry == null || entry.stamp != stamp) {
+            entry = cache.compute(key, (k, e) -> e != null && e.stamp == stamp ? e : new Entry(stamp, loader.apply(path)));
+        }
+        return (T) entry.data;
+    }
+
+    /**
+     * Loads the AbstractGameData in the given directory (see AbstractGameData.load()).
+     * Components returned by its find methods are already copies.
+     */
+    public static AbstractGameData getGameData(String dataPath) {
+        return get(AbstractGameData.class.getName(), dataPath, p -> {
+            AbstractGameData data = new AbstractGameData();
+            data.load(p);
+            return data;
+        });
+    }
+
+    /**
+     * Removes all cached data.
+     */
+    public static void clear() {
+        cache.clear();
+    }
+
+    /**
+     * @return - a value that changes whenever the file, or any file directly in the directory, is modified
+     * (0 if it does not exist).
+     */
+    private static long stamp(File file) {
+        if (file.isDirectory()) {
+            File[] files = file.listFiles();
+            if (files == null) return 0;
+            Arrays.sort(files);
+            long stamp = 17;
+            for (File f : files) {
+                stamp = 31 * stamp + f.getName().hashCode();
+                stamp = 31 * stamp + f.lastModified();
+                stamp = 31 * stamp + f.length();
+            }
+            return stamp;
+        }
+        return file.exists() ? 31 * file.lastModified() + file.length() : 0;
+    }
+}
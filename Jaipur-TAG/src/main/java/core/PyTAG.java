@@ -177,6 +177,15 @@ public class PyTAG {
         else throw new Exception("Observation vectoriser function is not implemented");
     }
 
+    // Writes the observations into the given array (of getObservationSpace() length), so that it can be reused
+    public void getObservationVector(double[] buffer) throws Exception {
+        AbstractGameState gs = gameState.copy(gameState.getCurrentPlayer());
+        if (stateVectoriser != null){
+            stateVectoriser.featureVector(gs, gs.getCurrentPlayer(), buffer, 0);
+        }
+        else throw new Exception("Observation vectoriser function is not implemented");
+    }
+
     // Gets the action space size as an integer
     public int getActionSpace(){
         return leaves.size();
@@ -307,7 +307,7 @@ public class Deck<T extends Component> extends Component implements IComponentCo
      * Shuffles the deck with a specific random object.
      */
     public void shuffle(Random rnd) {
-        Collections.shuffle(components, rnd);
+        shuffle(0, components.size(), rnd);
     }
 
     /**
@@ -318,12 +318,10 @@ public class Deck<T extends Component> extends Component implements IComponentCo
      * @param rnd       - random number generator used for shuffling
      */
     public void shuffle(int fromIndex, int toIndex, Random rnd) {
-        List<T> subList = components.subList(fromIndex, toIndex);
-        Collections.shuffle(subList, rnd);
-        int i = 0;
-        for (T component : subList) {
-            components.set(fromIndex + i, component);
-            i++;
+        // Same permutation as Collections.shuffle() of the sub list would give, but swapping in place
+        for (int i = toIndex - fromIndex; i > 1; i--) {
+            int j = fromIndex + rnd.nextInt(i);
+            components.set(fromIndex + i - 1, components.set(j, components.get(fromIndex + i - 1)));
         }
     }
 
@@ -424,6 +422,22 @@ public class Deck<T extends Component> extends Component implements IComponentCo
     }
 
 
+    /**
+     * Replaces the contents of this deck with copies of the components in the given deck (a deck this one was
+     * copied from, or a copy of it), reusing the component list of this deck.
+     *
+     * @param other - deck to copy the components of.
+     */
+    @SuppressWarnings("unchecked")
+    public void copyComponentsFrom(Deck<T> other) {
+        // Not clear(), which would reset the owner of components that may be shared with the other deck
+        components.clear();
+        for (T c : other.components) {
+            components.add((T) c.copy());
+        }
+        capacity = other.capacity;
+    }
+
     protected void copyTo(Deck<T> deck, int playerId) {
         List<T> newComponents = new ArrayList<>();
         for (T c : components) {
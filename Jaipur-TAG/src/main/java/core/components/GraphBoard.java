@@ -12,6 +12,7 @@ import utilities.Hash;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static core.CoreConstants.imgHash;
 import static core.CoreConstants.nameHash;
@@ -20,6 +21,8 @@ public class GraphBoard extends Component implements IComponentContainer<BoardNo
 
     // List of nodes in the board graph, mapping component ID to object reference
     protected Map<Integer, BoardNode> boardNodes;
+    // Secondary indexes (property key -> property value -> node ID), shared with copies as node IDs are kept on copy
+    protected NodeIndex nodeIndex = new NodeIndex();
 
     public GraphBoard(String name)
     {
@@ -74,16 +77,30 @@ public class GraphBoard extends Component implements IComponentContainer<BoardNo
         b.setBoardNodes(new ArrayList<>(nodeCopies.values()));
         // Copy properties
         copyComponentTo(b);
+        // The graph structure is the same, so the copy can reuse (and extend) our indexes
+        b.nodeIndex = nodeIndex;
         return b;
     }
 
     /**
-     * Returns the node in the list which matches the given property
+     * Returns the node in the list which matches the given property. An index for the property is built on first
+     * request; hits are checked against the node's current property value, and misses fall back to a full scan,
+     * so properties whose values change during the game are still resolved correctly.
      * @param prop_id - ID of the property to look for.
      * @param p - Property that has the value to look for.
      * @return - node matching property.
      */
     public BoardNode getNodeByProperty(int prop_id, Property p) {
+        if (p == null) return null;
+        Integer id = nodeIndex.getIndex(prop_id, boardNodes).get(NodeIndex.valueKey(p));
+        if (id != null) {
+            BoardNode n = boardNodes.get(id);
+            if (n != null) {
+                Property prop = n.getProperty(prop_id);
+                if (prop != null && prop.equals(p))
+                    return n;
+            }
+        }
         for (BoardNode n : boardNodes.values()) {
             Property prop = n.getProperty(prop_id);
             if(prop != null)
@@ -127,23 +144,28 @@ public class GraphBoard extends Component implements IComponentContainer<BoardNo
      * @param boardNodes - new list of board nodes.
      */
     public void setBoardNodes(List<BoardNode> boardNodes) {
+        invalidateIndexes();
         for (BoardNode bn: boardNodes) {
             this.boardNodes.put(bn.componentID, bn);
         }
     }
     public void setBoardNodes(Map<Integer, BoardNode> boardNodes) {
+        invalidateIndexes();
         this.boardNodes = boardNodes;
     }
 
     public void addBoardNode(BoardNode bn) {
+        invalidateIndexes();
         this.boardNodes.put(bn.getComponentID(), bn);
     }
 
     public void removeBoardNode(BoardNode bn) {
+        invalidateIndexes();
         this.boardNodes.remove(bn.getComponentID());
     }
 
     public void breakConnection(BoardNode bn1, BoardNode bn2) {
+        invalidateIndexes();
         bn1.removeNeighbour(bn2);
         bn2.removeNeighbour(bn1);
 
@@ -170,6 +192,7 @@ public class GraphBoard extends Component implements IComponentContainer<BoardNo
     public void addConnection(BoardNode bn1, BoardNode bn2) {
         bn1.addNeighbour(bn2);
         bn2.addNeighbour(bn1);
+        invalidateIndexes();
         if (!boardNodes.containsKey(bn1.componentID)) {
             boardNodes.put(bn1.componentID, bn1);
         }
@@ -181,6 +204,7 @@ public class GraphBoard extends Component implements IComponentContainer<BoardNo
     public void addConnection(BoardNode bn1, BoardNode bn2, int edgeValue) {
         bn1.addNeighbour(bn2, edgeValue);
         bn2.addNeighbour(bn1, edgeValue);
+        invalidateIndexes();
         if (!boardNodes.containsKey(bn1.componentID)) {
             boardNodes.put(bn1.componentID, bn1);
         }
@@ -201,6 +225,14 @@ public class GraphBoard extends Component implements IComponentContainer<BoardNo
         addConnection(bn1, bn2, edgeValue);
     }
 
+    /**
+     * Drops all property indexes of this board. A fresh index object is used so that copies sharing the old one
+     * are not affected by changes to this board's structure.
+     */
+    protected void invalidateIndexes() {
+        nodeIndex = new NodeIndex();
+    }
+
     /**
      * Loads all boards from a JSON file.
      * @param filename - path to file.
@@ -254,6 +286,7 @@ public class GraphBoard extends Component implements IComponentContainer<BoardNo
             newBN.setMaxNeighbours(maxNeighbours);
             boardNodes.put(newBN.componentID, newBN);
         }
+        invalidateIndexes();
 
         int _hash_neighbours_ = Hash.GetInstance().hash(neighboursKey);
         int _hash_vertices_ = Hash.GetInstance().hash(verticesKey);
@@ -300,4 +333,33 @@ public class GraphBoard extends Component implements IComponentContainer<BoardNo
     public CoreConstants.VisibilityMode getVisibilityMode() {
         return CoreConstants.VisibilityMode.VISIBLE_TO_ALL;
     }
+
+    /**
+     * Lazily built, thread-safe lookup tables from property values to node IDs, one per property key.
+     * Copies of a board share the same object, as they have the same node IDs.
+     */
+    protected static class NodeIndex {
+        private final Map<Integer, Map<Object, Integer>> indexes = new ConcurrentHashMap<>();
+
+        Map<Object, Integer> getIndex(int prop_id, Map<Integer, BoardNode> boardNodes) {
+            return indexes.computeIfAbsent(prop_id, k -> {
+                Map<Object, Integer> index = new HashMap<>();
+                for (BoardNode n : boardNodes.values()) {
+                    Property prop = n.getProperty(prop_id);
+                    if (prop != null) index.putIfAbsent(valueKey(prop), n.getComponentID());
+                }
+                return index;
+            });
+        }
+
+        /**
+         * Property.hashCode() is the hash of the property name, so it can't be used to tell values apart.
+         * @param p - property to compute the key for
+         * @return - key identifying the value of the property
+         */
+        static Object valueKey(Property p) {
+            if (p instanceof PropertyString) return ((PropertyString) p).value;
+            return p.getClass().getSimpleName() + ":" + p;
+        }
+    }
 }
@@ -2,11 +2,9 @@ package core.components;
 
 import core.AbstractGameState;
 import core.CoreConstants.VisibilityMode;
-import utilities.Pair;
-
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Random;
 
 public class PartialObservableDeck<T extends Component> extends Deck<T> {
@@ -15,15 +13,32 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
     // (true if player can see the deck, false otherwise)
     protected boolean[] deckVisibility;
 
-    // Visibility of each component in the deck, order corresponds to order of elements in the deck;
-    protected List<boolean[]> elementVisibility = new ArrayList<>();
+    // Visibility of each component in the deck, order corresponds to order of elements in the deck (only the first
+    // components.size() entries are used). Each entry is a bitmask over player IDs: bit p is set if player p can
+    // see the component.
+    protected long[] elementVisibility = new long[8];
+    // Scratch space for shuffleVisible(), which is called on every redeterminisation; not part of the state
+    private int[] shufflePositions;
 
     public boolean getVisibilityForPlayer(int elementIdx, int playerID) {
-        return elementVisibility.get(elementIdx)[playerID];
+        return (elementVisibility[elementIdx] & (1L << playerID)) != 0;
     }
 
+    /**
+     * @return - a new array with the visibility of the component for each player. Changing it does not change the
+     * visibility of the component, use setVisibilityOfComponent() for that.
+     */
     public boolean[] getVisibilityOfComponent(int elementIdx) {
-        return elementVisibility.get(elementIdx);
+        checkIndex(elementIdx);
+        return toArray(elementVisibility[elementIdx]);
+    }
+
+    /**
+     * @return - visibility of the component as a bitmask over player IDs (bit p set if player p can see it).
+     */
+    public long getVisibilityMask(int elementIdx) {
+        checkIndex(elementIdx);
+        return elementVisibility[elementIdx];
     }
 
     public PartialObservableDeck(String id, boolean[] defaultVisibility) {
@@ -32,7 +47,7 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
 
     public PartialObservableDeck(String id, int ownerID, boolean[] defaultVisibility) {
         super(id, ownerID, VisibilityMode.MIXED_VISIBILITY);
-        this.deckVisibility = defaultVisibility;
+        setDeckVisibility(defaultVisibility);
     }
 
     public PartialObservableDeck(String id, int nPlayers) {
@@ -49,9 +64,80 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
 
     private PartialObservableDeck(String name, int ownerID, boolean[] defaultVisibility, int ID) {
         super(name, ownerID, ID, VisibilityMode.MIXED_VISIBILITY);
+        setDeckVisibility(defaultVisibility);
+    }
+
+    private void setDeckVisibility(boolean[] defaultVisibility) {
+        if (defaultVisibility != null && defaultVisibility.length > Long.SIZE)
+            throw new IllegalArgumentException("PartialObservableDeck supports at most " + Long.SIZE + " players");
         this.deckVisibility = defaultVisibility;
     }
 
+    /**
+     * @return - the bitmask with one bit set for each player that can see this deck.
+     */
+    private long deckMask() {
+        return toMask(deckVisibility);
+    }
+
+    /**
+     * @return - the bitmask with one bit set for each player.
+     */
+    private long allPlayersMask() {
+        int nPlayers = deckVisibility == null ? 0 : deckVisibility.length;
+        return nPlayers == Long.SIZE ? -1L : (1L << nPlayers) - 1;
+    }
+
+    private static long toMask(boolean[] visibility) {
+        long mask = 0;
+        if (visibility != null) {
+            for (int p = 0; p < visibility.length; p++) {
+                if (visibility[p]) mask |= 1L << p;
+            }
+        }
+        return mask;
+    }
+
+    private boolean[] toArray(long mask) {
+        boolean[] visibility = new boolean[deckVisibility == null ? 0 : deckVisibility.length];
+        for (int p = 0; p < visibility.length; p++) {
+            visibility[p] = (mask & (1L << p)) != 0;
+        }
+        return visibility;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= components.size())
+            throw new IllegalArgumentException("component index " + index + " needs to be in range [0," + (components.size() - 1) + "]");
+    }
+
+    private void checkPlayer(int playerID) {
+        if (playerID < 0 || playerID >= deckVisibility.length)
+            throw new IllegalArgumentException("playerID " + playerID + " needs to be in range [0," + (deckVisibility.length - 1) + "]");
+    }
+
+    /**
+     * Inserts visibility entries for components already added to the components list.
+     *
+     * @param index - position of the first new component.
+     * @param count - number of components added.
+     * @param mask  - visibility of the new components.
+     */
+    private void insertVisibility(int index, int count, long mask) {
+        int size = components.size();  // includes the new components
+        if (size > elementVisibility.length)
+            elementVisibility = Arrays.copyOf(elementVisibility, Math.max(size, elementVisibility.length * 2));
+        System.arraycopy(elementVisibility, index, elementVisibility, index + count, size - count - index);
+        Arrays.fill(elementVisibility, index, index + count, mask);
+    }
+
+    /**
+     * Removes the visibility entry of a component already removed from the components list.
+     */
+    private void removeVisibility(int index) {
+        System.arraycopy(elementVisibility, index + 1, elementVisibility, index, components.size() - index);
+    }
+
     /**
      * Retrieves the components in this deck visible by the given player.
      *
@@ -61,16 +147,12 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
      * @return - ArrayList of components observed by the player.
      */
     public ArrayList<T> getVisibleComponents(int playerID) {
-        if (playerID < 0 || playerID >= deckVisibility.length)
-            throw new IllegalArgumentException("playerID " + playerID + " needs to be in range [0," + (deckVisibility.length - 1) + "]");
+        checkPlayer(playerID);
 
+        long bit = 1L << playerID;
         ArrayList<T> visibleComponents = new ArrayList<>(components.size());
         for (int i = 0; i < components.size(); i++) {
-            boolean[] b = elementVisibility.get(i);
-            if (b[playerID])
-                visibleComponents.add(i, components.get(i));
-            else
-                visibleComponents.add(i, null);
+            visibleComponents.add((elementVisibility[i] & bit) != 0 ? components.get(i) : null);
         }
         return visibleComponents;
     }
@@ -83,9 +165,8 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
      * @return - true if visible, false otherwise.
      */
     public boolean isComponentVisible(int idx, int playerID) {
-        if (playerID < 0 || playerID >= deckVisibility.length)
-            throw new IllegalArgumentException("playerID " + playerID + " needs to be in range [0," + (deckVisibility.length - 1) + "]");
-        return elementVisibility.get(idx)[playerID];
+        checkPlayer(playerID);
+        return getVisibilityForPlayer(idx, playerID);
     }
 
     /**
@@ -98,7 +179,7 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
      */
     public void setComponents(ArrayList<T> components, ArrayList<boolean[]> visibilityPerPlayer) {
         super.setComponents(components);
-        this.elementVisibility = visibilityPerPlayer;
+        setVisibility(visibilityPerPlayer);
     }
 
     /**
@@ -111,7 +192,11 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
             if (b.length != this.deckVisibility.length)
                 throw new IllegalArgumentException("All entries of visibility need to have length " + deckVisibility.length +
                         " but at least one entry is of length " + b.length);
-        this.elementVisibility = visibility;
+        if (Math.max(visibility.size(), components.size()) > elementVisibility.length)
+            elementVisibility = new long[Math.max(visibility.size(), components.size())];
+        for (int i = 0; i < visibility.size(); i++) {
+            elementVisibility[i] = toMask(visibility.get(i));
+        }
     }
 
     /**
@@ -122,14 +207,12 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
      * @param visibility - true if player can see this component, false otherwise.
      */
     public void setVisibilityOfComponent(int index, int playerID, boolean visibility) {
-        if (index >= 0 && index < elementVisibility.size()) {
-            if (playerID >= 0 && playerID < deckVisibility.length)
-                this.elementVisibility.get(index)[playerID] = visibility;
-            else
-                throw new IllegalArgumentException("playerID " + playerID + "needs to be in range [0," + (deckVisibility.length-1) + "]");
-        } else {
-            throw new IllegalArgumentException("component index " + index + " needs to be in range [0," + (components.size()-1) + "]");
-        }
+        checkIndex(index);
+        checkPlayer(playerID);
+        if (visibility)
+            elementVisibility[index] |= 1L << playerID;
+        else
+            elementVisibility[index] &= ~(1L << playerID);
     }
 
     /**
@@ -139,10 +222,45 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
      * @param visibility - true if player can see this component, false otherwise.
      */
     public void setVisibilityOfComponent(int index, boolean[] visibility) {
-        if (index >= 0 && index < elementVisibility.size()) {
-            this.elementVisibility.set(index, visibility.clone());
-        } else {
-            throw new IllegalArgumentException("component index " + index + " needs to be in range [0," + components.size() + "]");
+        checkIndex(index);
+        elementVisibility[index] = toMask(visibility);
+    }
+
+    /**
+     * Updates the visibility of one component for all players.
+     *
+     * @param index - index of component to update visibility for.
+     * @param mask  - bitmask over player IDs, bit p set if player p can see this component.
+     */
+    public void setVisibilityMask(int index, long mask) {
+        checkIndex(index);
+        elementVisibility[index] = mask & allPlayersMask();
+    }
+
+    /**
+     * Makes one component visible to all players.
+     *
+     * @param index - index of component to reveal.
+     */
+    public void setComponentVisibleToAll(int index) {
+        checkIndex(index);
+        elementVisibility[index] = allPlayersMask();
+    }
+
+    /**
+     * Updates the visibility of all components in the deck for one player.
+     *
+     * @param playerID   - ID of player observing the components.
+     * @param visibility - true if player can see all components, false if they can see none.
+     */
+    public void setVisibilityOfAllComponents(int playerID, boolean visibility) {
+        checkPlayer(playerID);
+        long bit = 1L << playerID;
+        for (int i = 0; i < components.size(); i++) {
+            if (visibility)
+                elementVisibility[i] |= bit;
+            else
+                elementVisibility[i] &= ~bit;
         }
     }
 
@@ -168,26 +286,29 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
      * @return true if not over capacity, false otherwise.
      */
     public boolean add(T c, int index, boolean[] visibilityPerPlayer) {
-        this.elementVisibility.add(index, visibilityPerPlayer.clone());
-        return super.add(c, index);
+        boolean withinCapacity = super.add(c, index);
+        insertVisibility(index, 1, toMask(visibilityPerPlayer));
+        return withinCapacity;
     }
 
     /**
-     * Adds a full other deck to this deck, ignoring capacity.
+     * Adds a full other deck to this deck, ignoring capacity. The new components have the default visibility of
+     * this deck.
      *
      * @param d     - other deck to add to this deck.
      * @param index - the position in which the elements of d should be inserted in this deck.
      * @return true if not over capacity, false otherwise.
      */
+    @Override
     public boolean add(Deck<T> d, int index) {
-        for (int i = 0; i < d.components.size(); i++) {
-            this.elementVisibility.add(index, deckVisibility.clone());
-        }
-        return super.add(d, index);
+        int count = d.components.size();
+        boolean withinCapacity = super.add(d, index);
+        insertVisibility(index, count, deckMask());
+        return withinCapacity;
     }
 
     /**
-     * Adds a full other deck to this deck, ignoring capacity, and copies visibility as well.
+     * Adds a full other deck to the top of this deck, ignoring capacity, and copies visibility as well.
      *
      * @param d - other deck to add to this deck.
      * @return true if not over capacity, false otherwise.
@@ -195,38 +316,38 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
     public boolean add(PartialObservableDeck<T> d) {
         if (d == null)
             throw new IllegalArgumentException("d cannot be null");
-        elementVisibility.addAll(d.elementVisibility);
         for (int i = 0; i < deckVisibility.length; i++) {
             deckVisibility[i] &= d.deckVisibility[i];
         }
-        return super.add(d);
+        int count = d.components.size();
+        boolean withinCapacity = super.add(d, 0);
+        insertVisibility(0, count, 0);
+        System.arraycopy(d.elementVisibility, 0, elementVisibility, 0, count);
+        return withinCapacity;
     }
 
     @Override
-    public boolean add(Deck<T> d) {
-        if (d == null)
-            throw new IllegalArgumentException("d cannot be null");
-        for (int i = 0; i < d.getSize(); i++) {
-            elementVisibility.add(deckVisibility.clone());
-        }
-        return super.add(d);
+    public boolean add(Collection<T> d, int index) {
+        int count = d.size();
+        boolean withinCapacity = super.add(d, index);
+        insertVisibility(index, count, deckMask());
+        return withinCapacity;
     }
 
     @Override
     public void setComponents(ArrayList<T> components) {
         super.setComponents(components);
 
-        elementVisibility.clear();
-        for (int i = 0; i < components.size(); i++) {
-            elementVisibility.add(deckVisibility.clone());
-        }
+        if (components.size() > elementVisibility.length)
+            elementVisibility = new long[components.size()];
+        Arrays.fill(elementVisibility, 0, components.size(), deckMask());
     }
 
     @Override
     public T pick(int idx) {
         T el = super.pick(idx);
         if (el != null) {
-            elementVisibility.remove(idx);
+            removeVisibility(idx);
             return el;
         }
         return null;
@@ -252,23 +373,18 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
     @Override
     public boolean remove(int idx) {
         if (super.remove(idx)) {
-            elementVisibility.remove(idx);
+            removeVisibility(idx);
             return true;
         }
         return false;
     }
 
-    @Override
-    public void clear() {
-        super.clear();
-        elementVisibility.clear();
-    }
-
     @Override
     public void shuffle(Random rnd) {
-        Pair<List<T>, List<boolean[]>> shuffled = shuffleLists(components, elementVisibility, rnd);
-        components = shuffled.a;
-        elementVisibility = shuffled.b;
+        // Same permutation as Collections.shuffle() would give, applied to components and visibility together
+        for (int i = components.size(); i > 1; i--) {
+            swap(i - 1, rnd.nextInt(i), true);
+        }
     }
 
     /**
@@ -278,34 +394,16 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
     public void shuffleAndResetVisibility(Random rnd)
     {
         shuffle(rnd);
-        elementVisibility.replaceAll(ignored -> deckVisibility.clone());
+        Arrays.fill(elementVisibility, 0, components.size(), deckMask());
     }
 
-
-    /**
-     * Shuffles a list of components and associated visibility
-     *
-     * @param comps - list of components
-     * @param vis   - associated visibility
-     * @param rnd   - random number generator to be used in shuffling.
-     * @return - both lists shuffled, keeping the mapping from component to visibility at the same index.
-     */
-    private Pair<List<T>, List<boolean[]>> shuffleLists(List<T> comps, List<boolean[]> vis, Random rnd) {
-        List<T> tmp_components = new ArrayList<>();
-        List<boolean[]> tmp_visibility = new ArrayList<>();
-
-        List<Integer> indexList = new ArrayList<>();
-        for (int i = 0; i < comps.size(); i++)
-            indexList.add(i);
-        Collections.shuffle(indexList, rnd);
-
-        for (int targetIndex = 0; targetIndex < indexList.size(); targetIndex++) {
-            int sourceIndex = indexList.get(targetIndex);
-            tmp_components.add(targetIndex, comps.get(sourceIndex));
-            tmp_visibility.add(targetIndex, vis.get(sourceIndex));
+    private void swap(int i, int j, boolean withVisibility) {
+        components.set(i, components.set(j, components.get(i)));
+        if (withVisibility) {
+            long tmp = elementVisibility[i];
+            elementVisibility[i] = elementVisibility[j];
+            elementVisibility[j] = tmp;
         }
-
-        return new Pair(tmp_components, tmp_visibility);
     }
 
     /**
@@ -316,32 +414,22 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
      * @param visible  - if true, shuffles only visible cards; otherwise, shuffles only hidden cards.
      */
     public void shuffleVisible(Random rnd, int playerId, boolean visible) {
-        ArrayList<T> visibleComponents = new ArrayList<>();
-        ArrayList<boolean[]> visibility = new ArrayList<>();
-        for (int i = 0; i < components.size(); i++) {
-            boolean[] b = elementVisibility.get(i);
-            if (b[playerId] == visible) {
-                visibleComponents.add(components.get(i));
-                visibility.add(b);
-            }
-        }
-        Pair<List<T>, List<boolean[]>> shuffled = shuffleLists(visibleComponents, visibility, rnd);
-
+        long bit = 1L << playerId;
+        if (shufflePositions == null || shufflePositions.length < components.size())
+            shufflePositions = new int[Math.max(components.size(), 8)];
+        int[] positions = shufflePositions;
         int n = 0;
         for (int i = 0; i < components.size(); i++) {
-            boolean[] b = elementVisibility.get(i);
-            if (b[playerId] == visible) {
-                // Draw element from shuffled lists
-                components.set(i, shuffled.a.get(n));
-                /*
-                if other players can see a card, we know which card position they can see, but
-                not the actual card (otherwise, it would by definition be visible to us). Therefore
-                we do *not* shuffle element visibility, and keep this in the same order
-                */
-                if (visible)
-                    elementVisibility.set(i, shuffled.b.get(n));
-                n++;
-            }
+            if (((elementVisibility[i] & bit) != 0) == visible)
+                positions[n++] = i;
+        }
+        /*
+        if other players can see a card, we know which card position they can see, but
+        not the actual card (otherwise, it would by definition be visible to us). Therefore
+        we do *not* shuffle element visibility of hidden cards, and keep this in the same order
+        */
+        for (int i = n; i > 1; i--) {
+            swap(positions[i - 1], positions[rnd.nextInt(i)], visible);
         }
     }
 
@@ -355,27 +443,27 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
         this.copyTo(dp); // Copy super
 
         dp.deckVisibility = deckVisibility.clone();
-
-        ArrayList<boolean[]> newVisibility = new ArrayList<>();
-        for (boolean[] visibility : elementVisibility) {
-            newVisibility.add(visibility.clone());
-        }
-        dp.elementVisibility = newVisibility;
+        dp.elementVisibility = Arrays.copyOf(elementVisibility, Math.max(components.size(), 8));
 
         return dp;
     }
 
+    @Override
+    public void copyComponentsFrom(Deck<T> other) {
+        super.copyComponentsFrom(other);
+        PartialObservableDeck<T> pod = (PartialObservableDeck<T>) other;
+        deckVisibility = pod.deckVisibility.clone();
+        if (components.size() > elementVisibility.length)
+            elementVisibility = new long[pod.elementVisibility.length];
+        System.arraycopy(pod.elementVisibility, 0, elementVisibility, 0, components.size());
+    }
+
     public PartialObservableDeck<T> copy(int playerId) {
         PartialObservableDeck<T> dp = new PartialObservableDeck<>(componentName, ownerId, deckVisibility, componentID);
         this.copyTo(dp, playerId); // Copy super
 
         dp.deckVisibility = deckVisibility.clone();
-
-        ArrayList<boolean[]> newVisibility = new ArrayList<>();
-        for (boolean[] visibility : elementVisibility) {
-            newVisibility.add(visibility.clone());
-        }
-        dp.elementVisibility = newVisibility;
+        dp.elementVisibility = Arrays.copyOf(elementVisibility, Math.max(components.size(), 8));
 
         return dp;
     }
@@ -403,4 +491,3 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
         return super.toString();
     }
 }
-
@@ -0,0 +1,33 @@
+package core.interfaces;
+
+import core.AbstractGameState;
+
+import java.util.Random;
+
+/**
+ * Game states that can be redeterminised in place, reusing their containers. Used through
+ * AbstractGameState.copyInto(), so that Information-Set MCTS can keep one scratch state per search and reset it from
+ * the root on every iteration, instead of creating a new determinised copy with copy(playerId) each time.
+ */
+public interface IRedeterminisable {
+
+    /**
+     * Overwrites the game-specific data of this state with a full copy of the given state (as in copy()), reusing
+     * the decks and other containers of this state. The given state is of the same class and number of players, and
+     * this state was created by copying it (or a state it was copied from). Core AbstractGameState data is copied by
+     * the caller.
+     *
+     * @param source - state to copy.
+     */
+    void resetFrom(AbstractGameState source);
+
+    /**
+     * Re-samples in place all information in this state hidden from the given player, from the same distribution
+     * as copy(playerId) does (including any checks of CoreParameters.partialObservable). Information the player can
+     * see is not changed.
+     *
+     * @param playerId - player whose information set is sampled from.
+     * @param rnd      - random number generator to use.
+     */
+    void redeterminise(int playerId, Random rnd);
+}
@@ -8,6 +8,20 @@ public interface IStateFeatureVector {
 
     double[] featureVector(AbstractGameState state, int playerID);
 
+    /**
+     * Writes the feature vector into the buffer, starting at the given offset, instead of allocating a new array.
+     * This lets callers that evaluate many states (e.g. heuristics at the leaves of a search) reuse one buffer.
+     * The default copies the result of featureVector(); implementations can override it to write the features
+     * directly.
+     *
+     * @param buffer - array to write to, with at least offset + names().length elements.
+     * @param offset - index of the buffer where the first feature is written.
+     */
+    default void featureVector(AbstractGameState state, int playerID, double[] buffer, int offset) {
+        double[] features = featureVector(state, playerID);
+        System.arraycopy(features, 0, buffer, offset, features.length);
+    }
+
     String[] names();
 
 }
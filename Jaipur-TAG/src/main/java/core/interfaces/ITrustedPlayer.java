@@ -0,0 +1,9 @@
+package core.interfaces;
+
+/**
+ * Marker for players that choose only from the list of actions they are given, and never read or change the
+ * observation. In lean mode (see Game.setLeanMode()) the Game does not copy the game state for these players, and
+ * passes them the real game state instead.
+ */
+public interface ITrustedPlayer {
+}
@@ -9,12 +9,15 @@ import core.rules.nodetypes.BranchingRuleNode;
 import core.rules.nodetypes.ConditionNode;
 import core.rules.nodetypes.RuleNode;
 
-import java.util.HashMap;
+import java.util.*;
 
 public abstract class AbstractRuleBasedForwardModel extends AbstractForwardModel {
 
-    // Rule executed last, rule to be executed next, and first rule to be executed in a turn (root)
-    protected Node lastRule, nextRule, root;
+    // First rule to be executed in a turn (root). The rule graph is shared by all copies of this forward model;
+    // the position of execution in the graph is kept in the RuleCursor of each game state.
+    protected Node root;
+    // All nodes in the rule graph, in the order of their index. Built on first use and shared with copies.
+    private List<Node> ruleNodes;
 
     /**
      * Default constructor. Any classes extending this should initialise the root node variable to the first rule
@@ -31,6 +34,9 @@ public abstract class AbstractRuleBasedForwardModel extends AbstractForwardModel
      *      a ReactiveTurnOrder).
      *
      * Can use utilities.GameFlowDiagram.java class to visualise game flow, given a root node (and all children assigned)
+     *
+     * Nodes must not hold any data that changes while the game is played: use Node.getData()/setData() and
+     * Node.getAction() instead, which are stored in the game state.
      */
     protected AbstractRuleBasedForwardModel() {}
 
@@ -40,7 +46,15 @@ public abstract class AbstractRuleBasedForwardModel extends AbstractForwardModel
      */
     protected AbstractRuleBasedForwardModel(Node root) {
         this.root = root;
-        this.nextRule = root;
+    }
+
+    /**
+     * Copy constructor, sharing the rule graph of the given forward model.
+     * @param other - forward model to copy.
+     */
+    protected AbstractRuleBasedForwardModel(AbstractRuleBasedForwardModel other) {
+        this.root = other.root;
+        this.ruleNodes = other.getRuleNodes();
     }
 
     /**
@@ -49,8 +63,35 @@ public abstract class AbstractRuleBasedForwardModel extends AbstractForwardModel
      */
     protected void abstractSetup(AbstractGameState firstState) {
         super.abstractSetup(firstState);
-        nextRule = root;
-        lastRule = null;
+        ((AbstractGameStateWithTurnOrder) firstState).setRuleCursor(new RuleCursor(root, getRuleNodes()));
+    }
+
+    /**
+     * Numbers all nodes reachable from the root, on first call.
+     * @return - all nodes in the rule graph, in index order.
+     */
+    protected synchronized List<Node> getRuleNodes() {
+        if (ruleNodes == null) {
+            List<Node> nodes = new ArrayList<>();
+            Set<Node> visited = new HashSet<>();
+            Deque<Node> toVisit = new ArrayDeque<>();
+            toVisit.add(root);
+            while (!toVisit.isEmpty()) {
+                Node node = toVisit.poll();
+                if (node == null || !visited.add(node)) continue;
+                node.setIndex(nodes.size());
+                nodes.add(node);
+                if (node instanceof BranchingRuleNode) {
+                    toVisit.addAll(Arrays.asList(((BranchingRuleNode) node).getChildren()));
+                } else if (node instanceof RuleNode) {
+                    toVisit.add(((RuleNode) node).getNext());
+                } else if (node instanceof ConditionNode) {
+                    toVisit.addAll(Arrays.asList(((ConditionNode) node).getYesNo()));
+                }
+            }
+            ruleNodes = Collections.unmodifiableList(nodes);
+        }
+        return ruleNodes;
     }
 
     /**
@@ -65,30 +106,36 @@ public abstract class AbstractRuleBasedForwardModel extends AbstractForwardModel
             throw new AssertionError("Rules Based Forward Model is only usable with AbstractGameStateWithTurnOrder");
 
         AbstractGameStateWithTurnOrder currentState = (AbstractGameStateWithTurnOrder) state;
-        if (nextRule == null) {
-            nextRule = lastRule.getNext();  // Go back to parent, skip it and go to next rule
-            if (nextRule == null) nextRule = root;
+        RuleCursor cursor = currentState.getRuleCursor();
+        if (cursor == null) {
+            cursor = new RuleCursor(root, getRuleNodes());
+            currentState.setRuleCursor(cursor);
+        }
+        if (cursor.nextRule == null) {
+            cursor.nextRule = cursor.lastRule.getNext(currentState);  // Go back to parent, skip it and go to next rule
+            if (cursor.nextRule == null) cursor.nextRule = root;
             return;
         }
 
         do {
-            if (nextRule.requireAction()) {
+            if (cursor.nextRule.requireAction()) {
                 if (action != null) {
-                    nextRule.setAction(action);
+                    cursor.actions[cursor.nextRule.getIndex()] = action;
                     action = null;
                 } else {
                     return;  // Wait for action to be sent to execute this rule requiring action
                 }
             }
-            lastRule = nextRule;
-            nextRule = nextRule.execute(currentState);
-        } while (nextRule != null);
+            cursor.lastRule = cursor.nextRule;
+            cursor.nextRule = cursor.nextRule.execute(currentState);
+        } while (cursor.nextRule != null);
 
-        nextRule = lastRule.getNext();  // Go back to parent, skip it and go to next rule
+        cursor.nextRule = cursor.lastRule.getNext(currentState);  // Go back to parent, skip it and go to next rule
     }
 
     /**
-     * Copy root node with rule graph.
+     * Copy root node with rule graph. Not needed for copies of the forward model, which share the graph (see the
+     * copy constructor); only for building a modified version of the rules.
      * @return - New copy of root
      */
     protected Node copyRoot() {
@@ -118,13 +165,13 @@ public abstract class AbstractRuleBasedForwardModel extends AbstractForwardModel
                 Node[] children = ((BranchingRuleNode) node).getChildren();
                 Node[] copies = new Node[children.length];
                 for (int j = 0; j < copies.length; j++) {
-                    copies[j] = copyNodeGraph(visitedNodes, children[j].getNext());
+                    copies[j] = copyNodeGraph(visitedNodes, children[j]);
                     if (children[j].parent != null) copies[j].setParent(copy);
                 }
                 ((BranchingRuleNode) copy).setNext(copies);
             } else {
-                Node child = copyNodeGraph(visitedNodes, node.getNext());
-                if (node.getNext().parent != null) child.setParent(copy);
+                Node child = copyNodeGraph(visitedNodes, ((RuleNode) node).getNext());
+                if (((RuleNode) node).getNext().parent != null) child.setParent(copy);
                 ((RuleNode) copy).setNext(child);
             }
 
@@ -3,20 +3,24 @@ package core.rules;
 import core.AbstractGameStateWithTurnOrder;
 import core.actions.AbstractAction;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * A node in a tree of game rules. Receives a unique ID on creation, and keeps track of node properties.
+ * Nodes are immutable once the rule graph is built, so that the graph can be shared between forward model copies
+ * (and threads); any data that changes during execution is stored in the RuleCursor of the game state.
  */
 public abstract class Node {
-    private static int nextID = 0;
+    private static final AtomicInteger nextID = new AtomicInteger();
 
-    private int id;  // Unique id for this node
+    private final int id;  // Unique id for this node
+    private int index = -1;  // Position of this node in its rule graph, to find its data in the RuleCursor
     protected boolean actionNode;  // True if this node requires an action to execute
     protected boolean nextPlayerNode;  // True if this action changes active player
-    protected AbstractAction action;  // Action to execute if this node requires one
     protected Node parent;  // Parent node, can be used to retrieve parameters set by a previous node
 
     public Node() {
-        id = nextID++;
+        id = nextID.getAndIncrement();
     }
 
     /**
@@ -25,9 +29,9 @@ public abstract class Node {
      */
     public Node(Node node) {
         this.id = node.id;
+        this.index = node.index;
         this.actionNode = node.actionNode;
         this.nextPlayerNode = node.nextPlayerNode;
-        this.action = node.action;
     }
 
     /**
@@ -49,14 +53,36 @@ public abstract class Node {
 
     /**
      * Retrieves the next node to execute after this.
+     * @param gs - game state this node was last executed in.
      * @return - Node, next child to execute.
      */
-    public abstract Node getNext();
+    public abstract Node getNext(AbstractGameStateWithTurnOrder gs);
 
-    // Getters & setters
-    public final void setAction(AbstractAction action) {
-        this.action = action;
+    /**
+     * @return - value of the integer parameter of this node at the start of the game. Override if not 0.
+     */
+    protected int initialData() {
+        return 0;
+    }
+
+    // Per-state data, stored in the RuleCursor of the game state
+    protected final AbstractAction getAction(AbstractGameStateWithTurnOrder gs) {
+        return gs.getRuleCursor().actions[index];
     }
+    protected final int getData(AbstractGameStateWithTurnOrder gs) {
+        return gs.getRuleCursor().data[index];
+    }
+    protected final void setData(AbstractGameStateWithTurnOrder gs, int value) {
+        gs.getRuleCursor().data[index] = value;
+    }
+    protected final boolean getTestResult(AbstractGameStateWithTurnOrder gs) {
+        return gs.getRuleCursor().passed[index];
+    }
+    protected final void setTestResult(AbstractGameStateWithTurnOrder gs, boolean passed) {
+        gs.getRuleCursor().passed[index] = passed;
+    }
+
+    // Getters & setters
     public final boolean requireAction() { return actionNode; }
     public final void setNextPlayerNode() {
         nextPlayerNode = true;
@@ -65,6 +91,8 @@ public abstract class Node {
         return nextPlayerNode;
     }
     public final int getId() { return id; }
+    public final int getIndex() { return index; }
+    final void setIndex(int index) { this.index = index; }
     public final Node getParent() { return parent; }
     public final void setParent(Node parent) { this.parent = parent; }
 
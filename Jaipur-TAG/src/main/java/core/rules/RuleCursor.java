@@ -0,0 +1,80 @@
+package core.rules;
+
+import core.actions.AbstractAction;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Execution position and per-node data for a rule graph. The rule graph itself is immutable and shared between all
+ * copies of a forward model; everything that changes while the rules are executed is kept here instead, and this
+ * object is stored in (and copied with) the game state.
+ *
+ * Node data is kept in arrays indexed by the position of each node in its graph (see Node.getIndex()).
+ */
+public class RuleCursor {
+    // Rule executed last, and rule to be executed next
+    Node lastRule, nextRule;
+    // Action given to each node that requires one
+    final AbstractAction[] actions;
+    // Result of the last test of each condition node
+    final boolean[] passed;
+    // Integer parameter each node can pass on to the nodes that follow it
+    final int[] data;
+
+    /**
+     * Creates a cursor at the start of the rule graph.
+     * @param root - first rule to execute.
+     * @param nodes - all nodes in the rule graph, in index order.
+     */
+    RuleCursor(Node root, List<Node> nodes) {
+        this.nextRule = root;
+        this.actions = new AbstractAction[nodes.size()];
+        this.passed = new boolean[nodes.size()];
+        this.data = new int[nodes.size()];
+        for (Node n : nodes) {
+            data[n.getIndex()] = n.initialData();
+        }
+    }
+
+    /**
+     * Copy constructor.
+     * @param other - cursor to be copied.
+     */
+    private RuleCursor(RuleCursor other) {
+        this.lastRule = other.lastRule;
+        this.nextRule = other.nextRule;
+        this.actions = other.actions.clone();
+        this.passed = other.passed.clone();
+        this.data = other.data.clone();
+    }
+
+    public RuleCursor copy() {
+        return new RuleCursor(this);
+    }
+
+    // Getters
+    public Node getLastRule() {
+        return lastRule;
+    }
+    public Node getNextRule() {
+        return nextRule;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RuleCursor)) return false;
+        RuleCursor that = (RuleCursor) o;
+        return nextRule == that.nextRule && lastRule == that.lastRule && Arrays.equals(actions, that.actions) &&
+                Arrays.equals(passed, that.passed) && Arrays.equals(data, that.data);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = nextRule == null ? 0 : nextRule.hashCode();
+        result = 31 * result + Arrays.hashCode(passed);
+        result = 31 * result + Arrays.hashCode(data);
+        return result;
+    }
+}
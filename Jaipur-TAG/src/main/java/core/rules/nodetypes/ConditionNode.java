@@ -14,7 +14,6 @@ import core.rules.Node;
 public abstract class ConditionNode extends Node {
     Node childYes;  // Node to execute if the condition test returns true
     Node childNo;  // Node to execute if the condition test returns false
-    boolean passed;  // The result of the test, true if condition test returns true, false otherwise
 
     /**
      * Copy constructor, does not copy childYes or childNo to avoid endless recursion in looping graphs.
@@ -24,7 +23,6 @@ public abstract class ConditionNode extends Node {
         super(node);
         childYes = node.childYes;
         childNo = node.childNo;
-        passed = node.passed;
     }
 
     public ConditionNode() {
@@ -40,13 +38,15 @@ public abstract class ConditionNode extends Node {
 
     @Override
     public final Node execute(AbstractGameStateWithTurnOrder gs) {
-        passed = test(gs);
-        return getNext();
+        boolean passed = test(gs);
+        setTestResult(gs, passed);
+        if (passed) return childYes;
+        else return childNo;
     }
 
     @Override
-    public final Node getNext() {
-        if (passed) return childYes;
+    public final Node getNext(AbstractGameStateWithTurnOrder gs) {
+        if (getTestResult(gs)) return childYes;
         else return childNo;
     }
 
@@ -68,7 +68,7 @@ public abstract class RuleNode extends Node {
      * requirements for execution are not met, or the game is over).
      */
     public final Node execute(AbstractGameStateWithTurnOrder gs) {
-        if (requireAction() && action == null) return null;
+        if (requireAction() && getAction(gs) == null) return null;
 
         boolean interrupted = !run(gs);
         if (gameOverConditions != null && gameOverConditions.size() > 0) {
@@ -91,6 +91,10 @@ public abstract class RuleNode extends Node {
     public final Node getNext() {
         return childNext;
     }
+    @Override
+    public final Node getNext(AbstractGameStateWithTurnOrder gs) {
+        return childNext;
+    }
     public final ArrayList<GameOverCondition> getGameOverConditions() {
         return gameOverConditions;
     }
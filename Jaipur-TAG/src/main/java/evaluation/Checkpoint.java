@@ -0,0 +1,75 @@
+package evaluation;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Reading and writing of the checkpoint files used to resume long runs (tournaments, NTBEA and ProgressiveLearner).
+ * <p>
+ * A checkpoint is a gzipped object stream that starts with the kind of run and a version number, so that a file
+ * from a different kind of run (or an older format) is rejected rather than misread. The content after that is up
+ * to the caller. Files are written to a temporary file first and then moved into place, so a run that is killed
+ * while writing leaves the previous checkpoint intact.
+ */
+public class Checkpoint {
+
+    public interface Writer {
+        void write(ObjectOutputStream out) throws IOException;
+    }
+
+    public interface Reader<T> {
+        T read(ObjectInputStream in) throws IOException, ClassNotFoundException;
+    }
+
+    private Checkpoint() {
+    }
+
+    /**
+     * @return - true if there is a checkpoint to resume from in the file (an empty name is never a checkpoint).
+     */
+    public static boolean exists(String filename) {
+        return filename != null && !filename.isEmpty() && new File(filename).exists();
+    }
+
+    public static void save(String filename, String kind, int version, Writer writer) {
+        File file = new File(filename);
+        File tmp = new File(filename + ".tmp");
+        try {
+            if (file.getAbsoluteFile().getParentFile() != null)
+                file.getAbsoluteFile().getParentFile().mkdirs();
+            try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(
+                    new GZIPOutputStream(new FileOutputStream(tmp))))) {
+                out.writeUTF(kind);
+                out.writeInt(version);
+                writer.write(out);
+            }
+            Path target = file.toPath();
+            try {
+                Files.move(tmp.toPath(), target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                // not every file system can move atomically
+                Files.move(tmp.toPath(), target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new AssertionError("Error writing checkpoint " + filename + " : " + e.getMessage());
+        }
+    }
+
+    public static <T> T load(String filename, String kind, int version, Reader<T> reader) {
+        try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(
+                new GZIPInputStream(new FileInputStream(filename))))) {
+            String fileKind = in.readUTF();
+            int fileVersion = in.readInt();
+            if (!fileKind.equals(kind) || fileVersion != version)
+                throw new IllegalArgumentException(String.format("%s is a %s checkpoint (version %d), expected %s (version %d)",
+                        filename, fileKind, fileVersion, kind, version));
+            return reader.read(in);
+        } catch (IOException | ClassNotFoundException e) {
+            throw new AssertionError("Error reading checkpoint " + filename + " : " + e.getMessage());
+        }
+    }
+}
@@ -46,6 +46,9 @@ public class ProgressiveLearner {
     int elite;
     boolean verbose;
     List<Integer> currentElite = new ArrayList<>();
+    String checkpointFile;
+    boolean resume;
+    private static final int CHECKPOINT_VERSION = 1;
 
     public ProgressiveLearner(String[] args) {
 
@@ -84,6 +87,8 @@ public class ProgressiveLearner {
         params = AbstractParameters.createFromFile(gameToPlay, gameParams);
 
         heuristic = getArg(args, "heuristic", "");
+        checkpointFile = getArg(args, "checkpoint", "");
+        resume = getArg(args, "resume", false);
     }
 
     public static void main(String[] args) {
@@ -112,7 +117,10 @@ public class ProgressiveLearner {
                             "\tmatchups=      Defaults to 1. The number of games to play before the learning process is called.\n" +
                             "\titerations=    Stop after this number of learning iterations. Defaults to 100.\n" +
                             "\tfinalMatchups= The number of games to run in a final tournament between all agents. Defaults to 1000.\n" +
-                            "\telite=         The number of agents to keep in the tournament. Defaults to iterations.\n"
+                            "\telite=         The number of agents to keep in the tournament. Defaults to iterations.\n" +
+                            "\tcheckpoint=    (Optional) A file in which to record progress after each iteration.\n" +
+                            "\tresume=        If true, and the checkpoint file exists, then continue from the checkpoint.\n" +
+                            "\t               The learned heuristic files of the completed iterations must still be there.\n"
             );
             return;
         }
@@ -137,14 +145,18 @@ public class ProgressiveLearner {
 
     public void run() {
         iter = 0;
-        do {
+        if (resume && Checkpoint.exists(checkpointFile))
+            loadCheckpoint();
+        while (iter < iterations) {
             loadAgents();
 
             runGamesWithAgents();
 
             learnFromNewData();
             iter++;
-        } while (iter < iterations);
+            if (!checkpointFile.isEmpty())
+                saveCheckpoint();
+        }
 
         // Now we can run a tournament of everyone
         List<AbstractPlayer> finalAgents = Arrays.stream(agentsPerGeneration).collect(Collectors.toList());
@@ -236,7 +248,7 @@ public class ProgressiveLearner {
         RoundRobinTournament tournament = new RandomRRTournament(agentsToPlay, gameToPlay, nPlayers, params, SELF_PLAY,
                 config);
         tournament.verbose = false;
-        double exploreEpsilon = maxExplore * (iterations - iter - 1) / (iterations - 1);
+        double exploreEpsilon = explorationRate(iter);
         System.out.println("Explore = " + exploreEpsilon);
         randomExplorer.setEpsilon(exploreEpsilon);
 
@@ -274,6 +286,59 @@ public class ProgressiveLearner {
         currentElite.add(iter + 1); // add the new agent
     }
 
+    private double explorationRate(int iteration) {
+        return maxExplore * (iterations - iteration - 1) / (iterations - 1);
+    }
+
+    /**
+     * Saves the number of completed iterations, the current elite and the files of data and learned heuristics
+     * of each iteration.
+     */
+    private void saveCheckpoint() {
+        Checkpoint.save(checkpointFile, "ProgressiveLearner", CHECKPOINT_VERSION, out -> {
+            out.writeInt(iterations);
+            out.writeInt(iter);
+            out.writeObject(new ArrayList<>(currentElite));
+            out.writeObject(dataFilesByIteration);
+            out.writeObject(learnedFilesByIteration);
+        });
+    }
+
+    /**
+     * Restores the state saved by saveCheckpoint, and recreates the agents of the completed iterations from their
+     * learned heuristics (with the exploration they had at that point).
+     */
+    @SuppressWarnings("unchecked")
+    private void loadCheckpoint() {
+        Checkpoint.load(checkpointFile, "ProgressiveLearner", CHECKPOINT_VERSION, in -> {
+            int savedIterations = in.readInt();
+            if (savedIterations != iterations)
+                throw new IllegalArgumentException(String.format("Checkpoint %s is for %d iterations, not %d",
+                        checkpointFile, savedIterations, iterations));
+            iter = in.readInt();
+            currentElite = (List<Integer>) in.readObject();
+            dataFilesByIteration = (String[]) in.readObject();
+            learnedFilesByIteration = (String[]) in.readObject();
+            return null;
+        });
+        if (iter == 0) return;
+        basePlayer = PlayerFactory.createPlayer(player, rawJSON -> injectAgentAttributes(rawJSON, ""));
+        basePlayer.setName("Default Agent");
+        // Each iteration added a new explorer to all the agents at that point
+        for (int i = 0; i < iter; i++) {
+            EpsilonRandom explorer = new EpsilonRandom();
+            explorer.setEpsilon(explorationRate(i));
+            basePlayer.addDecorator(explorer);
+            for (int j = 0; j < i; j++)
+                agentsPerGeneration[j].addDecorator(explorer);
+            String iterationPrefix = learnedFilesByIteration[i];
+            agentsPerGeneration[i] = PlayerFactory.createPlayer(player, rawJSON -> injectAgentAttributes(rawJSON, iterationPrefix));
+            agentsPerGeneration[i].setName(String.format("Iteration %2d", i + 1));
+            agentsPerGeneration[i].addDecorator(explorer);
+        }
+        System.out.printf("Resuming from %s after %d iterations%n", checkpointFile, iter);
+    }
+
     private void learnFromNewData() {
         // for the moment we will just supply the most recent file
         learner.learnFrom(dataFilesByIteration[iter]);
@@ -26,6 +26,16 @@ public enum RunArg {
             "\t If false, then each player will be assigned a player type independently.",
             true,
             new Usage[]{Usage.RunGames, Usage.ParameterSearch}),
+    checkpoint("(Optional) A file to which progress is saved as the run goes, so that a long tournament or NTBEA run\n" +
+            "\t can be continued with 'resume' if it is interrupted. For a tournament this holds the results of the\n" +
+            "\t games played so far; for NTBEA the completed repeats and the evaluations of the current one.\n" +
+            "\t If several games or player counts are run, then the game and player count are added to the name.",
+            "",
+            new Usage[]{Usage.RunGames, Usage.ParameterSearch}),
+    checkpointPeriod("(Optional) How often the checkpoint is saved: every this many games in a tournament, or\n" +
+            "\t evaluations in NTBEA. Defaults to 100.",
+            100,
+            new Usage[]{Usage.RunGames, Usage.ParameterSearch}),
     config("The location of a JSON file from which to read the configuration. \n" +
             "\t If this is specified, then all other arguments are ignored.",
             "",
@@ -35,6 +45,13 @@ public enum RunArg {
             "\t will be created for each game, and then within that for  each player count combination.",
             "metrics" + File.separator + "out",
             new Usage[]{Usage.RunGames, Usage.ParameterSearch}),
+    earlyStop("(Optional) If greater than zero, the significance level (for example 0.05) of sequential testing.\n" +
+            "\t A matchup is then stopped as soon as the difference in ordinal position between its agents is\n" +
+            "\t significant, and the games saved are used for matchups that are still undecided. The report gives\n" +
+            "\t the number of games actually played, and the confidence reached for each pair of agents.\n" +
+            "\t Not used in ONE_VS_ALL mode with more than one opponent. Defaults to 0 (play all games).",
+            0.0,
+            new Usage[]{Usage.RunGames}),
     evalGames("The number of games to run with the best predicted setting to estimate its true value (default is 20% of NTBEA iterations)",
             -1,
             new Usage[]{Usage.ParameterSearch}),
@@ -127,6 +144,11 @@ public enum RunArg {
             "\t Defaults to the end of the tournament (-1)",
             -1,
             new Usage[]{Usage.RunGames}),
+    resume("(Optional) If true, and the checkpoint file exists, then the run continues from the checkpoint.\n" +
+            "\t The other arguments must be the same as for the original run. A resumed tournament gives the same\n" +
+            "\t results as an uninterrupted one, as long as the agents keep their random state in their own generator.",
+            false,
+            new Usage[]{Usage.RunGames, Usage.ParameterSearch}),
     distinctRandomSeeds("If non-zero, then this defines the number of distinct random seeds to use for each game.\n" +
             "\t For tournament will be run for each individual random seed individually, using the other specified parameters.\n" +
             "\t If a seedFile is specified, then this is ignored.",
@@ -148,6 +170,16 @@ public enum RunArg {
             "\t Defaults to false",
             false,
             new Usage[]{Usage.RunGames}),
+    shard("Used internally by the worker processes of a sharded run (see 'shards'): the index of the shard to play.",
+            -1,
+            new Usage[]{Usage.RunGames}),
+    shards("(Optional) If greater than one, then each tournament is split into this many shards, each played by a\n" +
+            "\t separate local JVM with the same JVM options. The games are dealt to the shards in turn, and the\n" +
+            "\t results of all the shards are merged into the usual report. Listener output is written by each\n" +
+            "\t worker, to a 'shard_N' subdirectory of destDir. Worker logs and results go to destDir/shards.\n" +
+            "\t The result depends only on the seed and the number of shards. Cannot be used with earlyStop.",
+            1,
+            new Usage[]{Usage.RunGames}),
     tuneGame("If true, then we will tune the game instead of tuning the agent.\n" +
             "\tIn this case the searchSpace file must be relevant for the game.",
             false,
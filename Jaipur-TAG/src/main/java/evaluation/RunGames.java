@@ -25,13 +25,16 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
 import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.regex.Pattern;
+import java.util.stream.IntStream;
 
 import static evaluation.RunArg.*;
 import static evaluation.tournaments.AbstractTournament.TournamentMode.*;
 import static java.util.stream.Collectors.toList;
+import static utilities.Utils.getArg;
 
 
 public class RunGames implements IGameRunner {
@@ -44,6 +47,8 @@ public class RunGames implements IGameRunner {
     private LinkedList<AbstractPlayer> agents;
     private String timeDir;
     AbstractTournament.TournamentMode tournamentMode;
+    // The command line, passed on to the worker processes of a sharded run
+    private String[] args = new String[0];
 
     /**
      * Main function, creates and runs the tournament with the given settings and players.
@@ -58,6 +63,7 @@ public class RunGames implements IGameRunner {
 
         /* 1. Settings for the tournament */
         RunGames runGames = new RunGames();
+        runGames.args = args;
         runGames.config = parseConfig(args, Usage.RunGames);
 
         String setupFile = runGames.config.getOrDefault(RunArg.config, "").toString();
@@ -74,6 +80,11 @@ public class RunGames implements IGameRunner {
             } catch (IOException | ParseException e) {
                 throw new RuntimeException(e);
             }
+            // the worker processes of a sharded run get their shard, and the seed of the coordinator, on the command line
+            if ((int) getArg(args, shard.name(), -1) >= 0) {
+                runGames.config.put(shard, getArg(args, shard.name(), -1));
+                runGames.config.put(seed, getArg(args, seed.name(), 0L));
+            }
         }
         runGames.initialiseGamesAndPlayerCount();
         if (!runGames.config.get(RunArg.gameParams).equals("") && runGames.gamesAndPlayerCounts.keySet().size() > 1)
@@ -107,6 +118,8 @@ public class RunGames implements IGameRunner {
 
         // 3. Run!
         if (runGames.config.get(mode).equals("sequential")) {
+            if ((int) runGames.config.get(shards) > 1)
+                throw new IllegalArgumentException("shards cannot be used with mode=sequential");
             SkillGrid main = new SkillGrid(agents, runGames.config);
             main.run();
         } else {
@@ -117,6 +130,13 @@ public class RunGames implements IGameRunner {
 
     @Override
     public void run() {
+        int nShards = (int) config.get(shards);
+        int shardIndex = (int) config.get(shard);
+        boolean coordinator = nShards > 1 && shardIndex < 0;
+        File shardDir = new File((String) config.get(destDir), "shards");
+        if (coordinator)
+            runShardWorkers(nShards, shardDir);
+
         // Now we loop over each game and player count combination
         for (GameType gameType : gamesAndPlayerCounts.keySet()) {
             String gameName = gameType.name();
@@ -132,9 +152,9 @@ public class RunGames implements IGameRunner {
                         new RoundRobinTournament(agents, gameType, playerCount, params, tournamentMode, config) :
                         new RandomRRTournament(agents, gameType, playerCount, params, tournamentMode, config);
 
-                // Add listeners
+                // Add listeners (in a sharded run the workers have these, as they play the games)
                 //noinspection unchecked
-                for (String listenerClass : ((List<String>) config.get(listener))) {
+                for (String listenerClass : coordinator ? Collections.<String>emptyList() : (List<String>) config.get(listener)) {
                     IGameListener gameTracker = IGameListener.createListener(listenerClass, (String) config.get(metrics));
                     tournament.addListener(gameTracker);
                     String outputDir = (String) config.get(destDir);
@@ -145,11 +165,27 @@ public class RunGames implements IGameRunner {
                         directories.add(playersDir);
                     if ((boolean) config.get(addTimeStamp))
                         directories.add(timeDir);
+                    if (shardIndex >= 0)
+                        directories.add("shard_" + shardIndex);
                     gameTracker.setOutputDirectory(directories.toArray(new String[0]));
                 }
 
+                // each tournament needs its own checkpoint (and in a sharded run, each worker; the coordinator needs none)
+                String checkpointFile = (String) config.get(checkpoint);
+                if (!checkpointFile.isEmpty() && (gamesAndPlayerCounts.size() > 1 || gamesAndPlayerCounts.get(gameType).length > 1))
+                    checkpointFile = checkpointFile + "_" + gameName + "_" + playerCount;
+                if (!checkpointFile.isEmpty() && shardIndex >= 0)
+                    checkpointFile = checkpointFile + "_shard" + shardIndex;
+                tournament.setCheckpointFile(coordinator ? "" : checkpointFile);
+
                 // run tournament
                 tournament.setRandomSeed((Number) config.get(RunArg.seed));
+                String shardPrefix = new File(shardDir, gameName + "_" + playerCount).getPath();
+                if (shardIndex >= 0)
+                    tournament.setShard(shardIndex, shardPrefix + "_" + shardIndex + ".shard");
+                if (coordinator)
+                    tournament.mergeShards(IntStream.range(0, nShards)
+                            .mapToObj(k -> shardPrefix + "_" + k + ".shard").collect(toList()));
                 tournament.setVerbose((boolean) config.get(verbose));
                 tournament.setResultsFile((String) config.get(output));
                 tournament.setRandomGameParams((boolean) config.get(randomGameParams));
@@ -158,6 +194,52 @@ public class RunGames implements IGameRunner {
         }
     }
 
+    /**
+     * Runs all the tournaments in worker processes, one for each shard, and waits for them to finish. Each worker is
+     * a new JVM with the same class path and JVM options as this one, running RunGames with the same arguments
+     * plus its shard and the seed of this process. Its output goes to a log file in shardDir.
+     */
+    private void runShardWorkers(int nShards, File shardDir) {
+        if (!shardDir.exists() && !shardDir.mkdirs())
+            throw new AssertionError("Could not create directory " + shardDir);
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        List<String> jvmOptions = ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+                .filter(option -> !option.startsWith("-agentlib") && !option.startsWith("-javaagent"))
+                .collect(toList());
+        List<Process> workers = new ArrayList<>();
+        try {
+            for (int k = 0; k < nShards; k++) {
+                List<String> command = new ArrayList<>();
+                command.add(java);
+                command.addAll(jvmOptions);
+                command.add("-cp");
+                command.add(System.getProperty("java.class.path"));
+                command.add(RunGames.class.getName());
+                for (String arg : args)
+                    if (!arg.startsWith(seed.name() + "=") && !arg.startsWith(shard.name() + "="))
+                        command.add(arg);
+                command.add(shard.name() + "=" + k);
+                command.add(seed.name() + "=" + config.get(seed));
+                File log = new File(shardDir, "worker_" + k + ".log");
+                workers.add(new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log).start());
+            }
+            System.out.printf("Started %d workers, logging to %s%n", nShards, shardDir);
+            for (int k = 0; k < nShards; k++) {
+                int exitCode = workers.get(k).waitFor();
+                if (exitCode != 0)
+                    throw new AssertionError(String.format("Worker for shard %d failed with exit code %d, see %s",
+                            k, exitCode, new File(shardDir, "worker_" + k + ".log")));
+            }
+        } catch (IOException e) {
+            throw new AssertionError("Could not start worker process : " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError("Interrupted while waiting for workers");
+        } finally {
+            workers.forEach(Process::destroy);
+        }
+    }
+
     private void initialiseGamesAndPlayerCount() {
         String gameArg = config.get(RunArg.game).toString();
         String playerRange = config.get(RunArg.playerRange).toString();
@@ -9,6 +9,7 @@ import java.util.Arrays;
 public class StateKeyFromFeatureVector  implements IStateKey {
 
     public final IStateFeatureVector featureVector;
+    private double[] buffer;  // reused between calls
 
     public StateKeyFromFeatureVector(IStateFeatureVector featureVector) {
         this.featureVector = featureVector;
@@ -16,7 +17,8 @@ public class StateKeyFromFeatureVector  implements IStateKey {
 
     @Override
     public String getKey(AbstractGameState state) {
-        double[] retValue = featureVector.featureVector(state, state.getCurrentPlayer());
-        return String.format("%d-%s", state.getCurrentPlayer(), Arrays.toString(retValue));
+        if (buffer == null) buffer = new double[featureVector.names().length];
+        featureVector.featureVector(state, state.getCurrentPlayer(), buffer, 0);
+        return String.format("%d-%s", state.getCurrentPlayer(), Arrays.toString(buffer));
     }
 }
@@ -39,16 +39,21 @@ public abstract class TunableStateFeatures extends TunableParameters implements
 
     @Override
     public final double[] featureVector(AbstractGameState state, int playerID) {
-        double[] data = fullFeatureVector(state, playerID);
         double[] retValue = new double[namesUsed.length];
-        int count = 0;
+        featureVector(state, playerID, retValue, 0);
+        return retValue;
+    }
+
+    @Override
+    public final void featureVector(AbstractGameState state, int playerID, double[] buffer, int offset) {
+        double[] data = fullFeatureVector(state, playerID);
+        int count = offset;
         for (int i = 0; i < allNames.length; i++) {
             if (active[i]) {
-                retValue[count] = data[i];
+                buffer[count] = data[i];
                 count++;
             }
         }
-        return retValue;
     }
 
     /**
@@ -5,10 +5,13 @@ import core.AbstractParameters;
 import core.AbstractPlayer;
 import core.interfaces.IGameHeuristic;
 import core.interfaces.IStateHeuristic;
+import evaluation.Checkpoint;
 import evaluation.RunArg;
 import evaluation.listeners.IGameListener;
 import evaluation.tournaments.RoundRobinTournament;
 import org.apache.commons.math3.util.CombinatoricsUtils;
+import evodef.SearchSpace;
+import evodef.SolutionEvaluator;
 import games.GameType;
 import ntbea.NTupleBanditEA;
 import ntbea.NTupleSystem;
@@ -51,6 +54,13 @@ public class NTBEA {
     IStateHeuristic stateHeuristic;
     IGameHeuristic gameHeuristic;
 
+    // Checkpointing (only if a checkpoint file is given): the evaluations of the current repeat, in the order they
+    // were added to the landscape model, so that the model can be rebuilt exactly on resuming
+    private static final int CHECKPOINT_VERSION = 1;
+    List<int[]> trialSettings = new ArrayList<>();
+    List<Double> trialValues = new ArrayList<>();
+    boolean resumingTrial;
+
     public NTBEA(NTBEAParameters parameters, GameType game, int nPlayers) {
         // Now initialise the other bits and pieces needed for the NTBEA package
         this.params = parameters;
@@ -128,7 +138,10 @@ public class NTBEA {
      */
     public Pair<Object, int[]> run() {
 
-        for (currentIteration = 0; currentIteration < params.repeats; currentIteration++) {
+        currentIteration = 0;
+        if (params.resume && Checkpoint.exists(params.checkpointFile))
+            loadCheckpoint();
+        for (; currentIteration < params.repeats; currentIteration++) {
             runIteration();
         }
 
@@ -167,6 +180,11 @@ public class NTBEA {
                 config.put(matchups, gamesPerMatchup);
                 config.put(byTeam, false);
                 config.put(RunArg.distinctRandomSeeds, 0);
+                if (!params.checkpointFile.isEmpty()) {
+                    config.put(RunArg.checkpoint, params.checkpointFile + "_tournament");
+                    config.put(RunArg.checkpointPeriod, params.checkpointPeriod);
+                    config.put(RunArg.resume, params.resume);
+                }
                 RoundRobinTournament tournament = new RoundRobinTournament(players, game, nPlayers, params.gameParams,
                         NO_SELF_PLAY, config);
                 tournament.verbose = false;
@@ -219,7 +237,30 @@ public class NTBEA {
 
     protected void runTrials() {
         evaluator.reset();
-        searchFramework.runTrial(evaluator, params.iterationsPerRun);
+        if (params.checkpointFile.isEmpty()) {
+            searchFramework.runTrial(evaluator, params.iterationsPerRun);
+            return;
+        }
+        CheckpointedEvaluator checkpointed = new CheckpointedEvaluator();
+        if (resumingTrial && !trialSettings.isEmpty()) {
+            // We rebuild the landscape model from the evaluations in the checkpoint, and then continue the search
+            // from the last point evaluated (which is not evaluated again, as we already have its value)
+            int last = trialSettings.size() - 1;
+            for (int i = 0; i < last; i++)
+                landscapeModel.addPoint(trialSettings.get(i), trialValues.get(i));
+            evaluator.nEvals = trialSettings.size();
+            checkpointed.resumedValue = trialValues.get(last);
+            searchFramework.seed = trialSettings.get(last);
+            trialSettings.remove(last);
+            trialValues.remove(last);
+            searchFramework.runTrial(checkpointed, params.iterationsPerRun - last);
+            searchFramework.seed = null;
+        } else {
+            trialSettings.clear();
+            trialValues.clear();
+            searchFramework.runTrial(checkpointed, params.iterationsPerRun);
+        }
+        resumingTrial = false;
     }
 
     protected void runIteration() {
@@ -247,6 +288,114 @@ public class NTBEA {
         logDetailsOfRun(resultToReport);
         if (resultToReport.a.a > bestResult.a.a)
             bestResult = resultToReport;
+
+        if (!params.checkpointFile.isEmpty()) {
+            trialSettings.clear();
+            trialValues.clear();
+            saveCheckpoint(currentIteration + 1);
+        }
+    }
+
+    /**
+     * Saves the results of the completed repeats, and the evaluations so far of the current one.
+     *
+     * @param completedRepeats - the number of repeats that are complete.
+     */
+    protected void saveCheckpoint(int completedRepeats) {
+        Checkpoint.save(params.checkpointFile, "NTBEA", CHECKPOINT_VERSION, out -> {
+            out.writeInt(params.searchSpace.nDims());
+            out.writeInt(completedRepeats);
+            out.writeObject(new ArrayList<>(winnerSettings));
+            out.writeObject(new ArrayList<>(elites));
+            out.writeDouble(bestResult.a.a);
+            out.writeDouble(bestResult.a.b);
+            out.writeObject(bestResult.b);
+            out.writeObject(evaluator.rnd);
+            out.writeInt(trialSettings.size());
+            for (int i = 0; i < trialSettings.size(); i++) {
+                out.writeObject(trialSettings.get(i));
+                out.writeDouble(trialValues.get(i));
+            }
+        });
+    }
+
+    /**
+     * Restores the state saved by saveCheckpoint. The completed repeats are not run again, and the next one
+     * continues from the evaluations already made.
+     */
+    @SuppressWarnings("unchecked")
+    protected void loadCheckpoint() {
+        Checkpoint.load(params.checkpointFile, "NTBEA", CHECKPOINT_VERSION, in -> {
+            int nDims = in.readInt();
+            if (nDims != params.searchSpace.nDims())
+                throw new IllegalArgumentException(String.format("Checkpoint %s has %d dimensions, but the search space has %d",
+                        params.checkpointFile, nDims, params.searchSpace.nDims()));
+            currentIteration = in.readInt();
+            winnerSettings = (List<int[]>) in.readObject();
+            elites = (List<int[]>) in.readObject();
+            double score = in.readDouble();
+            double stdErr = in.readDouble();
+            bestResult = new Pair<>(new Pair<>(score, stdErr), (int[]) in.readObject());
+            evaluator.rnd = (Random) in.readObject();
+            int nTrials = in.readInt();
+            trialSettings = new ArrayList<>(nTrials);
+            trialValues = new ArrayList<>(nTrials);
+            for (int i = 0; i < nTrials; i++) {
+                trialSettings.add((int[]) in.readObject());
+                trialValues.add(in.readDouble());
+            }
+            return null;
+        });
+        winnersPerRun = winnerSettings.stream().map(params.searchSpace::getAgent).collect(Collectors.toList());
+        resumingTrial = true;
+        if (params.verbose)
+            System.out.printf("Resuming from %s after %d repeats and %d evaluations%n",
+                    params.checkpointFile, currentIteration, trialSettings.size());
+    }
+
+    /**
+     * Passes evaluations on to the GameEvaluator, and records them for the checkpoint (saving it every
+     * checkpointPeriod evaluations). When resuming, the first evaluation is of the last point in the checkpoint,
+     * and just returns the value recorded for it.
+     */
+    class CheckpointedEvaluator implements SolutionEvaluator {
+        Double resumedValue;
+
+        @Override
+        public void reset() {
+            evaluator.reset();
+        }
+
+        @Override
+        public double evaluate(double[] doubles) {
+            return evaluator.evaluate(doubles);
+        }
+
+        @Override
+        public double evaluate(int[] settings) {
+            double value;
+            if (resumedValue != null) {
+                value = resumedValue;
+                resumedValue = null;
+            } else {
+                value = evaluator.evaluate(settings);
+            }
+            trialSettings.add(settings.clone());
+            trialValues.add(value);
+            if (trialSettings.size() % params.checkpointPeriod == 0)
+                saveCheckpoint(currentIteration);
+            return value;
+        }
+
+        @Override
+        public SearchSpace searchSpace() {
+            return evaluator.searchSpace();
+        }
+
+        @Override
+        public int nEvals() {
+            return evaluator.nEvals();
+        }
     }
 
     private List<IGameListener> createListeners() {
@@ -44,6 +44,9 @@ public class NTBEAParameters {
     public ITPSearchSpace searchSpace;
     public AbstractParameters gameParams;
     public boolean byTeam;
+    public String checkpointFile;
+    public int checkpointPeriod;
+    public boolean resume;
 
     public NTBEAParameters(Map<RunArg, Object> args) {
         this(args, Function.identity());
@@ -74,6 +77,11 @@ public class NTBEAParameters {
         listenerClasses = (List<String>) args.get(RunArg.listener);
         destDir = (String) args.get(RunArg.destDir);
         if (destDir.isEmpty()) destDir = "NTBEA";
+        checkpointFile = (String) args.getOrDefault(RunArg.checkpoint, "");
+        checkpointPeriod = (int) args.getOrDefault(RunArg.checkpointPeriod, 100);
+        resume = (boolean) args.getOrDefault(RunArg.resume, false);
+        if (checkpointPeriod < 1)
+            throw new IllegalArgumentException("checkpointPeriod must be at least 1 : " + checkpointPeriod);
         if (tuningGame && opponentDescriptor.equals("")) {
             throw new IllegalArgumentException("Must specify opponent descriptor when tuning a game");
         }
@@ -13,6 +13,9 @@ import java.util.stream.IntStream;
 
 public class RandomRRTournament extends RoundRobinTournament {
 
+    // With sequential testing, the number of decided matchups in a row (per agent) after which we stop
+    private static final int MAX_SKIPPED_MATCHUPS = 100;
+
     private IntSupplier idStream;
     private int reportPeriod;
 
@@ -32,20 +35,47 @@ public class RandomRRTournament extends RoundRobinTournament {
         idStream = new PermutationCycler(agents.size(), seedRnd, playersPerGame);
     }
 
+    /**
+     * The matchups are drawn from the random number generator of the tournament, so this starts them again from
+     * the new seed too (otherwise they would depend on the seed the tournament was created with).
+     */
+    @Override
+    public void setRandomSeed(Number randomSeed) {
+        super.setRandomSeed(randomSeed);
+        idStream = new PermutationCycler(agents.size(), seedRnd, nPlayers);
+    }
+
     /**
      * Instead of recursively constructing all possible combinations of players for the game (as in the super-class)
      * here we create random matchups. This is designed for large numbers of players, for which an exhaustive
      * search of all permutations would be prohibitive.
      *
+     * With sequential testing, matchups in which every pair of agents is already decided are skipped, so that
+     * their games go to matchups that are still undecided. The tournament stops when all pairs are decided.
+     *
      * @param ignored - this input is ignored
      */
     @Override
     public void createAndRunMatchUp(List<Integer> ignored) {
         int nTeams = game.getGameState().getNTeams();
+        if (sequentialTest != null)
+            sequentialGameBudget += gamesPerMatchUp;
+        int skipped = 0;
         for (int i = 0; i < gamesPerMatchUp; i++) {
             List<Integer> matchup = new ArrayList<>(nTeams);
             for (int j = 0; j < nTeams; j++)
                 matchup.add(idStream.getAsInt());
+            if (sequentialTest != null) {
+                Set<Integer> agentSet = new HashSet<>(matchup);
+                if (agentSet.size() > 1 && sequentialTest.allDecided(agentSet)) {
+                    if (sequentialTest.allDecided(allAgentIds) || ++skipped > MAX_SKIPPED_MATCHUPS * agents.size())
+                        break;
+                    i--;  // this game is given to the next matchup instead
+                    continue;
+                }
+                skipped = 0;
+                sequentialGamesPlayed++;
+            }
             evaluateMatchUp(matchup, 1, Collections.singletonList(gameSeeds.get(i)));
             if(reportPeriod > 0 && (i+1) % reportPeriod == 0 && i != gamesPerMatchUp - 1) {
                 reportResults();
@@ -1,7 +1,9 @@
 package evaluation.tournaments;
 
+import core.AbstractGameState;
 import core.AbstractParameters;
 import core.AbstractPlayer;
+import evaluation.Checkpoint;
 import evaluation.RunArg;
 import evaluation.listeners.IGameListener;
 import evaluation.listeners.TournamentMetricsGameListener;
@@ -12,6 +14,9 @@ import utilities.Pair;
 
 import java.io.File;
 import java.io.FileWriter;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -47,6 +52,36 @@ public class RoundRobinTournament extends AbstractTournament {
     String seedFile;
     Random seedRnd = new Random(randomSeed);
 
+    // Sequential testing (only if earlyStop > 0): matchups are stopped once the results are significant
+    protected SequentialTest sequentialTest;
+    // Matchups waiting to be played, grouped by the set of agents in them, with the games allocated to each
+    LinkedHashMap<List<Integer>, List<List<Integer>>> pendingMatchUps = new LinkedHashMap<>();
+    LinkedHashMap<List<Integer>, Integer> pendingGames = new LinkedHashMap<>();
+    int sequentialGameBudget, sequentialGamesPlayed;
+
+    // Checkpointing (only if a checkpoint file is given): the outcome of every game is kept, and saved periodically.
+    // A resumed tournament runs through the same matchups and seeds, but takes the outcomes of the games played
+    // before the checkpoint from the file instead of playing them again.
+    private static final int CHECKPOINT_VERSION = 1;
+    String checkpointFile;
+    int checkpointPeriod;
+    boolean resume;
+    List<GameOutcome> playedGames = new ArrayList<>();
+    List<GameOutcome> replayGames = new ArrayList<>();
+    int gamesReplayed;
+    Random[] resumedAgentRnds;
+
+    // Sharding (only if nShards > 1): the games, numbered in the order they are played in a single process, are dealt
+    // to the shards in turn. A worker plays only the games of its shard, and saves their outcomes; the coordinator
+    // then merges the outcomes of all the shards, and replays them to produce the report.
+    private static final int SHARD_VERSION = 1;
+    int nShards, shard = -1;
+    String shardFile;
+    int gameIndex;
+    List<Integer> shardGameIndices = new ArrayList<>();
+    List<GameOutcome> shardOutcomes = new ArrayList<>();
+    boolean replayOnly;
+
 
     /**
      * Create a round robin tournament, which plays all agents against all others.
@@ -94,8 +129,21 @@ public class RoundRobinTournament extends AbstractTournament {
             }
             this.tournamentSeeds = gameSeeds.size();
         }
+        double earlyStop = ((Number) config.getOrDefault(RunArg.earlyStop, 0.0)).doubleValue();
+        if (earlyStop > 0.0)
+            this.sequentialTest = new SequentialTest(agents.size(), earlyStop);
         this.name = String.format("Game: %s, Players: %d, GamesPerMatchup: %d, Mode: %s",
                 gameToPlay.name(), playersPerGame, gamesPerMatchUp, tournamentMode.name());
+        if (sequentialTest != null)
+            this.name += String.format(", EarlyStop: %.3f", earlyStop);
+        this.checkpointFile = (String) config.getOrDefault(RunArg.checkpoint, "");
+        this.checkpointPeriod = (int) config.getOrDefault(RunArg.checkpointPeriod, 100);
+        this.resume = (boolean) config.getOrDefault(RunArg.resume, false);
+        if (checkpointPeriod < 1)
+            throw new IllegalArgumentException("checkpointPeriod must be at least 1 : " + checkpointPeriod);
+        this.nShards = (int) config.getOrDefault(RunArg.shards, 1);
+        if (nShards > 1 && sequentialTest != null)
+            throw new IllegalArgumentException("Sequential testing cannot be used with shards, as the games to play depend on the results");
     }
 
     /**
@@ -116,6 +164,9 @@ public class RoundRobinTournament extends AbstractTournament {
             game.addListener(gameTracker);
         }
 
+        if (resume && !replayOnly && Checkpoint.exists(checkpointFile))
+            loadCheckpoint();
+
         LinkedList<Integer> matchUp = new LinkedList<>();
         // add outer loop if we have tournamentSeeds enabled; if not this will just run once
         List<Integer> allSeeds = new ArrayList<>(gameSeeds);
@@ -130,8 +181,22 @@ public class RoundRobinTournament extends AbstractTournament {
                 gameSeeds = IntStream.range(0, gamesPerMatchUp).mapToObj(i -> seedRnd.nextInt()).collect(toList());
             }
             createAndRunMatchUp(matchUp);
+            if (sequentialTest != null)
+                runPendingMatchUps();
+        }
+        if (gamesReplayed < replayGames.size())
+            throw new AssertionError(String.format("The checkpoint %s has %d games, but this tournament only has %d",
+                    checkpointFile, replayGames.size(), gamesReplayed));
+        if (!checkpointFile.isEmpty())
+            saveCheckpoint();
+        if (shard >= 0) {
+            // the results of one shard are only a part of the tournament, so we leave the report to the coordinator
+            saveShard();
+            if (verbose)
+                System.out.printf("Shard %d of %d: played %d of %d games%n", shard, nShards, shardOutcomes.size(), gameIndex);
+        } else {
+            reportResults();
         }
-        reportResults();
 
         for (IGameListener listener : listeners)
             listener.report();
@@ -195,7 +260,10 @@ public class RoundRobinTournament extends AbstractTournament {
                     }
                     // We split the total budget equally across the possible positions the focus player can be in
                     // We will therefore use the first chunk of gameSeeds only (but use the same gameSeeds for each position)
-                    evaluateMatchUp(matchup, gamesPerMatchUp / nTeams, gameSeeds);
+                    if (sequentialTest != null)
+                        addPendingMatchUp(matchup, gamesPerMatchUp / nTeams);
+                    else
+                        evaluateMatchUp(matchup, gamesPerMatchUp / nTeams, gameSeeds);
                 } else {
                     for (int m = 0; m < this.gamesPerMatchUp; m++) {
                         Collections.shuffle(agentOrder, seedRnd);
@@ -214,7 +282,10 @@ public class RoundRobinTournament extends AbstractTournament {
         } else {
             // in this case we are in exhaustive mode, so we recursively construct all possible combinations of players
             if (matchUp.size() == nTeams) {
-                evaluateMatchUp(matchUp, gamesPerMatchUp, gameSeeds);
+                if (sequentialTest != null)
+                    addPendingMatchUp(matchUp, gamesPerMatchUp);
+                else
+                    evaluateMatchUp(matchUp, gamesPerMatchUp, gameSeeds);
             } else {
                 for (Integer agentID : this.allAgentIds) {
                     if (tournamentMode == SELF_PLAY || !matchUp.contains(agentID)) {
@@ -227,6 +298,76 @@ public class RoundRobinTournament extends AbstractTournament {
         }
     }
 
+    /**
+     * Queues a matchup to be played with sequential testing, with the number of games it would have been allocated.
+     * Matchups with the same set of agents (in different positions) are grouped, and tested together.
+     */
+    protected void addPendingMatchUp(List<Integer> matchUp, int nGames) {
+        List<Integer> agentSet = new ArrayList<>(matchUp);
+        Collections.sort(agentSet);
+        pendingMatchUps.computeIfAbsent(agentSet, k -> new ArrayList<>()).add(new ArrayList<>(matchUp));
+        pendingGames.merge(agentSet, nGames, Integer::sum);
+    }
+
+    /**
+     * Plays the queued matchups with sequential testing. Each group of matchups plays one game in each of its
+     * positions in turn, until the results between all the agents in it are significant. The games saved on decided
+     * groups are given to the groups that are still undecided, so the total number of games is never more than
+     * without early stopping.
+     * Groups with only one agent (self-play) are not tested, and just play the games allocated to them.
+     */
+    protected void runPendingMatchUps() {
+        List<List<Integer>> undecided = new ArrayList<>();
+        int gameBudget = 0;
+        for (List<Integer> agentSet : pendingMatchUps.keySet()) {
+            if (new HashSet<>(agentSet).size() > 1) {
+                undecided.add(agentSet);
+                gameBudget += pendingGames.get(agentSet);
+                sequentialGameBudget += pendingGames.get(agentSet);
+            } else {
+                List<List<Integer>> matchUps = pendingMatchUps.get(agentSet);
+                int perMatchUp = pendingGames.get(agentSet) / matchUps.size();
+                for (List<Integer> matchUp : matchUps)
+                    evaluateMatchUp(matchUp, perMatchUp, gameSeeds);
+            }
+        }
+        Map<List<Integer>, Integer> gamesPerPosition = new HashMap<>();
+        while (!undecided.isEmpty()) {
+            Iterator<List<Integer>> it = undecided.iterator();
+            while (it.hasNext()) {
+                List<Integer> agentSet = it.next();
+                List<List<Integer>> matchUps = pendingMatchUps.get(agentSet);
+                if (gameBudget < matchUps.size()) {
+                    // not enough games left to play every position again
+                    undecided.clear();
+                    break;
+                }
+                int g = gamesPerPosition.getOrDefault(agentSet, 0);
+                for (List<Integer> matchUp : matchUps)
+                    evaluateMatchUp(matchUp, 1, Collections.singletonList(getGameSeed(g)));
+                gamesPerPosition.put(agentSet, g + 1);
+                gameBudget -= matchUps.size();
+                sequentialGamesPlayed += matchUps.size();
+                if (sequentialTest.allDecided(new HashSet<>(agentSet)))
+                    it.remove();
+            }
+        }
+        pendingMatchUps.clear();
+        pendingGames.clear();
+    }
+
+    /**
+     * @return - the seed for the i-th game of a matchup. Games beyond those planned (when games are reallocated by
+     * sequential testing) use new seeds, or the tournament seed if there is one.
+     */
+    protected int getGameSeed(int i) {
+        if (!(gameSeeds instanceof ArrayList))
+            gameSeeds = new ArrayList<>(gameSeeds);
+        while (gameSeeds.size() <= i)
+            gameSeeds.add(tournamentSeeds > 0 ? gameSeeds.get(0) : seedRnd.nextInt());
+        return gameSeeds.get(i);
+    }
+
     /**
      * Evaluates one combination of players.
      *
@@ -261,20 +402,48 @@ public class RoundRobinTournament extends AbstractTournament {
 
         // Run the game N = gamesPerMatchUp times with these players
         for (int i = 0; i < nGames; i++) {
-            // if tournamentSeeds > 0, then we are running this many tournaments, each with a different random seed fixed for the whole tournament
-            // so we override the standard random seeds
-            game.reset(matchUpPlayers, seeds.get(i));
-
-            // Randomize parameters
-            if (randomGameParams) {
-                game.getGameState().getGameParameters().randomize();
-                System.out.println("Game parameters: " + game.getGameState().getGameParameters());
-            }
+            int index = gameIndex++;
+            if (shard >= 0 && index % nShards != shard)
+                continue;  // this game is played by another worker
+            GameOutcome outcome;
+            if (gamesReplayed < replayGames.size()) {
+                // this game was played before the checkpoint we resumed from
+                outcome = replayGames.get(gamesReplayed++);
+            } else {
+                if (replayOnly)
+                    throw new AssertionError("No result for game " + index + " in the shards being merged");
+                if (resumedAgentRnds != null) {
+                    // we have caught up with the checkpoint, so the agents continue from where they were
+                    for (int j = 0; j < agents.size(); j++)
+                        agents.get(j).setRnd(resumedAgentRnds[j]);
+                    resumedAgentRnds = null;
+                }
+                // if tournamentSeeds > 0, then we are running this many tournaments, each with a different random seed fixed for the whole tournament
+                // so we override the standard random seeds
+                game.reset(matchUpPlayers, seeds.get(i));
+
+                // Randomize parameters
+                if (randomGameParams) {
+                    game.getGameState().getGameParameters().randomize();
+                    System.out.println("Game parameters: " + game.getGameState().getGameParameters());
+                }
 
-            game.run();  // Always running tournaments without visuals
-            GameResult[] results = game.getGameState().getPlayerResults();
+                game.run();  // Always running tournaments without visuals
+                outcome = new GameOutcome(game.getGameState());
+            }
+            if (!checkpointFile.isEmpty()) {
+                playedGames.add(outcome);
+                if (playedGames.size() > replayGames.size() && playedGames.size() % checkpointPeriod == 0)
+                    saveCheckpoint();
+            }
+            if (shard >= 0) {
+                shardGameIndices.add(index);
+                shardOutcomes.add(outcome);
+            }
+            GameResult[] results = outcome.results;
 
             int numDraws = 0;
+            int[] ordinals = new int[matchUpPlayers.size()];
             for (int j = 0; j < matchUpPlayers.size(); j++) {
                 nGamesPlayed[agentIDsInThisGame.get(j)] += 1;
                 for (int k = 0; k < matchUpPlayers.size(); k++) {
@@ -285,17 +454,28 @@ public class RoundRobinTournament extends AbstractTournament {
 
                 // now we need to be careful if we have a team game, as the agents are indexed by Team, not player
                 if (byTeam) {
-                    for (int player = 0; player < game.getGameState().getNPlayers(); player++) {
-                        if (game.getGameState().getTeam(player) == j) {
-                            numDraws += updatePoints(results, agentIDsInThisGame, agentIDsInThisGame.get(j), player);
+                    for (int player = 0; player < results.length; player++) {
+                        if (outcome.teams[player] == j) {
+                            numDraws += updatePoints(outcome, agentIDsInThisGame, agentIDsInThisGame.get(j), player);
+                            ordinals[j] = outcome.ordinals[player];
                             break; // we stop after one player on the team to avoid double counting
                         }
                     }
                 } else {
-                    numDraws += updatePoints(results, agentIDsInThisGame, agentIDsInThisGame.get(j), j);
+                    numDraws += updatePoints(outcome, agentIDsInThisGame, agentIDsInThisGame.get(j), j);
+                    ordinals[j] = outcome.ordinals[j];
                 }
             }
 
+            if (sequentialTest != null) {
+                // difference in ordinal position between each pair of agents, scaled to [-1, 1]
+                double scale = Math.max(1, results.length - 1);
+                for (int j = 0; j < ordinals.length; j++)
+                    for (int k = j + 1; k < ordinals.length; k++)
+                        sequentialTest.addResult(agentIDsInThisGame.get(j), agentIDsInThisGame.get(k),
+                                (ordinals[k] - ordinals[j]) / scale);
+            }
+
             if (numDraws > 0) {
                 double pointsPerDraw = 1.0 / numDraws;
                 for (int j = 0; j < matchUpPlayers.size(); j++) {
@@ -309,8 +489,8 @@ public class RoundRobinTournament extends AbstractTournament {
                 StringBuffer sb = new StringBuffer();
                 sb.append("[");
                 for (int j = 0; j < matchUpPlayers.size(); j++) {
-                    for (int player = 0; player < game.getGameState().getNPlayers(); player++) {
-                        if (game.getGameState().getTeam(player) == j) {
+                    for (int player = 0; player < results.length; player++) {
+                        if (outcome.teams[player] == j) {
                             sb.append(results[player]).append(",");
                             break; // we stop after one player on the team to avoid double counting
                         }
@@ -324,9 +504,10 @@ public class RoundRobinTournament extends AbstractTournament {
         totalGamesRun += nGames;
     }
 
-    private int updatePoints(GameResult[] results, List<Integer> matchUpPlayers, int j, int player) {
+    private int updatePoints(GameOutcome outcome, List<Integer> matchUpPlayers, int j, int player) {
         // j is the index of the agent in the matchup; player is the corresponding player number in the game
-        int ordinalPos = game.getGameState().getOrdinalPosition(player);
+        GameResult[] results = outcome.results;
+        int ordinalPos = outcome.ordinals[player];
         rankPerPlayer[j] += ordinalPos;
         rankPerPlayerSquared[j] += ordinalPos * ordinalPos;
 
@@ -345,6 +526,112 @@ public class RoundRobinTournament extends AbstractTournament {
         return 0;
     }
 
+    /**
+     * Saves the outcomes of all the games played so far, with the state of the agents' random number generators,
+     * to the checkpoint file.
+     */
+    protected void saveCheckpoint() {
+        Checkpoint.save(checkpointFile, "RoundRobinTournament", CHECKPOINT_VERSION, out -> {
+            out.writeUTF(name);
+            out.writeInt(agents.size());
+            out.writeLong(randomSeed);
+            out.writeInt(playedGames.size());
+            for (GameOutcome outcome : playedGames)
+                outcome.write(out);
+            // written as one array, so generators shared between agents are still shared when read back
+            out.writeObject(agents.stream().map(AbstractPlayer::getRnd).toArray(Random[]::new));
+        });
+    }
+
+    /**
+     * Loads the checkpoint file. The games in it are then replayed (without being played) before any new ones.
+     */
+    protected void loadCheckpoint() {
+        Checkpoint.load(checkpointFile, "RoundRobinTournament", CHECKPOINT_VERSION, in -> {
+            String savedName = in.readUTF();
+            int savedAgents = in.readInt();
+            if (!savedName.equals(name) || savedAgents != agents.size())
+                throw new IllegalArgumentException(String.format("Checkpoint %s is for a different tournament (%s with %d agents)",
+                        checkpointFile, savedName, savedAgents));
+            setRandomSeed(in.readLong());
+            int nGames = in.readInt();
+            replayGames = new ArrayList<>(nGames);
+            for (int i = 0; i < nGames; i++)
+                replayGames.add(GameOutcome.read(in));
+            resumedAgentRnds = (Random[]) in.readObject();
+            return null;
+        });
+        if (verbose)
+            System.out.printf("Resuming from %s after %d games%n", checkpointFile, replayGames.size());
+    }
+
+    /**
+     * Makes this tournament a worker for one shard: it plays only the games of its shard, and saves their outcomes
+     * to the file (instead of reporting the results).
+     *
+     * @param shard     - index of the shard, from 0 to the number of shards - 1.
+     * @param shardFile - file for the outcomes of the games played.
+     */
+    public void setShard(int shard, String shardFile) {
+        if (shard < 0 || shard >= nShards)
+            throw new IllegalArgumentException(String.format("Shard %d is not valid with %d shards", shard, nShards));
+        this.shard = shard;
+        this.shardFile = shardFile;
+    }
+
+    protected void saveShard() {
+        Checkpoint.save(shardFile, "TournamentShard", SHARD_VERSION, out -> {
+            out.writeUTF(name);
+            out.writeInt(agents.size());
+            out.writeLong(randomSeed);
+            out.writeInt(nShards);
+            out.writeInt(gameIndex);
+            out.writeInt(shardOutcomes.size());
+            for (int i = 0; i < shardOutcomes.size(); i++) {
+                out.writeInt(shardGameIndices.get(i));
+                shardOutcomes.get(i).write(out);
+            }
+        });
+    }
+
+    /**
+     * Takes the results of the tournament from the files saved by the workers of all the shards. When run, the
+     * tournament then goes through the games in the same order as in a single process, but takes their outcomes
+     * from the shards instead of playing them, so the report is the same as if one process had played them all.
+     *
+     * @param shardFiles - the files saved by the workers, one for each shard.
+     */
+    public void mergeShards(List<String> shardFiles) {
+        if (shardFiles.size() != nShards)
+            throw new IllegalArgumentException(String.format("Expected %d shards, not %d", nShards, shardFiles.size()));
+        List<GameOutcome> merged = new ArrayList<>();
+        for (String file : shardFiles) {
+            Checkpoint.load(file, "TournamentShard", SHARD_VERSION, in -> {
+                String savedName = in.readUTF();
+                int savedAgents = in.readInt();
+                long savedSeed = in.readLong();
+                int savedShards = in.readInt();
+                int totalGames = in.readInt();
+                if (!savedName.equals(name) || savedAgents != agents.size() || savedSeed != randomSeed || savedShards != nShards)
+                    throw new IllegalArgumentException(String.format("Shard %s is for a different tournament (%s with %d agents, seed %d, %d shards)",
+                            file, savedName, savedAgents, savedSeed, savedShards));
+                while (merged.size() < totalGames)
+                    merged.add(null);
+                int n = in.readInt();
+                for (int i = 0; i < n; i++) {
+                    int index = in.readInt();
+                    if (merged.get(index) != null)
+                        throw new IllegalArgumentException("Game " + index + " is in more than one shard");
+                    merged.set(index, GameOutcome.read(in));
+                }
+                return null;
+            });
+        }
+        if (merged.contains(null))
+            throw new IllegalArgumentException("The shards do not have the results of game " + merged.indexOf(null));
+        replayGames = merged;
+        replayOnly = true;
+    }
 
     protected void calculateFinalResults() {
         finalWinRanking = new LinkedHashMap<>();
@@ -419,6 +706,24 @@ public class RoundRobinTournament extends AbstractTournament {
             if (verbose) System.out.print(str);
         }
 
+        if (sequentialTest != null && sequentialGameBudget > 0) {
+            str = String.format("---- Sequential testing at %.3f: %d games played, %d planned ---- \n",
+                    sequentialTest.getAlpha(), totalGamesRun, totalGamesRun - sequentialGamesPlayed + sequentialGameBudget);
+            if (toFile) dataDump.add(str);
+            if (verbose) System.out.print(str);
+            for (int i = 0; i < agents.size(); i++) {
+                for (int j = i + 1; j < agents.size(); j++) {
+                    if (sequentialTest.getGames(i, j) == 0) continue;
+                    str = String.format("%s vs %s: %d games, ordinal difference %.2f, confidence %.1f%%%s\n",
+                            agents.get(i), agents.get(j), sequentialTest.getGames(i, j),
+                            sequentialTest.getMeanDifference(i, j), 100.0 * sequentialTest.getConfidence(i, j),
+                            sequentialTest.isDecided(i, j) ? " (decided)" : "");
+                    if (toFile) dataDump.add(str);
+                    if (verbose) System.out.print(str);
+                }
+            }
+        }
+
         // To file
         if (toFile) {
             try {
@@ -441,6 +746,20 @@ public class RoundRobinTournament extends AbstractTournament {
         return finalWinRanking.get(agentID).b;
     }
 
+    /**
+     * @return - the number of games actually played (which can be fewer than planned with sequential testing).
+     */
+    public int getGamesPlayed() {
+        return totalGamesRun;
+    }
+
+    /**
+     * @return - the sequential test used to stop matchups early, or null if early stopping is not enabled.
+     */
+    public SequentialTest getSequentialTest() {
+        return sequentialTest;
+    }
+
     public double getOrdinalRank(int agentID) {
         return finalOrdinalRanking.get(agentID).a;
     }
@@ -470,6 +789,14 @@ public class RoundRobinTournament extends AbstractTournament {
         seedRnd = new Random(this.randomSeed);
     }
 
+    /**
+     * Sets the file to checkpoint the tournament to (overriding the one in the configuration), for example to
+     * use a different file for each of several tournaments in one run.
+     */
+    public void setCheckpointFile(String checkpointFile) {
+        this.checkpointFile = checkpointFile;
+    }
+
     public void setRandomGameParams(boolean randomGameParams) {
         this.randomGameParams = randomGameParams;
     }
@@ -481,4 +808,53 @@ public class RoundRobinTournament extends AbstractTournament {
     public int getNumberOfAgents() {
         return agents.size();
     }
+
+    /**
+     * The results of one game, with the ordinal positions and teams of the players: all that is needed to update
+     * the statistics of the tournament.
+     */
+    static class GameOutcome {
+        final GameResult[] results;
+        final int[] ordinals;
+        final int[] teams;
+
+        GameOutcome(AbstractGameState state) {
+            int n = state.getNPlayers();
+            results = state.getPlayerResults().clone();
+            ordinals = new int[n];
+            teams = new int[n];
+            for (int p = 0; p < n; p++) {
+                ordinals[p] = state.getOrdinalPosition(p);
+                teams[p] = state.getTeam(p);
+            }
+        }
+
+        GameOutcome(GameResult[] results, int[] ordinals, int[] teams) {
+            this.results = results;
+            this.ordinals = ordinals;
+            this.teams = teams;
+        }
+
+        void write(ObjectOutputStream out) throws IOException {
+            out.writeByte(results.length);
+            for (int p = 0; p < results.length; p++) {
+                out.writeByte(results[p].ordinal());
+                out.writeByte(ordinals[p]);
+                out.writeByte(teams[p]);
+            }
+        }
+
+        static GameOutcome read(ObjectInputStream in) throws IOException {
+            int n = in.readByte();
+            GameResult[] results = new GameResult[n];
+            int[] ordinals = new int[n];
+            int[] teams = new int[n];
+            for (int p = 0; p < n; p++) {
+                results[p] = GameResult.values()[in.readByte()];
+                ordinals[p] = in.readByte();
+                teams[p] = in.readByte();
+            }
+            return new GameOutcome(results, ordinals, teams);
+        }
+    }
 }
@@ -0,0 +1,93 @@
+package evaluation.tournaments;
+
+/**
+ * Sequential test of the difference in strength between each pair of agents in a tournament, used to stop playing
+ * a matchup once its result is clear.
+ * <p>
+ * After each game, every pair of (different) agents in it records the difference in their ordinal positions, scaled
+ * to [-1, 1] (in a two-player game this is +1 for a win, -1 for a loss and 0 for a draw). A pair is decided once the
+ * mean difference is further from zero than a Hoeffding bound that holds at every number of games simultaneously
+ * (the significance level alpha is split over the games as 6 alpha / (pi^2 n^2)). So the test can be checked after
+ * every game, and a pair that is stopped early has the same guarantee as one tested once at the end: if the agents
+ * are equally strong, the probability of ever declaring one better is at most alpha.
+ * <p>
+ * The bound is conservative; with alpha = 0.05 a pair cannot be decided in fewer than about 20 games, and close
+ * pairs are never decided (and so play all the games they are given).
+ */
+public class SequentialTest {
+
+    final double alpha;
+    final int nAgents;
+    final int[][] nGames;
+    final double[][] sumDiff;
+
+    public SequentialTest(int nAgents, double alpha) {
+        if (alpha <= 0.0 || alpha >= 1.0)
+            throw new IllegalArgumentException("Significance level must be in (0, 1) : " + alpha);
+        this.alpha = alpha;
+        this.nAgents = nAgents;
+        nGames = new int[nAgents][nAgents];
+        sumDiff = new double[nAgents][nAgents];
+    }
+
+    /**
+     * Records the result of one game between agents a and b.
+     *
+     * @param diff - how much better a did than b, in [-1, 1].
+     */
+    public void addResult(int a, int b, double diff) {
+        if (a == b) return;
+        nGames[a][b]++;
+        nGames[b][a]++;
+        sumDiff[a][b] += diff;
+        sumDiff[b][a] -= diff;
+    }
+
+    public int getGames(int a, int b) {
+        return nGames[a][b];
+    }
+
+    /**
+     * @return - the mean of the differences between a and b (positive if a is better).
+     */
+    public double getMeanDifference(int a, int b) {
+        return nGames[a][b] == 0 ? 0.0 : sumDiff[a][b] / nGames[a][b];
+    }
+
+    /**
+     * @return - 1 minus the smallest significance level at which the pair would be decided with the games played
+     * so far (0 if no games have been played).
+     */
+    public double getConfidence(int a, int b) {
+        int n = nGames[a][b];
+        if (n == 0) return 0.0;
+        double mean = getMeanDifference(a, b);
+        double minAlpha = Math.PI * Math.PI * n * n / 3.0 * Math.exp(-n * mean * mean / 2.0);
+        return Math.max(0.0, 1.0 - minAlpha);
+    }
+
+    /**
+     * @return - true if the difference between agents a and b is significant at the configured level.
+     * An agent is never decided against itself.
+     */
+    public boolean isDecided(int a, int b) {
+        int n = nGames[a][b];
+        if (a == b || n == 0) return false;
+        double bound = Math.sqrt(2.0 * Math.log(Math.PI * Math.PI * n * n / (3.0 * alpha)) / n);
+        return Math.abs(getMeanDifference(a, b)) > bound;
+    }
+
+    /**
+     * @return - true if every pair of different agents in the list is decided.
+     */
+    public boolean allDecided(Iterable<Integer> agents) {
+        for (int a : agents)
+            for (int b : agents)
+                if (a < b && !isDecided(a, b)) return false;
+        return true;
+    }
+
+    public double getAlpha() {
+        return alpha;
+    }
+}
@@ -51,6 +51,8 @@ public class SkillLadder {
                             "\t               and will not be used otherwise - all tournaments in the ladder will use tuned agents using the searchspace.\n" +
                             "\tgameParams=    (Optional) A JSON file from which the game parameters will be initialised.\n" +
                             "\tnGames=        The total number of games to run for each rung of the ladder. Defaults to 1000.\n" +
+                            "\tearlyStop=     (Optional) Significance level (e.g. 0.05) at which a rung is stopped before nGames,\n" +
+                            "\t               once the difference between the two agents is significant. Defaults to 0 (never).\n" +
                             "\tstartBudget=   The budget to use for the first agent. Defaults to 8.\n" +
                             "\tmultiplier=    The factor by which to increase the budget each iteration. Defaults to 2.\n" +
                             "\titerations=    The number of iterations to run. Defaults to 5.\n" +
@@ -75,6 +77,7 @@ public class SkillLadder {
         }
 
         int gamesPerIteration = getArg(args, "nGames", 100);
+        double earlyStopAlpha = getArg(args, "earlyStop", 0.0);
         int startingTimeBudget = getArg(args, "startBudget", 8);
         int iterations = getArg(args, "iterations", 5);
         int timeBudgetMultiplier = getArg(args, "multiplier", 2);
@@ -164,6 +167,7 @@ public class SkillLadder {
                 Map<RunArg, Object> config = new HashMap<>();
                 config.put(matchups, gamesPerIteration);
                 config.put(byTeam, false);
+                config.put(earlyStop, earlyStopAlpha);
                 RoundRobinTournament RRT = new RoundRobinTournament(agents, gameType, nPlayers, params, ONE_VS_ALL, config);
                 RRT.verbose = false;
                 for (String listenerClass : listenerClasses) {
@@ -183,14 +187,16 @@ public class SkillLadder {
                 RRT.setResultsFile((destDir.isEmpty() ? "" : destDir + File.separator) + "TournamentResults.txt");
                 RRT.run();
                 long endTime = System.currentTimeMillis();
-                System.out.printf("%d games in %3d minutes\tBudget %5d win rate: %.1f%% +/- %.1f%%, mean rank %.1f +/- %.1f\tvs Budget %5d win rate: %.1f%% +/- %.1f%%, mean rank %.1f +/- %.1f%n",
-                        gamesPerIteration, (endTime - startTime) / 60000,
+                System.out.printf("%d games in %3d minutes\tBudget %5d win rate: %.1f%% +/- %.1f%%, mean rank %.1f +/- %.1f\tvs Budget %5d win rate: %.1f%% +/- %.1f%%, mean rank %.1f +/- %.1f%s%n",
+                        RRT.getGamesPlayed(), (endTime - startTime) / 60000,
                         newBudget,
                         RRT.getWinRate(0) * 100, RRT.getWinStdErr(0) * 100 * 2,
                         RRT.getOrdinalRank(0), RRT.getOrdinalStdErr(0) * 2,
                         otherBudget,
                         RRT.getWinRate(1) * 100, RRT.getWinStdErr(1) * 100 * 2,
-                        RRT.getOrdinalRank(1), RRT.getOrdinalStdErr(1) * 2
+                        RRT.getOrdinalRank(1), RRT.getOrdinalStdErr(1) * 2,
+                        RRT.getSequentialTest() == null ? "" :
+                                String.format("\tconfidence %.1f%%", RRT.getSequentialTest().getConfidence(0, 1) * 100)
                 );
             }
         }
@@ -210,6 +216,8 @@ public class SkillLadder {
         ntbeaParameters.evalGames = 0;
         ntbeaParameters.opponentDescriptor = getArg(args, "player", "random");
         ntbeaParameters.logFile = "NTBEA_Runs.log";
+        if (!ntbeaParameters.checkpointFile.isEmpty())
+            ntbeaParameters.checkpointFile = ntbeaParameters.checkpointFile + "_Budget_" + agentBudget;
         return ntbeaParameters;
     }
 
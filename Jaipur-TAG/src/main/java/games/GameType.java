@@ -108,6 +108,10 @@ public enum GameType {
             Arrays.asList(Simple, Abstract),
             Collections.singletonList(PatternBuilding),
             Connect4GameState.class, Connect4ForwardModel.class, Connect4GameParameters.class, Connect4GUIManager.class),
+    Connect4Bitboard(2, 2,
+            Arrays.asList(Simple, Abstract),
+            Collections.singletonList(PatternBuilding),
+            Connect4BitboardGameState.class, Connect4BitboardForwardModel.class, Connect4GameParameters.class, Connect4GUIManager.class),
     ExplodingKittens(2, 5,
             Arrays.asList(Strategy, Animals, Cards, ComicBook, Humour),
             Arrays.asList(HandManagement, HotPotato, PlayerElimination, PushYourLuck, SetCollection, TakeThat),
@@ -1,6 +1,7 @@
 package games.battlelore;
 
 import core.AbstractGameState;
+import core.GameDataCache;
 import core.StandardForwardModel;
 import core.actions.AbstractAction;
 import core.components.GridBoard;
@@ -22,8 +23,12 @@ public class BattleloreForwardModel extends StandardForwardModel {
     protected void _setup(AbstractGameState initialState) {
         BattleloreGameParameters gameParams = (BattleloreGameParameters) initialState.getGameParameters();
         BattleloreGameState gameState = (BattleloreGameState) initialState;
-        BattleloreData _data = new BattleloreData();
-        _data.load(gameParams.getDataPath());
+        // Each game gets its own copy of the unit types parsed at the first setup
+        BattleloreData _data = GameDataCache.get(BattleloreData.class.getName(), gameParams.getDataPath(), p -> {
+            BattleloreData data = new BattleloreData();
+            data.load(p);
+            return data;
+        }).copy();
 
         if (gameState.getNPlayers() != 2) {
             throw new IllegalArgumentException("3 or more players are not supported");
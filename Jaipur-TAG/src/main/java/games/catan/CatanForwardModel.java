@@ -242,6 +242,15 @@ public class CatanForwardModel extends StandardForwardModel {
         return _computeAvailableActions(gameState, ActionSpace.Default);
     }
 
+    /**
+     * Trade offers are only made to players with resources in hand, and a player's observation redeterminises the
+     * resources of the others.
+     */
+    @Override
+    public boolean actionsDependOnObservation() {
+        return true;
+    }
+
     @Override
     protected List<AbstractAction> _computeAvailableActions(AbstractGameState gameState, ActionSpace actionSpace) {
         CatanGameState cgs = (CatanGameState) gameState;
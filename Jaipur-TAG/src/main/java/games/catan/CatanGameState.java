@@ -483,6 +483,7 @@ public class CatanGameState extends AbstractGameState {
         copy.rollValue = rollValue;
         copy.nTradesThisTurn = nTradesThisTurn;
         copy.rnd = rnd;
+        copy.redeterminisationRnd = redeterminisationRnd;
 
         copy.developmentCardPlayed = developmentCardPlayed;
 
@@ -27,4 +27,9 @@ public class CatanStateFeatures extends AbstractStateFeature {
         return new double[0];
     }
 
+    @Override
+    protected void localFeatureVector(AbstractGameState gs, int playerID, double[] buffer, int offset) {
+        // no local features
+    }
+
 }
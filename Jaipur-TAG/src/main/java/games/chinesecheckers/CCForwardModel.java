@@ -5,7 +5,6 @@ import core.CoreConstants;
 import core.StandardForwardModel;
 import core.actions.AbstractAction;
 import games.chinesecheckers.actions.MovePeg;
-import games.chinesecheckers.components.CCNode;
 import games.chinesecheckers.components.Peg;
 import games.chinesecheckers.components.StarBoard;
 
@@ -30,7 +29,7 @@ public class CCForwardModel extends StandardForwardModel {
         CCGameState state = (CCGameState) firstState;
         CCParameters params = (CCParameters) state.getGameParameters();
 
-        state.starBoard = new StarBoard();
+        Arrays.fill(state.nodes, CCGameState.EMPTY);
 
         Peg.Colour[] playerColours = params.playerColours.get(state.getNPlayers());
 
@@ -47,15 +46,6 @@ public class CCForwardModel extends StandardForwardModel {
         return loadPlayerActions(player, state);
     }
 
-    private static CCNode neighbourInDirection(CCNode node, int dir) {
-        for (CCNode neig : node.getNeighbours()) {
-            if (node.getNeighbourSideMapping().get(neig) == dir) {
-                return neig;
-            }
-        }
-        return null;
-    }
-
     /**
      * Returns true if the peg can be placed on the node
      * All board nodes in the main areas are neutral; the colour here refers just to the 10
@@ -73,80 +63,91 @@ public class CCForwardModel extends StandardForwardModel {
         //player index to colour
         Peg.Colour playerCol = state.getPlayerColour(player);
         List<AbstractAction> actions = new ArrayList<>();
-        for (CCNode node : state.starBoard.getBoardNodes()) { // Check all Nodes
-            if (node.getOccupiedPeg() != null && node.getOccupiedPeg().getColour() == playerCol) {
-                actions.addAll(exploreNodeAction(node, state));
+        for (int node = 0; node < StarBoard.N_NODES; node++) { // Check all Nodes
+            if (state.getPegColour(node) == playerCol) {
+                exploreNodeAction(node, playerCol, state, actions);
             }
         }
         return actions;
     }
 
     /**
-     * In which we use a form of breadth-first search to find all the possible moves we can make
-     * starting from the given node
-     * @param node
-     * @param state
-     * @return
+     * Adds all the moves the peg on the given node can make: single steps to an adjacent node, or any chain of
+     * jumps over other pegs.
      */
-    private static List<AbstractAction> exploreNodeAction(CCNode node, CCGameState state) {
-        Peg.Colour playerCol = node.getOccupiedPeg().getColour();
-        List<AbstractAction> actions = new ArrayList<>();
+    private static void exploreNodeAction(int node, Peg.Colour playerCol, CCGameState state, List<AbstractAction> actions) {
         // first get the single directly adjacent moves
-        for (CCNode nei_0 : node.getNeighbours()) {
-            if (!nei_0.isNodeOccupied() && isPlayerPlaceable(nei_0.getBaseColour(), playerCol)) {
-                if (node.getOccupiedPeg().getInDestination()) {
-                    if (nei_0.getBaseColour() != Peg.Colour.neutral) {
-                        MovePeg action = new MovePeg(node.getID(), nei_0.getID());
-                        if (!actions.contains(action)) {
-                            actions.add(action);
-                        }
-                    }
-                } else {
-                    MovePeg action = new MovePeg(node.getID(), nei_0.getID());
-                    if (!actions.contains(action)) {
-                        actions.add(action);
-                    }
+        boolean inDestination = state.isPegInDestination(node);
+        long stepsLo = 0, stepsHi = 0;
+        for (int dir = 0; dir < StarBoard.N_DIRECTIONS; dir++) {
+            int nei = StarBoard.neighbour(node, dir);
+            if (nei != -1 && !state.isNodeOccupied(nei)) {
+                Peg.Colour neiCol = StarBoard.baseColour(nei);
+                if (isPlayerPlaceable(neiCol, playerCol) && (!inDestination || neiCol != Peg.Colour.neutral)) {
+                    actions.add(new MovePeg(node, nei));
+                    if (nei < 64) stepsLo |= 1L << nei;
+                    else stepsHi |= 1L << (nei - 64);
                 }
             }
         }
         // then get the jumping stuff
-        repeatAction(node, actions, playerCol);
-        return actions;
+        repeatAction(node, playerCol, state, actions, stepsLo, stepsHi);
     }
 
-    private static void repeatAction(CCNode node, List<AbstractAction> actions, Peg.Colour playerCol) {
-        HashSet<CCNode> visited = new HashSet<>();
-        HashSet<CCNode> toVisit = new HashSet<>();
-        toVisit.add(node);
-
-        // This should be looking for a chain of moves, without revisiting previous nodes
-        // that starts at the given node. Hence (if true), it should only be called once per peg
-        // and not once per neighbouring peg
-
-        while (!toVisit.isEmpty()) {
-            CCNode expNode = toVisit.iterator().next();
-            visited.add(expNode);
-            toVisit.remove(expNode);
+    /**
+     * In which we use a form of breadth-first search to find every node reachable from the given node by a chain
+     * of jumps, without revisiting previous nodes. The visited and to-visit sets are bitsets of the 121 nodes held
+     * in two longs each, so the search does not allocate.
+     * stepsLo/stepsHi hold the targets of single steps already added, which are not added again.
+     */
+    private static void repeatAction(int node, Peg.Colour playerCol, CCGameState state, List<AbstractAction> actions,
+                                     long stepsLo, long stepsHi) {
+        long visitedLo = 0, visitedHi = 0;
+        long toVisitLo = node < 64 ? 1L << node : 0, toVisitHi = node < 64 ? 0 : 1L << (node - 64);
+
+        while ((toVisitLo | toVisitHi) != 0) {
+            int expNode;
+            if (toVisitLo != 0) {
+                expNode = Long.numberOfTrailingZeros(toVisitLo);
+                toVisitLo &= toVisitLo - 1;
+                visitedLo |= 1L << expNode;
+            } else {
+                expNode = 64 + Long.numberOfTrailingZeros(toVisitHi);
+                toVisitHi &= toVisitHi - 1;
+                visitedHi |= 1L << (expNode - 64);
+            }
             // once in target zone, a peg may not leave it
-            boolean canLeaveZone = expNode.getBaseColour() != playerCol;
-            for (CCNode neighbour : expNode.getNeighbours()) {
-                int side = expNode.getNeighbourSideMapping().get(neighbour);
-                if (neighbour.isNodeOccupied()) {
-                    CCNode stride = neighbourInDirection(neighbour, side);
-                    if (stride != null && !stride.isNodeOccupied() &&
-                            (canLeaveZone || stride.getBaseColour() == playerCol) &&
-                            !visited.contains(stride)) {
-                        toVisit.add(stride);
+            boolean canLeaveZone = StarBoard.baseColour(expNode) != playerCol;
+            for (int dir = 0; dir < StarBoard.N_DIRECTIONS; dir++) {
+                int over = StarBoard.neighbour(expNode, dir);
+                if (over == -1 || !state.isNodeOccupied(over)) continue;
+                int stride = StarBoard.jump(expNode, dir);
+                if (stride != -1 && !state.isNodeOccupied(stride) &&
+                        (canLeaveZone || StarBoard.baseColour(stride) == playerCol)) {
+                    if (stride < 64) {
+                        toVisitLo |= (1L << stride) & ~visitedLo;
+                    } else {
+                        toVisitHi |= (1L << (stride - 64)) & ~visitedHi;
                     }
                 }
             }
         }
-        visited.remove(node);
-        visited.removeIf(n -> (!isPlayerPlaceable(n.getBaseColour(), playerCol)));
-        for (CCNode v : visited) {
-            MovePeg action = new MovePeg(node.getID(), v.getID());
-            if (!actions.contains(action)) {
-                actions.add(action);
+
+        // Every visited node other than the start is a move, unless already reachable by a single step
+        visitedLo &= ~stepsLo;
+        visitedHi &= ~stepsHi;
+        while (visitedLo != 0) {
+            int v = Long.numberOfTrailingZeros(visitedLo);
+            visitedLo &= visitedLo - 1;
+            if (v != node && isPlayerPlaceable(StarBoard.baseColour(v), playerCol)) {
+                actions.add(new MovePeg(node, v));
+            }
+        }
+        while (visitedHi != 0) {
+            int v = 64 + Long.numberOfTrailingZeros(visitedHi);
+            visitedHi &= visitedHi - 1;
+            if (v != node && isPlayerPlaceable(StarBoard.baseColour(v), playerCol)) {
+                actions.add(new MovePeg(node, v));
             }
         }
     }
@@ -186,12 +187,11 @@ public class CCForwardModel extends StandardForwardModel {
         int[] colourIndices = params.colourIndices.get(colour);
         int counter = 0;
         boolean PegIn = false;
-        List<CCNode> nodes = state.getStarBoard().getBoardNodes();
         for (int i : colourIndices) {
-            if (nodes.get(i).isNodeOccupied() && nodes.get(i).getOccupiedPeg().getColour() == colour) {
+            if (state.getPegColour(i) == colour) {
                 PegIn = true;
             }
-            if (nodes.get(i).isNodeOccupied()) {
+            if (state.isNodeOccupied(i)) {
                 counter++;
             }
         }
@@ -202,7 +202,7 @@ public class CCForwardModel extends StandardForwardModel {
         CCParameters params = (CCParameters) state.getGameParameters();
         int[] indices = params.colourIndices.get(params.boardOpposites.get(colour));
         for (int i : indices) {
-            state.starBoard.getBoardNodes().get(i).setOccupiedPeg(new Peg(colour, state.starBoard.getBoardNodes().get(i)));
+            state.placePeg(i, colour);
         }
     }
 }
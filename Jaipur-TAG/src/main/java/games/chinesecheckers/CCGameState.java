@@ -4,15 +4,29 @@ import core.AbstractGameState;
 import core.AbstractParameters;
 import core.components.Component;
 import games.GameType;
+import games.chinesecheckers.components.CCNode;
 import games.chinesecheckers.components.Peg;
 import games.chinesecheckers.components.StarBoard;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Objects;
+
+import static games.chinesecheckers.components.StarBoard.N_NODES;
 
 public class CCGameState extends AbstractGameState {
 
+    // Contents of each node of the star board: EMPTY, or 1 + the ordinal of the colour of the peg on it, with the
+    // IN_DESTINATION bit set once that peg has entered its destination. The board graph itself is held in the
+    // static tables of StarBoard, so copying the state is a single array clone.
+    static final byte EMPTY = 0;
+    static final byte IN_DESTINATION = 0x10;
+    static final byte COLOUR_MASK = 0x0f;
+    private static final Peg.Colour[] colours = Peg.Colour.values();
+
+    byte[] nodes = new byte[N_NODES];
+
+    // Component view of the board for the GUI, built on request and not copied with the state
     StarBoard starBoard;
 
     public CCGameState(AbstractParameters gameParameters, int nPlayers) {
@@ -23,11 +37,65 @@ public class CCGameState extends AbstractGameState {
         }
     }
 
+    /**
+     * @return the board as a graph of CCNodes holding Pegs, updated to the current position of all pegs.
+     * The same StarBoard object is returned each time for this state.
+     */
     public StarBoard getStarBoard()
     {
+        if (starBoard == null) {
+            starBoard = new StarBoard();
+        }
+        List<CCNode> boardNodes = starBoard.getBoardNodes();
+        for (int i = 0; i < N_NODES; i++) {
+            CCNode node = boardNodes.get(i);
+            Peg.Colour colour = getPegColour(i);
+            if (colour == null) {
+                node.setOccupiedPeg(null);
+            } else {
+                Peg peg = node.getOccupiedPeg();
+                if (peg == null || peg.getColour() != colour) {
+                    peg = new Peg(colour, node);
+                    node.setOccupiedPeg(peg);
+                }
+                peg.setInDestination(isPegInDestination(i));
+            }
+        }
         return starBoard;
     }
 
+    public boolean isNodeOccupied(int node) {
+        return nodes[node] != EMPTY;
+    }
+
+    /**
+     * @return the colour of the peg on the given node, or null if the node is empty
+     */
+    public Peg.Colour getPegColour(int node) {
+        byte content = nodes[node];
+        return content == EMPTY ? null : colours[(content & COLOUR_MASK) - 1];
+    }
+
+    public boolean isPegInDestination(int node) {
+        return (nodes[node] & IN_DESTINATION) != 0;
+    }
+
+    void placePeg(int node, Peg.Colour colour) {
+        nodes[node] = (byte) (colour.ordinal() + 1);
+    }
+
+    /**
+     * Moves the peg on one node to another (empty) node.
+     */
+    public void movePeg(int from, int to) {
+        nodes[to] = nodes[from];
+        nodes[from] = EMPTY;
+    }
+
+    public void setPegInDestination(int node) {
+        nodes[node] |= IN_DESTINATION;
+    }
+
     @Override
     protected GameType _getGameType() {
         return GameType.ChineseCheckers;
@@ -35,15 +103,14 @@ public class CCGameState extends AbstractGameState {
 
     @Override
     protected List<Component> _getAllComponents() {
-        return new ArrayList<Component>() {{
-            add(starBoard);
-        }};
+        // The StarBoard view is derived from the node array, actions never look it up by ID
+        return new ArrayList<>();
     }
 
     @Override
     protected AbstractGameState _copy(int playerId) {
         CCGameState copy = new CCGameState(gameParameters, getNPlayers());
-        copy.starBoard = starBoard.copy();
+        copy.nodes = nodes.clone();
 
         return copy;
     }
@@ -69,12 +136,12 @@ public class CCGameState extends AbstractGameState {
         if (!(o instanceof CCGameState)) return false;
         if (!super.equals(o)) return false;
         CCGameState that = (CCGameState) o;
-        return Objects.equals(starBoard, that.starBoard);
+        return Arrays.equals(nodes, that.nodes);
     }
 
     @Override
     public int hashCode() {
-        int result = Objects.hash(super.hashCode(), starBoard);
+        int result = 31 * super.hashCode() + Arrays.hashCode(nodes);
         result = 31 * result;
         return result;
     }
@@ -5,11 +5,8 @@ import core.AbstractParameters;
 import core.CoreConstants;
 import core.interfaces.IStateHeuristic;
 import evaluation.optimisation.TunableParameters;
-import games.chinesecheckers.components.CCNode;
 import games.chinesecheckers.components.Peg;
 
-import java.util.List;
-
 public class CCHeuristic extends TunableParameters implements IStateHeuristic  {
 
     @Override
@@ -29,17 +26,15 @@ public class CCHeuristic extends TunableParameters implements IStateHeuristic  {
 
         int score = 0;
         if(playerId == 0){
-            List<CCNode> nodes = state.getStarBoard().getBoardNodes();
             for(int i = 111; i <= 120; i++){
-                if(nodes.get(i).isNodeOccupied() && nodes.get(i).getOccupiedPeg().getColour() == Peg.Colour.purple){
+                if(state.getPegColour(i) == Peg.Colour.purple){
                     score++;
                 }
             }
         }
         if(playerId == 1){
-            List<CCNode> nodes = state.getStarBoard().getBoardNodes();
             for(int i = 0; i <= 9; i++){
-                if(nodes.get(i).isNodeOccupied() && nodes.get(i).getOccupiedPeg().getColour() == Peg.Colour.red){
+                if(state.getPegColour(i) == Peg.Colour.red){
                     score++;
                 }
             }
@@ -4,7 +4,6 @@ import core.AbstractGameState;
 import core.actions.AbstractAction;
 import games.chinesecheckers.CCGameState;
 import games.chinesecheckers.CCParameters;
-import games.chinesecheckers.components.CCNode;
 import games.chinesecheckers.components.Peg;
 
 import java.util.Objects;
@@ -24,20 +23,14 @@ public class MovePeg extends AbstractAction {
     public boolean execute(AbstractGameState gs) {
         CCGameState state = (CCGameState) gs;
         CCParameters params = (CCParameters) gs.getGameParameters();
-        CCNode nodeStart = state.getStarBoard().getBoardNodes().get(from);
-        CCNode nodeDestination = state.getStarBoard().getBoardNodes().get(to);
-
-        Peg peg = nodeStart.getOccupiedPeg();
-
-        nodeStart.setOccupiedPeg(null);
-        nodeDestination.setOccupiedPeg(peg);
+        Peg.Colour colour = state.getPegColour(from);
+        state.movePeg(from, to);
 
         // Then check to see if this is the destination node for the peg
-        Peg.Colour colour = peg.getColour();
         int[] destinationNodes = params.colourIndices.get(params.boardOpposites.get(colour));
         for (int destinationNode : destinationNodes) {
             if (to == destinationNode) {
-                peg.setInDestination(true);
+                state.setPegInDestination(to);
                 break;
             }
         }
@@ -8,6 +8,33 @@ import java.util.*;
 
 public class StarBoard extends Component implements IComponentContainer<CCNode> {
 
+    public static final int N_NODES = 121;
+    public static final int N_DIRECTIONS = 6;
+
+    // The board graph never changes, so it is flattened once into lookup tables shared by all game states:
+    // the neighbour of each node in each direction, the node reached by jumping over that neighbour (-1 if
+    // either is off the board), and the base colour of each node.
+    private static final int[][] neighbours = new int[N_NODES][N_DIRECTIONS];
+    private static final int[][] jumps = new int[N_NODES][N_DIRECTIONS];
+    private static final Peg.Colour[] baseColours = new Peg.Colour[N_NODES];
+    static {
+        StarBoard template = new StarBoard();
+        for (CCNode node : template.boardNodes) {
+            int id = node.getID();
+            Arrays.fill(neighbours[id], -1);
+            for (Map.Entry<CCNode, Integer> e : node.getNeighbourSideMapping().entrySet()) {
+                neighbours[id][e.getValue()] = e.getKey().getID();
+            }
+            baseColours[id] = node.getBaseColour();
+        }
+        for (int id = 0; id < N_NODES; id++) {
+            for (int dir = 0; dir < N_DIRECTIONS; dir++) {
+                int over = neighbours[id][dir];
+                jumps[id][dir] = over == -1 ? -1 : neighbours[over][dir];
+            }
+        }
+    }
+
     // List of nodes in the board graph
     protected List<CCNode> boardNodes;
     
@@ -59,6 +86,28 @@ public class StarBoard extends Component implements IComponentContainer<CCNode>
         return b;
     }
 
+    /**
+     * @return the node next to the given node in the given direction (0-5), or -1 if off the board
+     */
+    public static int neighbour(int node, int direction) {
+        return neighbours[node][direction];
+    }
+
+    /**
+     * @return the node reached from the given node by jumping over its neighbour in the given direction (0-5),
+     * or -1 if off the board
+     */
+    public static int jump(int node, int direction) {
+        return jumps[node][direction];
+    }
+
+    /**
+     * @return the colour of the given node in the starting board layout (neutral outside the six star points)
+     */
+    public static Peg.Colour baseColour(int node) {
+        return baseColours[node];
+    }
+
     /**
      * @return the list of board nodes
      */
@@ -112,7 +161,7 @@ public class StarBoard extends Component implements IComponentContainer<CCNode>
     }
     
     public void buildBoard(){
-        for(int i = 0; i < 121; i++) {this.getBoardNodes().add(new CCNode(i));}
+        for(int i = 0; i < N_NODES; i++) {this.getBoardNodes().add(new CCNode(i));}
         (this.getBoardNodes().get(0)).setCoordinates(6, 0);
         this.getBoardNodes().get(0).addNeighbour(this.getBoardNodes().get(1),3);
         this.getBoardNodes().get(0).addNeighbour(this.getBoardNodes().get(2),2);
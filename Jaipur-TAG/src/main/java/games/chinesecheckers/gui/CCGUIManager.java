@@ -68,5 +68,9 @@ public class CCGUIManager extends AbstractGUIManager {
      */
     @Override
     protected void _update(AbstractPlayer player, AbstractGameState gameState) {
+        if (gameState != null) {
+            view.updateComponent(((CCGameState) gameState).getStarBoard());
+            view.repaint();
+        }
     }
 }
@@ -1,5 +1,6 @@
 package games.chinesecheckers.gui;
 
+import core.components.Component;
 import games.chinesecheckers.components.CCNode;
 import games.chinesecheckers.components.Peg;
 import games.chinesecheckers.components.StarBoard;
@@ -26,6 +27,12 @@ public class CCGraphView extends ComponentView implements IScreenHighlight {
         }
     }
 
+    @Override
+    public void updateComponent(Component c) {
+        super.updateComponent(c);
+        starBoard = (StarBoard) c;
+    }
+
     void drawNodes(Graphics g) {
         Graphics2D g2d = (Graphics2D) g;
         for (int i = 0; i < starBoard.getBoardNodes().size(); i++) {
@@ -147,6 +147,15 @@ public class ColtExpressForwardModel extends StandardForwardModelWithTurnOrder {
         return null;
     }
 
+    /**
+     * The actions taken when planned cards are executed depend on the hidden cards, which a player's observation
+     * redeterminises.
+     */
+    @Override
+    public boolean actionsDependOnObservation() {
+        return true;
+    }
+
     @Override
     public List<AbstractAction> _computeAvailableActions(AbstractGameState gameState) {
         ColtExpressGameState cegs = (ColtExpressGameState) gameState;
@@ -0,0 +1,97 @@
+package games.connect4;
+
+import core.AbstractGameState;
+import core.CoreConstants;
+import core.actions.AbstractAction;
+import core.forwardModels.SequentialActionForwardModel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Forward model for Connect4BitboardGameState. Same rules as Connect4ForwardModel, but only the lines through the
+ * last disc dropped are checked for a win.
+ */
+public class Connect4BitboardForwardModel extends SequentialActionForwardModel {
+
+    // Directions to check for lines, as (dx, dRow): vertical, horizontal and both diagonals
+    private static final int[][] directions = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+
+    @Override
+    protected void _setup(AbstractGameState firstState) {
+        Connect4GameParameters c4gp = (Connect4GameParameters) firstState.getGameParameters();
+        Connect4BitboardGameState state = (Connect4BitboardGameState) firstState;
+        state.resetBoard(c4gp.gridSize, c4gp.gridSize);
+    }
+
+    @Override
+    protected List<AbstractAction> _computeAvailableActions(AbstractGameState gameState) {
+        Connect4BitboardGameState c4gs = (Connect4BitboardGameState) gameState;
+        ArrayList<AbstractAction> actions = new ArrayList<>();
+        int player = c4gs.getCurrentPlayer();
+
+        if (gameState.isNotTerminal())
+            for (int x = 0; x < c4gs.width; x++) {
+                int row = c4gs.columnHeights[x];
+                if (row < c4gs.height) {
+                    actions.add(new DropDisc(x, c4gs.height - 1 - row, player));
+                }
+            }
+        return actions;
+    }
+
+    @Override
+    protected void _afterAction(AbstractGameState currentState, AbstractAction action) {
+        Connect4BitboardGameState c4gs = (Connect4BitboardGameState) currentState;
+
+        // game-specific check for end of game
+        if (checkGameEnd(c4gs)) {
+            return;
+        }
+        super._afterAction(currentState, action);
+    }
+
+    /**
+     * Checks if the last disc dropped completes a line, or fills the board.
+     *
+     * @param gameState - game state to check game end.
+     */
+    private boolean checkGameEnd(Connect4BitboardGameState gameState) {
+        int x = gameState.lastColumn;
+        if (x < 0) return false;
+        int row = gameState.columnHeights[x] - 1;
+        int player = gameState.getOwner(x, row);
+        int winCount = ((Connect4GameParameters) gameState.getGameParameters()).winCount;
+
+        for (int[] d : directions) {
+            int forward = countLine(gameState, player, x, row, d[0], d[1]);
+            int backward = countLine(gameState, player, x, row, -d[0], -d[1]);
+            if (1 + forward + backward >= winCount) {
+                gameState.setGameStatus(CoreConstants.GameResult.GAME_END);
+                gameState.setPlayerResult(CoreConstants.GameResult.WIN_GAME, player);
+                gameState.setPlayerResult(CoreConstants.GameResult.LOSE_GAME, 1 - player);
+                gameState.registerWinningCells(x - backward * d[0], row - backward * d[1], d[0], d[1], winCount);
+                return true;
+            }
+        }
+
+        if (gameState.isBoardFull()) { //tie
+            gameState.setGameStatus(CoreConstants.GameResult.DRAW_GAME);
+            Arrays.fill(gameState.getPlayerResults(), CoreConstants.GameResult.DRAW_GAME);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return - number of consecutive discs of the player from (x, row), not including it, in direction (dx, dRow)
+     */
+    private int countLine(Connect4BitboardGameState gameState, int player, int x, int row, int dx, int dRow) {
+        int count = 0;
+        for (int cx = x + dx, cr = row + dRow; gameState.getOwner(cx, cr) == player; cx += dx, cr += dRow) {
+            count++;
+        }
+        return count;
+    }
+}
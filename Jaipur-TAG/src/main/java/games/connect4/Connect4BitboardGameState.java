@@ -0,0 +1,159 @@
+package games.connect4;
+
+import core.AbstractGameState;
+import core.AbstractParameters;
+import core.components.Component;
+import core.components.GridBoard;
+import core.components.Token;
+import games.GameType;
+import utilities.Pair;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Connect4 state stored as one bitboard per player plus the height of each column. Used with the
+ * Connect4BitboardForwardModel; copies are a few array clones, and wins are checked around the last disc only.
+ *
+ * Cell (x, y) of the grid (y = 0 is the top row, as in Connect4GameState) is bit x * height + (height - 1 - y),
+ * so each column is a contiguous run of bits filled from the bottom. The GridBoard view used by the GUI and
+ * feature extractors is built on request from the bitboards.
+ */
+public class Connect4BitboardGameState extends Connect4GameState {
+
+    int width, height;
+    long[][] playerBits;  // One bitboard per player
+    int[] columnHeights;  // Number of discs in each column
+    int nDiscs;
+    int lastColumn = -1;  // Column the last disc was dropped in
+
+    public Connect4BitboardGameState(AbstractParameters gameParameters, int nPlayers) {
+        super(gameParameters, nPlayers);
+    }
+
+    @Override
+    protected GameType _getGameType() {
+        return GameType.Connect4Bitboard;
+    }
+
+    /**
+     * Clears the board, for the given grid size.
+     */
+    void resetBoard(int width, int height) {
+        this.width = width;
+        this.height = height;
+        int nLongs = (width * height + 63) / 64;
+        playerBits = new long[getNPlayers()][nLongs];
+        columnHeights = new int[width];
+        nDiscs = 0;
+        lastColumn = -1;
+        gridBoard = null;
+        winnerCells = new LinkedList<>();
+    }
+
+    /**
+     * Drops a disc for the given player in the given column.
+     * @return - false if the column is full.
+     */
+    boolean drop(int column, int player) {
+        if (columnHeights[column] >= height) return false;
+        int bit = column * height + columnHeights[column];
+        playerBits[player][bit >>> 6] |= 1L << bit;
+        columnHeights[column]++;
+        nDiscs++;
+        lastColumn = column;
+        gridBoard = null;
+        return true;
+    }
+
+    /**
+     * @param x - column
+     * @param row - row counted from the bottom
+     * @return - the player with a disc in this cell, or -1 if empty (or outside the board)
+     */
+    public int getOwner(int x, int row) {
+        if (x < 0 || x >= width || row < 0 || row >= columnHeights[x]) return -1;
+        int bit = x * height + row;
+        for (int p = 0; p < playerBits.length; p++) {
+            if ((playerBits[p][bit >>> 6] & (1L << bit)) != 0) return p;
+        }
+        return -1;
+    }
+
+    public int getColumnHeight(int x) {
+        return columnHeights[x];
+    }
+
+    public int getLastColumn() {
+        return lastColumn;
+    }
+
+    public boolean isBoardFull() {
+        return nDiscs == width * height;
+    }
+
+    @Override
+    protected List<Component> _getAllComponents() {
+        // The grid view is derived from the bitboards, actions never look it up by ID
+        return new ArrayList<>();
+    }
+
+    @Override
+    protected AbstractGameState _copy(int playerId) {
+        Connect4BitboardGameState s = new Connect4BitboardGameState(gameParameters, getNPlayers());
+        s.width = width;
+        s.height = height;
+        s.playerBits = new long[playerBits.length][];
+        for (int p = 0; p < playerBits.length; p++) {
+            s.playerBits[p] = playerBits[p].clone();
+        }
+        s.columnHeights = columnHeights.clone();
+        s.nDiscs = nDiscs;
+        s.lastColumn = lastColumn;
+        // The list of winning cells is replaced, never changed in place, so copies can share it
+        s.winnerCells = winnerCells;
+        return s;
+    }
+
+    /**
+     * @return - grid view of the board, with the player tokens from Connect4Constants.playerMapping in
+     * occupied cells. Built from the bitboards and reused until the next disc is dropped.
+     */
+    @Override
+    public GridBoard<Token> getGridBoard() {
+        if (gridBoard == null) {
+            GridBoard<Token> grid = new GridBoard<>(width, height, new Token(Connect4Constants.emptyCell));
+            for (int x = 0; x < width; x++) {
+                for (int row = 0; row < columnHeights[x]; row++) {
+                    grid.setElement(x, height - 1 - row, Connect4Constants.playerMapping.get(getOwner(x, row)));
+                }
+            }
+            gridBoard = grid;
+        }
+        return gridBoard;
+    }
+
+    @Override
+    protected boolean _equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Connect4BitboardGameState)) return false;
+        Connect4BitboardGameState that = (Connect4BitboardGameState) o;
+        return width == that.width && height == that.height && Arrays.deepEquals(playerBits, that.playerBits);
+    }
+
+    @Override
+    protected int boardHashCode() {
+        return Objects.hash(Arrays.deepHashCode(playerBits), width, height);
+    }
+
+    void registerWinningCells(int x, int row, int dx, int dy, int count) {
+        LinkedList<Pair<Integer, Integer>> cells = new LinkedList<>();
+        for (int i = 0; i < count; i++) {
+            cells.add(new Pair<>(x + i * dx, height - 1 - (row + i * dy)));
+        }
+        winnerCells = cells;
+    }
+}
@@ -85,6 +85,7 @@ public class Connect4GameState extends AbstractGameState implements IPrintable,
         StringBuilder sb = new StringBuilder();
         sb.append("{");
 
+        GridBoard<Token> gridBoard = getGridBoard();
         for (int y = 0; y < gridBoard.getHeight(); y++) {
             for (int x = 0; x < gridBoard.getWidth(); x++) {
                 if (y != 0 || x != 0) {
@@ -101,7 +102,14 @@ public class Connect4GameState extends AbstractGameState implements IPrintable,
 
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), gridBoard);
+        return Objects.hash(super.hashCode(), boardHashCode());
+    }
+
+    /**
+     * @return - hash code of the board contents
+     */
+    protected int boardHashCode() {
+        return Objects.hashCode(gridBoard);
     }
 
     @Override
@@ -111,7 +119,7 @@ public class Connect4GameState extends AbstractGameState implements IPrintable,
 
     @Override
     public void printToConsole() {
-        System.out.println(gridBoard.toString());
+        System.out.println(getGridBoard().toString());
     }
 
     void registerWinningCells(LinkedList<Pair<Integer, Integer>> winnerCells) {
@@ -30,7 +30,7 @@ public class Connect4StateFeatures extends AbstractStateFeature {
     @Override
     protected double[] localFeatureVector(AbstractGameState gs, int playerID) {
         Connect4GameState state = (Connect4GameState) gs;
-        GridBoard<Token> gridBoard = state.gridBoard;
+        GridBoard<Token> gridBoard = state.getGridBoard();
         int width = gridBoard.getWidth();
         int height = gridBoard.getHeight();
         double[] retValue = new double[localNames.length];
@@ -0,0 +1,48 @@
+package games.connect4;
+
+import core.AbstractGameState;
+import core.actions.SetGridValueAction;
+import core.components.Token;
+
+/**
+ * Drops a disc in a column of a Connect4BitboardGameState. Extends SetGridValueAction, with the cell the disc lands
+ * in, so that the GUI and any code inspecting Connect4 actions can treat both representations the same way.
+ */
+public class DropDisc extends SetGridValueAction<Token> {
+
+    private final int player;
+
+    public DropDisc(int x, int y, int player) {
+        super(-1, x, y, Connect4Constants.playerMapping.get(player));
+        this.player = player;
+    }
+
+    @Override
+    public boolean execute(AbstractGameState gs) {
+        return ((Connect4BitboardGameState) gs).drop(getX(), player);
+    }
+
+    public int getPlayer() {
+        return player;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof DropDisc && super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode() + 31;
+    }
+
+    @Override
+    public String getString(AbstractGameState gameState) {
+        return toString();
+    }
+
+    @Override
+    public String toString() {
+        return "DropDisc{x=" + getX() + ", y=" + getY() + ", value=" + getValue() + "}";
+    }
+}
@@ -30,20 +30,25 @@ public class DiamantFeatures implements IStateFeatureVector, IStateFeatureJSON {
 
     @Override
     public double[] featureVector(AbstractGameState gameState, int playerId) {
-        DiamantGameState gs = (DiamantGameState) gameState;
         double[] retVal = new double[getObservationSpace()];
-        retVal[0] = gs.getTreasureChests().get(playerId).getValue();
-        retVal[1] = gs.path.getComponents().get(gs.path.getSize()-1).getNumberOfGems(); // nGemsOnPath;
-        retVal[2] = gs.playerInCave.size();
-        retVal[3] = gs.nCave;
-        retVal[4] = gs.nHazardExplosionsOnPath;
-        retVal[5] = gs.nHazardPoissonGasOnPath;
-        retVal[6] = gs.nHazardRockfallsOnPath;
-        retVal[7] = gs.nHazardScorpionsOnPath;
-        retVal[8] = gs.nHazardSnakesOnPath;
+        featureVector(gameState, playerId, retVal, 0);
         return retVal;
     }
 
+    @Override
+    public void featureVector(AbstractGameState gameState, int playerId, double[] buffer, int offset) {
+        DiamantGameState gs = (DiamantGameState) gameState;
+        buffer[offset] = gs.getTreasureChests().get(playerId).getValue();
+        buffer[offset + 1] = gs.path.getComponents().get(gs.path.getSize()-1).getNumberOfGems(); // nGemsOnPath;
+        buffer[offset + 2] = gs.playerInCave.size();
+        buffer[offset + 3] = gs.nCave;
+        buffer[offset + 4] = gs.nHazardExplosionsOnPath;
+        buffer[offset + 5] = gs.nHazardPoissonGasOnPath;
+        buffer[offset + 6] = gs.nHazardRockfallsOnPath;
+        buffer[offset + 7] = gs.nHazardScorpionsOnPath;
+        buffer[offset + 8] = gs.nHazardSnakesOnPath;
+    }
+
 //    public double[] normFeatureVector() {
 //        double[] retVal = new double[getObservationSpace()];
 //        retVal[0] = getTreasureChests().get(getCurrentPlayer()).getValue() / 100d;
@@ -9,6 +9,7 @@ import core.components.Deck;
 import core.components.PartialObservableDeck;
 import core.interfaces.IGamePhase;
 import core.interfaces.IPrintable;
+import core.interfaces.IRedeterminisable;
 import games.GameType;
 import games.dominion.DominionConstants.DeckType;
 import games.dominion.actions.IDelayedAction;
@@ -23,7 +24,7 @@ import static core.CoreConstants.VisibilityMode.VISIBLE_TO_ALL;
 import static java.util.Comparator.comparingInt;
 import static java.util.stream.Collectors.toList;
 
-public class DominionGameState extends AbstractGameState implements IPrintable {
+public class DominionGameState extends AbstractGameState implements IPrintable, IRedeterminisable {
 
     int playerCount;
     DominionParameters params;
@@ -260,41 +261,8 @@ public class DominionGameState extends AbstractGameState implements IPrintable {
             retValue.cardsIncludedInGame.put(ct, cardsIncludedInGame.get(ct));
         }
         for (int p = 0; p < playerCount; p++) {
-            if (playerId == -1) {
-                retValue.playerHands[p] = playerHands[p].copy();
-                retValue.playerDrawPiles[p] = playerDrawPiles[p].copy();
-            } else if (playerId == p) {
-                // need to shuffle drawpile separately
-                retValue.playerHands[p] = playerHands[p].copy();
-                retValue.playerDrawPiles[p] = playerDrawPiles[p].copy();
-                retValue.playerDrawPiles[p].shuffleVisible(redeterminisationRnd, p, false);
-            } else {
-                // need to combine and shuffle hands and drawpiles
-                retValue.playerDrawPiles[p] = playerDrawPiles[p].copy();
-                retValue.playerHands[p] = playerHands[p].copy();
-                for (int i = 0; i < retValue.playerHands[p].getSize(); i++) {
-                    // if we (the perspective player) can see the card, then we need to keep it in place
-                    // if not then we move it to the *bottom* of the drawpile (this is the end of an ArrayList...so more efficient?)
-                    if (!retValue.playerHands[p].getVisibilityForPlayer(i, playerId)) {
-                        retValue.playerDrawPiles[p].add(retValue.playerHands[p].get(i), retValue.playerDrawPiles[p].getSize());
-                    }
-                }
-                // we have now moved all the non-visible Hand cards into the Draw pile to reshuffle
-                retValue.playerHands[p].clear(); // we will need to reconstruct this, including visibility status in a sec
-                // we then reshuffle all the non-visible cards
-                retValue.playerDrawPiles[p].shuffleVisible(redeterminisationRnd, playerId, false);
-                // we then remove cards from the top of the shuffled draw pile (in the region we know is not visible)
-                for (int i = 0; i < playerHands[p].getSize(); i++) {
-                    if (!playerHands[p].getVisibilityForPlayer(i, playerId)) {
-                        // we then pick cards from the end of the drawpile List and add them to the Hand
-                        // possibly more efficient picking from the end of an ArrayList?
-                        retValue.playerHands[p].add(retValue.playerDrawPiles[p].pick(retValue.playerDrawPiles[p].getSize() - 1), i);
-                    } else {
-                        // we know what this card is, so copy over visibility status
-                        retValue.playerHands[p].add(playerHands[p].get(i).copy(), playerHands[p].getVisibilityOfComponent(i).clone());
-                    }
-                }
-            }
+            retValue.playerHands[p] = playerHands[p].copy();
+            retValue.playerDrawPiles[p] = playerDrawPiles[p].copy();
             retValue.playerDiscards[p] = playerDiscards[p].copy();
             retValue.playerTableaux[p] = playerTableaux[p].copy();
         }
@@ -307,9 +275,66 @@ public class DominionGameState extends AbstractGameState implements IPrintable {
         retValue.defenceStatus = defenceStatus.clone();
 
         retValue.delayedActions = delayedActions.stream().map(IDelayedAction::copy).collect(toList());
+        if (playerId != -1) {
+            retValue.redeterminise(playerId, redeterminisationRnd);
+        }
         return retValue;
     }
 
+    @Override
+    public void resetFrom(AbstractGameState source) {
+        DominionGameState dgs = (DominionGameState) source;
+        cardsIncludedInGame.clear();
+        cardsIncludedInGame.putAll(dgs.cardsIncludedInGame);
+        for (int p = 0; p < playerCount; p++) {
+            playerHands[p].copyComponentsFrom(dgs.playerHands[p]);
+            playerDrawPiles[p].copyComponentsFrom(dgs.playerDrawPiles[p]);
+            playerDiscards[p].copyComponentsFrom(dgs.playerDiscards[p]);
+            playerTableaux[p].copyComponentsFrom(dgs.playerTableaux[p]);
+        }
+        trashPile.copyComponentsFrom(dgs.trashPile);
+        buysLeftForCurrentPlayer = dgs.buysLeftForCurrentPlayer;
+        actionsLeftForCurrentPlayer = dgs.actionsLeftForCurrentPlayer;
+        spentSoFar = dgs.spentSoFar;
+        additionalSpendAvailable = dgs.additionalSpendAvailable;
+        System.arraycopy(dgs.defenceStatus, 0, defenceStatus, 0, defenceStatus.length);
+        delayedActions.clear();
+        for (IDelayedAction action : dgs.delayedActions) {
+            delayedActions.add(action.copy());
+        }
+    }
+
+    @Override
+    public void redeterminise(int playerId, Random rnd) {
+        for (int p = 0; p < playerCount; p++) {
+            PartialObservableDeck<DominionCard> hand = playerHands[p];
+            PartialObservableDeck<DominionCard> drawPile = playerDrawPiles[p];
+            if (playerId == p) {
+                // need to shuffle drawpile separately
+                drawPile.shuffleVisible(rnd, p, false);
+            } else {
+                // need to combine and shuffle hands and drawpiles
+                for (int i = 0; i < hand.getSize(); i++) {
+                    // if we (the perspective player) can see the card, then we need to keep it in place
+                    // if not then we move it to the *bottom* of the drawpile (this is the end of an ArrayList...so more efficient?)
+                    if (!hand.getVisibilityForPlayer(i, playerId)) {
+                        drawPile.add(hand.get(i), drawPile.getSize());
+                    }
+                }
+                // we then reshuffle all the non-visible cards
+                drawPile.shuffleVisible(rnd, playerId, false);
+                // we then replace the hidden cards in hand with cards from the end of the shuffled draw pile (in the
+                // region we know is not visible), with the default visibility of the hand
+                for (int i = 0; i < hand.getSize(); i++) {
+                    if (!hand.getVisibilityForPlayer(i, playerId)) {
+                        hand.setComponent(i, drawPile.pick(drawPile.getSize() - 1));
+                        hand.setVisibilityOfComponent(i, hand.getDeckVisibility());
+                    }
+                }
+            }
+        }
+    }
+
     /**
      * Provide a simple numerical assessment of the current game state, the bigger the better.
      * Subjective heuristic function definition.
@@ -32,9 +32,7 @@ public class Bureaucrat extends DominionAttackAction {
             (new GainCard(CardType.SILVER, player, DeckType.DRAW)).execute(state);
             // and now everyone knows this
             PartialObservableDeck<DominionCard> drawDeck = (PartialObservableDeck<DominionCard>) state.getDeck(DeckType.DRAW, player);
-            for (int i = 0; i < state.getNPlayers(); i++) {
-                drawDeck.setVisibilityOfComponent(0, i, true);
-            }
+            drawDeck.setComponentVisibleToAll(0);
         }
         // the rest is an attack, with decisions made by the victims
         initiateAttack(state);
@@ -23,9 +23,7 @@ public class RevealHand extends AbstractAction {
         DominionGameState state = (DominionGameState) gs;
         PartialObservableDeck<DominionCard> hand = (PartialObservableDeck<DominionCard>) state.getDeck(DeckType.HAND, player);
         for (int i = 0; i < hand.getSize(); i++) {
-            boolean[] allTrue = new boolean[state.getNPlayers()];
-            for (int j = 0; j < state.getNPlayers(); j++) allTrue[j] = true;
-            hand.setVisibilityOfComponent(i, allTrue);
+            hand.setComponentVisibleToAll(i);
         }
         return true;
     }
@@ -3,14 +3,19 @@ package games.dotsboxes;
 import core.AbstractGameState;
 import core.actions.AbstractAction;
 
-import java.util.HashSet;
 import java.util.Objects;
 
 public class AddGridCellEdge extends AbstractAction {
     DBEdge edge;  // Normally not good practice to keep references, as they wouldn't match the copies. But our equals should match.
+    int edgeIdx;  // Index of the edge in the DBGrid; -1 if not known yet
 
     public AddGridCellEdge(DBEdge edge) {
+        this(edge, -1);
+    }
+
+    public AddGridCellEdge(DBEdge edge, int edgeIdx) {
         this.edge = edge;
+        this.edgeIdx = edgeIdx;
     }
 
     @Override
@@ -18,27 +23,31 @@ public class AddGridCellEdge extends AbstractAction {
         // Find neighbouring cells
         DBGameState dbgs = (DBGameState) gs;
 
-        int nCellsCompleteBefore = dbgs.cellToOwnerMap.size();
+        if (edgeIdx < 0) edgeIdx = dbgs.grid.indexOf(edge);
+        int player = gs.getCurrentPlayer();
+
         // Mark this edge as complete by current player and check if connected cells are complete too
-        dbgs.edgeToOwnerMap.put(edge, gs.getCurrentPlayer());
+        dbgs.edgeOwner[edgeIdx] = (byte) player;
 
-        HashSet<DBCell> cells = dbgs.edgeToCellMap.get(edge);
-        for (DBCell c : cells) {
-            int nEdgesComplete = dbgs.countCompleteEdges(c);
-            if (nEdgesComplete == 4) {  // A cell has 4 sides
+        boolean scored = false;
+        int[] edgeCells = dbgs.grid.edgeCells;
+        for (int i = 2 * edgeIdx; i < 2 * edgeIdx + 2; i++) {
+            int c = edgeCells[i];
+            if (c >= 0 && dbgs.countCompleteEdges(c) == 4) {  // A cell has 4 sides
                 // All edges complete, this box complete
-                dbgs.cellToOwnerMap.put(c, gs.getCurrentPlayer());
-                dbgs.nCellsPerPlayer[gs.getCurrentPlayer()]++;
+                dbgs.cellOwner[c] = (byte) player;
+                dbgs.nCellsPerPlayer[player]++;
+                dbgs.nCellsComplete++;
+                scored = true;
             }
         }
-        int nCellsCompleteAfter = dbgs.cellToOwnerMap.size();
-        dbgs.setLastActionDidNotScore(nCellsCompleteAfter == nCellsCompleteBefore);
+        dbgs.setLastActionDidNotScore(!scored);
         return true;  // Always able to execute
     }
 
     @Override
     public AbstractAction copy() {
-        return new AddGridCellEdge(edge.copy());
+        return new AddGridCellEdge(edge.copy(), edgeIdx);
     }
 
     @Override
@@ -4,17 +4,29 @@ import core.AbstractGameState;
 import core.interfaces.IStateKey;
 
 import java.util.Arrays;
-import java.util.stream.Collectors;
 
 public class DBEdgeAndScoreKey implements IStateKey {
 
     @Override
     public String getKey(AbstractGameState state) {
         DBGameState dbgs = (DBGameState) state;
-        String edgeString = dbgs.edgeToOwnerMap.keySet().stream()
-                .map(e -> 100.0 * ((e.from.getX() + e.to.getX()) / 2.0) +
-                        ((e.from.getY() + e.to.getY())/ 2.0)).mapToDouble(i -> i)
-                .sorted().mapToObj(d -> String.format("%.1f", d)).collect(Collectors.joining(","));
+        // Edges are sorted by the position of their midpoint, as x * 100 + y
+        DBGrid grid = dbgs.grid;
+        double[] midpoints = new double[grid.nEdges()];
+        int n = 0;
+        for (int i = 0; i < grid.nEdges(); i++) {
+            if (dbgs.edgeOwner[i] >= 0) {
+                DBEdge e = grid.edges[i];
+                midpoints[n++] = 100.0 * ((e.from.getX() + e.to.getX()) / 2.0) + ((e.from.getY() + e.to.getY()) / 2.0);
+            }
+        }
+        Arrays.sort(midpoints, 0, n);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < n; i++) {
+            if (i > 0) sb.append(",");
+            sb.append(String.format("%.1f", midpoints[i]));
+        }
+        String edgeString = sb.toString();
         String scoreString = "Scores: " + Arrays.toString(dbgs.nCellsPerPlayer);
         return state.getCurrentPlayer() + " " + edgeString + scoreString;
     }
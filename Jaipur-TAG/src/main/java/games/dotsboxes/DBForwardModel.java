@@ -3,7 +3,6 @@ package games.dotsboxes;
 import core.AbstractGameState;
 import core.StandardForwardModel;
 import core.actions.AbstractAction;
-import utilities.Vector2D;
 
 import java.util.*;
 
@@ -15,34 +14,13 @@ public class DBForwardModel extends StandardForwardModel {
         DBParameters dbp = (DBParameters) firstState.getGameParameters();
 
         dbgs.lastActionDidNotScore = false;
-        // Generate edge to cell mapping and all cell objects with appropriate constructor
-        dbgs.edgeToCellMap = new HashMap<>();
-        dbgs.cellToEdgesMap = new HashMap<>();
-        dbgs.cellToOwnerMap = new HashMap<>();
-        dbgs.edgeToOwnerMap = new HashMap<>();
-        dbgs.edges = new HashSet<>();
-        dbgs.cells = new HashSet<>();
-        for (int i = 0; i < dbp.gridHeight; i++) {
-            for (int j = 0; j < dbp.gridWidth; j++) {
-                DBCell c = new DBCell(j, i);
-                dbgs.cells.add(c);
-                HashSet<DBEdge> edges = new HashSet<>(4);
-                edges.add(new DBEdge(new Vector2D(j, i), new Vector2D(j, i + 1)));
-                edges.add(new DBEdge(new Vector2D(j, i), new Vector2D(j + 1, i)));
-                edges.add(new DBEdge(new Vector2D(j + 1, i), new Vector2D(j + 1, i + 1)));
-                edges.add(new DBEdge(new Vector2D(j, i + 1), new Vector2D(j + 1, i + 1)));
-
-                for (DBEdge edge : edges) {
-                    dbgs.edges.add(edge);
-                    if (!dbgs.edgeToCellMap.containsKey(edge)) {
-                        dbgs.edgeToCellMap.put(edge, new HashSet<>());
-                    }
-                    dbgs.edgeToCellMap.get(edge).add(c);
-                }
-
-                dbgs.cellToEdgesMap.put(c, edges);
-            }
-        }
+        // Edges, cells and the mapping between them are shared by all games on this size of board
+        dbgs.grid = DBGrid.get(dbp.gridWidth, dbp.gridHeight);
+        dbgs.edgeOwner = new byte[dbgs.grid.nEdges()];
+        dbgs.cellOwner = new byte[dbgs.grid.nCells()];
+        Arrays.fill(dbgs.edgeOwner, (byte) -1);
+        Arrays.fill(dbgs.cellOwner, (byte) -1);
+        dbgs.nCellsComplete = 0;
         // Initialise other variables
         dbgs.nCellsPerPlayer = new int[dbgs.getNPlayers()];
     }
@@ -53,7 +31,7 @@ public class DBForwardModel extends StandardForwardModel {
         DBParameters dbp = (DBParameters) currentState.getGameParameters();
 
         // Check end of game (when all cells completed)
-        if (dbgs.cellToOwnerMap.size() == dbp.gridWidth * dbp.gridHeight) {
+        if (dbgs.nCellsComplete == dbgs.grid.nCells()) {
             // Game is over. Set status and find winner
             endGame(dbgs);
         } else if (dbgs.getLastActionDidNotScore()) {
@@ -65,27 +43,30 @@ public class DBForwardModel extends StandardForwardModel {
     @Override
     protected List<AbstractAction> _computeAvailableActions(AbstractGameState gameState) {
 
-        Set<AbstractAction> actions = calculateActions((DBGameState) gameState, false);
+        List<AbstractAction> actions = calculateActions((DBGameState) gameState, false);
         if (actions.isEmpty()) {
             // in case the only actions are to create a three-box, we need to override the rule
             actions = calculateActions((DBGameState) gameState, true);
         }
 
-        return new ArrayList<>(actions);
+        return actions;
     }
 
-    private Set<AbstractAction> calculateActions(DBGameState dbgs, boolean override) {
-        Set<AbstractAction> actions = new HashSet<>();  // Same edge may appear in multiple cells, ensure unique actions
+    private List<AbstractAction> calculateActions(DBGameState dbgs, boolean override) {
+        List<AbstractAction> actions = new ArrayList<>();
         DBParameters dbp = (DBParameters) dbgs.getGameParameters();
+        DBGrid grid = dbgs.grid;
 
         // Actions in this game are adding edges to the board (that don't already exist)
-        for (DBEdge e : dbgs.edges) {
-            if (!dbgs.edgeToOwnerMap.containsKey(e)) {
+        for (int e = 0; e < grid.nEdges(); e++) {
+            if (dbgs.edgeOwner[e] < 0) {
                 if (!override && dbgs.getGameTick() < dbp.disallowThreeBoxCreationUntilMove) {
                     // we also need to check if this would create a three-box without closing one
                     // (i.e. any cell already has 2 edges; and none have 3)
                     boolean threeBox = false;
-                    for (DBCell c : dbgs.edgeToCellMap.get(e)) {
+                    for (int i = 2 * e; i < 2 * e + 2; i++) {
+                        int c = grid.edgeCells[i];
+                        if (c < 0) continue;
                         int edges = dbgs.countCompleteEdges(c);
                         if (edges == 3) {
                             threeBox = false;
@@ -97,7 +78,7 @@ public class DBForwardModel extends StandardForwardModel {
                     if (threeBox) continue;
                 }
                 // Can add this edge
-                actions.add(new AddGridCellEdge(e));
+                actions.add(new AddGridCellEdge(grid.edges[e], e));
             }
         }
         return actions;
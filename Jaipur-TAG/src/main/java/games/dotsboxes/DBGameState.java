@@ -12,19 +12,14 @@ public class DBGameState extends AbstractGameState {
 
     IStateHeuristic heuristic;
 
-    // List of all edges possible
-    HashSet<DBEdge> edges;
-    // List of all cells possible
-    HashSet<DBCell> cells;
-    // Mapping from each edge to the cells it neighbours
-    HashMap<DBEdge, HashSet<DBCell>> edgeToCellMap;
-    // Mapping from each cell to its edges
-    HashMap<DBCell, HashSet<DBEdge>> cellToEdgesMap;
+    // Numbering of all edges and cells, and which edges border which cells
+    DBGrid grid;
 
     // Mutable state:
     int[] nCellsPerPlayer;
-    HashMap<DBCell, Integer> cellToOwnerMap;  // Mapping from each cell to its owner, if complete
-    HashMap<DBEdge, Integer> edgeToOwnerMap;  // Mapping from each edge to its owner, if placed
+    int nCellsComplete;
+    byte[] cellOwner;  // Owner of each cell, if complete; -1 otherwise
+    byte[] edgeOwner;  // Owner of each edge, if placed; -1 otherwise
     boolean lastActionDidNotScore;
 
     /**
@@ -44,21 +39,19 @@ public class DBGameState extends AbstractGameState {
 
     @Override
     protected List<Component> _getAllComponents() {
-        return new ArrayList<Component>() {{ addAll(edges); addAll(cells); }};
+        return new ArrayList<Component>() {{ addAll(Arrays.asList(grid.edges)); addAll(Arrays.asList(grid.cells)); }};
     }
 
     @Override
     protected AbstractGameState _copy(int playerId) {
         DBGameState dbgs = new DBGameState(gameParameters, getNPlayers());
-        dbgs.edges = edges;
-        dbgs.cells = cells;
-        dbgs.edgeToCellMap = edgeToCellMap;
-        dbgs.cellToEdgesMap = cellToEdgesMap;
+        dbgs.grid = grid;
         dbgs.lastActionDidNotScore = lastActionDidNotScore;
 
         dbgs.nCellsPerPlayer = nCellsPerPlayer.clone();
-        dbgs.cellToOwnerMap = (HashMap<DBCell, Integer>) cellToOwnerMap.clone();
-        dbgs.edgeToOwnerMap = (HashMap<DBEdge, Integer>) edgeToOwnerMap.clone();
+        dbgs.nCellsComplete = nCellsComplete;
+        dbgs.cellOwner = cellOwner.clone();
+        dbgs.edgeOwner = edgeOwner.clone();
         dbgs.heuristic = heuristic;
         return dbgs;
     }
@@ -88,22 +81,20 @@ public class DBGameState extends AbstractGameState {
     public boolean _equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof DBGameState)) return false;
-        if (!super.equals(o)) return false;
         DBGameState that = (DBGameState) o;
         return lastActionDidNotScore == that.lastActionDidNotScore && Objects.equals(heuristic, that.heuristic)
-                && Objects.equals(edges, that.edges) && Objects.equals(cells, that.cells) &&
-                Objects.equals(edgeToCellMap, that.edgeToCellMap) &&
-                Objects.equals(cellToEdgesMap, that.cellToEdgesMap) &&
+                && grid == that.grid &&
                 Arrays.equals(nCellsPerPlayer, that.nCellsPerPlayer) &&
-                Objects.equals(cellToOwnerMap, that.cellToOwnerMap) &&
-                Objects.equals(edgeToOwnerMap, that.edgeToOwnerMap);
+                Arrays.equals(cellOwner, that.cellOwner) &&
+                Arrays.equals(edgeOwner, that.edgeOwner);
     }
 
     @Override
     public int hashCode() {
-        int result = Objects.hash(super.hashCode(), edges, cells, edgeToCellMap, cellToEdgesMap,
-                cellToOwnerMap, edgeToOwnerMap, lastActionDidNotScore);
+        int result = Objects.hash(super.hashCode(), grid.width, grid.height, lastActionDidNotScore);
         result = 31 * result + Arrays.hashCode(nCellsPerPlayer);
+        result = 31 * result + Arrays.hashCode(cellOwner);
+        result = 31 * result + Arrays.hashCode(edgeOwner);
         return result;
     }
 
@@ -112,37 +103,21 @@ public class DBGameState extends AbstractGameState {
         StringBuilder sb = new StringBuilder();
         sb.append("{");
 
-        int i = 0;
-
-        for (DBEdge e: edges) {
-            if (i++ != 0) {
+        for (int i = 0; i < edgeOwner.length; i++) {
+            if (i != 0) {
                 sb.append(",");
             }
-            int owner = -1;
-            if (edgeToOwnerMap.get(e) != null) {
-                owner = edgeToOwnerMap.get(e);
-            }
+            DBEdge e = grid.edges[i];
             sb.append("\"").append("Edge_Owner_").append(e.from.getX()).append("_").append(e.from.getY()).
-                    append(e.to.getX()).append(e.to.getY()).append("\":").append(owner);
+                    append(e.to.getX()).append(e.to.getY()).append("\":").append(edgeOwner[i]);
         }
 
-        for (DBCell c: cells) {
+        for (int i = 0; i < cellOwner.length; i++) {
             sb.append(",");
-            int owner = -1;
-            if (cellToOwnerMap.get(c) != null) {
-                owner = cellToOwnerMap.get(c);
-            }
-            sb.append("\"").append("Cell_Owner_").append(c.position.getX()).append("_").append(c.position.getY()).append("\":").append(owner);
+            DBCell c = grid.cells[i];
+            sb.append("\"").append("Cell_Owner_").append(c.position.getX()).append("_").append(c.position.getY()).append("\":").append(cellOwner[i]);
             sb.append(",");
-
-            int edgeCount = 0;
-
-            for (DBEdge e : cellToEdgesMap.get(c)) {
-                if (edgeToOwnerMap.get(e) != null) {
-                    edgeCount++;
-                }
-            }
-            sb.append("\"").append("Cell_Edge_Count_").append(c.position.getX()).append("_").append(c.position.getY()).append("\":").append(edgeCount);
+            sb.append("\"").append("Cell_Edge_Count_").append(c.position.getX()).append("_").append(c.position.getY()).append("\":").append(countCompleteEdges(i));
         }
 
         sb.append("}");
@@ -151,14 +126,34 @@ public class DBGameState extends AbstractGameState {
 
 
     public int countCompleteEdges(DBCell c) {
-        int retValue = 0;
-        for (DBEdge e: cellToEdgesMap.get(c)) {
-            if (edgeToOwnerMap.containsKey(e)) {
-                retValue++;
-            }
-        }
-        return retValue;
+        return countCompleteEdges(grid.indexOf(c));
     }
+
+    public int countCompleteEdges(int cell) {
+        int base = 4 * cell;
+        int[] cellEdges = grid.cellEdges;
+        return (edgeOwner[cellEdges[base]] >= 0 ? 1 : 0) + (edgeOwner[cellEdges[base + 1]] >= 0 ? 1 : 0) +
+                (edgeOwner[cellEdges[base + 2]] >= 0 ? 1 : 0) + (edgeOwner[cellEdges[base + 3]] >= 0 ? 1 : 0);
+    }
+
+    public DBGrid getGrid() {
+        return grid;
+    }
+
+    /**
+     * @return the player who placed the given edge, or -1 if it has not been placed yet.
+     */
+    public int getEdgeOwner(int edge) {
+        return edgeOwner[edge];
+    }
+
+    /**
+     * @return the player who completed the given cell, or -1 if it is not complete yet.
+     */
+    public int getCellOwner(int cell) {
+        return cellOwner[cell];
+    }
+
     public boolean getLastActionDidNotScore(){return lastActionDidNotScore;}
     public void setLastActionDidNotScore(boolean value){
         lastActionDidNotScore = value;}
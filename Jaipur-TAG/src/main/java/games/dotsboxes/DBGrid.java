@@ -0,0 +1,104 @@
+package games.dotsboxes;
+
+import utilities.Vector2D;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable description of a Dots and Boxes board of a given size. Edges and cells are numbered densely, and
+ * the incidence between them is kept in int arrays, so that the game state only needs to hold one owner array for
+ * edges and one for cells. One instance is shared by all game states with the same board size.
+ * <p>
+ * Horizontal edges come first, numbered row by row ((gridHeight + 1) rows of gridWidth edges), followed by the
+ * vertical edges (gridHeight rows of gridWidth + 1 edges). Cells are numbered row by row.
+ */
+public class DBGrid {
+
+    private static final Map<Long, DBGrid> grids = new ConcurrentHashMap<>();
+
+    final int width, height;
+    final DBEdge[] edges;
+    final DBCell[] cells;
+    // The 4 edges of each cell, at [4 * cell, 4 * cell + 3]
+    final int[] cellEdges;
+    // The (up to) 2 cells next to each edge, at [2 * edge, 2 * edge + 1]; -1 if the edge is on the border
+    final int[] edgeCells;
+    private final Map<DBEdge, Integer> edgeIndex;
+
+    public static DBGrid get(int width, int height) {
+        return grids.computeIfAbsent(((long) width << 32) | height, k -> new DBGrid(width, height));
+    }
+
+    private DBGrid(int width, int height) {
+        this.width = width;
+        this.height = height;
+        int nHorizontal = (height + 1) * width;
+        edges = new DBEdge[nHorizontal + height * (width + 1)];
+        cells = new DBCell[width * height];
+        cellEdges = new int[4 * cells.length];
+        edgeCells = new int[2 * edges.length];
+        edgeIndex = new HashMap<>();
+
+        for (int y = 0; y <= height; y++) {
+            for (int x = 0; x < width; x++) {
+                int e = y * width + x;
+                edges[e] = new DBEdge(new Vector2D(x, y), new Vector2D(x + 1, y));
+                edgeCells[2 * e] = y > 0 ? (y - 1) * width + x : -1;
+                edgeCells[2 * e + 1] = y < height ? y * width + x : -1;
+            }
+        }
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x <= width; x++) {
+                int e = nHorizontal + y * (width + 1) + x;
+                edges[e] = new DBEdge(new Vector2D(x, y), new Vector2D(x, y + 1));
+                edgeCells[2 * e] = x > 0 ? y * width + x - 1 : -1;
+                edgeCells[2 * e + 1] = x < width ? y * width + x : -1;
+            }
+        }
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int c = y * width + x;
+                cells[c] = new DBCell(x, y);
+                cellEdges[4 * c] = c;  // top
+                cellEdges[4 * c + 1] = c + width;  // bottom
+                cellEdges[4 * c + 2] = nHorizontal + y * (width + 1) + x;  // left
+                cellEdges[4 * c + 3] = nHorizontal + y * (width + 1) + x + 1;  // right
+            }
+        }
+        for (int e = 0; e < edges.length; e++) {
+            edgeIndex.put(edges[e], e);
+        }
+    }
+
+    public int nEdges() {
+        return edges.length;
+    }
+
+    public int nCells() {
+        return cells.length;
+    }
+
+    public DBEdge getEdge(int edge) {
+        return edges[edge];
+    }
+
+    public DBCell getCell(int cell) {
+        return cells[cell];
+    }
+
+    /**
+     * @return the index of the given edge on this board, or -1 if the edge is not on the board.
+     */
+    public int indexOf(DBEdge edge) {
+        Integer idx = edgeIndex.get(edge);
+        return idx == null ? -1 : idx;
+    }
+
+    public int indexOf(DBCell cell) {
+        int x = cell.position.getX(), y = cell.position.getY();
+        if (x < 0 || x >= width || y < 0 || y >= height) return -1;
+        return y * width + x;
+    }
+}
@@ -24,24 +24,27 @@ public class DBStateFeatures extends AbstractStateFeature {
 
     @Override
     protected double[] localFeatureVector(AbstractGameState gs, int playerID) {
-        DBGameState state = (DBGameState) gs;
         double[] retValue = new double[localNames.length];
+        localFeatureVector(gs, playerID, retValue, 0);
+        return retValue;
+    }
+
+    @Override
+    protected void localFeatureVector(AbstractGameState gs, int playerID, double[] buffer, int offset) {
+        DBGameState state = (DBGameState) gs;
 
         // CELLS
         int[] cellCountByEdges = new int[5];
-        for (DBCell cell : state.cells) {
-            int edges = state.countCompleteEdges(cell);
-            cellCountByEdges[edges]++;
+        for (int cell = 0; cell < state.grid.nCells(); cell++) {
+            cellCountByEdges[state.countCompleteEdges(cell)]++;
         }
 
-        retValue[0] = cellCountByEdges[0];
-        retValue[1] = cellCountByEdges[1];
-        retValue[2] = cellCountByEdges[2];
-        retValue[3] = cellCountByEdges[3];
-        retValue[4] = cellCountByEdges[4] - gs.getGameScore(playerID);
-        retValue[5] = gs.getGameScore(playerID);
-
-        return retValue;
+        buffer[offset] = cellCountByEdges[0];
+        buffer[offset + 1] = cellCountByEdges[1];
+        buffer[offset + 2] = cellCountByEdges[2];
+        buffer[offset + 3] = cellCountByEdges[3];
+        buffer[offset + 4] = cellCountByEdges[4] - gs.getGameScore(playerID);
+        buffer[offset + 5] = gs.getGameScore(playerID);
     }
 
 }
@@ -81,7 +81,7 @@ public class ExplodingKittensGameState extends AbstractGameStateWithTurnOrder im
                     for (int j = 0; j < ekgs.playerHandCards.get(i).getSize(); j++) {
                         if (!ekgs.playerHandCards.get(i).isComponentVisible(j, playerId)) {
                             ExplodingKittensCard c = ekgs.playerHandCards.get(i).get(j);
-                            ekgs.drawPile.add(c, ekgs.playerHandCards.get(i).getVisibilityOfComponent(j).clone());
+                            ekgs.drawPile.add(c, ekgs.playerHandCards.get(i).getVisibilityOfComponent(j));
                             cs.add(c);
                         }
                     }
@@ -33,10 +33,8 @@ public class SeeTheFuture extends DrawCard implements IsNopeable, IPrintable {
         // make the first three cards visible since the player needs to know what they are to choose their order
         int n = Math.min(((ExplodingKittensParameters) ekgs.getGameParameters()).nSeeFutureCards, drawPile.getSize());
         for (int i = 0; i < n; i++) {
-            for (int j = 0; j < ekgs.getNPlayers(); j++){
-                // this player knows the order
-                drawPile.setVisibilityOfComponent(i, j, j == playerID);        // other players don't know the order anymore
-            }
+            // this player knows the order, other players don't know the order anymore
+            drawPile.setVisibilityMask(i, 1L << playerID);
         }
 
         return true;
@@ -27,13 +27,8 @@ public class ChooseSeeTheFutureOrder extends RearrangeDeckOfCards implements IPr
         int playerID = gs.getCurrentPlayer();
 
         for (int i = 0; i < newCardOrder.length; i++) {
-            for (int j = 0; j < gs.getNPlayers(); j++){
-                if (j != playerID) {
-                    drawPile.setVisibilityOfComponent(i, j, false);        // other players don't know the order anymore
-                } else {
-                    drawPile.setVisibilityOfComponent(i, j, true);      // this player knows the order
-                }
-            }
+            // this player knows the order, other players don't know the order anymore
+            drawPile.setVisibilityMask(i, 1L << playerID);
         }
 
         gs.setGamePhase(CoreConstants.DefaultGamePhase.Main);
@@ -8,15 +8,18 @@ import core.components.Deck;
 import core.components.Counter;
 import core.components.PartialObservableDeck;
 import core.interfaces.IPrintable;
+import core.interfaces.IRedeterminisable;
 import core.turnorders.AlternatingTurnOrder;
 import games.GameType;
-
+import utilities.DeterminisationUtilities;
 
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
-public class HanabiGameState extends AbstractGameState implements IPrintable {
+public class HanabiGameState extends AbstractGameState implements IPrintable, IRedeterminisable {
 
     List<PartialObservableDeck<HanabiCard>> playerDecks;
     Deck<HanabiCard> drawDeck;
@@ -26,6 +29,10 @@ public class HanabiGameState extends AbstractGameState implements IPrintable {
     List<HanabiCard> currentCard;
     int endTurn = getNPlayers() + 1;
 
+    // Scratch space for redeterminise()
+    private final List<Integer> hiddenTypes = new ArrayList<>();
+    private long[] allowedTypes = new long[0];
+
 
     public HanabiGameState(AbstractParameters gameParameters, int nPlayers) {
         super(gameParameters, nPlayers);
@@ -53,7 +60,7 @@ public class HanabiGameState extends AbstractGameState implements IPrintable {
         HanabiGameState copy = new HanabiGameState(gameParameters.copy(), getNPlayers());
         copy.playerDecks = new ArrayList<>();
         for (PartialObservableDeck<HanabiCard> d : playerDecks) {
-            copy.playerDecks.add(d.copy(playerId));
+            copy.playerDecks.add(d.copy());
         }
         copy.currentCard = new ArrayList<>();
         for (HanabiCard d : currentCard) {
@@ -64,11 +71,85 @@ public class HanabiGameState extends AbstractGameState implements IPrintable {
         copy.discardDeck = discardDeck.copy();
         copy.hintCounter = hintCounter.copy();
         copy.failCounter = failCounter.copy();
+        copy.endTurn = endTurn;
 
-        // TODO: This needs to redeterminise the hidden information
-        // As currently implemented all players will see the same information
+        if (playerId != -1) {
+            copy.redeterminise(playerId, redeterminisationRnd);
+        }
         return copy;
     }
+
+    @Override
+    public void resetFrom(AbstractGameState source) {
+        HanabiGameState hgs = (HanabiGameState) source;
+        for (int i = 0; i < playerDecks.size(); i++) {
+            playerDecks.get(i).copyComponentsFrom(hgs.playerDecks.get(i));
+        }
+        currentCard.clear();
+        for (HanabiCard d : hgs.currentCard) {
+            currentCard.add(d.copy());
+        }
+        drawDeck.copyComponentsFrom(hgs.drawDeck);
+        discardDeck.copyComponentsFrom(hgs.discardDeck);
+        hintCounter.setValue(hgs.hintCounter.getValue());
+        failCounter.setValue(hgs.failCounter.getValue());
+        endTurn = hgs.endTurn;
+    }
+
+    /**
+     * The player only sees the colours and numbers of their own cards they have been told about, and does not see the
+     * draw deck. The values of these cards are dealt again at random, consistently with the hints given (the colours
+     * and numbers each card may still be). Own cards are marked as not visible where the player has not been told.
+     */
+    @Override
+    public void redeterminise(int playerId, Random rnd) {
+        PartialObservableDeck<HanabiCard> hand = playerDecks.get(playerId);
+        hiddenTypes.clear();
+        int nSlots = 0;
+        for (HanabiCard card : hand.getComponents()) {
+            if (nSlots == allowedTypes.length) allowedTypes = Arrays.copyOf(allowedTypes, 2 * nSlots + 2);
+            allowedTypes[nSlots++] = possibleTypes(card);
+            hiddenTypes.add(typeIndex(card.color, card.number));
+        }
+        for (HanabiCard card : drawDeck.getComponents()) {
+            hiddenTypes.add(typeIndex(card.color, card.number));
+        }
+
+        DeterminisationUtilities.dealConsistent(hiddenTypes, allowedTypes, nSlots, Integer::intValue, rnd);
+
+        int k = 0;
+        for (HanabiCard card : hand.getComponents()) {
+            setType(card, hiddenTypes.get(k++));
+            card.colorVisibility = card.ownerKnowsColor;
+            card.numberVisibility = card.ownerKnowsNumber;
+        }
+        for (HanabiCard card : drawDeck.getComponents()) {
+            setType(card, hiddenTypes.get(k++));
+        }
+    }
+
+    private static int typeIndex(CardType color, int number) {
+        return color.ordinal() * 5 + number - 1;
+    }
+
+    private static void setType(HanabiCard card, int type) {
+        card.setColor(CardType.values()[type / 5]);
+        card.setNumber(type % 5 + 1);
+    }
+
+    /**
+     * @return - bitmask of the types (see typeIndex()) the card may be, from what its owner has been told about it.
+     */
+    private static long possibleTypes(HanabiCard card) {
+        long mask = 0;
+        for (CardType color : (card.ownerKnowsColor ? List.of(card.color) : card.possibleColour)) {
+            for (int number : (card.ownerKnowsNumber ? List.of(card.number) : card.possibleNumber)) {
+                mask |= 1L << typeIndex(color, number);
+            }
+        }
+        return mask;
+    }
+
     public Deck<HanabiCard> getDrawDeck() {
         return drawDeck;
     }
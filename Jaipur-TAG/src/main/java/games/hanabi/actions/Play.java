@@ -5,7 +5,6 @@ import core.actions.AbstractAction;
 import core.components.Counter;
 import core.components.Deck;
 import core.interfaces.IPrintable;
-import games.hanabi.CardType;
 import games.hanabi.HanabiCard;
 import games.hanabi.HanabiGameState;
 import games.hanabi.HanabiParameters;
@@ -37,19 +36,11 @@ public class Play extends AbstractAction implements IPrintable {
         boolean color = false;
         boolean checkColor = false;
         boolean checkNumber = false;
-        // make random color and number is not known;
-        // set the card if correct;
+        // the card is revealed when played (in determinised copies its value has been sampled by redeterminise())
+        playCard.colorVisibility = true;
+        playCard.numberVisibility = true;
 
         for(HanabiCard cd: currentCard){
-            if(!(playCard.numberVisibility)){
-                int nnumber = cd.possibleNumber.get(hbgs.getRnd().nextInt(cd.possibleNumber.size())) ;
-                playCard.setNumber(nnumber);
-            }
-            if(!(playCard.colorVisibility)){
-                CardType cnumber = cd.possibleColour.get(hbgs.getRnd().nextInt(cd.possibleColour.size()));
-                playCard.setColor(cnumber);
-            }
-
             if(cd.color.equals(playCard.color)){
                 if(cd.number + 1 == playCard.number){
                     currentCard.set(listIndex, playCard);
@@ -5,16 +5,16 @@ import core.AbstractGameState;
 import core.CoreConstants;
 import core.StandardForwardModel;
 import core.actions.AbstractAction;
+import core.actions.ActionSpace;
 import core.components.Counter;
 import core.components.Deck;
 import games.jaipurskeleton.actions.SellCards;
 import games.jaipurskeleton.actions.TakeCards;
 import games.jaipurskeleton.components.JaipurCard;
 import games.jaipurskeleton.components.JaipurToken;
-import utilities.Utils;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static core.CoreConstants.GameResult.LOSE_GAME;
 import static core.CoreConstants.GameResult.WIN_GAME;
@@ -26,6 +26,10 @@ import static games.jaipurskeleton.components.JaipurCard.GoodType.Jade;
  */
 public class JaipurForwardModel extends StandardForwardModel {
 
+    private static final JaipurCard.GoodType[] goodTypes = JaipurCard.GoodType.values();
+    // Option A exchanges by player, then by (cards taken, cards given) with 4 bits per good type and multiset
+    private static final Map<Integer, Map<Long, TakeCards>> exchangeActions = new ConcurrentHashMap<>();
+
     /**
      * Initializes all variables in the given game state. Performs initial game setup according to game rules, e.g.:
      * <ul>
@@ -197,8 +201,54 @@ public class JaipurForwardModel extends StandardForwardModel {
     protected List<AbstractAction> _computeAvailableActions(AbstractGameState gameState) {
         List<AbstractAction> actions = new ArrayList<>();
         int currentPlayer = gameState.getCurrentPlayer();
-        JaipurGameState jgs = (JaipurGameState) gameState;
-        JaipurParameters jp = (JaipurParameters) gameState.getGameParameters();
+        int[] available = new int[goodTypes.length];
+        List<int[]> takes = addSimpleActions(actions, (JaipurGameState) gameState, currentPlayer, available);
+        for (int[] take : takes) {
+            addGiveChoices(actions, currentPlayer, available, take, new int[goodTypes.length], 0, Arrays.stream(take).sum());
+        }
+        return actions;
+    }
+
+    @Override
+    protected Iterator<AbstractAction> _availableActionIterator(AbstractGameState gameState, ActionSpace actionSpace) {
+        // Most actions are exchanges, so the ways of giving cards back for each choice of cards taken are only
+        // created when they are reached (in the same order as _computeAvailableActions)
+        List<AbstractAction> actions = new ArrayList<>();
+        int currentPlayer = gameState.getCurrentPlayer();
+        int[] available = new int[goodTypes.length];
+        List<int[]> takes = addSimpleActions(actions, (JaipurGameState) gameState, currentPlayer, available);
+        return new Iterator<AbstractAction>() {
+            int next = 0;
+            int nextTake = 0;
+
+            @Override
+            public boolean hasNext() {
+                while (next == actions.size() && nextTake < takes.size()) {
+                    int[] take = takes.get(nextTake++);
+                    actions.clear();
+                    next = 0;
+                    addGiveChoices(actions, currentPlayer, available, take, new int[goodTypes.length], 0, Arrays.stream(take).sum());
+                }
+                return next < actions.size();
+            }
+
+            @Override
+            public AbstractAction next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return actions.get(next++);
+            }
+        };
+    }
+
+    /**
+     * Adds the actions to sell cards, take the camels, or take a single card, and works out the exchanges that are
+     * possible (option A).
+     *
+     * @param available - filled in with the number of cards of each type the player can give to the market
+     * @return - the numbers of cards of each type that can be taken from the market in an exchange
+     */
+    private List<int[]> addSimpleActions(List<AbstractAction> actions, JaipurGameState jgs, int currentPlayer, int[] available) {
+        JaipurParameters jp = (JaipurParameters) jgs.getGameParameters();
         Map<JaipurCard.GoodType, Counter> playerHand = jgs.playerHands.get(currentPlayer);
 
         // Can sell cards from hand
@@ -241,67 +291,94 @@ public class JaipurForwardModel extends StandardForwardModel {
         }
 
         // Option A: Take several (non-camel) cards and replenish with cards of different types from hand (or with camels)
-        // TODO (Advanced, bonus, optional): Calculate legal option A variations
-        List<Integer> marketCards = new ArrayList<>();
-        for (JaipurCard.GoodType gt : jgs.market.keySet()) {
+        // Multisets of good types are enumerated directly, so each exchange is only generated once
+        int[] inMarket = new int[goodTypes.length];
+        int nNonCamelsInMarket = 0;
+        for (JaipurCard.GoodType gt : goodTypes) {
             if (gt == Camel) {
+                // Camels given to the market come out of the herd, and then count towards the hand limit
+                available[gt.ordinal()] = Math.max(0, Math.min(jgs.playerHerds.get(currentPlayer).getValue(), jp.getHandLimit() - nCardsInHand));
                 continue;
             }
-            for (int i = 0; i < jgs.market.get(gt).getValue(); i++) {
-                marketCards.add(gt.ordinal());
+            inMarket[gt.ordinal()] = jgs.market.get(gt).getValue();
+            nNonCamelsInMarket += inMarket[gt.ordinal()];
+            if (playerHand.containsKey(gt)) {
+                available[gt.ordinal()] = playerHand.get(gt).getValue();
             }
         }
-        List<Integer> myCards = new ArrayList<>();
-        int handCount = 0;
-        for (JaipurCard.GoodType gt : jgs.playerHands.get(currentPlayer).keySet()) {
-            for (int i = 0; i < jgs.playerHands.get(currentPlayer).get(gt).getValue(); i++) {
-                myCards.add(gt.ordinal());
-                handCount++;
-            }
+        List<int[]> takes = new ArrayList<>();
+        int[] take = new int[goodTypes.length];
+        for (int n = 2; n <= nNonCamelsInMarket; n++) {
+            addTakeChoices(takes, inMarket, take, 0, n);
         }
-        for (int i = 0; i < jgs.playerHerds.get(currentPlayer).getValue() && i < jp.getHandLimit() - handCount; i++) {
-            myCards.add(Camel.ordinal());
+        return takes;
+    }
+
+    /**
+     * Chooses how many cards of each type (from type `gt` onwards) to take from the market.
+     * @param take - number of cards taken per good type so far
+     * @param remaining - number of cards left to choose
+     */
+    private void addTakeChoices(List<int[]> takes, int[] inMarket, int[] take, int gt, int remaining) {
+        if (remaining == 0) {
+            takes.add(take.clone());
+            return;
         }
-        for (int i = 2; i <= marketCards.size(); i++) {
-            List<int[]> takeChoices = Utils.generateCombinations(marketCards.stream().mapToInt(Integer::intValue).toArray(), i);
-            takeChoices = removeDuplicates(takeChoices);
-            for (int[] takeChoice : takeChoices) {
-                Set<Integer> sTakeChoice = new HashSet<>();
-                Map<JaipurCard.GoodType, Integer> howManyPerTypeTakeFromMarket = new HashMap<>();
-                for (int j = 0; j < i; j++) {
-                    sTakeChoice.add(takeChoice[j]);
-                    howManyPerTypeTakeFromMarket.put(JaipurCard.GoodType.values()[takeChoice[j]],
-                            howManyPerTypeTakeFromMarket.getOrDefault(JaipurCard.GoodType.values()[takeChoice[j]], 0) + 1);
-                }
-                List<Integer> myCardsAvailable = new ArrayList<>();
-                for (Integer myCard : myCards) {
-                    if (sTakeChoice.contains(myCard)) {
-                        continue;
-                    } else {
-                        myCardsAvailable.add(myCard);
-                    }
-                }
-                List<int[]> replaceChoices = Utils.generateCombinations(myCardsAvailable.stream().mapToInt(Integer::intValue).toArray(), i);
-                replaceChoices = removeDuplicates(replaceChoices);
-                for (int[] replaceChoice : replaceChoices) {
-                    Map<JaipurCard.GoodType, Integer> howManyPerTypeGiveFromHand = new HashMap<>();
-                    for (int j = 0; j < i; j++) {
-                        howManyPerTypeGiveFromHand.put(JaipurCard.GoodType.values()[replaceChoice[j]],
-                                howManyPerTypeGiveFromHand.getOrDefault(JaipurCard.GoodType.values()[replaceChoice[j]], 0) + 1);
-                    }
-                    actions.add(new TakeCards(ImmutableMap.copyOf(howManyPerTypeTakeFromMarket), ImmutableMap.copyOf(howManyPerTypeGiveFromHand), currentPlayer));
-                }
-            }
+        if (gt == goodTypes.length) return;
+        for (int n = Math.min(inMarket[gt], remaining); n >= 0; n--) {
+            take[gt] = n;
+            addTakeChoices(takes, inMarket, take, gt + 1, remaining - n);
         }
+        take[gt] = 0;
+    }
 
-        return actions;
+    /**
+     * Chooses how many cards of each type (from type `gt` onwards) to give to the market. Types taken can't be given.
+     * @param give - number of cards given per good type so far
+     * @param remaining - number of cards left to choose
+     */
+    private void addGiveChoices(List<AbstractAction> actions, int player, int[] available, int[] take, int[] give,
+                                int gt, int remaining) {
+        if (remaining == 0) {
+            actions.add(getExchangeAction(take, give, player));
+            return;
+        }
+        if (gt == goodTypes.length) return;
+        int max = take[gt] > 0 ? 0 : Math.min(available[gt], remaining);
+        for (int n = max; n >= 0; n--) {
+            give[gt] = n;
+            addGiveChoices(actions, player, available, take, give, gt + 1, remaining - n);
+        }
+        give[gt] = 0;
     }
 
-    List<int[]> removeDuplicates(List<int[]> choices) {
-        Set<String> seen = new HashSet<>();
-        return choices.stream()
-                .filter(choice -> seen.add(Arrays.toString(choice)))
-                .collect(Collectors.toList());
+    /**
+     * TakeCards actions are immutable, so the same instance is returned for the same exchange.
+     * @param take - number of cards taken from the market, per good type
+     * @param give - number of cards given to the market, per good type
+     * @param player - player taking the action
+     * @return - the TakeCards action for this exchange
+     */
+    private static TakeCards getExchangeAction(int[] take, int[] give, int player) {
+        long key = 0;
+        for (int gt = 0; gt < goodTypes.length; gt++) {
+            key |= (long) take[gt] << (gt * 4);
+            key |= (long) give[gt] << (32 + gt * 4);
+        }
+        Map<Long, TakeCards> playerExchanges = exchangeActions.computeIfAbsent(player, p -> new ConcurrentHashMap<>());
+        TakeCards action = playerExchanges.get(key);
+        if (action == null) {
+            ImmutableMap.Builder<JaipurCard.GoodType, Integer> takeMap = ImmutableMap.builder();
+            ImmutableMap.Builder<JaipurCard.GoodType, Integer> giveMap = ImmutableMap.builder();
+            for (int gt = 0; gt < goodTypes.length; gt++) {
+                if (take[gt] > 0) takeMap.put(goodTypes[gt], take[gt]);
+                if (give[gt] > 0) giveMap.put(goodTypes[gt], give[gt]);
+            }
+            action = new TakeCards(takeMap.build(), giveMap.build(), player);
+            TakeCards existing = playerExchanges.putIfAbsent(key, action);
+            if (existing != null) action = existing;
+        }
+        return action;
     }
 
     @Override
@@ -311,7 +388,7 @@ public class JaipurForwardModel extends StandardForwardModel {
         // Check game end
         JaipurGameState jgs = (JaipurGameState) currentState;
         JaipurParameters jp = (JaipurParameters) currentState.getGameParameters();
-        if (actionTaken instanceof TakeCards && ((TakeCards) actionTaken).isTriggerRoundEnd() || jgs.nGoodTokensSold.getValue() == jp.nGoodTokensEmptyRoundEnd) {
+        if (actionTaken instanceof TakeCards && marketNotRefilled(jgs, jp) || jgs.nGoodTokensSold.getValue() == jp.nGoodTokensEmptyRoundEnd) {
             // Round end!
             endRound(currentState);
 
@@ -378,4 +455,15 @@ public class JaipurForwardModel extends StandardForwardModel {
             endPlayerTurn(jgs);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * @return - true if the draw deck ran out while refilling the market, which ends the round.
+     */
+    private boolean marketNotRefilled(JaipurGameState jgs, JaipurParameters jp) {
+        int nCardsInMarket = 0;
+        for (Counter c : jgs.market.values()) {
+            nCardsInMarket += c.getValue();
+        }
+        return nCardsInMarket < jp.getMarketSize();
+    }
+}
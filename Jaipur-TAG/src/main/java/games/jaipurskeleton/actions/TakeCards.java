@@ -15,8 +15,6 @@ public class TakeCards extends AbstractAction {
     public final ImmutableMap<JaipurCard.GoodType, Integer> howManyPerTypeGiveFromHand;
     final int playerID;
 
-    boolean triggerRoundEnd;
-
     public TakeCards(ImmutableMap<JaipurCard.GoodType, Integer> howManyPerTypeTakeFromMarket, ImmutableMap<JaipurCard.GoodType, Integer> howManyPerTypeGiveFromHand, int playerID) {
         this.howManyPerTypeTakeFromMarket = howManyPerTypeTakeFromMarket;
         this.howManyPerTypeGiveFromHand = howManyPerTypeGiveFromHand;
@@ -50,9 +48,9 @@ public class TakeCards extends AbstractAction {
                 jgs.getMarket().get(goodType).decrement(howMany);
                 // TODO 1: Refill market with cards from the draw deck, to required market size
                 for (int i = 0; i < howMany; i++) {
-                    // TODO 1: If the draw deck becomes empty when trying to draw a new card, set the `triggerRoundEnd` flag to true
+                    // TODO 1: If the draw deck becomes empty when trying to draw a new card, the market is left short,
+                    //  which ends the round (checked by the forward model after the action)
                     if (jgs.getDrawDeck().getSize() == 0) {
-                        triggerRoundEnd = true;
                         return true;
                     }
                     JaipurCard card = jgs.getDrawDeck().draw();
@@ -68,9 +66,9 @@ public class TakeCards extends AbstractAction {
                 // TODO 2: Reduce the number of cards in the market of this type by 1
                 jgs.getMarket().get(goodType).decrement(howMany);
                 // TODO 2: Draw a new card from the draw deck and increment the corresponding type in the market by 1
-                // TODO 2: If the draw deck becomes empty when trying to draw a new card, set the `triggerRoundEnd` flag to true
+                // TODO 2: If the draw deck becomes empty when trying to draw a new card, the market is left short,
+                //  which ends the round (checked by the forward model after the action)
                 if (jgs.getDrawDeck().getSize() == 0) {
-                    triggerRoundEnd = true;
                     return true;
                 }
                 JaipurCard card = jgs.getDrawDeck().draw();
@@ -106,9 +104,7 @@ public class TakeCards extends AbstractAction {
      */
     @Override
     public TakeCards copy() {
-        TakeCards copy = new TakeCards(howManyPerTypeTakeFromMarket, howManyPerTypeGiveFromHand, playerID);
-        copy.triggerRoundEnd = triggerRoundEnd;
-        return copy;
+        return this;
     }
 
     @Override
@@ -116,14 +112,13 @@ public class TakeCards extends AbstractAction {
         if (this == o) return true;
         if (!(o instanceof TakeCards takeCards)) return false;
         return playerID == takeCards.playerID
-                && triggerRoundEnd == takeCards.triggerRoundEnd
                 && Objects.equals(howManyPerTypeTakeFromMarket, takeCards.howManyPerTypeTakeFromMarket)
                 && Objects.equals(howManyPerTypeGiveFromHand, takeCards.howManyPerTypeGiveFromHand);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(howManyPerTypeTakeFromMarket, howManyPerTypeGiveFromHand, playerID, triggerRoundEnd);
+        return Objects.hash(howManyPerTypeTakeFromMarket, howManyPerTypeGiveFromHand, playerID);
     }
 
     @Override
@@ -141,8 +136,4 @@ public class TakeCards extends AbstractAction {
     public String getString(AbstractGameState gameState) {
         return toString();
     }
-
-    public boolean isTriggerRoundEnd() {
-        return triggerRoundEnd;
-    }
 }
\ No newline at end of file
@@ -10,6 +10,7 @@ import games.GameType;
 import games.loveletter.actions.PlayCard;
 import games.loveletter.cards.LoveLetterCard;
 import utilities.ActionTreeNode;
+import utilities.CardBelief;
 
 import java.util.*;
 
@@ -34,6 +35,7 @@ public class LoveLetterForwardModel extends StandardForwardModel implements ITre
         llgs.affectionTokens = new int[llgs.getNPlayers()];
         llgs.playerHandCards = new ArrayList<>(llgs.getNPlayers());
         llgs.playerDiscardCards = new ArrayList<>(llgs.getNPlayers());
+        llgs.handBelief = new CardBelief(llgs.getNPlayers(), LoveLetterCard.CardType.values().length);
 
         // Set up first round
         setupRound(llgs, null);
@@ -55,6 +57,7 @@ public class LoveLetterForwardModel extends StandardForwardModel implements ITre
         for (int i = 0; i < llgs.getNPlayers(); i++) {
             llgs.setPlayerResult(GameResult.GAME_ONGOING, i);
         }
+        llgs.handBelief.resetAll();
 
         // Add all cards to the draw pile
         llgs.drawPile.clear();
@@ -150,6 +153,7 @@ public class LoveLetterForwardModel extends StandardForwardModel implements ITre
             llgs.setProtection(llgs.getCurrentPlayer(), false);
             LoveLetterCard cardDrawn = llgs.getDrawPile().draw();
             llgs.getPlayerHandCards().get(llgs.getCurrentPlayer()).add(cardDrawn);
+            llgs.handBelief.reset(llgs.getCurrentPlayer());
         }
     }
 
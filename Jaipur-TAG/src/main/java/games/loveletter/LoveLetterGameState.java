@@ -7,14 +7,17 @@ import core.components.Component;
 import core.components.Deck;
 import core.components.PartialObservableDeck;
 import core.interfaces.IPrintable;
+import core.interfaces.IRedeterminisable;
 import evaluation.metrics.Event;
 import games.GameType;
 import games.loveletter.cards.LoveLetterCard;
+import utilities.CardBelief;
+import utilities.DeterminisationUtilities;
 
 import java.util.*;
 
 
-public class LoveLetterGameState extends AbstractGameState implements IPrintable {
+public class LoveLetterGameState extends AbstractGameState implements IPrintable, IRedeterminisable {
 
     // List of cards in player hands
     List<PartialObservableDeck<LoveLetterCard>> playerHandCards;
@@ -28,7 +31,6 @@ public class LoveLetterGameState extends AbstractGameState implements IPrintable
     // Cards in the reserve
     Deck<LoveLetterCard> reserveCards;
     LoveLetterCard removedCard;
-    Random redeterminisationRnd = new Random(System.currentTimeMillis());
 
     // If true: player cannot be effected by any card effects
     boolean[] effectProtection;
@@ -36,6 +38,12 @@ public class LoveLetterGameState extends AbstractGameState implements IPrintable
     // Affection tokens per player
     int[] affectionTokens;
 
+    // What all players know about the card types in each player's hand, from the cards played and their effects
+    CardBelief handBelief;
+    // Scratch space for redeterminise()
+    private final List<LoveLetterCard> hiddenCards = new ArrayList<>();
+    private long[] allowedTypes = new long[0];
+
     /**
      * For unit testing
      *
@@ -79,35 +87,72 @@ public class LoveLetterGameState extends AbstractGameState implements IPrintable
         }
         llgs.effectProtection = effectProtection.clone();
         llgs.affectionTokens = affectionTokens.clone();
+        llgs.handBelief = handBelief.copy();
 
         if (getCoreGameParameters().partialObservable && playerId != -1) {
-            // Draw pile, some reserve cards and other player's hand is possibly hidden. Mix all together and draw randoms
-            for (int i = 0; i < getNPlayers(); i++) {
-                if (i != playerId) {
-                    PartialObservableDeck<LoveLetterCard> deck = llgs.playerHandCards.get(i);
-                    for (int j = 0; j < deck.getSize(); j++) {
-                        if (!deck.getVisibilityForPlayer(j, playerId)) {
-                            // Hide!
-                            llgs.drawPile.add(deck.get(j));
-                        }
+            llgs.redeterminise(playerId, redeterminisationRnd);
+        }
+        return llgs;
+    }
+
+    @Override
+    public void resetFrom(AbstractGameState source) {
+        LoveLetterGameState llgs = (LoveLetterGameState) source;
+        drawPile.copyComponentsFrom(llgs.drawPile);
+        reserveCards.copyComponentsFrom(llgs.reserveCards);
+        removedCard = llgs.removedCard.copy();
+        for (int i = 0; i < getNPlayers(); i++) {
+            playerHandCards.get(i).copyComponentsFrom(llgs.playerHandCards.get(i));
+            playerDiscardCards.get(i).copyComponentsFrom(llgs.playerDiscardCards.get(i));
+        }
+        System.arraycopy(llgs.effectProtection, 0, effectProtection, 0, effectProtection.length);
+        System.arraycopy(llgs.affectionTokens, 0, affectionTokens, 0, affectionTokens.length);
+        handBelief.copyFrom(llgs.handBelief);
+    }
+
+    @Override
+    public void redeterminise(int playerId, Random rnd) {
+        if (!getCoreGameParameters().partialObservable) return;
+        // Draw pile, the removed card and other players' cards not seen by the player are hidden. Deal them again
+        // at random, keeping to what is publicly known about the hand of each player
+        hiddenCards.clear();
+        int nSlots = 0;
+        for (int i = 0; i < getNPlayers(); i++) {
+            if (i != playerId) {
+                PartialObservableDeck<LoveLetterCard> deck = playerHandCards.get(i);
+                for (int j = 0; j < deck.getSize(); j++) {
+                    if (!deck.getVisibilityForPlayer(j, playerId)) {
+                        if (nSlots == allowedTypes.length) allowedTypes = Arrays.copyOf(allowedTypes, 2 * nSlots + 2);
+                        allowedTypes[nSlots++] = handBelief.getPossibleTypes(i);
+                        hiddenCards.add(deck.get(j));
                     }
                 }
             }
-            llgs.drawPile.shuffle(redeterminisationRnd);
-            for (int i = 0; i < getNPlayers(); i++) {
-                if (i != playerId) {
-                    // New random cards
-                    PartialObservableDeck<LoveLetterCard> deck = llgs.playerHandCards.get(i);
-                    for (int j = 0; j < deck.getSize(); j++) {
-                        if (!deck.getVisibilityForPlayer(j, playerId)) {
-                            llgs.playerHandCards.get(i).setComponent(j, llgs.drawPile.draw());
-                        }
+        }
+        hiddenCards.addAll(drawPile.getComponents());
+        // Once the draw pile is empty the removed card may have been given to a player by a Prince
+        boolean removedCardHidden = drawPile.getSize() > 0;
+        if (removedCardHidden) hiddenCards.add(removedCard);
+
+        DeterminisationUtilities.dealConsistent(hiddenCards, allowedTypes, nSlots, c -> c.cardType.ordinal(), rnd);
+
+        int k = 0;
+        for (int i = 0; i < getNPlayers(); i++) {
+            if (i != playerId) {
+                // New random cards
+                PartialObservableDeck<LoveLetterCard> deck = playerHandCards.get(i);
+                for (int j = 0; j < deck.getSize(); j++) {
+                    if (!deck.getVisibilityForPlayer(j, playerId)) {
+                        deck.setComponent(j, hiddenCards.get(k++));
                     }
-                    deck.shuffle(redeterminisationRnd);
                 }
+                deck.shuffle(rnd);
             }
         }
-        return llgs;
+        for (int j = 0; j < drawPile.getSize(); j++) {
+            drawPile.setComponent(j, hiddenCards.get(k++));
+        }
+        if (removedCardHidden) removedCard = hiddenCards.get(k);
     }
 
     @Override
@@ -132,12 +177,13 @@ public class LoveLetterGameState extends AbstractGameState implements IPrintable
                 Objects.equals(reserveCards, that.reserveCards) &&
                 Objects.equals(removedCard, that.removedCard) &&
                 Arrays.equals(effectProtection, that.effectProtection) &&
-                Arrays.equals(affectionTokens, that.affectionTokens);
+                Arrays.equals(affectionTokens, that.affectionTokens) &&
+                Objects.equals(handBelief, that.handBelief);
     }
 
     @Override
     public int hashCode() {
-        int result = Objects.hash(super.hashCode(), playerHandCards, playerDiscardCards, drawPile, reserveCards, removedCard);
+        int result = Objects.hash(super.hashCode(), playerHandCards, playerDiscardCards, drawPile, reserveCards, removedCard, handBelief);
         result = 31 * result + Arrays.hashCode(effectProtection);
         result = 31 * result + Arrays.hashCode(affectionTokens);
         return result;
@@ -189,6 +235,8 @@ public class LoveLetterGameState extends AbstractGameState implements IPrintable
         while (playerHandCards.get(targetPlayer).getSize() > 0)
             playerDiscardCards.get(targetPlayer).add(playerHandCards.get(targetPlayer).draw());
 
+        handBelief.reset(targetPlayer);
+
         logEvent(Event.GameEvent.GAME_EVENT, "Killed player: " + whoKill + "," + targetPlayer + "," + cardType + "," + getCurrentPlayer());
     }
 
@@ -229,6 +277,21 @@ public class LoveLetterGameState extends AbstractGameState implements IPrintable
         return affectionTokens;
     }
 
+    public CardBelief getHandBelief() {
+        return handBelief;
+    }
+
+    /**
+     * @return - bitmask of the card types (by ordinal) with a value higher than the given one.
+     */
+    public static long typesAbove(int value) {
+        long mask = 0;
+        for (LoveLetterCard.CardType type : LoveLetterCard.CardType.values()) {
+            if (type.getValue() > value) mask |= 1L << type.ordinal();
+        }
+        return mask;
+    }
+
     /**
      * Prints the game state.
      */
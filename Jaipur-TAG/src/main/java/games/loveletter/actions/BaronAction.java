@@ -29,10 +29,14 @@ public class BaronAction extends PlayCard implements IPrintable {
         if (opponentCard != null && playerCard != null) {
             this.otherCardInHand = playerCard.cardType;
             this.targetCardType = opponentCard.cardType;
-            if (opponentCard.cardType.getValue() < playerCard.cardType.getValue())
+            // the loser's card is discarded, so everyone knows the winner's card is of a higher value
+            if (opponentCard.cardType.getValue() < playerCard.cardType.getValue()) {
+                llgs.getHandBelief().restrict(playerID, LoveLetterGameState.typesAbove(opponentCard.cardType.getValue()));
                 llgs.killPlayer(playerID, targetPlayer, cardType);
-            else if (playerCard.cardType.getValue() < opponentCard.cardType.getValue())
+            } else if (playerCard.cardType.getValue() < opponentCard.cardType.getValue()) {
+                llgs.getHandBelief().restrict(targetPlayer, LoveLetterGameState.typesAbove(playerCard.cardType.getValue()));
                 llgs.killPlayer(playerID, playerID, cardType);
+            }
         } else {
             throw new IllegalArgumentException("player with ID " + targetPlayer + " was targeted using a Baron card" +
                     " but one of the players has no cards left.");
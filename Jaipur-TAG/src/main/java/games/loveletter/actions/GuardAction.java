@@ -28,6 +28,9 @@ public class GuardAction extends PlayCard implements IPrintable {
             if (llgs.getCoreGameParameters().recordEventHistory) {
                 llgs.recordHistory("Guard guess correct!");
             }
+        } else {
+            // everyone now knows the opponent does not hold the guessed card
+            llgs.getHandBelief().exclude(targetPlayer, targetCardType.ordinal());
         }
         return true;
     }
@@ -2,6 +2,7 @@ package games.loveletter.actions;
 
 import core.CoreConstants.VisibilityMode;
 import core.components.Deck;
+import core.components.PartialObservableDeck;
 import core.interfaces.IPrintable;
 import games.loveletter.LoveLetterGameState;
 import games.loveletter.cards.LoveLetterCard;
@@ -18,8 +19,8 @@ public class KingAction extends PlayCard implements IPrintable {
 
     @Override
     protected boolean _execute(LoveLetterGameState llgs) {
-        Deck<LoveLetterCard> playerDeck = llgs.getPlayerHandCards().get(playerID);
-        Deck<LoveLetterCard> opponentDeck = llgs.getPlayerHandCards().get(targetPlayer);
+        PartialObservableDeck<LoveLetterCard> playerDeck = llgs.getPlayerHandCards().get(playerID);
+        PartialObservableDeck<LoveLetterCard> opponentDeck = llgs.getPlayerHandCards().get(targetPlayer);
 
         // create a temporary deck to store cards in and then swap cards accordingly
         Deck<LoveLetterCard> tmpDeck = new Deck<>("tmp", VisibilityMode.HIDDEN_TO_ALL);
@@ -30,6 +31,11 @@ public class KingAction extends PlayCard implements IPrintable {
         while (tmpDeck.getSize() > 0)
             playerDeck.add(tmpDeck.draw());
 
+        // each player knows the card they gave away, and what was known about the hands goes with them
+        opponentDeck.setVisibilityOfAllComponents(playerID, true);
+        playerDeck.setVisibilityOfAllComponents(targetPlayer, true);
+        llgs.getHandBelief().swap(playerID, targetPlayer);
+
         return true;
     }
 
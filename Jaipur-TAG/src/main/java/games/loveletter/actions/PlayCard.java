@@ -82,6 +82,9 @@ public class PlayCard extends AbstractAction {
                 // Discard card
                 from.remove(card);
                 to.add(card);
+                // the Countess must be played when held with the King or Prince, so the player does not hold it
+                if (card.cardType == LoveLetterCard.CardType.King || card.cardType == LoveLetterCard.CardType.Prince)
+                    llgs.getHandBelief().exclude(playerID, LoveLetterCard.CardType.Countess.ordinal());
             } else {
                 throw new AssertionError("No card in hand matching the required type");
             }
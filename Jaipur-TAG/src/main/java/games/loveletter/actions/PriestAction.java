@@ -22,8 +22,7 @@ public class PriestAction extends PlayCard implements IPrintable {
         PartialObservableDeck<LoveLetterCard> opponentDeck = llgs.getPlayerHandCards().get(targetPlayer);
 
         // Set all cards to be visible by the current player
-        for (int i = 0; i < opponentDeck.getComponents().size(); i++)
-            opponentDeck.setVisibilityOfComponent(i, playerID, true);
+        opponentDeck.setVisibilityOfAllComponents(playerID, true);
 
         targetCardType = opponentDeck.get(0).cardType;
         if (llgs.getCoreGameParameters().recordEventHistory) {
@@ -45,6 +45,7 @@ public class PrinceAction extends PlayCard implements IPrintable {
             if (cardDrawn == null)
                 cardDrawn = llgs.getRemovedCard();
             opponentDeck.add(cardDrawn);
+            llgs.getHandBelief().reset(targetPlayer);
         }
 
         return true;
@@ -1,8 +1,8 @@
 package games.loveletter.features;
 
 import core.AbstractGameState;
+import core.components.Deck;
 import core.components.PartialObservableDeck;
-import core.interfaces.IComponentContainer;
 import games.loveletter.LoveLetterGameState;
 import games.loveletter.cards.LoveLetterCard;
 import players.heuristics.AbstractStateFeature;
@@ -10,7 +10,6 @@ import players.heuristics.AbstractStateFeature;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.stream.IntStream;
 
 import static games.loveletter.cards.LoveLetterCard.CardType.Guard;
 import static games.loveletter.cards.LoveLetterCard.CardType.getMaxCardValue;
@@ -52,26 +51,29 @@ public class LLStateFeatures extends AbstractStateFeature {
 
     @Override
     protected double[] localFeatureVector(AbstractGameState gs, int playerID) {
+        double[] retValue = new double[localNames.length];
+        localFeatureVector(gs, playerID, retValue, 0);
+        return retValue;
+    }
+
+    @Override
+    protected void localFeatureVector(AbstractGameState gs, int playerID, double[] buffer, int offset) {
         LoveLetterGameState state = (LoveLetterGameState) gs;
 
-        double[] retValue = new double[localNames.length];
+        Arrays.fill(buffer, offset, offset + localNames.length, 0.0);
         int featuresPerGroup = LoveLetterCard.CardType.values().length;
+        int base = offset + baseFeatures;
 
         double cardValues = 0;
         PartialObservableDeck<LoveLetterCard> hand = state.getPlayerHandCards().get(playerID);
         for (int i = 0; i < hand.getSize(); i++) {
-            boolean[] visibility = hand.getVisibilityOfComponent(i);
             LoveLetterCard card = hand.get(i);
             cardValues += card.cardType.getValue();
             int value = card.cardType.ordinal();
-            retValue[baseFeatures + value] = 1.0;
-            for (int j = 0; j < visibility.length; j++) {
-                if (j == playerID)
-                    continue;
-                if (visibility[j]) {
-                    retValue[baseFeatures + featuresPerGroup + value] = 1.0;
-                    break;
-                }
+            buffer[base + value] = 1.0;
+            // Known to at least one other player
+            if ((hand.getVisibilityMask(i) & ~(1L << playerID)) != 0) {
+                buffer[base + featuresPerGroup + value] = 1.0;
             }
         }
 
@@ -82,31 +84,28 @@ public class LLStateFeatures extends AbstractStateFeature {
             if (player != playerID) {
                 PartialObservableDeck<LoveLetterCard> deck = state.getPlayerHandCards().get(player);
                 for (int i = 0; i < deck.getSize(); i++) {
-                    if (deck.getVisibilityOfComponent(i)[playerID]) {
-                        visibleCards++;
-                        retValue[baseFeatures + 3 * featuresPerGroup + deck.getComponents().get(i).cardType.ordinal()] = 1.0;
+                    if (deck.getVisibilityForPlayer(i, playerID)) {
+                        // each visible card counts twice, keeping the values of earlier versions of this feature
+                        visibleCards += 2;
+                        buffer[base + 3 * featuresPerGroup + deck.get(i).cardType.ordinal()] = 1.0;
                     }
                 }
-                visibleCards += (int) IntStream.range(0, deck.getSize()).filter(i -> deck.getVisibilityForPlayer(i, playerID)).count();
             }
         }
-        List<LoveLetterCard> discardDecks = state.getPlayerDiscardCards().stream()
-                .flatMap(IComponentContainer::stream)
-                .collect(toList());
-        for (LoveLetterCard discard : discardDecks) {
-            retValue[baseFeatures + 2 * featuresPerGroup + discard.cardType.ordinal()] += 1.0;
+        for (Deck<LoveLetterCard> discards : state.getPlayerDiscardCards()) {
+            for (int i = 0; i < discards.getSize(); i++) {
+                buffer[base + 2 * featuresPerGroup + discards.get(i).cardType.ordinal()] += 1.0;
+            }
         }
         // divide by total cards
   //      retValue[baseFeatures + 2 * featuresPerGroup] /= 5.0;  // 5 Guard cards
    //     for (int i = 1; i < featuresPerGroup; i++)
    //         retValue[baseFeatures + 2 * featuresPerGroup + i] /= 2.0;  // 2 of all other types
 
-        retValue[0] = state.isProtected(playerID) ? 1.0 : 0.0;
-        retValue[1] = visibleCards / (state.getNPlayers() - 1.0);
-        retValue[2] = cardValues; // / maxCardValue;
-        retValue[3] = state.getDrawPile().getSize() ; // / 16.0;
-
-        return retValue;
+        buffer[offset] = state.isProtected(playerID) ? 1.0 : 0.0;
+        buffer[offset + 1] = visibleCards / (state.getNPlayers() - 1.0);
+        buffer[offset + 2] = cardValues; // / maxCardValue;
+        buffer[offset + 3] = state.getDrawPile().getSize() ; // / 16.0;
     }
 
 }
@@ -119,9 +119,6 @@ public class PandemicForwardModel extends AbstractRuleBasedForwardModel {
 
         nextPlayerRule.setNext(root);
 
-        // Next rule to execute is root
-        nextRule = root;
-
         // Draw game tree from root
 //        new GameFlowDiagram(root);
     }
@@ -134,6 +131,14 @@ public class PandemicForwardModel extends AbstractRuleBasedForwardModel {
         super(root);
     }
 
+    /**
+     * Copy constructor, sharing the rule graph.
+     * @param other - forward model to copy.
+     */
+    private PandemicForwardModel(PandemicForwardModel other) {
+        super(other);
+    }
+
     /**
      * Performs initial game setup according to game rules
      *  - sets up decks and shuffles
@@ -149,8 +154,7 @@ public class PandemicForwardModel extends AbstractRuleBasedForwardModel {
         state._reset();
         PandemicParameters pp = (PandemicParameters) state.getGameParameters();
 
-        AbstractGameData _data = new AbstractGameData();
-        _data.load(pp.getDataPath());
+        AbstractGameData _data = GameDataCache.getGameData(pp.getDataPath());
 
         state.tempDeck = new Deck<>("Temp Deck", VISIBLE_TO_ALL);
         state.areas = new HashMap<>();
@@ -362,7 +366,7 @@ public class PandemicForwardModel extends AbstractRuleBasedForwardModel {
 
     @Override
     protected AbstractForwardModel _copy() {
-        return new PandemicForwardModel(copyRoot());
+        return new PandemicForwardModel(this);
     }
 
     @Override
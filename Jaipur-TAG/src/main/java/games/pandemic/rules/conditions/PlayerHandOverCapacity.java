@@ -12,7 +12,7 @@ import static core.CoreConstants.playerHandHash;
 
 @SuppressWarnings("unchecked")
 public class PlayerHandOverCapacity extends ConditionNode {
-    private int playerId;
+    private final int playerId;
 
     public PlayerHandOverCapacity() {
         this.playerId = -2;  // Current player by default
@@ -32,8 +32,9 @@ public class PlayerHandOverCapacity extends ConditionNode {
         Deck<Card> playerDeck;
         PandemicGameState pgs = (PandemicGameState)gs;
 
+        int playerId = this.playerId;
         if (parent instanceof PlayerAction) {
-            playerId = ((PlayerAction) parent).getPlayerHandOverCapacity();
+            playerId = ((PlayerAction) parent).getPlayerHandOverCapacity(pgs);
         }
 
         if (playerId == -2) {
@@ -47,7 +48,7 @@ public class PlayerHandOverCapacity extends ConditionNode {
 
 //        if (playerDeck != null && !playerDeck.isOverCapacity()) {
 //            if (parent instanceof PlayerAction) {
-//                ((PlayerAction) parent).setPlayerHandOverCapacity(-1);
+//                ((PlayerAction) parent).setPlayerHandOverCapacity(pgs, -1);
 //            }
 //            playerId = -1;
 //        }
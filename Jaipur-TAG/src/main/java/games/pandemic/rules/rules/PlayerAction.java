@@ -1,6 +1,7 @@
 package games.pandemic.rules.rules;
 
 import core.AbstractGameStateWithTurnOrder;
+import core.actions.AbstractAction;
 import core.actions.DrawCard;
 import core.components.Card;
 import core.components.Counter;
@@ -21,13 +22,12 @@ import static core.CoreConstants.nameHash;
 
 public class PlayerAction extends core.rules.rulenodes.PlayerAction {
 
-    private int playerHandOverCapacity;
+    // The node data holds the player whose hand is over capacity after the last card drawn, or -1
     private int n_initial_disease_cubes;
 
     public PlayerAction(int n_initial_disease_cubes) {
         super();
         this.n_initial_disease_cubes = n_initial_disease_cubes;
-        this.playerHandOverCapacity = -1;
     }
 
     /**
@@ -37,12 +37,17 @@ public class PlayerAction extends core.rules.rulenodes.PlayerAction {
     public PlayerAction(PlayerAction playerAction) {
         super(playerAction);
         this.n_initial_disease_cubes = playerAction.n_initial_disease_cubes;
-        this.playerHandOverCapacity = playerAction.playerHandOverCapacity;
+    }
+
+    @Override
+    protected int initialData() {
+        return -1;
     }
 
     @Override
     protected boolean run(AbstractGameStateWithTurnOrder gs) {
         if(super.run(gs)) {
+            AbstractAction action = getAction(gs);
             PandemicGameState pgs = (PandemicGameState) gs;
             PandemicTurnOrder pto = (PandemicTurnOrder) pgs.getTurnOrder();
             int playerIdx = pto.getCurrentPlayer(gs);
@@ -70,9 +75,9 @@ public class PlayerAction extends core.rules.rulenodes.PlayerAction {
                 // Player hand may be over capacity, set parameter to inform next decision
                 Deck<Card> deckTo = (Deck<Card>) gs.getComponentById(((DrawCard) action).getDeckTo());
                 Deck<Card> playerHand = (Deck<Card>) pgs.getComponentActingPlayer(playerHandHash);
-                if (deckTo != null && deckTo.isOverCapacity()) playerHandOverCapacity = deckTo.getOwnerId();
-                else if (playerHand != null && playerHand.isOverCapacity()) playerHandOverCapacity = playerIdx;
-                else playerHandOverCapacity = -1;
+                if (deckTo != null && deckTo.isOverCapacity()) setData(gs, deckTo.getOwnerId());
+                else if (playerHand != null && playerHand.isOverCapacity()) setData(gs, playerIdx);
+                else setData(gs, -1);
             }
 
             // Check if this was an event action or a reaction. These actions are always played with the event card.
@@ -89,12 +94,12 @@ public class PlayerAction extends core.rules.rulenodes.PlayerAction {
         return false;
     }
 
-    public int getPlayerHandOverCapacity() {
-        return playerHandOverCapacity;
+    public int getPlayerHandOverCapacity(AbstractGameStateWithTurnOrder gs) {
+        return getData(gs);
     }
 
-    public void setPlayerHandOverCapacity(int playerHandOverCapacity) {
-        this.playerHandOverCapacity = playerHandOverCapacity;
+    public void setPlayerHandOverCapacity(AbstractGameStateWithTurnOrder gs, int playerHandOverCapacity) {
+        setData(gs, playerHandOverCapacity);
     }
 
     @Override
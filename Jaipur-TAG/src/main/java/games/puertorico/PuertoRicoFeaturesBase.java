@@ -5,11 +5,6 @@ import core.interfaces.IStateFeatureVector;
 import games.puertorico.PuertoRicoConstants.Crop;
 import games.puertorico.components.*;
 
-import java.util.Map;
-import java.util.stream.Collectors;
-
-import static java.util.stream.Collectors.groupingBy;
-
 public class PuertoRicoFeaturesBase implements IStateFeatureVector {
 
     @Override
@@ -19,41 +14,60 @@ public class PuertoRicoFeaturesBase implements IStateFeatureVector {
     }
     @Override
     public double[] featureVector(AbstractGameState gs, int playerID) {
-        PuertoRicoGameState state = (PuertoRicoGameState) gs;
         double[] retValue = new double[names().length];
+        featureVector(gs, playerID, retValue, 0);
+        return retValue;
+    }
+
+    @Override
+    public void featureVector(AbstractGameState gs, int playerID, double[] buffer, int offset) {
+        PuertoRicoGameState state = (PuertoRicoGameState) gs;
+        PRPlayerBoard board = state.getPlayerBoard(playerID);
+
+        int quarries = 0;
+        int[] plantationsByCrop = new int[Crop.values().length];  // occupied plantations only
+        for (Plantation p : board.getPlantations()) {
+            if (p.crop == Crop.QUARRY) quarries++;
+            if (p.isOccupied()) plantationsByCrop[p.crop.ordinal()]++;
+        }
+        int[] productionByCrop = new int[Crop.values().length];
+        for (Building b : board.getBuildings()) {
+            if (b instanceof ProductionBuilding)
+                productionByCrop[((ProductionBuilding) b).cropType.ordinal()] += b.getOccupation();
+        }
 
-        retValue[0] = state.getPlayerBoard(playerID).vp;
-        retValue[1] = state.getGameScore(playerID);
-        retValue[2] = state.getPlayerBoard(playerID).getTownSize();
-        retValue[3] = state.getPlayerBoard(playerID).getPlantationSize();
-        retValue[4] = state.getPlayerBoard(playerID).getPlantations().stream().filter(p -> p.crop == Crop.QUARRY).count();
-        retValue[5] = state.getPlayerBoard(playerID).getTownVacancies();
-        retValue[6] = state.getPlayerBoard(playerID).getPlantationVacancies();
-        retValue[7] = state.getPlayerBoard(playerID).getDoubloons();
+        buffer[offset] = board.vp;
+        buffer[offset + 1] = state.getGameScore(playerID);
+        buffer[offset + 2] = board.getTownSize();
+        buffer[offset + 3] = board.getPlantationSize();
+        buffer[offset + 4] = quarries;
+        buffer[offset + 5] = board.getTownVacancies();
+        buffer[offset + 6] = board.getPlantationVacancies();
+        buffer[offset + 7] = board.getDoubloons();
         // The next two tie up plantations and production facilities for the same goods:
         int goodTypes = 0;
         int goodVolume = 0;
-        Map<Crop, Long> plantationsByCrop = state.getPlayerBoard(playerID).getPlantations().stream()
-                .filter(Plantation::isOccupied)
-                .collect(groupingBy(p -> p.crop, Collectors.counting()));
-        Map<Crop, Integer> productionByCrop = state.getPlayerBoard(playerID).getBuildings().stream()
-                .filter(b -> b instanceof ProductionBuilding)
-                .collect(groupingBy(b -> ((ProductionBuilding) b).cropType, Collectors.collectingAndThen(Collectors.summingInt(Building::getOccupation), Integer::intValue)));
-        for (Crop c : plantationsByCrop.keySet()) {
-            if (c == Crop.CORN && plantationsByCrop.get(c) > 0) {
+        for (Crop c : Crop.values()) {
+            int plantations = plantationsByCrop[c.ordinal()];
+            if (c == Crop.CORN && plantations > 0) {
                 goodTypes++;
-                goodVolume += plantationsByCrop.get(c);
-            } else if (plantationsByCrop.get(c) > 0 && productionByCrop.getOrDefault(c, 0) > 0) {
+                goodVolume += plantations;
+            } else if (plantations > 0 && productionByCrop[c.ordinal()] > 0) {
                 goodTypes++;
-                goodVolume += Math.min(plantationsByCrop.get(c), productionByCrop.get(c));
+                goodVolume += Math.min(plantations, productionByCrop[c.ordinal()]);
             }
         }
-        retValue[8] = goodVolume;
-        retValue[9] = goodTypes;
-        retValue[10] = state.getPlayerBoard(playerID).getStores().values().stream().mapToInt(Integer::intValue).sum();
-        retValue[11] = state.getPlayerBoard(playerID).getStores().values().stream().filter(i -> i > 0).count();
-
-        return retValue;
+        buffer[offset + 8] = goodVolume;
+        buffer[offset + 9] = goodTypes;
+        int storeVolume = 0;
+        int storeVariety = 0;
+        for (Crop c : Crop.values()) {
+            int n = board.getStoresOf(c);
+            storeVolume += n;
+            if (n > 0) storeVariety++;
+        }
+        buffer[offset + 10] = storeVolume;
+        buffer[offset + 11] = storeVariety;
     }
 
 
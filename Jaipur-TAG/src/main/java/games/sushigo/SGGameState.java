@@ -3,6 +3,7 @@ package games.sushigo;
 import core.AbstractGameState;
 import core.AbstractParameters;
 import core.components.*;
+import core.interfaces.IRedeterminisable;
 import core.interfaces.IStateFeatureJSON;
 import games.GameType;
 import games.sushigo.actions.ChooseCard;
@@ -13,7 +14,7 @@ import utilities.Pair;
 import java.util.*;
 
 @SuppressWarnings("unchecked")
-public class SGGameState extends AbstractGameState {
+public class SGGameState extends AbstractGameState implements IRedeterminisable {
     List<Deck<SGCard>> playerHands;
     Deck<SGCard> drawPile;
     Deck<SGCard> discardPile;
@@ -95,51 +96,75 @@ public class SGGameState extends AbstractGameState {
         copy.discardPile = discardPile.copy();
         copy.cardChoices = new ArrayList<>();
 
-        if (playerId == -1) {
-            for (int i = 0; i < getNPlayers(); i++) {
-                List<ChooseCard> copiedItems = new ArrayList<>();
-                for (ChooseCard cc : cardChoices.get(i)) {
-                    copiedItems.add(cc.copy());
-                }
-                copy.cardChoices.add(copiedItems);
+        for (int i = 0; i < getNPlayers(); i++) {
+            List<ChooseCard> copiedItems = new ArrayList<>();
+            for (ChooseCard cc : cardChoices.get(i)) {
+                copiedItems.add(cc.copy());
             }
-        } else {
-            // Now we need to redeterminise
-            // We need to shuffle the hands of other players with the draw deck and then redraw
-
-            // Add player hands unseen back to the draw pile
-            for (int p = 0; p < copy.playerHands.size(); p++) {
-                if (hasNotSeenHand(playerId, p)) {
-                    copy.drawPile.add(playerHands.get(p));
-                }
+            copy.cardChoices.add(copiedItems);
+        }
+
+        if (playerId != -1) {
+            copy.redeterminise(playerId, redeterminisationRnd);
+        }
+
+        return copy;
+    }
+
+    @Override
+    public void resetFrom(AbstractGameState source) {
+        SGGameState sgs = (SGGameState) source;
+        for (int i = 0; i < getNPlayers(); i++) {
+            playedCards.get(i).copyComponentsFrom(sgs.playedCards.get(i));
+            playerScore[i].setValue(sgs.playerScore[i].getValue());
+            for (SGCard.SGCardType ct : sgs.playedCardTypes[i].keySet()) {
+                playedCardTypes[i].get(ct).setValue(sgs.playedCardTypes[i].get(ct).getValue());
+                playedCardTypesAllGame[i].get(ct).setValue(sgs.playedCardTypesAllGame[i].get(ct).getValue());
+                pointsPerCardType[i].get(ct).setValue(sgs.pointsPerCardType[i].get(ct).getValue());
             }
-            copy.drawPile.shuffle(redeterminisationRnd);
-
-            // Now we draw into the unknown player hands
-            for (int p = 0; p < copy.playerHands.size(); p++) {
-                if (hasNotSeenHand(playerId, p)) {
-                    Deck<SGCard> hand = copy.playerHands.get(p);
-                    int handSize = hand.getSize();
-                    hand.clear();
-                    for (int i = 0; i < handSize; i++) {
-                        hand.add(copy.drawPile.draw());
-                    }
-                }
+            playerHands.get(i).copyComponentsFrom(sgs.playerHands.get(i));
+            cardChoices.get(i).clear();
+            for (ChooseCard cc : sgs.cardChoices.get(i)) {
+                cardChoices.get(i).add(cc.copy());
             }
+        }
+        nCardsInHand = sgs.nCardsInHand;
+        deckRotations = sgs.deckRotations;
+        drawPile.copyComponentsFrom(sgs.drawPile);
+        discardPile.copyComponentsFrom(sgs.discardPile);
+    }
 
-            // We don't know what other players have chosen for this round, hide card choices
-            turnOwner = playerId;
-            for (int i = 0; i < getNPlayers(); i++) {
-                copy.cardChoices.add(new ArrayList<>());
-                if (i == playerId) {
-                    for (ChooseCard cc : cardChoices.get(i)) {
-                        copy.cardChoices.get(i).add(cc.copy());
-                    }
+    @Override
+    public void redeterminise(int playerId, Random rnd) {
+        // We need to shuffle the hands of other players with the draw deck and then redraw
+
+        // Add player hands unseen back to the draw pile
+        for (int p = 0; p < playerHands.size(); p++) {
+            if (hasNotSeenHand(playerId, p)) {
+                drawPile.add(playerHands.get(p));
+            }
+        }
+        drawPile.shuffle(rnd);
+
+        // Now we draw into the unknown player hands
+        for (int p = 0; p < playerHands.size(); p++) {
+            if (hasNotSeenHand(playerId, p)) {
+                Deck<SGCard> hand = playerHands.get(p);
+                int handSize = hand.getSize();
+                hand.clear();
+                for (int i = 0; i < handSize; i++) {
+                    hand.add(drawPile.draw());
                 }
             }
         }
 
-        return copy;
+        // We don't know what other players have chosen for this round, hide card choices
+        turnOwner = playerId;
+        for (int i = 0; i < getNPlayers(); i++) {
+            if (i != playerId) {
+                cardChoices.get(i).clear();
+            }
+        }
     }
 
     /**
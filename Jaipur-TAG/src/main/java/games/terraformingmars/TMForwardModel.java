@@ -4,6 +4,7 @@ import core.AbstractGameState;
 import core.CoreConstants;
 import core.StandardForwardModelWithTurnOrder;
 import core.actions.AbstractAction;
+import core.actions.ActionSpace;
 import core.components.Counter;
 import core.components.Deck;
 import core.components.GridBoard;
@@ -29,17 +30,18 @@ public class TMForwardModel extends StandardForwardModelWithTurnOrder {
     protected void _setup(AbstractGameState firstState) {
         TMGameState gs = (TMGameState) firstState;
         TMGameParameters params = (TMGameParameters) firstState.getGameParameters();
+        gs._reset();
 
-        gs.playerResources = new HashMap[gs.getNPlayers()];
-        gs.playerProduction = new HashMap[gs.getNPlayers()];
+        gs.playerResources = new EnumMap[gs.getNPlayers()];
+        gs.playerProduction = new EnumMap[gs.getNPlayers()];
         gs.playerResourceMap = new HashSet[gs.getNPlayers()];
         gs.playerDiscountEffects = new HashMap[gs.getNPlayers()];
-        gs.playerResourceIncreaseGen = new HashMap[gs.getNPlayers()];
+        gs.playerResourceIncreaseGen = new EnumMap[gs.getNPlayers()];
 
         for (int i = 0; i < gs.getNPlayers(); i++) {
-            gs.playerResources[i] = new HashMap<>();
-            gs.playerProduction[i] = new HashMap<>();
-            gs.playerResourceIncreaseGen[i] = new HashMap<>();
+            gs.playerResources[i] = new EnumMap<>(TMTypes.Resource.class);
+            gs.playerProduction[i] = new EnumMap<>(TMTypes.Resource.class);
+            gs.playerResourceIncreaseGen[i] = new EnumMap<>(TMTypes.Resource.class);
             for (TMTypes.Resource res : TMTypes.Resource.values()) {
                 int startingRes = params.startingResources.get(res);
                 if (res == TR && gs.getNPlayers() == 1) {
@@ -155,26 +157,27 @@ public class TMForwardModel extends StandardForwardModelWithTurnOrder {
             gs.playerCardPoints[i] = new Counter(0, 0, params.maxPoints, "Points of p" + i);
         }
 
-        gs.playerTilesPlaced = new HashMap[gs.getNPlayers()];
-        gs.playerCardsPlayedTypes = new HashMap[gs.getNPlayers()];
-        gs.playerCardsPlayedTags = new HashMap[gs.getNPlayers()];
+        gs.playerTilesPlaced = new EnumMap[gs.getNPlayers()];
+        gs.playerCardsPlayedTypes = new EnumMap[gs.getNPlayers()];
+        gs.playerCardsPlayedTags = new EnumMap[gs.getNPlayers()];
         gs.playerExtraActions = new HashSet[gs.getNPlayers()];
         gs.playerPersistingEffects = new HashSet[gs.getNPlayers()];
         for (int i = 0; i < gs.getNPlayers(); i++) {
-            gs.playerTilesPlaced[i] = new HashMap<>();
+            gs.playerTilesPlaced[i] = new EnumMap<>(TMTypes.Tile.class);
             for (TMTypes.Tile t : TMTypes.Tile.values()) {
                 gs.playerTilesPlaced[i].put(t, new Counter(0, 0, params.maxPoints, t.name() + " tiles placed player " + i));
             }
-            gs.playerCardsPlayedTypes[i] = new HashMap<>();
+            gs.playerCardsPlayedTypes[i] = new EnumMap<>(TMTypes.CardType.class);
             for (TMTypes.CardType t : TMTypes.CardType.values()) {
                 gs.playerCardsPlayedTypes[i].put(t, new Counter(0, 0, params.maxPoints, t.name() + " cards played player " + i));
             }
-            gs.playerCardsPlayedTags[i] = new HashMap<>();
+            gs.playerCardsPlayedTags[i] = new EnumMap<>(TMTypes.Tag.class);
             for (TMTypes.Tag t : TMTypes.Tag.values()) {
                 gs.playerCardsPlayedTags[i].put(t, new Counter(0, 0, params.maxPoints, t.name() + " cards played player " + i));
             }
             gs.playerExtraActions[i] = new HashSet<>();
             gs.playerPersistingEffects[i] = new HashSet<>();
+            gs.playerEffectsShared[i] = false;
         }
 
         gs.nAwardsFunded = new Counter(0, 0, params.nCostAwards.length, "Awards funded");
@@ -358,6 +361,41 @@ public class TMForwardModel extends StandardForwardModelWithTurnOrder {
         return actions;
     }
 
+    @Override
+    protected Iterator<AbstractAction> _availableActionIterator(AbstractGameState gameState, ActionSpace actionSpace) {
+        // Checking whether each action can be played (costs, requirements) is most of the work, so it is only done
+        // as actions are asked for (in the same order as _computeAvailableActions)
+        TMGameState gs = (TMGameState) gameState;
+        int player = gs.getCurrentPlayer();
+        Iterator<AbstractAction> possibleActions = getAllActions(gs).iterator();
+        return new Iterator<AbstractAction>() {
+            AbstractAction next = findNext();
+
+            private AbstractAction findNext() {
+                while (possibleActions.hasNext()) {
+                    TMAction a = (TMAction) possibleActions.next();
+                    if (a != null && a.canBePlayed(gs)) {
+                        return a.getCost() != 0 ? new PayForAction(player, a) : a;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public AbstractAction next() {
+                if (next == null) throw new NoSuchElementException();
+                AbstractAction action = next;
+                next = findNext();
+                return action;
+            }
+        };
+    }
+
     /**
      * Bypass regular computeActions function call to list all actions possible in the current state, some of which
      * might not be playable at the moment. Requirements list on the action informs of why an action is not playable.
@@ -464,7 +502,10 @@ public class TMForwardModel extends StandardForwardModelWithTurnOrder {
             }
 
             // Use an active card action  - only 1, mark as used, then mark unused at the beginning of next generation
-            possibleActions.addAll(gs.playerExtraActions[player]);
+            // (copied, as the set may be shared with other copies of the state)
+            for (TMAction a : gs.playerExtraActions[player]) {
+                possibleActions.add(a.copy());
+            }
 
             // 8 plants into greenery tile
             possibleActions.add(new PlaceTile(TMTypes.BasicResourceAction.PlantToGreenery, params.getnCostGreeneryPlant(), player, TMTypes.Tile.Greenery, TMTypes.MapTileType.Ground));
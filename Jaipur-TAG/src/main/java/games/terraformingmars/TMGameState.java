@@ -13,6 +13,7 @@ import games.terraformingmars.rules.Discount;
 import games.terraformingmars.rules.effects.Bonus;
 import games.terraformingmars.rules.effects.Effect;
 import games.terraformingmars.rules.requirements.ActionTypeRequirement;
+import games.terraformingmars.rules.requirements.CounterRequirement;
 import games.terraformingmars.rules.requirements.Requirement;
 import games.terraformingmars.rules.requirements.TagsPlayedRequirement;
 import utilities.Pair;
@@ -40,19 +41,21 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
     HashSet<Bonus> bonuses;
     Deck<TMCard> projectCards, corpCards, discardCards;  // Face-down decks
 
-    // Effects and actions played
+    // Effects and actions played. These change rarely, so copies of the state share them (copy-on-write): they are
+    // only modified through the methods of this class, which unshare them first (see unsharePlayerEffects())
     HashSet<TMAction>[] playerExtraActions;
     HashSet<ResourceMapping>[] playerResourceMap;  // Effects for turning one resource into another
     HashMap<Requirement, Integer>[] playerDiscountEffects;
     HashSet<Effect>[] playerPersistingEffects;
+    boolean[] playerEffectsShared;  // True if the effects and actions of the player may be shared with another state
 
     // Player-specific counters
-    HashMap<TMTypes.Resource, Counter>[] playerResources;
-    HashMap<TMTypes.Resource, Boolean>[] playerResourceIncreaseGen;  // True if this resource was increased this gen
-    HashMap<TMTypes.Resource, Counter>[] playerProduction;
-    HashMap<TMTypes.Tag, Counter>[] playerCardsPlayedTags;
-    HashMap<TMTypes.CardType, Counter>[] playerCardsPlayedTypes;
-    HashMap<TMTypes.Tile, Counter>[] playerTilesPlaced;
+    EnumMap<TMTypes.Resource, Counter>[] playerResources;
+    EnumMap<TMTypes.Resource, Boolean>[] playerResourceIncreaseGen;  // True if this resource was increased this gen
+    EnumMap<TMTypes.Resource, Counter>[] playerProduction;
+    EnumMap<TMTypes.Tag, Counter>[] playerCardsPlayedTags;
+    EnumMap<TMTypes.CardType, Counter>[] playerCardsPlayedTypes;
+    EnumMap<TMTypes.Tile, Counter>[] playerTilesPlaced;
     Counter[] playerCardPoints;  // Points gathered by playing cards
 
     // Player cards
@@ -68,6 +71,21 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
     Counter nMilestonesClaimed;
     Counter nAwardsFunded;
 
+    // Placement caches over the cells of the board (by index y * width + x), built on first use and kept up to date
+    // as tiles are placed (see onTilePlaced())
+    BitSet emptyCells;  // Cells on Mars with no tile placed
+    BitSet[] emptyCellsOfType;  // By map tile type
+    BitSet cellsAdjacentToCity;
+    BitSet[] cellsAdjacentToOwned;  // Per player, cells adjacent to a tile they own
+
+    // Per player, whether the requirements of each card (by component ID) are met, and the inputs (global parameters,
+    // tags played, discounts) this is valid for; see cardRequirementsMet(). Not copied with the state
+    int[][] requirementInputs;
+    HashMap<Requirement, Integer>[] requirementDiscounts;
+    HashMap<Integer, Boolean>[] cardRequirementsMet;
+    HashSet<Integer> cardsWithOtherRequirements;  // Cards with requirements on other inputs, never cached
+    int[] requirementInputsBuffer;
+
     /**
      * Constructor. Initialises some generic game state variables.
      *
@@ -75,6 +93,21 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
      */
     public TMGameState(AbstractParameters gameParameters, int nPlayers) {
         super(gameParameters, nPlayers);
+        playerEffectsShared = new boolean[nPlayers];
+    }
+
+    /**
+     * Clears the caches built from the previous game played with this state, if any.
+     */
+    protected void _reset() {
+        emptyCells = null;
+        emptyCellsOfType = null;
+        cellsAdjacentToCity = null;
+        cellsAdjacentToOwned = null;
+        requirementInputs = null;
+        requirementDiscounts = null;
+        cardRequirementsMet = null;
+        cardsWithOtherRequirements = null;
     }
     @Override
     protected TurnOrder _createTurnOrder(int nPlayers) {
@@ -133,6 +166,18 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
                 }
             }
         }
+        if (emptyCells != null) {
+            copy.emptyCells = (BitSet) emptyCells.clone();
+            copy.emptyCellsOfType = new BitSet[emptyCellsOfType.length];
+            for (int i = 0; i < emptyCellsOfType.length; i++) {
+                copy.emptyCellsOfType[i] = (BitSet) emptyCellsOfType[i].clone();
+            }
+            copy.cellsAdjacentToCity = (BitSet) cellsAdjacentToCity.clone();
+            copy.cellsAdjacentToOwned = new BitSet[getNPlayers()];
+            for (int i = 0; i < getNPlayers(); i++) {
+                copy.cellsAdjacentToOwned[i] = (BitSet) cellsAdjacentToOwned[i].clone();
+            }
+        }
         copy.extraTiles = new HashSet<>();
         for (TMMapTile mt : extraTiles) {
             copy.extraTiles.add(mt.copy());
@@ -162,65 +207,36 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
         copy.discardCards = discardCards.copy(); // TODO: some of these are unknown
 
         // Player-specific public info
-        copy.playerExtraActions = new HashSet[getNPlayers()];
-        copy.playerResourceMap = new HashSet[getNPlayers()];
-        copy.playerPersistingEffects = new HashSet[getNPlayers()];
-        copy.playerDiscountEffects = new HashMap[getNPlayers()];
-        copy.playerResources = new HashMap[getNPlayers()];
-        copy.playerResourceIncreaseGen = new HashMap[getNPlayers()];
-        copy.playerProduction = new HashMap[getNPlayers()];
-        copy.playerCardsPlayedTags = new HashMap[getNPlayers()];
-        copy.playerCardsPlayedTypes = new HashMap[getNPlayers()];
-        copy.playerTilesPlaced = new HashMap[getNPlayers()];
+        copy.playerExtraActions = playerExtraActions.clone();
+        copy.playerResourceMap = playerResourceMap.clone();
+        copy.playerPersistingEffects = playerPersistingEffects.clone();
+        copy.playerDiscountEffects = playerDiscountEffects.clone();
+        copy.playerResources = new EnumMap[getNPlayers()];
+        copy.playerResourceIncreaseGen = new EnumMap[getNPlayers()];
+        copy.playerProduction = new EnumMap[getNPlayers()];
+        copy.playerCardsPlayedTags = new EnumMap[getNPlayers()];
+        copy.playerCardsPlayedTypes = new EnumMap[getNPlayers()];
+        copy.playerTilesPlaced = new EnumMap[getNPlayers()];
         copy.playerCardPoints = new Counter[getNPlayers()];
         copy.playerComplicatedPointCards = new Deck[getNPlayers()];
         copy.playedCards = new Deck[getNPlayers()];
         copy.playerCorporations = new TMCard[getNPlayers()];
         for (int i = 0; i < getNPlayers(); i++) {
-            copy.playerExtraActions[i] = new HashSet<>();
-            copy.playerResourceMap[i] = new HashSet<>();
-            copy.playerPersistingEffects[i] = new HashSet<>();
-            copy.playerDiscountEffects[i] = new HashMap<>();
-            copy.playerResources[i] = new HashMap<>();
-            copy.playerResourceIncreaseGen[i] = new HashMap<>();
-            copy.playerProduction[i] = new HashMap<>();
-            copy.playerCardsPlayedTags[i] = new HashMap<>();
-            copy.playerCardsPlayedTypes[i] = new HashMap<>();
-            copy.playerTilesPlaced[i] = new HashMap<>();
+            // Effects and actions are shared until either state modifies them
+            playerEffectsShared[i] = true;
+            copy.playerEffectsShared[i] = true;
+            copy.playerResources[i] = copyCounters(playerResources[i]);
+            copy.playerResourceIncreaseGen[i] = new EnumMap<>(playerResourceIncreaseGen[i]);
+            copy.playerProduction[i] = copyCounters(playerProduction[i]);
+            copy.playerCardsPlayedTags[i] = copyCounters(playerCardsPlayedTags[i]);
+            copy.playerCardsPlayedTypes[i] = copyCounters(playerCardsPlayedTypes[i]);
+            copy.playerTilesPlaced[i] = copyCounters(playerTilesPlaced[i]);
             copy.playerCardPoints[i] = playerCardPoints[i].copy();
             copy.playerComplicatedPointCards[i] = playerComplicatedPointCards[i].copy();
             copy.playedCards[i] = playedCards[i].copy();
             if (playerCorporations[i] != null) {
                 copy.playerCorporations[i] = playerCorporations[i].copy();
             }
-            for (TMAction a : playerExtraActions[i]) {
-                copy.playerExtraActions[i].add(a.copy());
-            }
-            for (ResourceMapping rm : playerResourceMap[i]) {
-                copy.playerResourceMap[i].add(rm.copy());
-            }
-            for (Requirement r : playerDiscountEffects[i].keySet()) {
-                copy.playerDiscountEffects[i].put(r.copy(), playerDiscountEffects[i].get(r));
-            }
-            for (Effect e : playerPersistingEffects[i]) {
-                copy.playerPersistingEffects[i].add(e.copy());
-            }
-            for (TMTypes.Resource r : playerResources[i].keySet()) {
-                copy.playerResources[i].put(r, playerResources[i].get(r).copy());
-                copy.playerResourceIncreaseGen[i].put(r, playerResourceIncreaseGen[i].get(r));
-            }
-            for (TMTypes.Resource r : playerProduction[i].keySet()) {
-                copy.playerProduction[i].put(r, playerProduction[i].get(r).copy());
-            }
-            for (TMTypes.Tag t : playerCardsPlayedTags[i].keySet()) {
-                copy.playerCardsPlayedTags[i].put(t, playerCardsPlayedTags[i].get(t).copy());
-            }
-            for (TMTypes.CardType t : playerCardsPlayedTypes[i].keySet()) {
-                copy.playerCardsPlayedTypes[i].put(t, playerCardsPlayedTypes[i].get(t).copy());
-            }
-            for (TMTypes.Tile t : playerTilesPlaced[i].keySet()) {
-                copy.playerTilesPlaced[i].put(t, playerTilesPlaced[i].get(t).copy());
-            }
         }
 
         // Player-specific hidden info
@@ -263,6 +279,33 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
         return copy;
     }
 
+    private static <T extends Enum<T>> EnumMap<T, Counter> copyCounters(EnumMap<T, Counter> counters) {
+        EnumMap<T, Counter> copy = new EnumMap<>(counters);
+        for (Map.Entry<T, Counter> e : copy.entrySet()) {
+            e.setValue(e.getValue().copy());
+        }
+        return copy;
+    }
+
+    /**
+     * Gives the player their own copy of their effects and actions (extra actions, resource mappings, discounts and
+     * persisting effects), if these may be shared with another state. Must be called before modifying any of them.
+     * The collections are copied, not their contents, which are never modified in place.
+     */
+    public void unsharePlayerEffects(int player) {
+        if (!playerEffectsShared[player]) return;
+        playerExtraActions[player] = new HashSet<>(playerExtraActions[player]);
+        playerResourceMap[player] = new HashSet<>(playerResourceMap[player]);
+        playerDiscountEffects[player] = new HashMap<>(playerDiscountEffects[player]);
+        playerPersistingEffects[player] = new HashSet<>(playerPersistingEffects[player]);
+        playerEffectsShared[player] = false;
+    }
+
+    public void addExtraAction(int player, TMAction action) {
+        unsharePlayerEffects(player);
+        playerExtraActions[player].add(action);
+    }
+
     public TMCard drawCard() {
         // Reshuffle discards into draw pile if empty
         if (projectCards.getSize() == 0) {
@@ -411,11 +454,11 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
      * Public API
      */
 
-    public HashMap<TMTypes.Resource, Counter>[] getPlayerProduction() {
+    public EnumMap<TMTypes.Resource, Counter>[] getPlayerProduction() {
         return playerProduction;
     }
 
-    public HashMap<TMTypes.Resource, Counter>[] getPlayerResources() {
+    public EnumMap<TMTypes.Resource, Counter>[] getPlayerResources() {
         return playerResources;
     }
 
@@ -423,6 +466,161 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
         return board;
     }
 
+    /**
+     * Checks the requirements of the card itself (not those of its effects or cost) for the current player.
+     * Requirements on global parameters and tags played only change when these (or the player's discounts on them)
+     * do, so for cards with only such requirements the result is cached per player, and reused for as long as all
+     * of these inputs stay the same.
+     *
+     * @param card - card to check.
+     * @return - true if all requirements of the card are met.
+     */
+    public boolean cardRequirementsMet(TMCard card) {
+        int player = getCurrentPlayer();
+        if (player < 0 || player >= getNPlayers() || card.requirements == null || card.requirements.isEmpty()) {
+            return testRequirements(card);
+        }
+        if (cardRequirementsMet == null) {
+            requirementInputs = new int[getNPlayers()][];
+            requirementDiscounts = new HashMap[getNPlayers()];
+            cardRequirementsMet = new HashMap[getNPlayers()];
+            for (int i = 0; i < getNPlayers(); i++) {
+                cardRequirementsMet[i] = new HashMap<>();
+            }
+            cardsWithOtherRequirements = new HashSet<>();
+            requirementInputsBuffer = new int[TMTypes.GlobalParameter.values().length + TMTypes.Tag.values().length];
+        }
+        if (cardsWithOtherRequirements.contains(card.getComponentID())) return testRequirements(card);
+
+        // Forget cached results if any of the inputs changed
+        fillRequirementInputs(player, requirementInputsBuffer);
+        if (!Arrays.equals(requirementInputsBuffer, requirementInputs[player])
+                || !playerDiscountEffects[player].equals(requirementDiscounts[player])) {
+            requirementInputs[player] = requirementInputsBuffer.clone();
+            requirementDiscounts[player] = new HashMap<>(playerDiscountEffects[player]);
+            cardRequirementsMet[player].clear();
+        }
+
+        Boolean met = cardRequirementsMet[player].get(card.getComponentID());
+        if (met == null) {
+            met = testRequirements(card);
+            boolean cacheable = true;
+            for (Requirement<TMGameState> r : card.requirements) {
+                if (!(r instanceof TagsPlayedRequirement || r instanceof CounterRequirement
+                        && stringToGPCounter(((CounterRequirement) r).counterCode) != null)) {
+                    cacheable = false;
+                    break;
+                }
+            }
+            if (cacheable) cardRequirementsMet[player].put(card.getComponentID(), met);
+            else cardsWithOtherRequirements.add(card.getComponentID());
+        }
+        return met;
+    }
+
+    private boolean testRequirements(TMCard card) {
+        if (card.requirements != null) {
+            for (Requirement<TMGameState> r : card.requirements) {
+                if (!r.testCondition(this)) return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Fills the array with the values of the global parameters and of the tags played by the player, in enum order.
+     */
+    private void fillRequirementInputs(int player, int[] inputs) {
+        TMTypes.GlobalParameter[] gps = TMTypes.GlobalParameter.values();
+        TMTypes.Tag[] tags = TMTypes.Tag.values();
+        for (int i = 0; i < gps.length; i++) {
+            GlobalParameter gp = globalParameters.get(gps[i]);
+            inputs[i] = gp != null ? gp.getValueIdx() : -1;
+        }
+        for (int i = 0; i < tags.length; i++) {
+            Counter c = playerCardsPlayedTags[player].get(tags[i]);
+            inputs[gps.length + i] = c != null ? c.getValue() : -1;
+        }
+    }
+
+    /**
+     * @return - cells on Mars (by index y * width + x) with no tile placed. Do not modify.
+     */
+    public BitSet getEmptyCells() {
+        if (emptyCells == null) buildPlacementCaches();
+        return emptyCells;
+    }
+
+    /**
+     * @return - cells on Mars (by index y * width + x) of the given type with no tile placed. Do not modify.
+     */
+    public BitSet getEmptyCells(TMTypes.MapTileType type) {
+        if (emptyCells == null) buildPlacementCaches();
+        return emptyCellsOfType[type.ordinal()];
+    }
+
+    /**
+     * @return - cells on Mars (by index y * width + x) adjacent to a City tile. Do not modify.
+     */
+    public BitSet getCellsAdjacentToCity() {
+        if (emptyCells == null) buildPlacementCaches();
+        return cellsAdjacentToCity;
+    }
+
+    /**
+     * @return - cells on Mars (by index y * width + x) adjacent to a tile owned by the player. Do not modify.
+     */
+    public BitSet getCellsAdjacentToOwned(int player) {
+        if (emptyCells == null) buildPlacementCaches();
+        return cellsAdjacentToOwned[player];
+    }
+
+    /**
+     * Updates the placement caches after a tile was placed on the given map tile (which may not be on Mars).
+     */
+    public void onTilePlaced(TMMapTile mt) {
+        if (emptyCells == null || board.getElement(mt.getX(), mt.getY()) != mt) return;
+        int cell = mt.getY() * board.getWidth() + mt.getX();
+        emptyCells.clear(cell);
+        emptyCellsOfType[mt.getTileType().ordinal()].clear(cell);
+        addAdjacency(mt);
+    }
+
+    private void buildPlacementCaches() {
+        emptyCells = new BitSet();
+        emptyCellsOfType = new BitSet[TMTypes.MapTileType.values().length];
+        for (int i = 0; i < emptyCellsOfType.length; i++) {
+            emptyCellsOfType[i] = new BitSet();
+        }
+        cellsAdjacentToCity = new BitSet();
+        cellsAdjacentToOwned = new BitSet[getNPlayers()];
+        for (int i = 0; i < getNPlayers(); i++) {
+            cellsAdjacentToOwned[i] = new BitSet();
+        }
+        for (int i = 0; i < board.getHeight(); i++) {
+            for (int j = 0; j < board.getWidth(); j++) {
+                TMMapTile mt = board.getElement(j, i);
+                if (mt == null) continue;
+                if (mt.getTilePlaced() == null) {
+                    emptyCells.set(i * board.getWidth() + j);
+                    emptyCellsOfType[mt.getTileType().ordinal()].set(i * board.getWidth() + j);
+                } else {
+                    addAdjacency(mt);
+                }
+            }
+        }
+    }
+
+    private void addAdjacency(TMMapTile mt) {
+        int owner = mt.getOwnerId();
+        boolean city = mt.getTilePlaced() == TMTypes.Tile.City;
+        if (!city && (owner < 0 || owner >= getNPlayers())) return;
+        for (int n : PlaceTile.getNeighbourIndices(this, mt)) {
+            if (city) cellsAdjacentToCity.set(n);
+            if (owner >= 0 && owner < getNPlayers()) cellsAdjacentToOwned[owner].set(n);
+        }
+    }
+
     public HashSet<Bonus> getBonuses() {
         return bonuses;
     }
@@ -439,11 +637,11 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
         return playerHands;
     }
 
-    public HashMap<TMTypes.Tag, Counter>[] getPlayerCardsPlayedTags() {
+    public EnumMap<TMTypes.Tag, Counter>[] getPlayerCardsPlayedTags() {
         return playerCardsPlayedTags;
     }
 
-    public HashMap<TMTypes.CardType, Counter>[] getPlayerCardsPlayedTypes() {
+    public EnumMap<TMTypes.CardType, Counter>[] getPlayerCardsPlayedTypes() {
         return playerCardsPlayedTypes;
     }
 
@@ -451,7 +649,7 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
         return playerExtraActions;
     }
 
-    public HashMap<TMTypes.Tile, Counter>[] getPlayerTilesPlaced() {
+    public EnumMap<TMTypes.Tile, Counter>[] getPlayerTilesPlaced() {
         return playerTilesPlaced;
     }
 
@@ -506,7 +704,7 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
         return generation;
     }
 
-    public HashMap<TMTypes.Resource, Boolean>[] getPlayerResourceIncreaseGen() {
+    public EnumMap<TMTypes.Resource, Boolean>[] getPlayerResourceIncreaseGen() {
         return playerResourceIncreaseGen;
     }
 
@@ -680,6 +878,8 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
 
     public void addDiscountEffects(LinkedList<Discount> discounts) {
         int player = getCurrentPlayer();
+        if (discounts.isEmpty()) return;
+        unsharePlayerEffects(player);
         for(Discount d : discounts){
             Requirement r = d.a;
             int amount = d.b;
@@ -693,12 +893,16 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
 
     public void addPersistingEffects(Effect[] effects) {
         int player = getCurrentPlayer();
+        if (effects.length == 0) return;
+        unsharePlayerEffects(player);
         playerPersistingEffects[player].addAll(Arrays.asList(effects));
     }
 
     // if add is false, replace instead
     public void addResourceMappings(HashSet<ResourceMapping> maps, boolean add) {
         int player = getCurrentPlayer();
+        if (maps.isEmpty()) return;
+        unsharePlayerEffects(player);
         HashSet<ResourceMapping> toRemove = new HashSet<>();
         HashSet<ResourceMapping> toAdd = new HashSet<>();
         for (ResourceMapping resMapNew : maps) {
@@ -707,7 +911,11 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
                 if (resMap.from == resMapNew.from && resMap.to == resMapNew.to) {
                     if (resMapNew.requirement == null || resMapNew.requirement.equals(resMap.requirement)) {
                         if (add) {
-                            resMap.rate += resMapNew.rate;
+                            // Mappings may be shared with other states, so replaced rather than modified
+                            ResourceMapping updated = resMap.copy();
+                            updated.rate += resMapNew.rate;
+                            toRemove.add(resMap);
+                            toAdd.add(updated);
                         } else {
                             toRemove.add(resMap);
                             toAdd.add(resMapNew);
@@ -1,5 +1,6 @@
 package games.terraformingmars;
 
+import core.GameDataCache;
 import core.components.Counter;
 import core.components.Deck;
 import core.components.GridBoard;
@@ -16,9 +17,8 @@ import utilities.Vector2D;
 import java.awt.*;
 import java.io.FileReader;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.*;
+import java.util.List;
 
 import static games.terraformingmars.components.TMMapTile.parseMapTile;
 
@@ -303,8 +303,90 @@ public class TMTypes {
 
         public void loadBoard(GridBoard<TMMapTile> board, HashSet<TMMapTile> extraTiles, HashSet<Bonus> bonuses,
                               HashSet<Milestone> milestones, HashSet<Award> awards, HashMap<GlobalParameter, games.terraformingmars.components.GlobalParameter> globalParameters) {
+            // Parsed once per board file, then copied into each new game
+            BoardData data = GameDataCache.get(BoardData.class.getName(), getBoardPath(), BoardData::load);
+
+            for (int y = 0; y < data.board.size(); y++) {
+                TMMapTile[] row = data.board.get(y);
+                for (int x = 0; x < row.length; x++) {
+                    board.setElement(x, y, row[x] == null ? null : row[x].copy());
+                }
+            }
+            for (TMMapTile t : data.extraTiles) {
+                extraTiles.add(t.copy());
+            }
+            for (Milestone m : data.milestones) {
+                milestones.add(m.copy());
+            }
+            for (Award a : data.awards) {
+                awards.add(a.copy());
+            }
+            for (Map.Entry<GlobalParameter, games.terraformingmars.components.GlobalParameter> e : data.globalParameters.entrySet()) {
+                globalParameters.put(e.getKey(), e.getValue().copy());
+            }
+            for (Bonus b : data.bonuses) {
+                bonuses.add(b.copy());
+            }
+        }
+
+        public void loadProjectCards(Deck<TMCard> deck) {
+            loadCards(deck, getProjectCardsPath());
+        }
+
+        public void loadCorpCards(Deck<TMCard> deck) {
+            loadCards(deck, getCorpCardsPath());
+        }
+
+        private void loadCards(Deck<TMCard> deck, String path) {
+            boolean corporations = deck.getComponentName().equalsIgnoreCase("corporations");
+            // Parsed once per card file, then copied into each new game
+            List<TMCard> cards = GameDataCache.get(corporations ? "TMCorporationCards" : "TMProjectCards", path,
+                    p -> parseCards(p, corporations));
+            for (TMCard card : cards) {
+                deck.add(card.copy());
+            }
+        }
+
+        private static List<TMCard> parseCards(String path, boolean corporations) {
+            List<TMCard> cards = new ArrayList<>();
             JSONParser jsonParser = new JSONParser();
-            try (FileReader reader = new FileReader(getBoardPath())) {
+            try (FileReader reader = new FileReader(path)) {
+                JSONArray data = (JSONArray) jsonParser.parse(reader);
+                for (Object o: data) {
+                    TMCard card;
+                    if (corporations) {
+                        card = TMCard.loadCorporation((JSONObject)o);
+                    } else {
+//                        card = TMCard.loadCardHTML((JSONObject) o);
+                        card = TMCard.loadCardJSON((JSONObject) o);
+                    }
+                    cards.add(card);
+                }
+            } catch (IOException ignored) {
+            } catch (ParseException e) {
+                e.printStackTrace();
+            }
+            return cards;
+        }
+    }
+
+
+    /**
+     * Contents of one expansion board file: map tiles (by row, null where the file has no tile), extra tiles,
+     * milestones, awards, global parameters and their bonuses. Shared through the GameDataCache, never modified.
+     */
+    static class BoardData {
+        final List<TMMapTile[]> board = new ArrayList<>();
+        final List<TMMapTile> extraTiles = new ArrayList<>();
+        final List<Milestone> milestones = new ArrayList<>();
+        final List<Award> awards = new ArrayList<>();
+        final Map<GlobalParameter, games.terraformingmars.components.GlobalParameter> globalParameters = new LinkedHashMap<>();
+        final List<Bonus> bonuses = new ArrayList<>();
+
+        static BoardData load(String path) {
+            BoardData boardData = new BoardData();
+            JSONParser jsonParser = new JSONParser();
+            try (FileReader reader = new FileReader(path)) {
                 JSONObject data = (JSONObject) jsonParser.parse(reader);
 
                 // Process main map
@@ -313,11 +395,13 @@ public class TMTypes {
                     int y = 0;
                     for (Object g : b) {
                         JSONArray row = (JSONArray) g;
+                        TMMapTile[] tiles = new TMMapTile[row.size()];
                         int x = 0;
                         for (Object o1 : row) {
-                            board.setElement(x, y, parseMapTile((String) o1, x, y));
+                            tiles[x] = parseMapTile((String) o1, x, y);
                             x++;
                         }
+                        boardData.board.add(tiles);
                         y++;
                     }
                 }
@@ -326,7 +410,7 @@ public class TMTypes {
                 if (data.get("extra") != null) {
                     JSONArray extra = (JSONArray) data.get("extra");
                     for (Object o : extra) {
-                        extraTiles.add(parseMapTile((String) o));
+                        boardData.extraTiles.add(parseMapTile((String) o));
                     }
                 }
 
@@ -335,14 +419,14 @@ public class TMTypes {
                     JSONArray milestonesStr = (JSONArray) data.get("milestones");
                     for (Object o : milestonesStr) {
                         String[] split = ((String) o).split(":");
-                        milestones.add(new Milestone(split[0], Integer.parseInt(split[2]), split[1]));
+                        boardData.milestones.add(new Milestone(split[0], Integer.parseInt(split[2]), split[1]));
                     }
                 }
                 if (data.get("awards") != null) {
                     JSONArray awardsStr = (JSONArray) data.get("awards");
                     for (Object o : awardsStr) {
                         String[] split = ((String) o).split(":");
-                        awards.add(new Award(split[0], split[1]));
+                        boardData.awards.add(new Award(split[0], split[1]));
                     }
                 }
 
@@ -357,7 +441,7 @@ public class TMTypes {
                         for (int i = 0; i < valuesJSON.size(); i++) {
                             values[i] = (int)(long)valuesJSON.get(i);
                         }
-                        globalParameters.put(p, new games.terraformingmars.components.GlobalParameter(values, p.name()));
+                        boardData.globalParameters.put(p, new games.terraformingmars.components.GlobalParameter(values, p.name()));
 
                         // Process bonuses for this game when counters reach specific points
                         if (gp.get("bonus") != null) {
@@ -366,7 +450,7 @@ public class TMTypes {
                                 JSONObject b = (JSONObject) o2;
                                 String effectString = (String) b.get("effect");
                                 int threshold = (int)(long) b.get("threshold");
-                                bonuses.add(new Bonus(p, threshold, TMAction.parseActionOnCard(effectString, null, true)));
+                                boardData.bonuses.add(new Bonus(p, threshold, TMAction.parseActionOnCard(effectString, null, true)));
                             }
                         }
                     }
@@ -375,35 +459,7 @@ public class TMTypes {
             } catch (ParseException e) {
                 e.printStackTrace();
             }
-        }
-
-        public void loadProjectCards(Deck<TMCard> deck) {
-            loadCards(deck, getProjectCardsPath());
-        }
-
-        public void loadCorpCards(Deck<TMCard> deck) {
-            loadCards(deck, getCorpCardsPath());
-        }
-
-        private void loadCards(Deck<TMCard> deck, String path) {
-            JSONParser jsonParser = new JSONParser();
-            try (FileReader reader = new FileReader(path)) {
-                JSONArray data = (JSONArray) jsonParser.parse(reader);
-                for (Object o: data) {
-                    TMCard card;
-                    if (deck.getComponentName().equalsIgnoreCase("corporations")) {
-                        card = TMCard.loadCorporation((JSONObject)o);
-                    } else {
-//                        card = TMCard.loadCardHTML((JSONObject) o);
-                        card = TMCard.loadCardJSON((JSONObject) o);
-                    }
-                    deck.add(card);
-                }
-            } catch (IOException ignored) {
-            } catch (ParseException e) {
-                e.printStackTrace();
-            }
+            return boardData;
         }
     }
-
 }
@@ -36,7 +36,7 @@ public class BuyCard extends TMAction {
             for (TMAction a: card.actions) {
                 a.player = player;
                 a.setCardID(card.getComponentID());
-                gs.getPlayerExtraActions()[player].add(a);
+                gs.addExtraAction(player, a);
             }
             if (card.firstAction != null) {
                 card.firstAction.setCardID(card.getComponentID());
@@ -13,12 +13,17 @@ import utilities.Group;
 import utilities.Vector2D;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static games.terraformingmars.TMTypes.Tile.City;
 import static games.terraformingmars.TMTypes.Tile.Greenery;
 import static games.terraformingmars.TMTypes.neighbor_directions;
 
 public class PlaceTile extends TMAction implements IExtendedSequence {
+    // Indices (y * width + x) of the neighbours of each cell, for each board size; shared by all games
+    private static final Map<Vector2D, int[][]> neighbourIndices = new ConcurrentHashMap<>();
+    private static final int[] noNeighbours = new int[0];
+
     public boolean respectingAdjacency = true;
     public boolean onMars = true;
     public String tileName;  // to be used with locations not on mars
@@ -154,9 +159,8 @@ public class PlaceTile extends TMAction implements IExtendedSequence {
                 }
                 if (removeResourcesAdjacentOwner) {
                     HashSet<Integer> adjacentOwners = new HashSet<>();
-                    List<Vector2D> neighbours = getNeighbours(new Vector2D(mt.getX(), mt.getY()));
-                    for (Vector2D n : neighbours) {
-                        TMMapTile other = gs.getBoard().getElement(n.getX(), n.getY());
+                    for (int n : getNeighbourIndices(gs, mt)) {
+                        TMMapTile other = getCell(gs, n);
                         if (other != null && other.getTilePlaced() != null) {
                             adjacentOwners.add(other.getOwnerId());
                         }
@@ -220,33 +224,37 @@ public class PlaceTile extends TMAction implements IExtendedSequence {
                 }
             } else {
                 if (onMars) {
-                    for (int i = 0; i < gs.getBoard().getHeight(); i++) {
-                        for (int j = 0; j < gs.getBoard().getWidth(); j++) {
-                            TMMapTile mt = gs.getBoard().getElement(j, i);
-
-                            // Check if we can place tile here
-                            if (mt == null || mt.getTilePlaced() != null) continue;
-                            if (mt.isReserved() && mt.getReserved() != player) continue;
-                            if (tileName != null && !mt.getComponentName().equalsIgnoreCase(tileName)) continue;
-                            if (mapType != null && mt.getTileType() != mapType) continue;
-                            if (volcanicRestriction && !mt.isVolcanic()) continue;
-                            if (resourcesGainedRestriction != null && !contains(mt.getResources(), resourcesGainedRestriction)) continue;
-
-                            // Check placement rules
-                            if (respectingAdjacency && adjacencyRequirement != null) {
-                                if (adjacencyRequirement.testCondition(new Group<>(gs, mt, player))) {
-                                    actions.add(new PlaceTile(player, mt.getComponentID(), tile, respectingAdjacency, onMars, tileName, mapType,
-                                            legalPositions, resourcesGainedRestriction, volcanicRestriction, adjacencyRequirement, true));
-                                } else {
-                                    int a = 0;
-                                }
-                            } else {
-                                actions.add(new PlaceTile(player, mt.getComponentID(), tile, respectingAdjacency, onMars, tileName, mapType,
-                                        legalPositions, resourcesGainedRestriction, volcanicRestriction, adjacencyRequirement, true));
-                            }
-
+                    // Only look at empty cells (of the right type), or for the usual greenery and city placement
+                    // rules, at the cells next to the player's tiles or not next to a city, from the game state caches
+                    BitSet empty = mapType != null ? gs.getEmptyCells(mapType) : gs.getEmptyCells();
+                    BitSet within = null, outside = null;
+                    if (respectingAdjacency && adjacencyRequirement != null) {
+                        if (adjacencyRequirement.owned) {
+                            if (gs.hasPlacedTile(player)) within = gs.getCellsAdjacentToOwned(player);
+                        } else if (!adjacencyRequirement.noneAdjacent && adjacencyRequirement.reversed
+                                && adjacencyRequirement.tileTypes != null
+                                && adjacencyRequirement.tileTypes.getOrDefault(City, 0) == 1) {
+                            outside = gs.getCellsAdjacentToCity();
                         }
                     }
+                    BitSet cells = within != null ? within : empty;
+                    for (int c = cells.nextSetBit(0); c >= 0; c = cells.nextSetBit(c + 1)) {
+                        if (!empty.get(c) || outside != null && outside.get(c)) continue;
+                        TMMapTile mt = getCell(gs, c);
+
+                        // Check if we can place tile here
+                        if (mt == null || mt.getTilePlaced() != null) continue;
+                        if (mt.isReserved() && mt.getReserved() != player) continue;
+                        if (tileName != null && !mt.getComponentName().equalsIgnoreCase(tileName)) continue;
+                        if (volcanicRestriction && !mt.isVolcanic()) continue;
+                        if (resourcesGainedRestriction != null && !contains(mt.getResources(), resourcesGainedRestriction)) continue;
+
+                        // Check placement rules
+                        if (respectingAdjacency && adjacencyRequirement != null
+                                && !adjacencyRequirement.testCondition(new Group<>(gs, mt, player))) continue;
+                        actions.add(new PlaceTile(player, mt.getComponentID(), tile, respectingAdjacency, onMars, tileName, mapType,
+                                legalPositions, resourcesGainedRestriction, volcanicRestriction, adjacencyRequirement, true));
+                    }
                 } else {
                     for (TMMapTile mt: gs.getExtraTiles()) {
                         if (mt.getComponentName().equalsIgnoreCase(tileName)) {
@@ -318,9 +326,8 @@ public class PlaceTile extends TMAction implements IExtendedSequence {
         boolean placedAnyTiles = gs.hasPlacedTile(player);
         if (placedAnyTiles) {
             boolean playerTileNeighbour = false;
-            List<Vector2D> neighbours = getNeighbours(new Vector2D(mt.getX(), mt.getY()));
-            for (Vector2D n : neighbours) {
-                TMMapTile other = gs.getBoard().getElement(n.getX(), n.getY());
+            for (int n : getNeighbourIndices(gs, mt)) {
+                TMMapTile other = getCell(gs, n);
                 if (other != null && other.getOwnerId() == player) {
                     playerTileNeighbour = true;
                     break;
@@ -334,10 +341,8 @@ public class PlaceTile extends TMAction implements IExtendedSequence {
     public static boolean isAdjacentToAny(TMGameState gs, TMMapTile mt) {
         boolean placedAnyTiles = gs.anyTilesPlaced();
         if (placedAnyTiles) {
-            List<Vector2D> neighbours = getNeighbours(new Vector2D(mt.getX(), mt.getY()));
-            int count = 0;
-            for (Vector2D n : neighbours) {
-                TMMapTile other = gs.getBoard().getElement(n.getX(), n.getY());
+            for (int n : getNeighbourIndices(gs, mt)) {
+                TMMapTile other = getCell(gs, n);
                 if (other != null && other.getTilePlaced() != null) {
                     return true;
                 }
@@ -351,9 +356,8 @@ public class PlaceTile extends TMAction implements IExtendedSequence {
         boolean placedAnyTiles = gs.anyTilesPlaced();
         int count = 0;
         if (placedAnyTiles) {
-            List<Vector2D> neighbours = getNeighbours(new Vector2D(mt.getX(), mt.getY()));
-            for (Vector2D n : neighbours) {
-                TMMapTile other = gs.getBoard().getElement(n.getX(), n.getY());
+            for (int n : getNeighbourIndices(gs, mt)) {
+                TMMapTile other = getCell(gs, n);
                 if (other != null && other.getTilePlaced() != null) {
                     count++;
                 }
@@ -365,10 +369,8 @@ public class PlaceTile extends TMAction implements IExtendedSequence {
     public static boolean isAdjacentToTile(TMGameState gs, TMMapTile mt, TMTypes.Tile t) {
         boolean placedAnyTiles = gs.anyTilesPlaced();
         if (placedAnyTiles) {
-            List<Vector2D> neighbours = getNeighbours(new Vector2D(mt.getX(), mt.getY()));
-            int count = 0;
-            for (Vector2D n : neighbours) {
-                TMMapTile other = gs.getBoard().getElement(n.getX(), n.getY());
+            for (int n : getNeighbourIndices(gs, mt)) {
+                TMMapTile other = getCell(gs, n);
                 if (other != null && other.getTilePlaced() == t) {
                     return true;
                 }
@@ -382,9 +384,8 @@ public class PlaceTile extends TMAction implements IExtendedSequence {
         boolean placedAnyTiles = gs.anyTilesPlaced();
         int count = 0;
         if (placedAnyTiles) {
-            List<Vector2D> neighbours = getNeighbours(new Vector2D(mt.getX(), mt.getY()));
-            for (Vector2D n : neighbours) {
-                TMMapTile other = gs.getBoard().getElement(n.getX(), n.getY());
+            for (int n : getNeighbourIndices(gs, mt)) {
+                TMMapTile other = getCell(gs, n);
                 if (other != null && other.getTilePlaced() == t) {
                     count++;
                 }
@@ -393,6 +394,41 @@ public class PlaceTile extends TMAction implements IExtendedSequence {
         return count;
     }
 
+    /**
+     * @return - indices (y * width + x) of the cells adjacent to cell (x, y) on a board of the given size; empty if
+     * the cell is not on the board. Do not modify.
+     */
+    public static int[] getNeighbourIndices(int x, int y, int width, int height) {
+        if (x < 0 || x >= width || y < 0 || y >= height) return noNeighbours;
+        int[][] index = neighbourIndices.computeIfAbsent(new Vector2D(width, height), k -> buildNeighbourIndices(width, height));
+        return index[y * width + x];
+    }
+
+    public static int[] getNeighbourIndices(TMGameState gs, TMMapTile mt) {
+        return getNeighbourIndices(mt.getX(), mt.getY(), gs.getBoard().getWidth(), gs.getBoard().getHeight());
+    }
+
+    private static int[][] buildNeighbourIndices(int width, int height) {
+        int[][] index = new int[width * height][];
+        int[] cells = new int[neighbor_directions[0].length];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int n = 0;
+                for (Vector2D v : neighbor_directions[y % 2]) {
+                    int nx = x + v.getX(), ny = y + v.getY();
+                    if (nx >= 0 && nx < width && ny >= 0 && ny < height) cells[n++] = ny * width + nx;
+                }
+                index[y * width + x] = Arrays.copyOf(cells, n);
+            }
+        }
+        return index;
+    }
+
+    private static TMMapTile getCell(TMGameState gs, int index) {
+        int width = gs.getBoard().getWidth();
+        return gs.getBoard().getElement(index % width, index / width);
+    }
+
     public static List<Vector2D> getNeighbours(Vector2D cell) {
         ArrayList<Vector2D> neighbors = new ArrayList<>();
         int parity = Math.abs(cell.getY() % 2);
@@ -28,6 +28,14 @@ public class PlayCard extends TMAction {
         super(player, free);
     }
 
+    @Override
+    public boolean canBePlayed(TMGameState gs) {
+        TMCard card = (TMCard) gs.getComponentById(getPlayCardID());
+        if (card == null) return super.canBePlayed(gs);
+        // The card's own requirements are checked through the game state cache, then the rest (effects, cost)
+        return gs.cardRequirementsMet(card) && canBePlayed(gs, card.requirements);
+    }
+
     @Override
     public boolean _execute(TMGameState gs) {
         TMGameParameters gp = (TMGameParameters) gs.getGameParameters();
@@ -64,7 +72,7 @@ public class PlayCard extends TMAction {
         for (TMAction a: card.actions) {
             a.player = player;
             a.setCardID(card.getComponentID());
-            gs.getPlayerExtraActions()[player].add(a);
+            gs.addExtraAction(player, a);
         }
 
         // Add discountEffects to player's discounts
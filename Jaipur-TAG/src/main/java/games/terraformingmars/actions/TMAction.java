@@ -119,6 +119,13 @@ public class TMAction extends AbstractAction {
     }
 
     public boolean canBePlayed(TMGameState gs) {
+        return canBePlayed(gs, null);
+    }
+
+    /**
+     * @param checked - requirements already checked, skipped here (may be null).
+     */
+    protected boolean canBePlayed(TMGameState gs, HashSet<Requirement<TMGameState>> checked) {
         boolean played = false;
         if (getCardID() != -1) {
             TMCard c = (TMCard) gs.getComponentById(getCardID());
@@ -127,12 +134,20 @@ public class TMAction extends AbstractAction {
         if (played && standardProject == null && basicResourceAction == null) return false;
         if (requirements != null && requirements.size() > 0) {
             for (Requirement r: requirements) {
+                if (checked != null && containsSame(checked, r)) continue;
                 if (!r.testCondition(gs)) return false;
             }
         }
         return true;
     }
 
+    private static boolean containsSame(HashSet<Requirement<TMGameState>> set, Requirement r) {
+        for (Requirement r2 : set) {
+            if (r2 == r) return true;
+        }
+        return false;
+    }
+
     public boolean _execute(TMGameState gameState) { return true; }
 
     @Override
@@ -99,6 +99,7 @@ public class TMMapTile extends Component {
                 gs.getPlayerResourceIncreaseGen()[player].put(res, true);
             }
         }
+        gs.onTilePlaced(this);
     }
 
     public boolean placeTile(TMTypes.Tile which, TMGameState gs) {
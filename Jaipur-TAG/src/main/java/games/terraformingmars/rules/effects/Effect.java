@@ -22,8 +22,10 @@ public abstract class Effect {
 
     public void execute(TMGameState gs, TMAction actionTaken, int player) {
         if (canExecute(gs, actionTaken, player)) {
-            effectAction.player = player;
-            this.effectAction.execute(gs);
+            // Executed on a copy, as effects may be shared between copies of the game state
+            TMAction action = effectAction.copy();
+            action.player = player;
+            action.execute(gs);
         }
     }
 
@@ -21,9 +21,10 @@ public class GlobalParameterEffect extends Effect {
     public void execute(TMGameState gs, TMAction actionTaken, int player) {
         if (canExecute(gs, actionTaken, player)) {
             ModifyGlobalParameter action = (ModifyGlobalParameter) actionTaken;
-            effectAction.player = player;
             if (action.param == globalParameter) {
-                this.effectAction.execute(gs);
+                TMAction effect = effectAction.copy();
+                effect.player = player;
+                effect.execute(gs);
             }
         }
     }
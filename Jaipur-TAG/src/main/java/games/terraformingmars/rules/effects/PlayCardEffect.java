@@ -20,12 +20,13 @@ public class PlayCardEffect extends Effect {
     public void execute(TMGameState gs, TMAction actionTaken, int player) {
         if (canExecute(gs, actionTaken, player)) {
             PlayCard action = (PlayCard) ((PayForAction)actionTaken).action;
-            effectAction.player = player;
-            if (effectAction.getCardID() == -1) {
+            TMAction effect = effectAction.copy();
+            effect.player = player;
+            if (effect.getCardID() == -1) {
                 /* Effect based on card played, e.g. add resource to that card */
-                effectAction.setCardID(action.getPlayCardID());
+                effect.setCardID(action.getPlayCardID());
             }
-            this.effectAction.execute(gs);  // TODO execute multiple times
+            effect.execute(gs);  // TODO execute multiple times
         }
     }
 
@@ -5,9 +5,6 @@ import core.interfaces.IStateFeatureJSON;
 import core.interfaces.IStateFeatureVector;
 import org.json.simple.JSONObject;
 
-import java.util.ArrayList;
-import java.util.List;
-
 public class TTTFeatures implements IStateFeatureVector, IStateFeatureJSON {
 
     @Override
@@ -42,21 +39,28 @@ public class TTTFeatures implements IStateFeatureVector, IStateFeatureJSON {
     @Override
     public double[] featureVector(AbstractGameState state, int playerID) {
         TicTacToeGameState tttgs = (TicTacToeGameState) state;
-        List<Double> listVec = new ArrayList<>();
+        double[] retValue = new double[tttgs.gridBoard.getWidth() * tttgs.gridBoard.getHeight()];
+        featureVector(state, playerID, retValue, 0);
+        return retValue;
+    }
+
+    @Override
+    public void featureVector(AbstractGameState state, int playerID, double[] buffer, int offset) {
+        TicTacToeGameState tttgs = (TicTacToeGameState) state;
         String playerSymbol = (playerID == 0) ? "x" : "o";
+        int i = offset;
         for (int x = 0; x < tttgs.gridBoard.getWidth(); x++) {
             for (int y = 0; y < tttgs.gridBoard.getHeight(); y++) {
                 String cellSymbol = tttgs.gridBoard.getElement(x, y).toString();
                 if (cellSymbol.equals(playerSymbol)) {
-                    listVec.add(1.0);
+                    buffer[i++] = 1.0;
                 } else if (cellSymbol.equals(".")) {
-                    listVec.add(0.0);
+                    buffer[i++] = 0.0;
                 } else {
-                    listVec.add(-1.0);
+                    buffer[i++] = -1.0;
                 }
             }
         }
-        return listVec.stream().mapToDouble(i -> i).toArray();
     }
 
 //    @Override
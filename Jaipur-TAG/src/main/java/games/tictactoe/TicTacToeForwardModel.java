@@ -11,9 +11,7 @@ import core.components.Token;
 import core.interfaces.ITreeActionSpace;
 import utilities.ActionTreeNode;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
+import java.util.*;
 
 
 public class TicTacToeForwardModel extends StandardForwardModel implements ITreeActionSpace {
@@ -50,6 +48,41 @@ public class TicTacToeForwardModel extends StandardForwardModel implements ITree
         return actions;
         }
 
+    @Override
+    protected Iterator<AbstractAction> _availableActionIterator(AbstractGameState gameState, ActionSpace actionSpace) {
+        // On a large grid there are a great many empty cells, so we only create the actions that are asked for
+        // (in the same order as _computeAvailableActions)
+        if (!gameState.isNotTerminal())
+            return Collections.emptyIterator();
+        GridBoard<Token> board = ((TicTacToeGameState) gameState).gridBoard;
+        Token playerToken = TicTacToeConstants.playerMapping.get(gameState.getCurrentPlayer());
+        int height = board.getHeight();
+        int nCells = board.getWidth() * height;
+        return new Iterator<AbstractAction>() {
+            int cell = nextEmptyCell(0);
+
+            private int nextEmptyCell(int from) {
+                while (from < nCells && !board.getElement(from / height, from % height).getTokenType().equals(TicTacToeConstants.emptyCell))
+                    from++;
+                return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return cell < nCells;
+            }
+
+            @Override
+            public AbstractAction next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                AbstractAction action = new SetGridValueAction<>(board.getComponentID(), cell / height, cell % height, playerToken);
+                cell = nextEmptyCell(cell + 1);
+                return action;
+            }
+        };
+    }
+
     @Override
     protected void _afterAction(AbstractGameState currentState, AbstractAction action) {
         if (checkAndProcessGameEnd((TicTacToeGameState) currentState)) {
@@ -6,6 +6,7 @@ import core.components.Component;
 import core.components.Deck;
 import core.AbstractGameState;
 import core.interfaces.IPrintable;
+import core.interfaces.IRedeterminisable;
 import games.GameType;
 import games.uno.cards.*;
 
@@ -15,7 +16,7 @@ import static games.uno.UnoGameParameters.UnoScoring.*;
 import static games.uno.cards.UnoCard.UnoCardType.Wild;
 import static core.CoreConstants.GameResult.*;
 
-public class UnoGameState extends AbstractGameState implements IPrintable {
+public class UnoGameState extends AbstractGameState implements IPrintable, IRedeterminisable {
     List<Deck<UnoCard>> playerDecks;
     Deck<UnoCard> drawDeck;
     Deck<UnoCard> discardDeck;
@@ -172,35 +173,57 @@ public class UnoGameState extends AbstractGameState implements IPrintable {
         copy.skipTurn = skipTurn;
         copy.direction = direction;
 
-        if (getCoreGameParameters().partialObservable && playerId != -1) {
-            // Other player cards and the draw deck are unknown.
-            // Combine all into one deck, shuffle, then deal random cards to the other players (hand size kept)
-            for (int i = 0; i < getNPlayers(); i++) {
-                if (i != playerId) {
-                    copy.drawDeck.add(copy.playerDecks.get(i));
-                }
-            }
-            copy.drawDeck.shuffle(redeterminisationRnd);
-            for (int i = 0; i < getNPlayers(); i++) {
-                if (i != playerId) {
-                    Deck<UnoCard> d = copy.playerDecks.get(i);
-                    int nCards = d.getSize();
-                    d.clear();
-                    for (int j = 0; j < nCards; j++) {
-                        d.add(copy.drawDeck.draw());
-                    }
-                }
-            }
-        }
-
         copy.discardDeck = discardDeck.copy();
         copy.currentCard = (UnoCard) currentCard.copy();
         copy.currentColor = currentColor;
         copy.playerScore = playerScore.clone();
         copy.expulsionRound = expulsionRound.clone();
+
+        if (getCoreGameParameters().partialObservable && playerId != -1) {
+            copy.redeterminise(playerId, redeterminisationRnd);
+        }
         return copy;
     }
 
+    @Override
+    public void resetFrom(AbstractGameState source) {
+        UnoGameState ugs = (UnoGameState) source;
+        for (int i = 0; i < playerDecks.size(); i++) {
+            playerDecks.get(i).copyComponentsFrom(ugs.playerDecks.get(i));
+        }
+        drawDeck.copyComponentsFrom(ugs.drawDeck);
+        skipTurn = ugs.skipTurn;
+        direction = ugs.direction;
+        discardDeck.copyComponentsFrom(ugs.discardDeck);
+        currentCard = (UnoCard) ugs.currentCard.copy();
+        currentColor = ugs.currentColor;
+        System.arraycopy(ugs.playerScore, 0, playerScore, 0, playerScore.length);
+        System.arraycopy(ugs.expulsionRound, 0, expulsionRound, 0, expulsionRound.length);
+    }
+
+    @Override
+    public void redeterminise(int playerId, Random rnd) {
+        if (!getCoreGameParameters().partialObservable) return;
+        // Other player cards and the draw deck are unknown.
+        // Combine all into one deck, shuffle, then deal random cards to the other players (hand size kept)
+        for (int i = 0; i < getNPlayers(); i++) {
+            if (i != playerId) {
+                drawDeck.add(playerDecks.get(i));
+            }
+        }
+        drawDeck.shuffle(rnd);
+        for (int i = 0; i < getNPlayers(); i++) {
+            if (i != playerId) {
+                Deck<UnoCard> d = playerDecks.get(i);
+                int nCards = d.getSize();
+                d.clear();
+                for (int j = 0; j < nCards; j++) {
+                    d.add(drawDeck.draw());
+                }
+            }
+        }
+    }
+
     @Override
     protected double _getHeuristicScore(int playerId) {
         return new UnoHeuristic().evaluateState(this, playerId);
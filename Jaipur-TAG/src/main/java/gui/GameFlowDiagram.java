@@ -129,7 +129,7 @@ public class GameFlowDiagram extends JFrame {
                         traverseNodes(child, level + 1);
                     }
                 } else {
-                    traverseNodes(node.getNext(), level + 1);
+                    traverseNodes(((RuleNode) node).getNext(), level + 1);
                 }
             } if (node instanceof ConditionNode) {
                 traverseNodes(((ConditionNode) node).getYesNo()[1], level + 1);
@@ -316,7 +316,7 @@ public class GameFlowDiagram extends JFrame {
                     this.type = NodeType.RULE;
                     this.gameOver = ((RuleNode) n).getGameOverConditions().size() > 0;
                     this.childrenId = new int[1];
-                    if (n.getNext() != null) this.childrenId[0] = n.getNext().getId();
+                    if (((RuleNode) n).getNext() != null) this.childrenId[0] = ((RuleNode) n).getNext().getId();
                     else {
                         this.childrenId[0] = -1;
                         terminal = true;
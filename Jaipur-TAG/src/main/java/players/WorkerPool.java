@@ -0,0 +1,96 @@
+package players;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Runs independent tasks (such as evaluating the individuals of a population) on several threads.
+ * <p>
+ * Each thread has a worker context of its own, for whatever cannot be shared between threads (a forward model,
+ * a Random, a rollout policy...). Task i is always run with worker i % size(), and each worker runs its tasks in
+ * order, so results are reproducible whatever the scheduling of the threads.
+ * <p>
+ * The calling thread runs the tasks of the first worker itself, so a pool of n workers uses n - 1 extra threads.
+ * These are daemon threads, which exit when the pool has not been used for a while.
+ */
+public class WorkerPool<W> {
+
+    private final List<W> workers;
+    private final ThreadPoolExecutor executor;
+
+    public WorkerPool(List<W> workers) {
+        if (workers.isEmpty())
+            throw new IllegalArgumentException("A WorkerPool needs at least one worker");
+        this.workers = new ArrayList<>(workers);
+        if (workers.size() == 1) {
+            executor = null;
+        } else {
+            executor = new ThreadPoolExecutor(workers.size() - 1, workers.size() - 1, 10, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), r -> {
+                Thread thread = new Thread(r, "WorkerPool");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.allowCoreThreadTimeOut(true);
+        }
+    }
+
+    public int size() {
+        return workers.size();
+    }
+
+    public W getWorker(int index) {
+        return workers.get(index);
+    }
+
+    /**
+     * Runs task(worker, i) for each i from 0 to nTasks - 1, and returns once they have all finished.
+     * Anything a task writes is visible to the calling thread afterwards. If any task throws, the exception is
+     * rethrown here once the others have finished.
+     */
+    public void run(int nTasks, ObjIntConsumer<W> task) {
+        int n = Math.min(workers.size(), nTasks);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int k = 1; k < n; k++) {
+            int worker = k;
+            futures.add(executor.submit(() -> runStripe(worker, nTasks, task)));
+        }
+        RuntimeException failure = null;
+        try {
+            runStripe(0, nTasks, task);
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+        boolean interrupted = false;
+        for (Future<?> future : futures) {
+            while (true) {
+                try {
+                    future.get();
+                    break;
+                } catch (InterruptedException e) {
+                    // the other threads are still using their workers, so we must wait for them anyway
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof Error)
+                        throw (Error) cause;
+                    if (failure == null)
+                        failure = cause instanceof RuntimeException ? (RuntimeException) cause : new RuntimeException(cause);
+                    break;
+                }
+            }
+        }
+        if (interrupted)
+            Thread.currentThread().interrupt();
+        if (failure != null)
+            throw failure;
+    }
+
+    private void runStripe(int worker, int nTasks, ObjIntConsumer<W> task) {
+        W context = workers.get(worker);
+        for (int i = worker; i < nTasks; i += workers.size())
+            task.accept(context, i);
+    }
+}
@@ -13,11 +13,24 @@ public abstract class AbstractStateFeature implements IStateFeatureVector {
     protected abstract String[] localNames();
     protected abstract double[] localFeatureVector(AbstractGameState gs, int playerID);
 
+    /**
+     * Writes the local features into the buffer, starting at the given offset. The default copies the result of
+     * localFeatureVector(); subclasses can override it to write the features directly.
+     */
+    protected void localFeatureVector(AbstractGameState gs, int playerID, double[] buffer, int offset) {
+        double[] localFeatures = localFeatureVector(gs, playerID);
+        System.arraycopy(localFeatures, 0, buffer, offset, localFeatures.length);
+    }
+
     @Override
     public double[] featureVector(AbstractGameState state, int playerID) {
-        double[] localFeatures = localFeatureVector(state, playerID);
-        double[] retValue = new double[coreNames.length + localFeatures.length];
+        double[] retValue = new double[coreNames.length + localNames().length];
+        featureVector(state, playerID, retValue, 0);
+        return retValue;
+    }
 
+    @Override
+    public void featureVector(AbstractGameState state, int playerID, double[] buffer, int offset) {
         // POINT_ADVANTAGE
         int ordinal = 1;
         double maxOtherScore = -1;
@@ -33,17 +46,16 @@ public abstract class AbstractStateFeature implements IStateFeatureVector {
         }
 
         // POINTS
-        retValue[0] = ourSc / maxScore();
+        buffer[offset] = ourSc / maxScore();
         // POINT_ADVANTAGE
-        retValue[1] = (ourSc - maxOtherScore) / maxScore() * 2.0;
-        retValue[2] = ordinal / (double) state.getNPlayers();
-        retValue[3] = state.getCurrentPlayer() == playerID ? 1 : 0;
-        retValue[4] = state.getPlayerResults()[playerID] == CoreConstants.GameResult.WIN_GAME ? 1.0 : 0.0;
-        retValue[5] = state.isNotTerminal() ? 0.0 : state.getOrdinalPosition(playerID) / (double) state.getNPlayers();
-        retValue[6] = state.getRoundCounter() / maxRounds();
-
-        System.arraycopy(localFeatures, 0, retValue, coreNames.length, localFeatures.length);
-        return retValue;
+        buffer[offset + 1] = (ourSc - maxOtherScore) / maxScore() * 2.0;
+        buffer[offset + 2] = ordinal / (double) state.getNPlayers();
+        buffer[offset + 3] = state.getCurrentPlayer() == playerID ? 1 : 0;
+        buffer[offset + 4] = state.getPlayerResults()[playerID] == CoreConstants.GameResult.WIN_GAME ? 1.0 : 0.0;
+        buffer[offset + 5] = state.isNotTerminal() ? 0.0 : state.getOrdinalPosition(playerID) / (double) state.getNPlayers();
+        buffer[offset + 6] = state.getRoundCounter() / maxRounds();
+
+        localFeatureVector(state, playerID, buffer, offset + coreNames.length);
     }
 
     @Override
@@ -1,5 +1,6 @@
 package players.heuristics;
 
+import core.AbstractGameState;
 import core.interfaces.IStateFeatureVector;
 import core.interfaces.IStateHeuristic;
 
@@ -14,6 +15,7 @@ public abstract class AbstractStateHeuristic implements IStateHeuristic {
     protected IStateFeatureVector features;
     protected double[] coefficients;
     protected IStateHeuristic defaultHeuristic;
+    private final ThreadLocal<double[]> phi = new ThreadLocal<>();  // Feature vector buffer, reused between evaluations
 
     public AbstractStateHeuristic(String featureVectorClassName, String coefficientsFile, String defaultHeuristicClassName) {
         try {
@@ -41,6 +43,25 @@ public abstract class AbstractStateHeuristic implements IStateHeuristic {
         loadModel(coefficientsFile);
     }
 
+    /**
+     * @return the bias term plus the dot product of the coefficients with the features of the state. The features
+     * are written into a buffer kept between calls, rather than a new array each time. There is one buffer per
+     * thread, so a heuristic can be used by the threads of a parallel search.
+     */
+    protected double linearPredictor(AbstractGameState state, int playerId) {
+        double[] buffer = phi.get();
+        if (buffer == null) {
+            buffer = new double[coefficients.length - 1];
+            phi.set(buffer);
+        }
+        features.featureVector(state, playerId, buffer, 0);
+        double retValue = coefficients[0];  // the bias term
+        for (int i = 0; i < buffer.length; i++) {
+            retValue += buffer[i] * coefficients[i + 1];
+        }
+        return retValue;
+    }
+
     private void loadModel(String coefficientsFile) {
         if (coefficientsFile.isEmpty()) {
             // in this case will default to the defaultHeuristic
@@ -25,12 +25,7 @@ public class LinearStateHeuristic extends AbstractStateHeuristic {
     public double evaluateState(AbstractGameState state, int playerId) {
         // default heuristic is used if the state is terminal (or no coefficients are provided)
         if (coefficients != null && (defaultHeuristic == null || state.isNotTerminal())) {
-            double[] phi = features.featureVector(state, playerId);
-            double retValue = coefficients[0]; // the bias term
-            for (int i = 0; i < phi.length; i++) {
-                retValue += phi[i] * coefficients[i+1];
-            }
-            return Utils.clamp(retValue, minValue, maxValue);
+            return Utils.clamp(linearPredictor(state, playerId), minValue, maxValue);
         }
         if (defaultHeuristic != null)
             return defaultHeuristic.evaluateState(state, playerId);
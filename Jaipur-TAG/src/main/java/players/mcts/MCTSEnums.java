@@ -28,6 +28,12 @@ public class MCTSEnums {
         DEFAULT, END_TURN, START_TURN, END_ROUND;
     }
 
+    public enum TreeLimitPolicy {
+        STOP_EXPANDING, PRUNE
+        // What to do once the tree has maxTreeNodes nodes. STOP_EXPANDING rolls out from the last node reached,
+        // PRUNE discards the least visited subtrees (their statistics are kept on the parent) to make room
+    }
+
     public enum OpponentTreePolicy {
         SelfOnly(true), OneTree(false),
         MultiTree(true),
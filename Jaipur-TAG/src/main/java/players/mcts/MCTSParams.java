@@ -9,9 +9,9 @@ import players.PlayerParameters;
 import players.simple.BoltzmannActionPlayer;
 import players.simple.RandomPlayer;
 import utilities.JSONUtils;
+import utilities.SplitMixRandom;
 
 import java.util.Arrays;
-import java.util.Random;
 
 import static players.mcts.MCTSEnums.Information.*;
 import static players.mcts.MCTSEnums.MASTType.Rollout;
@@ -19,6 +19,7 @@ import static players.mcts.MCTSEnums.OpponentTreePolicy.OneTree;
 import static players.mcts.MCTSEnums.RolloutTermination.DEFAULT;
 import static players.mcts.MCTSEnums.SelectionPolicy.ROBUST;
 import static players.mcts.MCTSEnums.SelectionPolicy.SIMPLE;
+import static players.mcts.MCTSEnums.TreeLimitPolicy.STOP_EXPANDING;
 import static players.mcts.MCTSEnums.Strategies.*;
 import static players.mcts.MCTSEnums.TreePolicy.*;
 
@@ -27,6 +28,8 @@ public class MCTSParams extends PlayerParameters {
     public double K = Math.sqrt(2);
     public int rolloutLength = 10; // assuming we have a good heuristic
     public int maxTreeDepth = 1000; // effectively no limit
+    public int maxTreeNodes = 0; // Zero indicates no limit (not used by MultiTree)
+    public MCTSEnums.TreeLimitPolicy treeLimitPolicy = STOP_EXPANDING;  // MCGS can only stop expanding
     public MCTSEnums.Information information = Information_Set;  // this should be the default in TAG, given that most games have hidden information
     public MCTSEnums.MASTType MAST = Rollout;
     public boolean useMAST = false;
@@ -52,10 +55,13 @@ public class MCTSParams extends PlayerParameters {
     public int omaVisits = 0;
     public double progressiveWideningConstant = 0.0; //  Zero indicates switched off (well, less than 1.0)
     public double progressiveWideningExponent = 0.0;
+    public boolean lazyActionEnumeration = false;  // with progressive widening, only generate the actions that are widened to
     public boolean normaliseRewards = true;
     public boolean nodesStoreScoreDelta = true;
     public boolean maintainMasterState = false;
+    public int masterStateInterval = 1;  // with maintainMasterState, only every k-th depth keeps a copy; the rest recompute it
     public boolean discardStateAfterEachIteration = true;  // default will remove reference to OpenLoopState in backup(). Saves memory!
+    public boolean redeterminiseInPlace = true;  // Information_Set: reuse one determinised state across iterations (if the game supports it)
     public MCTSEnums.RolloutTermination rolloutTermination = DEFAULT;
     public IStateHeuristic heuristic = AbstractGameState::getHeuristicScore;
     public IActionKey MASTActionKey;
@@ -71,6 +77,8 @@ public class MCTSParams extends PlayerParameters {
         addTunableParameter("hedgeBoltzmann", 0.1);
         addTunableParameter("rolloutLength", 10, Arrays.asList(0, 3, 10, 30, 100));
         addTunableParameter("maxTreeDepth", 10, Arrays.asList(1, 3, 10, 30, 100));
+        addTunableParameter("maxTreeNodes", 0);
+        addTunableParameter("treeLimitPolicy", STOP_EXPANDING, Arrays.asList(MCTSEnums.TreeLimitPolicy.values()));
         addTunableParameter("rolloutType", RANDOM, Arrays.asList(MCTSEnums.Strategies.values()));
         addTunableParameter("oppModelType", RANDOM, Arrays.asList(MCTSEnums.Strategies.values()));
         addTunableParameter("rolloutClass", "");
@@ -94,10 +102,13 @@ public class MCTSParams extends PlayerParameters {
         addTunableParameter("biasVisits", 0, Arrays.asList(0, 1, 3, 10, 30, 100));
         addTunableParameter("progressiveWideningConstant", 0.0, Arrays.asList(0.0, 1.0, 2.0, 4.0, 8.0, 16.0, 32.0));
         addTunableParameter("progressiveWideningExponent", 0.0, Arrays.asList(0.0, 0.1, 0.2, 0.3, 0.5));
+        addTunableParameter("lazyActionEnumeration", false);
         addTunableParameter("normaliseRewards", true);
         addTunableParameter("nodesStoreScoreDelta", true);
         addTunableParameter("maintainMasterState", false);
+        addTunableParameter("masterStateInterval", 1);
         addTunableParameter("discardStateAfterEachIteration", true);
+        addTunableParameter("redeterminiseInPlace", true);
         addTunableParameter("advantageFunction", IActionHeuristic.nullReturn);
         addTunableParameter("omaVisits", 0);
         addTunableParameter("paranoid", false);
@@ -115,6 +126,8 @@ public class MCTSParams extends PlayerParameters {
         K = (double) getParameterValue("K");
         rolloutLength = (int) getParameterValue("rolloutLength");
         maxTreeDepth = (int) getParameterValue("maxTreeDepth");
+        maxTreeNodes = (int) getParameterValue("maxTreeNodes");
+        treeLimitPolicy = (MCTSEnums.TreeLimitPolicy) getParameterValue("treeLimitPolicy");
         rolloutType = (MCTSEnums.Strategies) getParameterValue("rolloutType");
         rolloutTermination = (MCTSEnums.RolloutTermination) getParameterValue("rolloutTermination");
         oppModelType = (MCTSEnums.Strategies) getParameterValue("oppModelType");
@@ -142,11 +155,16 @@ public class MCTSParams extends PlayerParameters {
         omaVisits = (int) getParameterValue("omaVisits");
         progressiveWideningConstant = (double) getParameterValue("progressiveWideningConstant");
         progressiveWideningExponent = (double) getParameterValue("progressiveWideningExponent");
+        lazyActionEnumeration = (boolean) getParameterValue("lazyActionEnumeration");
         normaliseRewards = (boolean) getParameterValue("normaliseRewards");
         nodesStoreScoreDelta = (boolean) getParameterValue("nodesStoreScoreDelta");
         maintainMasterState = (boolean) getParameterValue("maintainMasterState");
+        masterStateInterval = (int) getParameterValue("masterStateInterval");
+        if (masterStateInterval < 1)
+            throw new IllegalArgumentException("masterStateInterval must be at least 1");
         paranoid = (boolean) getParameterValue("paranoid");
         discardStateAfterEachIteration = (boolean) getParameterValue("discardStateAfterEachIteration");
+        redeterminiseInPlace = (boolean) getParameterValue("redeterminiseInPlace");
         if (information == Closed_Loop)
             discardStateAfterEachIteration = false;
         if (expansionPolicy == MCTSEnums.Strategies.MAST || rolloutType == MCTSEnums.Strategies.MAST
@@ -203,7 +221,7 @@ public class MCTSParams extends PlayerParameters {
     private AbstractPlayer constructStrategy(MCTSEnums.Strategies type, String details) {
         switch (type) {
             case RANDOM:
-                return new RandomPlayer(new Random(getRandomSeed()));
+                return new RandomPlayer(new SplitMixRandom(getRandomSeed()));
             case MAST:
                 return new MASTPlayer(MASTActionKey, MASTBoltzmann, 0.0, getRandomSeed(), MASTDefaultValue);
             case CLASS:
@@ -10,6 +10,7 @@ import core.interfaces.IStateHeuristic;
 import evaluation.metrics.Event;
 import players.IAnyTimePlayer;
 import utilities.Pair;
+import utilities.SplitMixRandom;
 import utilities.Utils;
 
 import java.util.*;
@@ -38,7 +39,7 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer {
 
     public MCTSPlayer(MCTSParams params, String name) {
         super(params, name);
-        rnd = new Random(parameters.getRandomSeed());
+        rnd = new SplitMixRandom(parameters.getRandomSeed());
     }
 
     @Override
@@ -49,7 +50,7 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer {
     @Override
     public void initializePlayer(AbstractGameState state) {
         if (getParameters().resetSeedEachGame) {
-            rnd = new Random(parameters.getRandomSeed());
+            rnd = new SplitMixRandom(parameters.getRandomSeed());
             getParameters().rolloutPolicy = null;
             getParameters().getRolloutStrategy();
             getParameters().opponentModel = null;  // thi swill force reconstruction from random seed
@@ -1,6 +1,7 @@
 package players.mcts;
 
 import core.AbstractForwardModel;
+import core.AbstractGameState;
 import core.AbstractPlayer;
 import core.actions.AbstractAction;
 import core.interfaces.IActionFeatureVector;
@@ -71,7 +72,8 @@ public class MCTSTreeActionStatisticsListener extends ActionFeatureListener {
             // we record its depth, value, visits, and the full feature list
             int player = node.getActor();
             double stateValue = node.nodeValue(player);
-            List<AbstractAction> actionsFromState = forwardModel.computeAvailableActions(node.state);
+            AbstractGameState nodeState = node.getState();
+            List<AbstractAction> actionsFromState = forwardModel.computeAvailableActions(nodeState);
             Map<AbstractAction, Double> actionTargets = new HashMap<>();
             AbstractAction bestAction = null;
             double bestValue = Double.NEGATIVE_INFINITY;
@@ -102,7 +104,7 @@ public class MCTSTreeActionStatisticsListener extends ActionFeatureListener {
             if (actionTarget == ActionTargetType.CHOSEN)
                 actionTargets.put(bestAction, 1.0);
 
-            processStateWithTargets(node.state, bestAction, actionTargets);
+            processStateWithTargets(nodeState, bestAction, actionTargets);
 
             // add children of current node to queue if they meet the criteria
             for (SingleTreeNode child : node.children.values().stream()
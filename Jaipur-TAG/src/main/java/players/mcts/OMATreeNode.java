@@ -116,6 +116,13 @@ public class OMATreeNode extends SingleTreeNode {
         }
     }
 
+    @Override
+    protected void recycle() {
+        super.recycle();
+        OMAParent = Optional.empty();
+        OMAChildren.clear();
+    }
+
     public Optional<OMATreeNode> getOMAParent() {
         return OMAParent;
     }
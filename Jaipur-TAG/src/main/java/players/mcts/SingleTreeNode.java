@@ -17,6 +17,7 @@ import static players.mcts.MCTSEnums.OpponentTreePolicy.*;
 import static players.mcts.MCTSEnums.RolloutTermination.DEFAULT;
 import static players.mcts.MCTSEnums.SelectionPolicy.*;
 import static players.mcts.MCTSEnums.Strategies.MAST;
+import static players.mcts.MCTSEnums.TreeLimitPolicy.PRUNE;
 import static utilities.Utils.*;
 
 public class SingleTreeNode {
@@ -26,6 +27,8 @@ public class SingleTreeNode {
     protected AbstractGameState state;
     // State in this node (open loop - this is updated by onward trajectory....be very careful about using)
     protected AbstractGameState openLoopState;
+    // Scratch state the root redeterminises in place on each iteration of Information-Set search
+    private AbstractGameState redeterminisedState;
     // Parameters guiding the search
     protected MCTSParams params;
     protected AbstractForwardModel forwardModel;
@@ -45,6 +48,8 @@ public class SingleTreeNode {
     // (specifically when using SelfOnly trees, with START/END_TURN/ROUND rollout termination conditions
     protected int rolloutDepth, roundAtStartOfRollout, turnAtStartOfRollout, lastActorInRollout;
     List<AbstractAction> actionsFromOpenLoopState = new ArrayList<>();
+    // With lazyActionEnumeration, the source of any actions from openLoopState not yet in actionsFromOpenLoopState
+    private Iterator<AbstractAction> actionSource;
     Map<AbstractAction, Double> advantagesOfActionsFromOLS = new HashMap<>();
     // Depth of this node
     protected int depth;
@@ -73,6 +78,9 @@ public class SingleTreeNode {
     // Total value of this node
     protected List<Pair<Integer, AbstractAction>> actionsInTree;
     List<Pair<Integer, AbstractAction>> actionsInRollout;
+    // Number of nodes in the tree, and nodes pruned from it that can be reused (both only on the root)
+    protected int nodeCount;
+    private Deque<SingleTreeNode> nodePool;
 
     protected SingleTreeNode() {
     }
@@ -98,7 +106,9 @@ public class SingleTreeNode {
 
     public static SingleTreeNode createChildNode(SingleTreeNode parent, AbstractAction actionToReach, AbstractGameState state,
                                                  Supplier<? extends SingleTreeNode> factory) {
-        SingleTreeNode retValue = factory.get();
+        SingleTreeNode retValue = parent.root.nodePool == null ? null : parent.root.nodePool.poll();
+        if (retValue == null)
+            retValue = factory.get();
         retValue.instantiate(parent, actionToReach, state);
         return retValue;
     }
@@ -110,6 +120,7 @@ public class SingleTreeNode {
         this.params = root.params;
         this.forwardModel = root.forwardModel;
         this.rnd = root.rnd;
+        root.nodeCount++;
         this.round = state.getRoundCounter();
         this.turn = state.getTurnCounter();
         this.turnOwner = state.getCurrentPlayer();
@@ -125,13 +136,17 @@ public class SingleTreeNode {
             depth = 0;
         }
 
-        if (params.information != Closed_Loop && (params.maintainMasterState || depth == 0)) {
+        if (params.information != Closed_Loop && (depth == 0 ||
+                (params.maintainMasterState && depth % params.masterStateInterval == 0))) {
             // if we're using open loop, then we need to make sure the reference state is never changed
             // however this is only used at the root - and we can switch the copy off for other nodes for performance
             // these master copies *are* required if we want to do something funky with the final tree, and gather
             // features from the nodes - if we are gathering Expert Iteration data or Learning an Advantage function
             root.copyCount++;
             this.state = state.copy();
+        } else if (params.information != Closed_Loop && params.maintainMasterState) {
+            // only every masterStateInterval-th depth keeps a copy; getState() recomputes the others
+            this.state = null;
         } else {
             this.state = state;
         }
@@ -141,7 +156,28 @@ public class SingleTreeNode {
     }
 
     public AbstractGameState getState() {
-        return state;
+        if (state != null || parent == null || params.information == Closed_Loop || !params.maintainMasterState)
+            return state;
+        // This node does not keep a master copy of its state, so we replay the actions from the nearest node that does.
+        // In a stochastic game this is a new sample of the states that reach this node (just as the master state
+        // of an open loop node is the first one that did).
+        Deque<SingleTreeNode> path = new ArrayDeque<>();
+        SingleTreeNode n = this;
+        while (n.state == null) {
+            path.push(n);
+            n = n.parent;
+        }
+        AbstractGameState retValue = n.state.copy();
+        for (SingleTreeNode step : path) {
+            forwardModel.next(retValue, step.actionToReach.copy());
+            if (params.opponentTreePolicy.selfOnlyTree) {
+                while (retValue.getCurrentPlayer() != step.decisionPlayer && retValue.isNotTerminalForPlayer(step.decisionPlayer)) {
+                    List<AbstractAction> actions = forwardModel.computeAvailableActions(retValue, params.actionSpace);
+                    forwardModel.next(retValue, params.getOpponentModel().getAction(retValue, actions));
+                }
+            }
+        }
+        return retValue;
     }
 
     private boolean terminalStateInSelfOnlyTree(AbstractGameState state) {
@@ -153,38 +189,69 @@ public class SingleTreeNode {
 
     protected void setActionsFromOpenLoopState(AbstractGameState actionState) {
         openLoopState = actionState;
+        actionSource = null;
         if (actionState.getCurrentPlayer() == this.decisionPlayer && actionState.isNotTerminalForPlayer(decisionPlayer)) {
+            if (lazyActions()) {
+                actionSource = forwardModel.availableActionIterator(actionState, params.actionSpace);
+                actionsFromOpenLoopState = new ArrayList<>();
+                widenActions();
+                return;
+            }
             actionsFromOpenLoopState = forwardModel.computeAvailableActions(actionState, params.actionSpace);
             //      System.out.printf("Setting OLS actions for P%d (%d)%n%s%n", decisionPlayer, actionState.getCurrentPlayer(),
 //                actionsFromOpenLoopState.stream().map(a -> "\t" + a.toString() + "\n").collect(joining()));
-            if (actionsFromOpenLoopState.size() != actionsFromOpenLoopState.stream().distinct().count())
-                throw new AssertionError("Duplicate actions found in action list: " +
-                        actionsFromOpenLoopState.stream().map(a -> "\t" + a.toString() + "\n").collect(joining()));
-            if (params.expansionPolicy == MAST) {
-                advantagesOfActionsFromOLS = actionsFromOpenLoopState.stream()
-                        .collect(toMap(a -> a, a -> root.MASTFunction.applyAsDouble(a, actionState)));
-            } else {
-                if (params.advantageFunction != null) {
-                    // advantagesOfActionsFromOLS = actionsFromOpenLoopState.stream()
-                    //        .collect(toMap(a -> a, a -> params.advantageFunction.evaluateAction(a, actionState)));
-                    double[] actionValues = params.advantageFunction.evaluateAllActions(actionsFromOpenLoopState, actionState);
-                    advantagesOfActionsFromOLS = new HashMap<>();
-                    for (int i = 0; i < actionsFromOpenLoopState.size(); i++) {
-                        advantagesOfActionsFromOLS.put(actionsFromOpenLoopState.get(i), actionValues[i]);
-                    }
+            addActionStatistics(actionState);
+        } else if (!params.opponentTreePolicy.selfOnlyTree) {
+            throw new AssertionError("Expected?");
+        }
+    }
+
+    /**
+     * With lazyActionEnumeration, takes actions from the lazy source until there are as many as progressive
+     * widening will consider at the current number of visits (see actionsToConsider()). This is called as each
+     * node is visited, so that in Closed_Loop the list grows with the visits.
+     */
+    protected void widenActions() {
+        if (actionSource == null || !actionSource.hasNext())
+            return;
+        int limit = (int) Math.floor(params.progressiveWideningConstant * Math.pow(nVisits + 1, params.progressiveWideningExponent));
+        if (actionsFromOpenLoopState.size() >= limit)
+            return;
+        while (actionsFromOpenLoopState.size() < limit && actionSource.hasNext())
+            actionsFromOpenLoopState.add(actionSource.next());
+        addActionStatistics(openLoopState);
+    }
+
+    private boolean lazyActions() {
+        return params.lazyActionEnumeration && params.progressiveWideningConstant >= 1.0;
+    }
+
+    private void addActionStatistics(AbstractGameState actionState) {
+        if (actionsFromOpenLoopState.size() != actionsFromOpenLoopState.stream().distinct().count())
+            throw new AssertionError("Duplicate actions found in action list: " +
+                    actionsFromOpenLoopState.stream().map(a -> "\t" + a.toString() + "\n").collect(joining()));
+        if (params.expansionPolicy == MAST) {
+            advantagesOfActionsFromOLS = actionsFromOpenLoopState.stream()
+                    .collect(toMap(a -> a, a -> root.MASTFunction.applyAsDouble(a, actionState)));
+        } else {
+            if (params.advantageFunction != null) {
+                // advantagesOfActionsFromOLS = actionsFromOpenLoopState.stream()
+                //        .collect(toMap(a -> a, a -> params.advantageFunction.evaluateAction(a, actionState)));
+                double[] actionValues = params.advantageFunction.evaluateAllActions(actionsFromOpenLoopState, actionState);
+                advantagesOfActionsFromOLS = new HashMap<>();
+                for (int i = 0; i < actionsFromOpenLoopState.size(); i++) {
+                    advantagesOfActionsFromOLS.put(actionsFromOpenLoopState.get(i), actionValues[i]);
                 }
             }
-            for (AbstractAction action : actionsFromOpenLoopState) {
-                if (!actionValues.containsKey(action)) {
-                    actionValues.put(action, new ActionStats(actionState.getNPlayers()));
-                    children.put(action.copy(), null); // mark a new node to be expanded
-                    // This *does* rely on a good equals method being implemented for Actions
-                    if (!children.containsKey(action))
-                        throw new AssertionError("We have an action that does not obey the equals/hashcode contract" + action);
-                }
+        }
+        for (AbstractAction action : actionsFromOpenLoopState) {
+            if (!actionValues.containsKey(action)) {
+                actionValues.put(action, new ActionStats(actionState.getNPlayers()));
+                children.put(action.copy(), null); // mark a new node to be expanded
+                // This *does* rely on a good equals method being implemented for Actions
+                if (!children.containsKey(action))
+                    throw new AssertionError("We have an action that does not obey the equals/hashcode contract" + action);
             }
-        } else if (!params.opponentTreePolicy.selfOnlyTree) {
-            throw new AssertionError("Expected?");
         }
     }
 
@@ -221,7 +288,14 @@ public class SingleTreeNode {
                     copyCount++;
                     break;
                 case Information_Set:
-                    setActionsFromOpenLoopState(state.copy(decisionPlayer));
+                    // nodes only keep a reference to the iteration's state if it is not discarded; in which case
+                    // the states cannot be shared between iterations
+                    if (params.redeterminiseInPlace && params.discardStateAfterEachIteration) {
+                        redeterminisedState = state.copyInto(redeterminisedState, decisionPlayer, rnd);
+                        setActionsFromOpenLoopState(redeterminisedState);
+                    } else {
+                        setActionsFromOpenLoopState(state.copy(decisionPlayer));
+                    }
                     copyCount++;
                     break;
             }
@@ -271,7 +345,8 @@ public class SingleTreeNode {
         actionsInRollout = new ArrayList<>();
 
         SingleTreeNode selected = treePolicy();
-        if (selected == this && openLoopState.isNotTerminalForPlayer(decisionPlayer) && nVisits > 3 && !(this instanceof MCGSNode))
+        if (selected == this && openLoopState.isNotTerminalForPlayer(decisionPlayer) && nVisits > 3 && !(this instanceof MCGSNode)
+                && (params.maxTreeNodes <= 0 || nodeCount < params.maxTreeNodes))
             throw new AssertionError("We have not expanded or selected a new node");
         // by this point (and really earlier) we should have expanded a new node.
         // selected == this is a clear sign that we have a problem in the expansion phase
@@ -366,6 +441,7 @@ public class SingleTreeNode {
         // Keep iterating while the state reached is not terminal and the depth of the tree is not exceeded
         while (cur.openLoopState.isNotTerminalForPlayer(cur.decisionPlayer) &&
                 cur.depth < params.maxTreeDepth && !cur.actionsFromOpenLoopState.isEmpty()) {
+            cur.widenActions();
             // Move to next child given by relevant selection function
             AbstractAction chosen = cur.treePolicyAction(true);
 
@@ -386,6 +462,8 @@ public class SingleTreeNode {
             SingleTreeNode nextNode = cur.nextNodeInTree(chosen);
             // if and only if we do not find a new node, then we need to expand and create a new node
             if (nextNode == null) {
+                if (!makeRoomForNode(cur))
+                    return cur; // the tree is full, so we roll out from here
                 return cur.expandNode(chosen, cur.openLoopState);
             }
             cur = nextNode;
@@ -393,6 +471,85 @@ public class SingleTreeNode {
         return cur;
     }
 
+    /**
+     * Called on the root before a node is added to the tree, to keep the tree within params.maxTreeNodes.
+     * With the PRUNE policy this discards the least visited subtrees, apart from the nodes on the path to current.
+     *
+     * @return - false if there is no room for a new node
+     */
+    protected boolean makeRoomForNode(SingleTreeNode current) {
+        if (params.maxTreeNodes <= 0 || nodeCount < params.maxTreeNodes)
+            return true;
+        if (params.treeLimitPolicy == PRUNE && !(this instanceof MCGSNode))
+            pruneLeastVisited(current);
+        return nodeCount < params.maxTreeNodes;
+    }
+
+    private void pruneLeastVisited(SingleTreeNode current) {
+        Set<SingleTreeNode> inUse = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (SingleTreeNode n = current; n != null; n = n.parent)
+            inUse.add(n);
+        List<SingleTreeNode> candidates = allNodesInTree();
+        candidates.removeIf(inUse::contains);
+        // deeper nodes first amongst those with the same visits, so that subtrees go before the nodes above them
+        candidates.sort(Comparator.comparingInt((SingleTreeNode n) -> n.nVisits).thenComparingInt(n -> -n.depth));
+        // we prune a tenth of the tree at a time, so that the sort is only needed every so many expansions
+        int target = params.maxTreeNodes - Math.max(1, params.maxTreeNodes / 10);
+        if (nodePool == null)
+            nodePool = new ArrayDeque<>();
+        for (SingleTreeNode node : candidates) {
+            if (nodeCount <= target)
+                break;
+            if (node.parent == null)
+                continue;  // already pruned with a subtree above it
+            // the statistics for the action stay on the parent; the next visit will expand a new node
+            SingleTreeNode[] nodeArray = node.parent.children.get(node.actionToReach);
+            for (int i = 0; i < nodeArray.length; i++) {
+                if (nodeArray[i] == node)
+                    nodeArray[i] = null;
+            }
+            Deque<SingleTreeNode> subtree = new ArrayDeque<>();
+            subtree.push(node);
+            while (!subtree.isEmpty()) {
+                SingleTreeNode n = subtree.pop();
+                for (SingleTreeNode[] childArray : n.children.values()) {
+                    if (childArray != null)
+                        for (SingleTreeNode child : childArray)
+                            if (child != null)
+                                subtree.push(child);
+                }
+                n.recycle();
+                nodePool.add(n);
+                nodeCount--;
+            }
+        }
+    }
+
+    /**
+     * Clears a node pruned from the tree, so that it can be instantiated again as a new one.
+     * Subclasses with further node statistics should override this to clear them too.
+     */
+    protected void recycle() {
+        state = null;
+        openLoopState = null;
+        actionSource = null;
+        parent = null;
+        root = null;
+        actionToReach = null;
+        copyCount = 0;
+        paranoidPlayer = -1;
+        nVisits = 0;
+        rolloutActionsTaken = 0;
+        actionsFromOpenLoopState = new ArrayList<>();
+        advantagesOfActionsFromOLS.clear();
+        highReward = Double.NEGATIVE_INFINITY;
+        lowReward = Double.POSITIVE_INFINITY;
+        nodeClash = 0;
+        timeTaken = 0.0;
+        children.clear();
+        actionValues.clear();
+    }
+
     protected List<AbstractAction> actionsToConsider(List<AbstractAction> allAvailable, int usedElsewhere) {
         if (!allAvailable.isEmpty() && params.progressiveWideningConstant >= 1.0) {
             int actionsToConsider = (int) Math.floor(params.progressiveWideningConstant * Math.pow(nVisits + 1, params.progressiveWideningExponent));
@@ -901,8 +1058,10 @@ public class SingleTreeNode {
 
     protected void backUpSingleNode(AbstractAction actionTaken, double[] result) {
         if (params.discardStateAfterEachIteration) {
-            if (depth > 0)
+            if (depth > 0) {
                 openLoopState = null; // releases for Garbage Collection
+                actionSource = null;
+            }
             if (depth > 0 && !params.maintainMasterState)
                 state = null;
         }
@@ -962,6 +1121,8 @@ public class SingleTreeNode {
             // as openLoopState may be different if using MCGS (not an issue with SingleTreeNode or MultiTreeNode)
             for (AbstractAction action : forwardModel.computeAvailableActions(state, params.actionSpace)) {
                 if (!actionValues.containsKey(action)) {
+                    if (lazyActions())
+                        continue;  // not widened to
                     throw new AssertionError("Hashcode / equals contract issue for " + action);
                 }
                 if (actionValues.get(action) != null) {
@@ -67,9 +67,10 @@ public class TreeRecorder {
                 }
 
                 output.append("\t").append(parentName);
-                output.append("\t").append(node.state.toString());
-                output.append("\t").append(getFeaturesJson(node.state, player));
-                output.append("\t").append(String.format("%.3g",heuristic.evaluateState(node.state, player)));
+                AbstractGameState nodeState = node.getState();
+                output.append("\t").append(nodeState.toString());
+                output.append("\t").append(getFeaturesJson(nodeState, player));
+                output.append("\t").append(String.format("%.3g",heuristic.evaluateState(nodeState, player)));
                 if (node.actionToReach == null) {
                     output.append("\t").append("None");
                 } else {
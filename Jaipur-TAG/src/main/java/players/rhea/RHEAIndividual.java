@@ -16,26 +16,40 @@ public class RHEAIndividual implements Comparable<RHEAIndividual> {
     protected int nonRepairCount;
     AbstractAction[] actions;         // Actions in individual. Intended max length of individual = actions.length
     AbstractGameState[] gameStates;   // Game states in individual.
+    List<AbstractAction>[] availableActions; // Actions available in each of the game states, when known
+    double[] stateScores;             // Heuristic value of each game state (after the first)
+    int validGenes;                   // In closed loop, the number of genes whose following game state is up to date
     double value;                     // Fitness of individual, to be maximised.
     int length;                       // Actual length of individual, <= actions.length
     double discountFactor;            // Discount factor for calculating rewards
     IStateHeuristic heuristic;
     AbstractPlayer rolloutPolicy;
+    boolean closedLoop;               // If true, the game states are reused for as long as the genes before them are unchanged
     private Random gen;               // Random generator
 
+    /**
+     * In closed loop mode the stored game states are never modified, so the root game state gs is shared rather
+     * than copied, and it may be shared by the whole population. Its actions can then be given as rootActions, so
+     * that they are only computed once (and before any other thread uses gs), or left null to compute them here.
+     */
     RHEAIndividual(int L, double discountFactor, AbstractForwardModel fm, AbstractGameState gs,
-                   int playerID, Random gen, IStateHeuristic heuristic,
-                   AbstractPlayer rolloutPolicy) {
+                   List<AbstractAction> rootActions, int playerID, Random gen, IStateHeuristic heuristic,
+                   AbstractPlayer rolloutPolicy, boolean closedLoop) {
         // Initialize
         this.gen = gen;
         this.discountFactor = discountFactor;
         actions = new AbstractAction[L];
         gameStates = new AbstractGameState[L + 1];
+        availableActions = new List[L + 1];
+        stateScores = new double[L + 1];
         this.heuristic = heuristic;
         this.rolloutPolicy = rolloutPolicy;
+        this.closedLoop = closedLoop;
 
         // Rollout with random actions and assign fitness value
-        gameStates[0] = gs.copy();
+        gameStates[0] = closedLoop ? gs : gs.copy();
+        if (closedLoop)
+            availableActions[0] = rootActions;
         rollout(fm, 0, playerID, true);
     }
 
@@ -43,14 +57,21 @@ public class RHEAIndividual implements Comparable<RHEAIndividual> {
     RHEAIndividual(RHEAIndividual I) {
         actions = new AbstractAction[I.actions.length];
         gameStates = new AbstractGameState[I.gameStates.length];
+        availableActions = new List[I.availableActions.length];
+        stateScores = I.stateScores.clone();
         length = I.length;
+        validGenes = I.validGenes;
         discountFactor = I.discountFactor;
         heuristic = I.heuristic;
         rolloutPolicy = I.rolloutPolicy;
+        closedLoop = I.closedLoop;
 
         for (int i = 0; i < length; i++) {
             actions[i] = I.actions[i]; //.copy();
+        }
+        for (int i = 0; i <= length; i++) {
             gameStates[i] = I.gameStates[i]; //.copy(); // Should not need to copy game states, as we always copy before we use!
+            availableActions[i] = I.availableActions[i];
         }
 
         value = I.value;
@@ -73,13 +94,23 @@ public class RHEAIndividual implements Comparable<RHEAIndividual> {
         for (int mutation = 0; mutation < mutationCount; mutation++) {
             int position = gen.nextInt(length); // we only consider actions up to the end of the game (which will therefore increase mutation rate towards game end)
             if (gameStates[position] != null) {
-                List<AbstractAction> available = fm.computeAvailableActions(gameStates[position]);
-                actions[position] = available.get(gen.nextInt(available.size()));
+                List<AbstractAction> available = closedLoop ? availableActions(fm, position) : fm.computeAvailableActions(gameStates[position]);
+                AbstractAction action = available.get(gen.nextInt(available.size()));
+                if (closedLoop && action.equals(actions[position]))
+                    continue;  // the gene is unchanged, so the states that follow it are still valid
+                actions[position] = action;
                 if (position < startIndex)
                     startIndex = position;  // start the rollout from the first mutation
             }
         }
 
+        if (closedLoop) {
+            // start from the first gene that is out of date, if that is earlier (after crossover)
+            startIndex = Math.min(startIndex, validGenes);
+            if (startIndex >= length)
+                return new Pair<>(0, 0);  // nothing has changed, and the value is still correct
+        }
+
         // Perform rollout and return number of FM calls taken.
         if (gameStates[startIndex] == null) {
             return new Pair<>(0, 0);
@@ -99,23 +130,24 @@ public class RHEAIndividual implements Comparable<RHEAIndividual> {
      * @return - number of calls to the FM.next() function
      */
     public Pair<Integer, Integer> rollout(AbstractForwardModel fm, int startIndex, int playerID, boolean repair) {
-        length = 0;
+        if (closedLoop)
+            startIndex = Math.min(startIndex, validGenes);
+        length = startIndex;
         double delta = 0;
         double previousScore = 0;
         int fmCalls = 0, copyCalls = 0;
-        AbstractGameState gs = gameStates[startIndex].copy();
+        // In closed loop we never modify a stored state, so there is no need to copy the first one
+        AbstractGameState gs = closedLoop ? gameStates[startIndex] : gameStates[startIndex].copy();
 
         // This lot are a local record for use in debugging; Very useful, with no compute overhead for keeping a local copy
         AbstractGameState[] oldGameStates = new AbstractGameState[gameStates.length];
-        List<AbstractAction>[] availableActions = new List[gameStates.length];
         AbstractAction[] oldActions = new AbstractAction[actions.length];
         boolean[] illegalActions = new boolean[actions.length];
 
+        // The stored game states may be shared with other individuals, on other threads, so they are only read.
+        // Their values are kept from when they were created, rather than evaluated again.
         for (int i = 0; i < startIndex; i++) {
-            double score;
-            score = heuristic.evaluateState(gameStates[i + 1], playerID);
-            if (Double.isNaN(score))
-                throw new AssertionError("Illegal heuristic value - should be a number");
+            double score = stateScores[i + 1];
             delta += Math.pow(discountFactor, i) * (score - previousScore);
             previousScore = score;
         }
@@ -128,8 +160,16 @@ public class RHEAIndividual implements Comparable<RHEAIndividual> {
                 AbstractAction action;
                 AbstractGameState gsCopy = gs.copy();
                 copyCalls++;
-                List<AbstractAction> currentActions = fm.computeAvailableActions(gsCopy, rolloutPolicy.getParameters().actionSpace);
-                availableActions[i] = currentActions;
+                // random events use our generator, rather than that of whichever rollout the state was copied from
+                gsCopy.setRnd(gen);
+                List<AbstractAction> currentActions;
+                if (closedLoop) {
+                    // the actions of a stored state are only computed once, and kept with it
+                    currentActions = availableActions(fm, i);
+                } else {
+                    currentActions = fm.computeAvailableActions(gsCopy, rolloutPolicy.getParameters().actionSpace);
+                    availableActions[i] = currentActions;
+                }
                 boolean illegalAction = !currentActions.contains(actions[i]);
                 illegalActions[i] = illegalAction;
                 if (illegalAction || actions[i] == null) {
@@ -143,8 +183,6 @@ public class RHEAIndividual implements Comparable<RHEAIndividual> {
                     action = actions[i];
                     nonRepairCount++;
                 }
-                // TODO: Add a closed loop option to not copy the state (expensively) if the action is valid, but jump to the next state stored
-                // TODO: When implemented, this will also need to take account of shiftLeft
                 fm.next(gsCopy, action.copy());
                 fmCalls++;
 
@@ -161,6 +199,10 @@ public class RHEAIndividual implements Comparable<RHEAIndividual> {
                 }
                 oldGameStates[i+1] = gameStates[i+1];
                 gameStates[i + 1] = gsCopy;
+                // In closed loop the actions of the new state will be needed next, and are computed now, before
+                // the state can be shared
+                availableActions[i + 1] = closedLoop && i + 1 < actions.length && gsCopy.isNotTerminal()
+                        ? fm.computeAvailableActions(gsCopy, rolloutPolicy.getParameters().actionSpace) : null;
                 // Individual length increased
                 length++;
 
@@ -169,6 +211,7 @@ public class RHEAIndividual implements Comparable<RHEAIndividual> {
                 score = heuristic.evaluateState(gameStates[i + 1], playerID);
                 if (Double.isNaN(score))
                     throw new AssertionError("Illegal heuristic value - should be a number");
+                stateScores[i + 1] = score;
                 delta += Math.pow(discountFactor, i) * (score - previousScore);
                 previousScore = score;
 
@@ -180,9 +223,46 @@ public class RHEAIndividual implements Comparable<RHEAIndividual> {
         }
 //        this.value = gs.getScore(playerID);
         this.value = delta;
+        validGenes = length;
         return new Pair<>(fmCalls, copyCalls);
     }
 
+    /**
+     * Sets the random generator and rollout policy used when mutating and evaluating the individual. Neither can be
+     * used by two threads at once, so each thread of a parallel search sets its own before it evaluates.
+     */
+    void setEvaluator(Random gen, AbstractPlayer rolloutPolicy) {
+        this.gen = gen;
+        this.rolloutPolicy = rolloutPolicy;
+    }
+
+    /**
+     * Sets the gene at index, as in crossover. In closed loop mode, if this changes the gene then the game states
+     * after it are out of date, and the next mutation will roll out from there.
+     */
+    void setAction(int index, AbstractAction action) {
+        if (!action.equals(actions[index])) {
+            actions[index] = action;
+            validGenes = Math.min(validGenes, index);
+        }
+    }
+
+    /**
+     * Replaces the game state the individual starts from (as with shiftLeft), which makes all the game states after
+     * it out of date. rootActions are the actions available in gs, or null if they are not yet known.
+     */
+    void setRootState(AbstractGameState gs, List<AbstractAction> rootActions) {
+        gameStates[0] = gs;
+        availableActions[0] = rootActions;
+        validGenes = 0;
+    }
+
+    private List<AbstractAction> availableActions(AbstractForwardModel fm, int index) {
+        if (availableActions[index] == null)
+            availableActions[index] = fm.computeAvailableActions(gameStates[index], rolloutPolicy.getParameters().actionSpace);
+        return availableActions[index];
+    }
+
     @Override
     public int compareTo(RHEAIndividual b) {
         RHEAIndividual a = this;
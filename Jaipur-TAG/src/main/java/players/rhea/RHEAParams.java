@@ -21,8 +21,10 @@ public class RHEAParams extends PlayerParameters
     public int tournamentSize = 4;
     public RHEAEnums.CrossoverType crossoverType = RHEAEnums.CrossoverType.UNIFORM;
     public boolean shiftLeft;
+    public boolean closedLoop;
     public IStateHeuristic heuristic = AbstractGameState::getGameScore;
     public boolean useMAST;
+    public int threads = 1;  // If more than one, individuals are evaluated on this many threads at once
 
 
     public RHEAParams() {
@@ -35,9 +37,11 @@ public class RHEAParams extends PlayerParameters
         addTunableParameter("tournamentSize", 4, Arrays.asList(1, 2, 3, 4, 5, 6));
         addTunableParameter("crossoverType", RHEAEnums.CrossoverType.UNIFORM, Arrays.asList(RHEAEnums.CrossoverType.values()));
         addTunableParameter("shiftLeft", false, Arrays.asList(false, true));
+        addTunableParameter("closedLoop", false, Arrays.asList(false, true));
         addTunableParameter("mutationCount", 1, Arrays.asList(1, 3, 10));
         addTunableParameter("heuristic", (IStateHeuristic) AbstractGameState::getGameScore);
         addTunableParameter("useMAST", false, Arrays.asList(false, true));
+        addTunableParameter("threads", 1);
     }
 
     @Override
@@ -52,8 +56,10 @@ public class RHEAParams extends PlayerParameters
         tournamentSize = (int) getParameterValue("tournamentSize");
         crossoverType = (RHEAEnums.CrossoverType) getParameterValue("crossoverType");
         shiftLeft = (boolean) getParameterValue("shiftLeft");
+        closedLoop = (boolean) getParameterValue("closedLoop");
         mutationCount = (int) getParameterValue("mutationCount");
         useMAST = (boolean) getParameterValue("useMAST");
+        threads = (int) getParameterValue("threads");
         heuristic = (IStateHeuristic) getParameterValue("heuristic");
         if (heuristic instanceof TunableParameters) {
             TunableParameters tunableHeuristic = (TunableParameters) heuristic;
@@ -1,16 +1,20 @@
 package players.rhea;
 
+import core.AbstractForwardModel;
 import core.AbstractGameState;
 import core.AbstractPlayer;
 import core.actions.AbstractAction;
 import players.PlayerConstants;
+import players.WorkerPool;
 import players.mcts.MASTPlayer;
 import players.simple.RandomPlayer;
 import utilities.ElapsedCpuTimer;
 import utilities.Pair;
+import utilities.SplitMixRandom;
 import utilities.Utils;
 
 import java.util.*;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
 public class RHEAPlayer extends AbstractPlayer {
@@ -24,6 +28,22 @@ public class RHEAPlayer extends AbstractPlayer {
     protected int copyCalls = 0;
     protected int repairCount, nonRepairCount;
     private MASTPlayer mastPlayer;
+    private WorkerPool<Worker> workers;  // Only used when params.threads > 1
+
+    /**
+     * What each thread evaluating individuals needs of its own.
+     */
+    private static class Worker {
+        final AbstractForwardModel fm;
+        final Random rnd;
+        AbstractPlayer rolloutPolicy;
+
+        Worker(AbstractForwardModel fm, Random rnd) {
+            this.fm = fm;
+            this.rnd = rnd;
+            this.rolloutPolicy = new RandomPlayer(rnd);
+        }
+    }
 
     public RHEAPlayer(RHEAParams params) {
         super(params, "RHEAPlayer");
@@ -39,18 +59,21 @@ public class RHEAPlayer extends AbstractPlayer {
         for (int i = 0; i < state.getNPlayers(); i++)
             MASTStatistics.add(new HashMap<>());
         population = new ArrayList<>();
+        workers = null;  // as they have copies of the forward model, which may have changed
     }
 
     @Override
     public AbstractAction _getAction(AbstractGameState stateObs, List<AbstractAction> possibleActions) {
-        ElapsedCpuTimer timer = new ElapsedCpuTimer();  // New timer for this game tick
+        RHEAParams params = getParameters();
+        boolean parallel = params.threads > 1;
+        // The work is done on other threads when parallel, so the CPU time of this one does not measure it
+        ElapsedCpuTimer timer = new ElapsedCpuTimer(parallel);  // New timer for this game tick
         timer.setMaxTimeMillis(parameters.budget);
         numIters = 0;
         fmCalls = 0;
         copyCalls = 0;
         repairCount = 0;
         nonRepairCount = 0;
-        RHEAParams params = getParameters();
 
         if (params.useMAST) {
             if (MASTStatistics == null) {
@@ -65,24 +88,59 @@ public class RHEAPlayer extends AbstractPlayer {
             mastPlayer = new MASTPlayer(null, 1.0, 0.0, System.currentTimeMillis(), 0.0);
             mastPlayer.setStats(MASTStatistics);
         }
+        if (parallel)
+            setUpWorkers(params);
+        // In closed loop the individuals never modify their game states, so they can all start from one copy.
+        // Its actions are computed here, as game states that build caches lazily can't be used by several threads.
+        AbstractGameState root = stateObs;
+        List<AbstractAction> rootActions = null;
+        if (params.closedLoop) {
+            root = stateObs.copy();
+            copyCalls++;
+            AbstractPlayer rolloutPolicy = params.useMAST ? mastPlayer : randomPlayer;
+            rootActions = getForwardModel().computeAvailableActions(root, rolloutPolicy.getParameters().actionSpace);
+        }
         // Initialise individuals
         if (params.shiftLeft && !population.isEmpty()) {
             population.forEach(i -> i.value = Double.NEGATIVE_INFINITY);  // so that any we don't have time to shift are ignored when picking an action
-            for (RHEAIndividual genome : population) {
-                if (!budgetLeft(timer)) break;
-                System.arraycopy(genome.actions, 1, genome.actions, 0, genome.actions.length - 1);
-                // we shift all actions along, and then rollout with repair
-                genome.gameStates[0] = stateObs.copy();
-                Pair<Integer, Integer> calls = genome.rollout(getForwardModel(), 0, getPlayerID(), true);
-                fmCalls += calls.a;
-                copyCalls += calls.b;
+            if (parallel) {
+                // One individual per thread at a time, so that the budget is checked as often as it can be
+                for (int from = 0; from < population.size() && (from == 0 || budgetLeft(timer)); from += params.threads) {
+                    List<RHEAIndividual> chunk = population.subList(from, Math.min(from + params.threads, population.size()));
+                    for (RHEAIndividual genome : chunk)
+                        shiftLeft(genome, root, rootActions, stateObs);
+                    evaluateInParallel(chunk, (genome, worker) -> genome.rollout(worker.fm, 0, getPlayerID(), true));
+                }
+            } else {
+                for (RHEAIndividual genome : population) {
+                    if (!budgetLeft(timer)) break;
+                    shiftLeft(genome, root, rootActions, stateObs);
+                    Pair<Integer, Integer> calls = genome.rollout(getForwardModel(), 0, getPlayerID(), true);
+                    fmCalls += calls.a;
+                    copyCalls += calls.b;
+                }
+            }
+        } else if (parallel) {
+            population = new ArrayList<>();
+            AbstractGameState start = root;
+            List<AbstractAction> startActions = rootActions;
+            for (int from = 0; from < params.populationSize && (from == 0 || budgetLeft(timer)); from += params.threads) {
+                RHEAIndividual[] individuals = new RHEAIndividual[Math.min(params.threads, params.populationSize - from)];
+                workers.run(individuals.length, (worker, i) -> individuals[i] = new RHEAIndividual(params.horizon,
+                        params.discountFactor, worker.fm, start, startActions, getPlayerID(), worker.rnd, params.heuristic,
+                        worker.rolloutPolicy, params.closedLoop));
+                for (RHEAIndividual individual : individuals) {
+                    population.add(individual);
+                    fmCalls += individual.length;
+                    copyCalls += individual.length;
+                }
             }
         } else {
             population = new ArrayList<>();
             for (int i = 0; i < params.populationSize; ++i) {
                 if (!budgetLeft(timer)) break;
-                population.add(new RHEAIndividual(params.horizon, params.discountFactor, getForwardModel(), stateObs,
-                        getPlayerID(), rnd, params.heuristic, params.useMAST ? mastPlayer : randomPlayer));
+                population.add(new RHEAIndividual(params.horizon, params.discountFactor, getForwardModel(), root,
+                        rootActions, getPlayerID(), rnd, params.heuristic, params.useMAST ? mastPlayer : randomPlayer, params.closedLoop));
                 fmCalls += population.get(i).length;
                 copyCalls += population.get(i).length;
             }
@@ -105,6 +163,61 @@ public class RHEAPlayer extends AbstractPlayer {
         return retValue;
     }
 
+    private void shiftLeft(RHEAIndividual genome, AbstractGameState root, List<AbstractAction> rootActions,
+                           AbstractGameState stateObs) {
+        // we shift all actions along, and then rollout with repair
+        System.arraycopy(genome.actions, 1, genome.actions, 0, genome.actions.length - 1);
+        if (getParameters().closedLoop)
+            genome.setRootState(root, rootActions);
+        else
+            genome.gameStates[0] = stateObs.copy();
+    }
+
+    /**
+     * Gives each thread its own copy of the forward model, random generator and rollout policy. The generators are
+     * split from ours, so that the results are reproducible.
+     */
+    private void setUpWorkers(RHEAParams params) {
+        if (workers == null || workers.size() != params.threads) {
+            List<Worker> contexts = new ArrayList<>();
+            for (int i = 0; i < params.threads; i++)
+                contexts.add(new Worker(getForwardModel().copy(), SplitMixRandom.split(rnd)));
+            workers = new WorkerPool<>(contexts);
+        }
+        for (int i = 0; i < workers.size(); i++) {
+            Worker worker = workers.getWorker(i);
+            if (params.useMAST) {
+                // the statistics are only read during evaluation, and updated afterwards by this thread
+                MASTPlayer policy = new MASTPlayer(null, 1.0, 0.0, worker.rnd.nextLong(), 0.0);
+                policy.setStats(MASTStatistics);
+                worker.rolloutPolicy = policy;
+            } else if (!(worker.rolloutPolicy instanceof RandomPlayer)) {
+                worker.rolloutPolicy = new RandomPlayer(worker.rnd);
+            }
+        }
+    }
+
+    /**
+     * Applies evaluation (a mutation or rollout) to each individual on the worker threads, and adds the calls to
+     * the forward model and copies they report to our budget.
+     */
+    private void evaluateInParallel(List<RHEAIndividual> individuals,
+                                    BiFunction<RHEAIndividual, Worker, Pair<Integer, Integer>> evaluation) {
+        int[] fmCallsPerIndividual = new int[individuals.size()];
+        int[] copyCallsPerIndividual = new int[individuals.size()];
+        workers.run(individuals.size(), (worker, i) -> {
+            RHEAIndividual individual = individuals.get(i);
+            individual.setEvaluator(worker.rnd, worker.rolloutPolicy);
+            Pair<Integer, Integer> calls = evaluation.apply(individual, worker);
+            fmCallsPerIndividual[i] = calls.a;
+            copyCallsPerIndividual[i] = calls.b;
+        });
+        for (int i = 0; i < individuals.size(); i++) {
+            fmCalls += fmCallsPerIndividual[i];
+            copyCalls += copyCallsPerIndividual[i];
+        }
+    }
+
     private boolean budgetLeft(ElapsedCpuTimer timer) {
         RHEAParams params = getParameters();
         if (params.budgetType == PlayerConstants.BUDGET_TIME) {
@@ -148,12 +261,12 @@ public class RHEAPlayer extends AbstractPlayer {
 
     private RHEAIndividual uniformCrossover(RHEAIndividual p1, RHEAIndividual p2) {
         RHEAIndividual child = new RHEAIndividual(p1);
-        copyCalls += child.length;
+        if (!getParameters().closedLoop)
+            copyCalls += child.length;
         int min = Math.min(p1.length, p2.length);
         for (int i = 0; i < min; ++i) {
             if (rnd.nextFloat() >= 0.5f) {
-                child.actions[i] = p2.actions[i];
-                child.gameStates[i] = p2.gameStates[i]; //.copy();
+                crossGene(child, i, p2, i);
             }
         }
         return child;
@@ -161,29 +274,39 @@ public class RHEAPlayer extends AbstractPlayer {
 
     private RHEAIndividual onePointCrossover(RHEAIndividual p1, RHEAIndividual p2) {
         RHEAIndividual child = new RHEAIndividual(p1);
-        copyCalls += child.length;
+        if (!getParameters().closedLoop)
+            copyCalls += child.length;
         int tailLength = Math.min(p1.length, p2.length) / 2;
 
         for (int i = 0; i < tailLength; ++i) {
-            child.actions[child.length - 1 - i] = p2.actions[p2.length - 1 - i];
-            child.gameStates[child.length - 1 - i] = p2.gameStates[p2.length - 1 - i]; //.copy();
+            crossGene(child, child.length - 1 - i, p2, p2.length - 1 - i);
         }
         return child;
     }
 
     private RHEAIndividual twoPointCrossover(RHEAIndividual p1, RHEAIndividual p2) {
         RHEAIndividual child = new RHEAIndividual(p1);
-        copyCalls += child.length;
+        if (!getParameters().closedLoop)
+            copyCalls += child.length;
         int tailLength = Math.min(p1.length, p2.length) / 3;
         for (int i = 0; i < tailLength; ++i) {
-            child.actions[i] = p2.actions[i];
-            child.gameStates[i] = p2.gameStates[i]; //.copy();
-            child.actions[child.length - 1 - i] = p2.actions[p2.length - 1 - i];
-            child.gameStates[child.length - 1 - i] = p2.gameStates[p2.length - 1 - i]; //.copy();
+            crossGene(child, i, p2, i);
+            crossGene(child, child.length - 1 - i, p2, p2.length - 1 - i);
         }
         return child;
     }
 
+    private void crossGene(RHEAIndividual child, int index, RHEAIndividual parent, int parentIndex) {
+        if (getParameters().closedLoop) {
+            // the child keeps the game states of its first parent, which are valid up to the first changed gene
+            child.setAction(index, parent.actions[parentIndex]);
+        } else {
+            child.actions[index] = parent.actions[parentIndex];
+            child.gameStates[index] = parent.gameStates[parentIndex]; //.copy();
+            child.stateScores[index] = parent.stateScores[parentIndex];
+        }
+    }
+
     RHEAIndividual[] selectParents() {
         RHEAIndividual[] parents = new RHEAIndividual[2];
 
@@ -247,14 +370,25 @@ public class RHEAPlayer extends AbstractPlayer {
             population.add(child);
         }
 
-        for (RHEAIndividual individual : population) {
-            Pair<Integer, Integer> calls = individual.mutate(getForwardModel(), getPlayerID(), params.mutationCount);
-            fmCalls += calls.a;
-            copyCalls += calls.b;
-            repairCount += individual.repairCount;
-            nonRepairCount += individual.nonRepairCount;
-            if (params.useMAST)
-                MASTBackup(individual.actions, individual.value, getPlayerID());
+        if (params.threads > 1) {
+            evaluateInParallel(population, (individual, worker) -> individual.mutate(worker.fm, getPlayerID(), params.mutationCount));
+            // the MAST statistics are then updated here, in the same order as when not parallel
+            for (RHEAIndividual individual : population) {
+                repairCount += individual.repairCount;
+                nonRepairCount += individual.nonRepairCount;
+                if (params.useMAST)
+                    MASTBackup(individual.actions, individual.value, getPlayerID());
+            }
+        } else {
+            for (RHEAIndividual individual : population) {
+                Pair<Integer, Integer> calls = individual.mutate(getForwardModel(), getPlayerID(), params.mutationCount);
+                fmCalls += calls.a;
+                copyCalls += calls.b;
+                repairCount += individual.repairCount;
+                nonRepairCount += individual.nonRepairCount;
+                if (params.useMAST)
+                    MASTBackup(individual.actions, individual.value, getPlayerID());
+            }
         }
 
         //sort
@@ -48,6 +48,14 @@ public class Individual implements Comparable {
         heuristic = I.heuristic;
     }
 
+    /**
+     * Sets the random generator used when mutating the individual. This cannot be used by two threads at once, so
+     * each thread of a parallel search sets its own before it mutates.
+     */
+    void setRandom(Random gen) {
+        this.gen = gen;
+    }
+
     /**
      * Mutates this individual, by picking an index and changing all genes from that point on.
      * Updates the length of the individual in case the rollout hits game end.
@@ -106,6 +114,7 @@ public class Individual implements Comparable {
             if (gs.isNotTerminal()) {
                 // Copy the game state
                 AbstractGameState gsCopy = gs.copy();
+                gsCopy.setRnd(gen);  // so that random events also use our generator
                 List<AbstractAction> currentActions = fm.computeAvailableActions(gsCopy);
                 AbstractAction action = null;
                 if (currentActions.size() > 0) {
@@ -10,11 +10,13 @@ public class RMHCParams extends PlayerParameters {
     public int horizon = 10;
     public double discountFactor = 0.9;
     public IStateHeuristic heuristic = AbstractGameState::getHeuristicScore;
+    public int threads = 1;  // If more than one, each iteration tries one mutation on each of this many threads
 
     public RMHCParams() {
         addTunableParameter("horizon", 10, Arrays.asList(1, 3, 5, 10, 20, 30));
         addTunableParameter("discountFactor", 0.9, Arrays.asList(0.5, 0.8, 0.9, 0.95, 0.99, 0.999, 1.0));
         addTunableParameter("heuristic", (IStateHeuristic) AbstractGameState::getHeuristicScore);
+        addTunableParameter("threads", 1);
     }
 
     @Override
@@ -23,6 +25,7 @@ public class RMHCParams extends PlayerParameters {
         horizon = (int) getParameterValue("horizon");
         discountFactor = (double) getParameterValue("discountFactor");
         heuristic = (IStateHeuristic) getParameterValue("heuristic");
+        threads = (int) getParameterValue("threads");
     }
 
     @Override
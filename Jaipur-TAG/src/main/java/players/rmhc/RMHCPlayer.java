@@ -1,10 +1,13 @@
 package players.rmhc;
 
+import core.AbstractForwardModel;
 import core.AbstractGameState;
 import core.AbstractPlayer;
 import core.actions.AbstractAction;
 import players.PlayerConstants;
+import players.WorkerPool;
 import utilities.ElapsedCpuTimer;
+import utilities.SplitMixRandom;
 
 import java.util.*;
 
@@ -16,6 +19,20 @@ public class RMHCPlayer extends AbstractPlayer {
     private int numIters = 0;
     private int fmCalls = 0;
     private int copyCalls = 0;
+    private WorkerPool<Worker> workers;  // Only used when params.threads > 1
+
+    /**
+     * What each thread mutating individuals needs of its own.
+     */
+    private static class Worker {
+        final AbstractForwardModel fm;
+        final Random rnd;
+
+        Worker(AbstractForwardModel fm, Random rnd) {
+            this.fm = fm;
+            this.rnd = rnd;
+        }
+    }
 
     public RMHCPlayer() {
         this(new RMHCParams());
@@ -30,15 +47,28 @@ public class RMHCPlayer extends AbstractPlayer {
         return (RMHCParams) parameters;
     }
 
+    @Override
+    public void initializePlayer(AbstractGameState state) {
+        workers = null;  // as they have copies of the forward model, which may have changed
+    }
+
     @Override
     public AbstractAction _getAction(AbstractGameState stateObs, List<AbstractAction> possibleActions) {
-        ElapsedCpuTimer timer = new ElapsedCpuTimer();  // New timer for this game tick
+        RMHCParams params = getParameters();
+        // The work is done on other threads when parallel, so the CPU time of this one does not measure it
+        ElapsedCpuTimer timer = new ElapsedCpuTimer(params.threads > 1);  // New timer for this game tick
         avgTimeTaken = 0;
         acumTimeTaken = 0;
         numIters = 0;
         fmCalls = 0;
         copyCalls = 0;
-        RMHCParams params = getParameters();
+        if (params.threads > 1 && (workers == null || workers.size() != params.threads)) {
+            // the generators are split from ours, so that the results are reproducible
+            List<Worker> contexts = new ArrayList<>();
+            for (int i = 0; i < params.threads; i++)
+                contexts.add(new Worker(getForwardModel().copy(), SplitMixRandom.split(rnd)));
+            workers = new WorkerPool<>(contexts);
+        }
 
         // Initialise individual
         bestIndividual = new Individual(params.horizon, params.discountFactor, getForwardModel(), stateObs, getPlayerID(), rnd, params.getHeuristic());
@@ -83,18 +113,38 @@ public class RMHCPlayer extends AbstractPlayer {
      * @param stateObs - current game state
      */
     private void runIteration(AbstractGameState stateObs) {
-        ElapsedCpuTimer elapsedTimerIteration = new ElapsedCpuTimer();
-
-        // Create new individual through mutation
-        Individual newIndividual = new Individual(bestIndividual);
-        copyCalls += newIndividual.length;
-        int statesUpdated = newIndividual.mutate(getForwardModel(), getPlayerID());
-        fmCalls += statesUpdated;
-        copyCalls += statesUpdated; // as mutate() copyies once each time it applies the forward model
-
-        // Keep new individual if better than current
-        if (newIndividual.value > bestIndividual.value)
-            bestIndividual = newIndividual;
+        boolean parallel = getParameters().threads > 1;
+        ElapsedCpuTimer elapsedTimerIteration = new ElapsedCpuTimer(parallel);
+
+        if (parallel) {
+            // Each thread mutates its own copy of the current individual, and the best of these is kept if better
+            Individual parent = bestIndividual;
+            Individual[] newIndividuals = new Individual[workers.size()];
+            int[] statesUpdated = new int[workers.size()];
+            workers.run(newIndividuals.length, (worker, i) -> {
+                Individual newIndividual = new Individual(parent);
+                newIndividual.setRandom(worker.rnd);
+                statesUpdated[i] = newIndividual.mutate(worker.fm, getPlayerID());
+                newIndividuals[i] = newIndividual;
+            });
+            for (int i = 0; i < newIndividuals.length; i++) {
+                copyCalls += parent.length + statesUpdated[i];
+                fmCalls += statesUpdated[i];
+                if (newIndividuals[i].value > bestIndividual.value)
+                    bestIndividual = newIndividuals[i];
+            }
+        } else {
+            // Create new individual through mutation
+            Individual newIndividual = new Individual(bestIndividual);
+            copyCalls += newIndividual.length;
+            int statesUpdated = newIndividual.mutate(getForwardModel(), getPlayerID());
+            fmCalls += statesUpdated;
+            copyCalls += statesUpdated; // as mutate() copyies once each time it applies the forward model
+
+            // Keep new individual if better than current
+            if (newIndividual.value > bestIndividual.value)
+                bestIndividual = newIndividual;
+        }
 
         // Update budgets
         numIters++;
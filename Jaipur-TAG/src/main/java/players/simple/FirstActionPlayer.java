@@ -3,10 +3,11 @@ package players.simple;
 import core.AbstractGameState;
 import core.AbstractPlayer;
 import core.actions.AbstractAction;
+import core.interfaces.ITrustedPlayer;
 
 import java.util.List;
 
-public class FirstActionPlayer extends AbstractPlayer{
+public class FirstActionPlayer extends AbstractPlayer implements ITrustedPlayer {
     public FirstActionPlayer() {
         super(null, "FirstActionPlayer");
     }
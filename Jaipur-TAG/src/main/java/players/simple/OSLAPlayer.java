@@ -7,6 +7,7 @@ import core.AbstractPlayer;
 import core.actions.AbstractAction;
 import core.interfaces.IStateHeuristic;
 import core.turnorders.StandardTurnOrder;
+import utilities.SplitMixRandom;
 
 import java.util.List;
 import java.util.Random;
@@ -24,11 +25,11 @@ public class OSLAPlayer extends AbstractPlayer {
     }
 
     public OSLAPlayer() {
-        this(new Random());
+        this(new SplitMixRandom());
     }
 
     public OSLAPlayer(IStateHeuristic heuristic) {
-        this(heuristic, new Random());
+        this(heuristic, new SplitMixRandom());
     }
 
     public OSLAPlayer(IStateHeuristic heuristic, Random random) {
@@ -73,7 +74,7 @@ public class OSLAPlayer extends AbstractPlayer {
 
     @Override
     public OSLAPlayer copy() {
-        OSLAPlayer retValue = new OSLAPlayer(heuristic, new Random(rnd.nextInt()));
+        OSLAPlayer retValue = new OSLAPlayer(heuristic, SplitMixRandom.split(rnd));
         retValue.setForwardModel(getForwardModel().copy());
         return retValue;
     }
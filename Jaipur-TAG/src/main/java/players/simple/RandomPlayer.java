@@ -3,11 +3,13 @@ package players.simple;
 import core.AbstractGameState;
 import core.AbstractPlayer;
 import core.actions.AbstractAction;
+import core.interfaces.ITrustedPlayer;
+import utilities.SplitMixRandom;
 
 import java.util.List;
 import java.util.Random;
 
-public class RandomPlayer extends AbstractPlayer {
+public class RandomPlayer extends AbstractPlayer implements ITrustedPlayer {
 
     /**
      * Random generator for this agent.
@@ -19,7 +21,7 @@ public class RandomPlayer extends AbstractPlayer {
 
     public RandomPlayer()
     {
-        this(new Random());
+        this(new SplitMixRandom());
     }
 
     @Override
@@ -35,6 +37,6 @@ public class RandomPlayer extends AbstractPlayer {
 
     @Override
     public RandomPlayer copy() {
-        return new RandomPlayer(new Random(rnd.nextInt()));
+        return new RandomPlayer(SplitMixRandom.split(rnd));
     }
 }
@@ -0,0 +1,158 @@
+package players.solver;
+
+import core.AbstractForwardModel;
+import core.AbstractGameState;
+import core.CoreConstants;
+import core.actions.AbstractAction;
+import evaluation.optimisation.TunableParameters;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+import static players.solver.SolverTable.*;
+
+/**
+ * Exact solver for small, deterministic, two-player, zero-sum games with perfect information (such as TicTacToe
+ * and Connect4 on small boards). Uses negamax with alpha-beta pruning over the forward model, and a transposition
+ * table of solved positions that can be saved to disk and reused by later runs.
+ * <p>
+ * Values are from the point of view of the player to move: 1 for a forced win, 0 for a draw and -1 for a loss.
+ * The turn does not need to alternate after every action.
+ */
+public class GameSolver {
+
+    final ISolverKey key;
+    final SolverTable table;
+    long nodesSearched;
+
+    public GameSolver(ISolverKey key) {
+        this(key, new SolverTable());
+    }
+
+    public GameSolver(ISolverKey key, SolverTable table) {
+        this.key = key;
+        this.table = table;
+    }
+
+    /**
+     * Creates a solver that starts from the values saved in the given file.
+     */
+    public GameSolver(ISolverKey key, String tableFile) {
+        this(key, SolverTable.load(tableFile));
+    }
+
+    public SolverTable getTable() {
+        return table;
+    }
+
+    public void save(String tableFile) {
+        table.save(tableFile);
+    }
+
+    /**
+     * @return - number of positions expanded by the search so far (positions found in the table are not counted).
+     */
+    public long getNodesSearched() {
+        return nodesSearched;
+    }
+
+    /**
+     * @return - exact value of the state for the given player: 1 for a win, 0 for a draw and -1 for a loss.
+     */
+    public int solve(AbstractGameState state, AbstractForwardModel fm, int playerId) {
+        if (!state.isNotTerminal())
+            return terminalValue(state, playerId);
+        checkState(state);
+        int v = negamax(state, fm, -1, 1);
+        return state.getCurrentPlayer() == playerId ? v : -v;
+    }
+
+    /**
+     * @return - all the actions (from those given) that keep the best value the player to move can achieve.
+     */
+    public List<AbstractAction> bestActions(AbstractGameState state, AbstractForwardModel fm, List<AbstractAction> actions) {
+        checkState(state);
+        int player = state.getCurrentPlayer();
+        int best = -2;
+        List<AbstractAction> bestActions = new ArrayList<>();
+        for (AbstractAction action : actions) {
+            AbstractGameState next = state.copy();
+            fm.next(next, action.copy());
+            int v = solve(next, fm, player);
+            if (v > best) {
+                best = v;
+                bestActions.clear();
+            }
+            if (v == best)
+                bestActions.add(action);
+        }
+        return bestActions;
+    }
+
+    private void checkState(AbstractGameState state) {
+        if (state.getNPlayers() != 2)
+            throw new IllegalArgumentException("GameSolver is only for two player games");
+        table.checkId(tableId(state));
+    }
+
+    /**
+     * @return - identifier of the game and the rules used, to make sure saved values are not used for other rules.
+     */
+    static String tableId(AbstractGameState state) {
+        String id = state.getGameType().name();
+        if (state.getGameParameters() instanceof TunableParameters)
+            id += new TreeMap<>(((TunableParameters) state.getGameParameters()).getParameterValues());
+        return id;
+    }
+
+    private static int terminalValue(AbstractGameState state, int playerId) {
+        CoreConstants.GameResult result = state.getPlayerResults()[playerId];
+        if (result == CoreConstants.GameResult.WIN_GAME) return 1;
+        if (result == CoreConstants.GameResult.LOSE_GAME) return -1;
+        return 0;
+    }
+
+    /**
+     * @return - value of the (non-terminal) state for the player to move, searched with the window (alpha, beta).
+     * This is exact if it falls strictly inside the window, otherwise it is only a bound.
+     */
+    private int negamax(AbstractGameState state, AbstractForwardModel fm, int alpha, int beta) {
+        long k = key.getKey(state);
+        int entry = table.get(k);
+        if (entry != 0) {
+            int v = value(entry);
+            int bound = bound(entry);
+            if (bound == EXACT) return v;
+            if (bound == LOWER) alpha = Math.max(alpha, v);
+            else beta = Math.min(beta, v);
+            if (alpha >= beta) return v;
+        }
+        nodesSearched++;
+
+        int alphaOrig = alpha;
+        int player = state.getCurrentPlayer();
+        int best = -2;
+        for (AbstractAction action : fm.computeAvailableActions(state)) {
+            AbstractGameState next = state.copy();
+            fm.next(next, action);
+            int v;
+            if (!next.isNotTerminal())
+                v = terminalValue(next, player);
+            else if (next.getCurrentPlayer() == player)
+                v = negamax(next, fm, alpha, beta);
+            else
+                v = -negamax(next, fm, -beta, -alpha);
+            if (v > best) {
+                best = v;
+                if (best > alpha) alpha = best;
+                if (alpha >= beta) break;
+            }
+        }
+
+        if (best == -2)
+            throw new AssertionError("No actions available in non-terminal state");
+        table.put(k, best, best <= alphaOrig ? UPPER : best >= beta ? LOWER : EXACT);
+        return best;
+    }
+}
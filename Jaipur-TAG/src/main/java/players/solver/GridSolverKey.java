@@ -0,0 +1,51 @@
+package players.solver;
+
+import core.AbstractGameState;
+import core.components.GridBoard;
+import core.components.Token;
+import core.interfaces.IGridGameState;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Key for games played by placing player tokens on a grid (TicTacToe, Connect4). Each cell is encoded as a base-3
+ * digit (empty, or one of the two player tokens), followed by the player to move. Boards of up to 39 cells fit in
+ * the key.
+ */
+public class GridSolverKey implements ISolverKey {
+
+    public static final int MAX_CELLS = 39;
+
+    final List<String> playerTokens;
+
+    /**
+     * Key using the "x" and "o" tokens of TicTacToeConstants and Connect4Constants.
+     */
+    public GridSolverKey() {
+        this("x", "o");
+    }
+
+    public GridSolverKey(String... playerTokens) {
+        if (playerTokens.length != 2)
+            throw new IllegalArgumentException("GridSolverKey is only for two player games");
+        this.playerTokens = Arrays.asList(playerTokens);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public long getKey(AbstractGameState state) {
+        GridBoard<Token> grid = ((IGridGameState<Token>) state).getGridBoard();
+        if (grid.getWidth() * grid.getHeight() > MAX_CELLS)
+            throw new IllegalArgumentException("Grid of " + grid.getWidth() + "x" + grid.getHeight() +
+                    " is too large for GridSolverKey (max " + MAX_CELLS + " cells)");
+        long key = 0;
+        for (int y = 0; y < grid.getHeight(); y++) {
+            for (int x = 0; x < grid.getWidth(); x++) {
+                Token t = grid.getElement(x, y);
+                key = key * 3 + (t == null ? 0 : playerTokens.indexOf(t.getTokenType()) + 1);
+            }
+        }
+        return key * 2 + state.getCurrentPlayer();
+    }
+}
@@ -0,0 +1,13 @@
+package players.solver;
+
+import core.AbstractGameState;
+
+/**
+ * Compact key for positions stored in a SolverTable. Two states with the same key must have the same game-theoretic
+ * value for the player to move, so the key needs to identify the position exactly (including the player to move, if
+ * it is not implied by the position).
+ */
+public interface ISolverKey {
+
+    long getKey(AbstractGameState state);
+}
@@ -0,0 +1,44 @@
+package players.solver;
+
+import core.AbstractForwardModel;
+import core.AbstractGameState;
+import core.interfaces.IStateHeuristic;
+
+/**
+ * Heuristic giving the exact value of a state from a GameSolver: 1 if the player can force a win, 0 for a draw and
+ * -1 for a loss. Used as the leaf evaluation of a search this gives perfect values, for the small games the solver
+ * can handle.
+ * The forward model used by the solver is created from the game type of the first state evaluated.
+ */
+public class SolverHeuristic implements IStateHeuristic {
+
+    final GameSolver solver;
+    AbstractForwardModel forwardModel;
+
+    public SolverHeuristic() {
+        this(new GameSolver(new GridSolverKey()));
+    }
+
+    /**
+     * @param tableFile - file with values saved by a previous solver, for grid games using GridSolverKey.
+     */
+    public SolverHeuristic(String tableFile) {
+        this(new GameSolver(new GridSolverKey(), tableFile));
+    }
+
+    public SolverHeuristic(GameSolver solver) {
+        this.solver = solver;
+    }
+
+    public GameSolver getSolver() {
+        return solver;
+    }
+
+    @Override
+    public double evaluateState(AbstractGameState gs, int playerId) {
+        if (forwardModel == null) {
+            forwardModel = gs.getGameType().createForwardModel(gs.getGameParameters(), gs.getNPlayers());
+        }
+        return solver.solve(gs, forwardModel, playerId);
+    }
+}
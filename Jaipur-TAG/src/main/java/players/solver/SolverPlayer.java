@@ -0,0 +1,65 @@
+package players.solver;
+
+import core.AbstractGameState;
+import core.AbstractPlayer;
+import core.actions.AbstractAction;
+import utilities.SplitMixRandom;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Player that always takes an optimal action, as found by a GameSolver. Among equally good actions it takes one that
+ * ends the game immediately if there is one (so it does not delay a won game), otherwise one at random.
+ * Only for the small games the solver can handle.
+ */
+public class SolverPlayer extends AbstractPlayer {
+
+    final GameSolver solver;
+
+    public SolverPlayer() {
+        this(new GameSolver(new GridSolverKey()));
+    }
+
+    /**
+     * @param tableFile - file with values saved by a previous solver, for grid games using GridSolverKey.
+     */
+    public SolverPlayer(String tableFile) {
+        this(new GameSolver(new GridSolverKey(), tableFile));
+    }
+
+    public SolverPlayer(GameSolver solver) {
+        this(solver, new SplitMixRandom());
+    }
+
+    public SolverPlayer(GameSolver solver, Random random) {
+        super(null, "Solver");
+        this.solver = solver;
+        this.rnd = random;
+    }
+
+    public GameSolver getSolver() {
+        return solver;
+    }
+
+    @Override
+    public AbstractAction _getAction(AbstractGameState gameState, List<AbstractAction> possibleActions) {
+        List<AbstractAction> best = solver.bestActions(gameState, getForwardModel(), possibleActions);
+        for (AbstractAction action : best) {
+            AbstractGameState next = gameState.copy();
+            getForwardModel().next(next, action.copy());
+            if (!next.isNotTerminal())
+                return action;
+        }
+        return best.get(rnd.nextInt(best.size()));
+    }
+
+    @Override
+    public SolverPlayer copy() {
+        // The solved values are shared, they are the same for every copy
+        SolverPlayer retValue = new SolverPlayer(solver, SplitMixRandom.split(rnd));
+        if (getForwardModel() != null)
+            retValue.setForwardModel(getForwardModel().copy());
+        return retValue;
+    }
+}
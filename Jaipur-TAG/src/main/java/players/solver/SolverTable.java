@@ -0,0 +1,152 @@
+package players.solver;
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Transposition table for GameSolver, mapping position keys to a value (-1 loss, 0 draw, 1 win for the player to
+ * move) and whether that value is exact, or only a lower or upper bound. Open addressing on primitive arrays, with
+ * each entry packed into a single byte.
+ * <p>
+ * Tables can be saved to and loaded from disk. The file is gzipped, and holds an identifier of the game (and rules)
+ * the values were solved for, followed by the entries sorted by key.
+ */
+public class SolverTable {
+
+    public static final int EXACT = 1, LOWER = 2, UPPER = 3;
+    private static final int FILE_VERSION = 1;
+
+    private long[] keys;
+    private byte[] entries;  // 0 for an empty slot, otherwise (bound << 2) | (value + 1)
+    private int size;
+    private String id;
+
+    public SolverTable() {
+        this(1 << 12);
+    }
+
+    public SolverTable(int initialCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(16, initialCapacity) - 1) << 1;
+        keys = new long[capacity];
+        entries = new byte[capacity];
+    }
+
+    /**
+     * @return - the identifier of the game the values in this table are for, or null if nothing has been solved yet.
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Checks that the table is used for a single game. The first id set is kept, and any later different one is
+     * rejected, so that values solved for one set of rules are never used for another.
+     */
+    public void checkId(String id) {
+        if (this.id == null)
+            this.id = id;
+        else if (!this.id.equals(id))
+            throw new IllegalArgumentException("Solver table is for " + this.id + ", not " + id);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        int mask = keys.length - 1;
+        int i = (int) (h ^ (h >>> 32)) & mask;
+        while (entries[i] != 0 && keys[i] != key)
+            i = (i + 1) & mask;
+        return i;
+    }
+
+    /**
+     * @return - the packed entry for the key, or 0 if the position is not in the table.
+     */
+    public int get(long key) {
+        return entries[slot(key)];
+    }
+
+    public void put(long key, int value, int bound) {
+        int i = slot(key);
+        if (entries[i] == 0) {
+            if (2 * (size + 1) > keys.length) {
+                resize();
+                i = slot(key);
+            }
+            keys[i] = key;
+            size++;
+        }
+        entries[i] = (byte) ((bound << 2) | (value + 1));
+    }
+
+    public static int value(int entry) {
+        return (entry & 3) - 1;
+    }
+
+    public static int bound(int entry) {
+        return entry >> 2;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        byte[] oldEntries = entries;
+        keys = new long[oldKeys.length * 2];
+        entries = new byte[oldEntries.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldEntries[i] != 0) {
+                int j = slot(oldKeys[i]);
+                keys[j] = oldKeys[i];
+                entries[j] = oldEntries[i];
+            }
+        }
+    }
+
+    public void save(String filename) {
+        long[] sorted = new long[size];
+        int n = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (entries[i] != 0) sorted[n++] = keys[i];
+        }
+        Arrays.sort(sorted);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new GZIPOutputStream(new FileOutputStream(filename))))) {
+            out.writeInt(FILE_VERSION);
+            out.writeUTF(id == null ? "" : id);
+            out.writeInt(size);
+            for (long key : sorted) {
+                out.writeLong(key);
+                out.writeByte(get(key));
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new AssertionError("Error writing solver table to : " + filename);
+        }
+    }
+
+    public static SolverTable load(String filename) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(new FileInputStream(filename))))) {
+            int version = in.readInt();
+            if (version != FILE_VERSION)
+                throw new AssertionError("Unknown solver table version " + version + " in : " + filename);
+            String id = in.readUTF();
+            int size = in.readInt();
+            SolverTable table = new SolverTable(2 * size);
+            table.id = id.isEmpty() ? null : id;
+            for (int i = 0; i < size; i++) {
+                long key = in.readLong();
+                int entry = in.readByte();
+                table.put(key, value(entry), bound(entry));
+            }
+            return table;
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new AssertionError("Error reading solver table from : " + filename);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package utilities;
+
+import java.util.Arrays;
+
+/**
+ * Public knowledge about the hidden cards in each player's hand, kept as the set of card types (a bitmask over type
+ * indices, so at most 64 types) that each player's hidden cards may still be. It starts with every type possible,
+ * and the game narrows it down as public actions reveal information (e.g. a wrong guess shows a player does not hold
+ * the guessed card), so that determinisations can be sampled consistently with it (see
+ * DeterminisationUtilities.dealConsistent()).
+ *
+ * The belief is kept in the game state and copied with it, so it stays valid in the states of a search.
+ * It applies to all hidden cards of a player's hand alike; the game resets it when the hand changes in a way that
+ * makes the knowledge no longer hold for every card in it.
+ */
+public class CardBelief {
+
+    private final long allTypes;
+    private final long[] possibleTypes;
+
+    /**
+     * @param nPlayers - number of players (hands) to keep track of.
+     * @param nTypes   - number of card types; at most 64.
+     */
+    public CardBelief(int nPlayers, int nTypes) {
+        if (nTypes > Long.SIZE)
+            throw new IllegalArgumentException("CardBelief supports at most " + Long.SIZE + " card types");
+        allTypes = nTypes == Long.SIZE ? -1L : (1L << nTypes) - 1;
+        possibleTypes = new long[nPlayers];
+        Arrays.fill(possibleTypes, allTypes);
+    }
+
+    private CardBelief(CardBelief other) {
+        allTypes = other.allTypes;
+        possibleTypes = other.possibleTypes.clone();
+    }
+
+    public CardBelief copy() {
+        return new CardBelief(this);
+    }
+
+    /**
+     * Sets this belief to be the same as the given one (with the same number of players and types).
+     */
+    public void copyFrom(CardBelief other) {
+        System.arraycopy(other.possibleTypes, 0, possibleTypes, 0, possibleTypes.length);
+    }
+
+    /**
+     * @return - bitmask of the card types the hidden cards of the player may be.
+     */
+    public long getPossibleTypes(int player) {
+        return possibleTypes[player];
+    }
+
+    public boolean isPossible(int player, int type) {
+        return (possibleTypes[player] & (1L << type)) != 0;
+    }
+
+    /**
+     * @return - number of card types the hidden cards of the player may be.
+     */
+    public int countPossibleTypes(int player) {
+        return Long.bitCount(possibleTypes[player]);
+    }
+
+    /**
+     * Records that the hidden cards of the player are not of the given type.
+     */
+    public void exclude(int player, int type) {
+        possibleTypes[player] &= ~(1L << type);
+    }
+
+    /**
+     * Records that the hidden cards of the player are of one of the given types.
+     */
+    public void restrict(int player, long types) {
+        possibleTypes[player] &= types;
+    }
+
+    /**
+     * Forgets everything known about the hand of the player.
+     */
+    public void reset(int player) {
+        possibleTypes[player] = allTypes;
+    }
+
+    public void resetAll() {
+        Arrays.fill(possibleTypes, allTypes);
+    }
+
+    /**
+     * Swaps the knowledge about the hands of two players, when they swap hands.
+     */
+    public void swap(int player1, int player2) {
+        long tmp = possibleTypes[player1];
+        possibleTypes[player1] = possibleTypes[player2];
+        possibleTypes[player2] = tmp;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CardBelief)) return false;
+        CardBelief that = (CardBelief) o;
+        return allTypes == that.allTypes && Arrays.equals(possibleTypes, that.possibleTypes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(possibleTypes);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("CardBelief[");
+        for (int p = 0; p < possibleTypes.length; p++) {
+            if (p > 0) sb.append(", ");
+            sb.append(Long.toBinaryString(possibleTypes[p]));
+        }
+        return sb.append("]").toString();
+    }
+}
@@ -5,14 +5,22 @@ import core.components.Component;
 import core.components.Deck;
 import core.components.PartialObservableDeck;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Random;
 import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 
 import static java.util.stream.Collectors.toList;
 
 public class DeterminisationUtilities {
 
+    // Number of full random deals tried by dealConsistent() before filling the slots one by one
+    private static final int MAX_REJECTIONS = 100;
+    // Number of slot by slot deals tried by dealConsistent() before giving up on the constraints
+    private static final int MAX_SEQUENTIAL_DEALS = 20;
+
     /**
      *  Reshuffles all cards across the list of decks that meet the lambda predicate, and are not visible to player.
      *
@@ -95,4 +103,95 @@ public class DeterminisationUtilities {
             }
         }
     }
+
+    /**
+     * Deals hidden cards into hidden slots (e.g. the unseen cards of other players' hands), consistently with what is
+     * known about the card in each slot (see CardBelief).
+     *
+     * This is done in situ: on return the first nSlots cards of the list are those dealt to the slots, in slot order,
+     * and the rest (e.g. for the draw pile) are in random order. Deals are first sampled by rejection, which is
+     * uniform over all deals consistent with the constraints; if none is found in MAX_REJECTIONS tries (e.g. if the
+     * constraints are tight), the slots are filled one by one, most constrained first, each with a random card
+     * allowed in it. If this fails too the constraints are ignored.
+     *
+     * @param cards        - all the hidden cards.
+     * @param allowedTypes - for each slot, bitmask of the card types (as given by typeOf) it may hold.
+     * @param nSlots       - number of slots to fill, at most the number of cards.
+     * @param typeOf       - index of the type of a card, in [0, 64).
+     * @param rnd          - random number generator to use.
+     * @return - true if the deal is consistent with the constraints, false if they had to be ignored.
+     */
+    public static <C> boolean dealConsistent(List<C> cards, long[] allowedTypes, int nSlots, ToIntFunction<C> typeOf, Random rnd) {
+        for (int attempt = 0; attempt < MAX_REJECTIONS; attempt++) {
+            if (dealRandomly(cards, allowedTypes, nSlots, typeOf, rnd)) {
+                shuffleRange(cards, nSlots, rnd);
+                return true;
+            }
+        }
+        for (int attempt = 0; attempt < MAX_SEQUENTIAL_DEALS; attempt++) {
+            if (dealSlotBySlot(cards, allowedTypes, nSlots, typeOf, rnd)) {
+                shuffleRange(cards, nSlots, rnd);
+                return true;
+            }
+        }
+        dealRandomly(cards, null, nSlots, typeOf, rnd);
+        shuffleRange(cards, nSlots, rnd);
+        return false;
+    }
+
+    /**
+     * Deals random cards to the slots (a partial shuffle), stopping at the first card not allowed in its slot.
+     * @return - true if all cards dealt were allowed (always, if allowedTypes is null).
+     */
+    private static <C> boolean dealRandomly(List<C> cards, long[] allowedTypes, int nSlots, ToIntFunction<C> typeOf, Random rnd) {
+        int n = cards.size();
+        for (int i = 0; i < nSlots; i++) {
+            Collections.swap(cards, i, i + rnd.nextInt(n - i));
+            if (allowedTypes != null && (allowedTypes[i] & (1L << typeOf.applyAsInt(cards.get(i)))) == 0)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Fills the slots one by one, most constrained first, each with a card chosen at random among those allowed in it.
+     * @return - false if a slot was left with no allowed card.
+     */
+    @SuppressWarnings("unchecked")
+    private static <C> boolean dealSlotBySlot(List<C> cards, long[] allowedTypes, int nSlots, ToIntFunction<C> typeOf, Random rnd) {
+        int n = cards.size();
+        Integer[] order = new Integer[nSlots];
+        for (int i = 0; i < nSlots; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Long.bitCount(allowedTypes[a]) - Long.bitCount(allowedTypes[b]));
+
+        // cards are dealt to the front of the list in processing order, and then put in slot order
+        for (int t = 0; t < nSlots; t++) {
+            long allowed = allowedTypes[order[t]];
+            int nAllowed = 0;
+            for (int i = t; i < n; i++) {
+                if ((allowed & (1L << typeOf.applyAsInt(cards.get(i)))) != 0) nAllowed++;
+            }
+            if (nAllowed == 0) return false;
+            int chosen = rnd.nextInt(nAllowed);
+            for (int i = t; i < n; i++) {
+                if ((allowed & (1L << typeOf.applyAsInt(cards.get(i)))) != 0 && chosen-- == 0) {
+                    Collections.swap(cards, t, i);
+                    break;
+                }
+            }
+        }
+        Object[] dealt = new Object[nSlots];
+        for (int t = 0; t < nSlots; t++) dealt[order[t]] = cards.get(t);
+        for (int i = 0; i < nSlots; i++) cards.set(i, (C) dealt[i]);
+        return true;
+    }
+
+    /**
+     * Shuffles the cards from the given index to the end of the list.
+     */
+    private static <C> void shuffleRange(List<C> cards, int from, Random rnd) {
+        for (int i = cards.size() - 1; i > from; i--) {
+            Collections.swap(cards, i, from + rnd.nextInt(i - from + 1));
+        }
+    }
 }
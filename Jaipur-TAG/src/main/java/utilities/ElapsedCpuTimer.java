@@ -17,11 +17,21 @@ public class ElapsedCpuTimer {
     protected long oldTime;
     protected long maxTime;
     protected int nIters;
+    protected boolean wallClock;
 
     public ElapsedCpuTimer() {
         reset();
     }
 
+    /**
+     * @param wallClock - if true, measures elapsed time rather than the CPU time of the calling thread. This is
+     *                  needed when the work being timed is done on other threads.
+     */
+    public ElapsedCpuTimer(boolean wallClock) {
+        this.wallClock = wallClock;
+        reset();
+    }
+
     public void reset() {
         oldTime = getTime();
         nIters = 0;
@@ -90,6 +100,7 @@ public class ElapsedCpuTimer {
         newCpuTimer.oldTime = this.oldTime;
         newCpuTimer.bean = this.bean;
         newCpuTimer.nIters = this.nIters;
+        newCpuTimer.wallClock = this.wallClock;
         return newCpuTimer;
     }
 
@@ -106,7 +117,7 @@ public class ElapsedCpuTimer {
     }
 
     protected long getCpuTime() {
-        if(OS_WIN)
+        if(OS_WIN || wallClock)
             return System.nanoTime();
 
         if (bean.isCurrentThreadCpuTimeSupported()) {
@@ -1,34 +1,36 @@
 package utilities;
 
-import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Registry of property keys. Each key string is interned once and mapped to its integer hash, which is stable
+ * across runs (the String hash code). Safe to use from several threads at once.
+ */
 public class Hash
 {
-    private static Hash hash;
+    private static final Hash hash = new Hash();
 
-    private HashMap<String, Integer> hashmap;
+    private final Map<String, Integer> hashmap;
 
     public static Hash GetInstance()
     {
-        if(hash == null)
-            hash = new Hash();
         return hash;
     }
 
     private Hash()
     {
-        hashmap = new HashMap<>();
+        hashmap = new ConcurrentHashMap<>();
     }
 
 
     public int hash(String key)
     {
-        if(hashmap.containsKey(key))
-            return hashmap.get(key);
+        Integer value = hashmap.get(key);
+        if (value != null)
+            return value;
 
-        int newValue = key.hashCode();
-        hashmap.put(key, newValue);
-        return newValue;
+        return hashmap.computeIfAbsent(key.intern(), String::hashCode);
     }
 
 }
@@ -0,0 +1,136 @@
+package core;
+
+import core.actions.AbstractAction;
+import core.actions.ActionSpace;
+import games.GameType;
+import games.tictactoe.TicTacToeForwardModel;
+import games.tictactoe.TicTacToeGameParameters;
+import games.tictactoe.TicTacToeGameState;
+import org.junit.Before;
+import org.junit.Test;
+import players.PlayerConstants;
+import players.mcts.MCTSEnums;
+import players.mcts.MCTSParams;
+import players.mcts.MCTSPlayer;
+import players.simple.RandomPlayer;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class ActionCacheTest {
+
+    static class CountingForwardModel extends TicTacToeForwardModel {
+        int calls;
+
+        @Override
+        protected List<AbstractAction> _computeAvailableActions(AbstractGameState gameState, ActionSpace actionSpace) {
+            calls++;
+            return super._computeAvailableActions(gameState, actionSpace);
+        }
+    }
+
+    CountingForwardModel forwardModel;
+    AbstractGameState state;
+
+    @Before
+    public void setup() {
+        forwardModel = new CountingForwardModel();
+        state = new TicTacToeGameState(new TicTacToeGameParameters(), 2);
+        state.getCoreGameParameters().cacheAvailableActions = true;
+        forwardModel.setup(state);
+    }
+
+    @Test
+    public void actionsAreReusedUntilTheStateChanges() {
+        List<AbstractAction> first = forwardModel.computeAvailableActions(state);
+        List<AbstractAction> second = forwardModel.computeAvailableActions(state);
+        assertEquals(1, forwardModel.calls);
+        assertEquals(first, second);
+        assertNotSame(first, second);
+
+        forwardModel.next(state, first.get(0));
+        List<AbstractAction> afterAction = forwardModel.computeAvailableActions(state);
+        assertEquals(2, forwardModel.calls);
+        assertEquals(first.size() - 1, afterAction.size());
+
+        state.markModified();
+        forwardModel.computeAvailableActions(state);
+        assertEquals(3, forwardModel.calls);
+    }
+
+    @Test
+    public void changingTheReturnedListDoesNotChangeTheCache() {
+        List<AbstractAction> first = forwardModel.computeAvailableActions(state);
+        List<AbstractAction> expected = new ArrayList<>(first);
+        first.clear();
+        assertEquals(expected, forwardModel.computeAvailableActions(state));
+    }
+
+    @Test
+    public void onlyFullCopiesShareTheCache() {
+        forwardModel.computeAvailableActions(state);
+        AbstractGameState copy = state.copy();
+        forwardModel.computeAvailableActions(copy);
+        assertEquals(1, forwardModel.calls);
+
+        // the copy moves on, but the original can still use the cache
+        forwardModel.next(copy, forwardModel.computeAvailableActions(copy).get(0));
+        forwardModel.computeAvailableActions(copy);
+        forwardModel.computeAvailableActions(state);
+        assertEquals(2, forwardModel.calls);
+
+        // a player's view may have different hidden information
+        forwardModel.computeAvailableActions(state.copy(0));
+        assertEquals(3, forwardModel.calls);
+    }
+
+    @Test
+    public void cachingIsOffByDefault() {
+        state.getCoreGameParameters().cacheAvailableActions = new CoreParameters().cacheAvailableActions;
+        forwardModel.computeAvailableActions(state);
+        forwardModel.computeAvailableActions(state);
+        assertEquals(2, forwardModel.calls);
+    }
+
+    private String play(GameType gameType, long seed, boolean cache) {
+        Game game = gameType.createGameInstance(3, seed);
+        game.getGameState().getCoreGameParameters().cacheAvailableActions = cache;
+        List<AbstractPlayer> players = new ArrayList<>();
+        for (int p = 0; p < 3; p++)
+            players.add(new RandomPlayer(new Random(seed + p)));
+        game.reset(players, seed);
+        game.run();
+        return String.join("\n", game.getGameState().getHistoryAsText());
+    }
+
+    @Test
+    public void cachingGivesTheSameGames() {
+        for (GameType gameType : new GameType[]{GameType.LoveLetter, GameType.Dominion, GameType.SushiGo, GameType.Diamant}) {
+            for (long seed = 1; seed <= 3; seed++)
+                assertEquals(play(gameType, seed, false), play(gameType, seed, true));
+        }
+    }
+
+    private int closedLoopSearchCalls(boolean cache) {
+        state.getCoreGameParameters().cacheAvailableActions = cache;
+        MCTSParams params = new MCTSParams();
+        params.information = MCTSEnums.Information.Closed_Loop;
+        params.discardStateAfterEachIteration = false;
+        params.budgetType = PlayerConstants.BUDGET_ITERATIONS;
+        params.budget = 200;
+        MCTSPlayer player = new MCTSPlayer(params);
+        player.setForwardModel(forwardModel);
+        forwardModel.calls = 0;
+        player._getAction(state, forwardModel.computeAvailableActions(state));
+        return forwardModel.calls;
+    }
+
+    @Test
+    public void closedLoopSearchReusesTheActionsOfTheRoot() {
+        int uncached = closedLoopSearchCalls(false);
+        int cached = closedLoopSearchCalls(true);
+        // every iteration starts from the root state, which does not change
+        assertTrue(uncached - cached >= 200);
+    }
+}
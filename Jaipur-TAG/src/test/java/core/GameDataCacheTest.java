@@ -0,0 +1,101 @@
+package core;
+
+import games.GameType;
+import games.pandemic.PandemicParameters;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class GameDataCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    AtomicInteger loads = new AtomicInteger();
+
+    @Before
+    public void setup() {
+        GameDataCache.clear();
+    }
+
+    private Object load(String path) {
+        loads.incrementAndGet();
+        return new Object();
+    }
+
+    private File copyPandemicData() throws IOException {
+        File dir = folder.newFolder("pandemic");
+        for (File f : new File("data/pandemic").listFiles()) {
+            if (f.isFile())
+                Files.copy(f.toPath(), new File(dir, f.getName()).toPath(), StandardCopyOption.COPY_ATTRIBUTES);
+        }
+        return dir;
+    }
+
+    @Test
+    public void dataIsLoadedOnceForSeveralSetups() {
+        PandemicParameters params = new PandemicParameters("data/pandemic/");
+        AbstractGameData data = GameDataCache.getGameData(params.getDataPath());
+        for (int g = 0; g < 3; g++) {
+            Game game = GameType.Pandemic.createGameInstance(2, g);
+            assertNotNull(game.getGameState());
+        }
+        assertSame(data, GameDataCache.getGameData(params.getDataPath()));
+        // and the same directory, named differently, is the same entry
+        assertSame(data, GameDataCache.getGameData(new File("data/pandemic").getAbsolutePath()));
+    }
+
+    @Test
+    public void changedFilesAreReloaded() throws IOException {
+        File dir = copyPandemicData();
+        AbstractGameData data = GameDataCache.getGameData(dir.getPath());
+        assertSame(data, GameDataCache.getGameData(dir.getPath()));
+
+        // changing a file in the directory invalidates the entry
+        Files.writeString(new File(dir, "tokens.json").toPath(), "\n", StandardOpenOption.APPEND);
+        AbstractGameData reloaded = GameDataCache.getGameData(dir.getPath());
+        assertNotSame(data, reloaded);
+        assertSame(reloaded, GameDataCache.getGameData(dir.getPath()));
+
+        // as does adding a file
+        Files.writeString(new File(dir, "notes.txt").toPath(), "notes");
+        assertNotSame(reloaded, GameDataCache.getGameData(dir.getPath()));
+    }
+
+    @Test
+    public void entriesAreKeptPerPathAndKind() throws IOException {
+        File first = folder.newFile("first.json");
+        File second = folder.newFile("second.json");
+        Object a = GameDataCache.get("kind", first.getPath(), this::load);
+        Object b = GameDataCache.get("kind", second.getPath(), this::load);
+        Object c = GameDataCache.get("other", first.getPath(), this::load);
+        assertEquals(3, loads.get());
+        assertNotSame(a, b);
+        assertNotSame(a, c);
+        assertSame(a, GameDataCache.get("kind", first.getPath(), this::load));
+        assertSame(b, GameDataCache.get("kind", second.getPath(), this::load));
+        assertEquals(3, loads.get());
+
+        // a file that is removed, and then written again, is reloaded
+        assertTrue(first.delete());
+        Object missing = GameDataCache.get("kind", first.getPath(), this::load);
+        assertNotSame(a, missing);
+        Files.writeString(first.toPath(), "{}");
+        assertNotSame(missing, GameDataCache.get("kind", first.getPath(), this::load));
+        assertEquals(5, loads.get());
+
+        GameDataCache.clear();
+        assertNotSame(b, GameDataCache.get("kind", second.getPath(), this::load));
+        assertEquals(6, loads.get());
+    }
+}
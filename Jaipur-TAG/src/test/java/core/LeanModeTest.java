@@ -0,0 +1,149 @@
+package core;
+
+import core.actions.AbstractAction;
+import evaluation.listeners.IGameListener;
+import evaluation.metrics.Event;
+import games.GameType;
+import org.junit.Test;
+import players.simple.RandomPlayer;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class LeanModeTest {
+
+    static class RecordingRandomPlayer extends RandomPlayer {
+        List<AbstractGameState> observations = new ArrayList<>();
+
+        RecordingRandomPlayer(Random rnd) {
+            super(rnd);
+        }
+
+        @Override
+        public AbstractAction _getAction(AbstractGameState observation, List<AbstractAction> actions) {
+            observations.add(observation);
+            return super._getAction(observation, actions);
+        }
+    }
+
+    static class UntrustedPlayer extends AbstractPlayer {
+        List<AbstractGameState> observations = new ArrayList<>();
+
+        UntrustedPlayer() {
+            super(null, "Untrusted");
+        }
+
+        @Override
+        public AbstractAction _getAction(AbstractGameState observation, List<AbstractAction> actions) {
+            observations.add(observation);
+            return actions.get(rnd.nextInt(actions.size()));
+        }
+
+        @Override
+        public AbstractPlayer copy() {
+            return this;
+        }
+    }
+
+    static class CountingListener implements IGameListener {
+        Game game;
+        int events;
+
+        @Override
+        public void onEvent(Event event) {
+            events++;
+        }
+
+        @Override
+        public void report() {
+        }
+
+        @Override
+        public void setGame(Game game) {
+            this.game = game;
+        }
+
+        @Override
+        public Game getGame() {
+            return game;
+        }
+    }
+
+    private Game play(GameType gameType, int nPlayers, long seed, boolean lean, IGameListener listener) {
+        Game game = gameType.createGameInstance(nPlayers, seed);
+        game.setLeanMode(lean);
+        if (listener != null) game.addListener(listener);
+        List<AbstractPlayer> players = new ArrayList<>();
+        for (int p = 0; p < nPlayers; p++)
+            players.add(new RandomPlayer(new Random(seed + p)));
+        game.reset(players, seed);
+        game.run();
+        return game;
+    }
+
+    private void assertSameGame(Game expected, Game actual) {
+        AbstractGameState e = expected.getGameState();
+        AbstractGameState a = actual.getGameState();
+        assertEquals(e.getGameTick(), a.getGameTick());
+        assertEquals(e.getRoundCounter(), a.getRoundCounter());
+        assertArrayEquals(e.getPlayerResults(), a.getPlayerResults());
+        for (int p = 0; p < e.getNPlayers(); p++)
+            assertEquals(e.getGameScore(p), a.getGameScore(p), 0.0);
+        // component IDs differ between game instances, so the history is compared by the type of each action
+        assertEquals(e.getHistory().size(), a.getHistory().size());
+        for (int i = 0; i < e.getHistory().size(); i++)
+            assertEquals(e.getHistory().get(i).getClass(), a.getHistory().get(i).getClass());
+        assertEquals(e.getHistoryAsText(), a.getHistoryAsText());
+    }
+
+    @Test
+    public void leanModeGivesTheSameGames() {
+        GameType[] games = {GameType.TicTacToe, GameType.LoveLetter, GameType.Diamant, GameType.CantStop,
+                GameType.Dominion, GameType.Poker, GameType.SushiGo, GameType.ColtExpress};
+        for (GameType gameType : games) {
+            for (long seed = 1; seed <= 3; seed++) {
+                int nPlayers = Math.max(gameType.getMinPlayers(), Math.min(3, gameType.getMaxPlayers()));
+                assertSameGame(play(gameType, nPlayers, seed, false, null), play(gameType, nPlayers, seed, true, null));
+            }
+        }
+    }
+
+    @Test
+    public void statisticsAreOnlyKeptForListeners() {
+        Game lean = play(GameType.LoveLetter, 3, 42, true, null);
+        assertTrue(lean.getActionSpaceSize().isEmpty());
+        assertEquals(0.0, lean.getCopyTime(), 0.0);
+        assertEquals(0, lean.getNActionsPerTurn());
+        assertTrue(lean.getNDecisions() > 0);
+
+        CountingListener listener = new CountingListener();
+        Game watched = play(GameType.LoveLetter, 3, 42, true, listener);
+        assertFalse(watched.getActionSpaceSize().isEmpty());
+        assertEquals(watched.getNActionsPerTurn(), play(GameType.LoveLetter, 3, 42, false, null).getNActionsPerTurn());
+        // at least ABOUT_TO_START, GAME_OVER, and ACTION_CHOSEN and ACTION_TAKEN for every decision
+        assertTrue(listener.events >= 2 + 2 * watched.getNDecisions());
+    }
+
+    @Test
+    public void onlyTrustedPlayersGetTheRealState() {
+        for (boolean lean : new boolean[]{false, true}) {
+            Game game = GameType.LoveLetter.createGameInstance(2, 7);
+            game.setLeanMode(lean);
+            RecordingRandomPlayer trusted = new RecordingRandomPlayer(new Random(1));
+            UntrustedPlayer untrusted = new UntrustedPlayer();
+            game.reset(Arrays.asList(trusted, untrusted), 7);
+            Random gameRnd = game.getGameState().getRnd();
+            game.run();
+
+            assertFalse(trusted.observations.isEmpty());
+            assertFalse(untrusted.observations.isEmpty());
+            for (AbstractGameState observation : trusted.observations)
+                assertEquals(lean, observation == game.getGameState());
+            for (AbstractGameState observation : untrusted.observations)
+                assertNotSame(game.getGameState(), observation);
+            // the players' generators are never left in the real state
+            assertSame(gameRnd, game.getGameState().getRnd());
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package core;
+
+import core.actions.AbstractAction;
+import core.components.Component;
+import core.components.Deck;
+import core.components.PartialObservableDeck;
+import games.GameType;
+import games.dominion.DominionConstants.DeckType;
+import games.dominion.DominionGameState;
+import games.hanabi.HanabiCard;
+import games.hanabi.HanabiGameState;
+import games.loveletter.LoveLetterGameState;
+import games.loveletter.cards.LoveLetterCard;
+import games.sushigo.SGGameState;
+import games.uno.UnoGameState;
+import org.junit.Test;
+import utilities.DeterminisationUtilities;
+import utilities.SplitMixRandom;
+
+import java.util.*;
+import java.util.function.BiFunction;
+
+import static org.junit.Assert.*;
+
+public class RedeterminisationTest {
+
+    static final int SAMPLES = 2000;
+
+    private AbstractGameState playRandomly(GameType gameType, int nPlayers, int nActions) {
+        Game game = gameType.createGameInstance(nPlayers, 42);
+        return playRandomly(game, nActions);
+    }
+
+    private AbstractGameState playRandomly(Game game, int nActions) {
+        AbstractGameState state = game.getGameState();
+        AbstractForwardModel fm = game.getForwardModel();
+        Random rnd = new Random(42);
+        for (int i = 0; i < nActions && state.isNotTerminal(); i++) {
+            List<AbstractAction> actions = fm.computeAvailableActions(state);
+            fm.next(state, actions.get(rnd.nextInt(actions.size())));
+        }
+        return state;
+    }
+
+    private static Map<String, Integer> cardCounts(Deck<? extends Component> deck) {
+        Map<String, Integer> counts = new TreeMap<>();
+        for (Component c : deck.getComponents())
+            counts.merge(c.toString(), 1, Integer::sum);
+        return counts;
+    }
+
+    /**
+     * Samples the given deck of the other player many times, with copy(player) and with copyInto() into a single
+     * reused state, and checks that the average number of each card in it matches; and that the deck of the player is
+     * unchanged in every sample.
+     */
+    private void checkSampling(AbstractGameState state, int player, int other,
+                               BiFunction<AbstractGameState, Integer, Deck<? extends Component>> deck) {
+        Map<String, Integer> ownDeck = cardCounts(deck.apply(state, player));
+        Map<String, Double> fromCopy = new TreeMap<>();
+        Map<String, Double> fromCopyInto = new TreeMap<>();
+        Random rnd = new Random(1);
+        AbstractGameState target = null;
+        for (int i = 0; i < SAMPLES; i++) {
+            AbstractGameState copy = state.copy(player);
+            assertEquals(ownDeck, cardCounts(deck.apply(copy, player)));
+            cardCounts(deck.apply(copy, other)).forEach((k, v) -> fromCopy.merge(k, (double) v / SAMPLES, Double::sum));
+
+            AbstractGameState reused = state.copyInto(target, player, rnd);
+            if (target != null) assertSame(target, reused);
+            target = reused;
+            assertEquals(ownDeck, cardCounts(deck.apply(target, player)));
+            cardCounts(deck.apply(target, other)).forEach((k, v) -> fromCopyInto.merge(k, (double) v / SAMPLES, Double::sum));
+            // the state sampled from must not change
+            assertEquals(ownDeck, cardCounts(deck.apply(state, player)));
+        }
+        assertEquals(fromCopy.keySet(), fromCopyInto.keySet());
+        for (String card : fromCopy.keySet())
+            assertEquals(card, fromCopy.get(card), fromCopyInto.get(card), 0.1);
+    }
+
+    @Test
+    public void loveLetter() {
+        AbstractGameState state = playRandomly(GameType.LoveLetter, 4, 3);
+        checkSampling(state, state.getCurrentPlayer(), (state.getCurrentPlayer() + 1) % 4,
+                (s, p) -> ((LoveLetterGameState) s).getPlayerHandCards().get(p));
+    }
+
+    @Test
+    public void dominion() {
+        AbstractGameState state = playRandomly(GameType.Dominion, 3, 20);
+        checkSampling(state, state.getCurrentPlayer(), (state.getCurrentPlayer() + 1) % 3,
+                (s, p) -> ((DominionGameState) s).getDeck(DeckType.HAND, p));
+        checkSampling(state, state.getCurrentPlayer(), (state.getCurrentPlayer() + 1) % 3,
+                (s, p) -> ((DominionGameState) s).getDeck(DeckType.DRAW, p));
+    }
+
+    @Test
+    public void uno() {
+        AbstractGameState state = playRandomly(GameType.Uno, 3, 5);
+        checkSampling(state, state.getCurrentPlayer(), (state.getCurrentPlayer() + 1) % 3,
+                (s, p) -> ((UnoGameState) s).getPlayerDecks().get(p));
+    }
+
+    @Test
+    public void sushiGo() {
+        AbstractGameState state = playRandomly(GameType.SushiGo, 3, 4);
+        checkSampling(state, state.getCurrentPlayer(), (state.getCurrentPlayer() + 1) % 3,
+                (s, p) -> ((SGGameState) s).getPlayerHands().get(p));
+    }
+
+    @Test
+    public void hanabiHidesOwnCards() {
+        AbstractGameState state = playRandomly(GameType.Hanabi, 3, 5);
+        int player = state.getCurrentPlayer();
+        HanabiGameState copy = (HanabiGameState) state.copy(player);
+        HanabiGameState reused = (HanabiGameState) state.copyInto(null, 0, new Random(1));
+        reused = (HanabiGameState) state.copyInto(reused, player, new Random(1));
+        PartialObservableDeck<?> expected = copy.getPlayerDecks().get(player);
+        PartialObservableDeck<?> actual = reused.getPlayerDecks().get(player);
+        assertEquals(expected.getSize(), actual.getSize());
+        for (int i = 0; i < expected.getSize(); i++)
+            assertEquals(expected.get(i).toString(), actual.get(i).toString());
+    }
+
+    @Test
+    public void fullCopyIntoEqualsCopy() {
+        // the target is a copy of an earlier state, as in a search that continues from one decision to the next
+        Game game = GameType.Dominion.createGameInstance(3, 42);
+        AbstractGameState state = playRandomly(game, 20);
+        AbstractGameState target = state.copyInto(null, 1, new Random(1));
+        playRandomly(game, 40);
+        AbstractGameState full = state.copyInto(target, -1, new Random(1));
+        assertSame(target, full);
+        assertEquals(state.copy(), full);
+        assertEquals(state.copy().hashCode(), full.hashCode());
+    }
+
+    @Test
+    public void playerViewIntoBranchesTheStateGenerator() {
+        AbstractGameState state = playRandomly(GameType.Dominion, 3, 20);
+        AbstractGameState viaCopy = state.copy();
+        viaCopy.setRnd(new SplitMixRandom(9));
+        AbstractGameState viaCopyInto = state.copy();
+        viaCopyInto.setRnd(new SplitMixRandom(9));
+        Random search = new SplitMixRandom(5);
+        Random twin = new SplitMixRandom(5);
+
+        // a full copy shares the generator, so a player view into it must branch one, as copy(playerId) does
+        AbstractGameState target = viaCopyInto.copyInto(null, -1, search);
+        assertSame(viaCopyInto.getRnd(), target.getRnd());
+        target = viaCopyInto.copyInto(target, 1, search);
+        assertEquals(viaCopy.copy(1).getRnd().nextLong(), target.getRnd().nextLong());
+        // and the generator of the search is only used for redeterminisation
+        assertEquals(SplitMixRandom.split(twin).nextLong(), SplitMixRandom.split(search).nextLong());
+    }
+
+    @Test
+    public void dealConsistentRespectsConstraints() {
+        // types 0..4, two cards of each; slot 0 may only be type 3, slot 1 anything but 0 or 1
+        List<Integer> cards = new ArrayList<>();
+        for (int t = 0; t < 5; t++) {
+            cards.add(t);
+            cards.add(t);
+        }
+        long[] allowed = {1L << 3, 0b11100};
+        Random rnd = new Random(7);
+        int[] slot1 = new int[5];
+        for (int i = 0; i < SAMPLES; i++) {
+            assertTrue(DeterminisationUtilities.dealConsistent(cards, allowed, 2, Integer::intValue, rnd));
+            assertEquals(3, (int) cards.get(0));
+            assertTrue(cards.get(1) >= 2);
+            slot1[cards.get(1)]++;
+            List<Integer> sorted = new ArrayList<>(cards);
+            Collections.sort(sorted);
+            assertEquals(Arrays.asList(0, 0, 1, 1, 2, 2, 3, 3, 4, 4), sorted);
+        }
+        // with the one 3 left, slot 1 is a 2 or a 4 twice as often as a 3
+        assertEquals(0.4, slot1[2] / (double) SAMPLES, 0.05);
+        assertEquals(0.2, slot1[3] / (double) SAMPLES, 0.05);
+
+        // impossible constraints are ignored
+        assertFalse(DeterminisationUtilities.dealConsistent(cards, new long[]{1L << 3, 1L << 3, 1L << 3}, 3, Integer::intValue, rnd));
+        assertEquals(10, cards.size());
+    }
+
+    @Test
+    public void loveLetterSamplesFollowHandBelief() {
+        AbstractGameState state = playRandomly(GameType.LoveLetter, 4, 3);
+        LoveLetterGameState llgs = (LoveLetterGameState) state;
+        int player = state.getCurrentPlayer();
+        int other = (player + 1) % 4;
+        while (llgs.getPlayerHandCards().get(other).getSize() == 0) other = (other + 1) % 4;
+        // as if a Guard guess had shown the other player does not hold a Guard
+        LoveLetterCard.CardType excluded = LoveLetterCard.CardType.Guard;
+        if (llgs.getPlayerHandCards().get(other).get(0).cardType == excluded)
+            excluded = LoveLetterCard.CardType.Priest;
+        llgs.getHandBelief().exclude(other, excluded.ordinal());
+
+        Random rnd = new Random(1);
+        AbstractGameState target = null;
+        for (int i = 0; i < SAMPLES / 10; i++) {
+            LoveLetterGameState copy = (LoveLetterGameState) state.copy(player);
+            assertNotEquals(excluded, copy.getPlayerHandCards().get(other).get(0).cardType);
+            target = state.copyInto(target, player, rnd);
+            assertNotEquals(excluded, ((LoveLetterGameState) target).getPlayerHandCards().get(other).get(0).cardType);
+        }
+    }
+
+    @Test
+    public void hanabiSamplesFollowHints() {
+        AbstractGameState state = playRandomly(GameType.Hanabi, 3, 12);
+        HanabiGameState hgs = (HanabiGameState) state;
+        int player = state.getCurrentPlayer();
+        List<String> hidden = new ArrayList<>();
+        for (HanabiCard c : hgs.getPlayerDecks().get(player).getComponents()) hidden.add(c.color + "" + c.number);
+        for (HanabiCard c : hgs.getDrawDeck().getComponents()) hidden.add(c.color + "" + c.number);
+        Collections.sort(hidden);
+
+        Set<String> ownHands = new HashSet<>();
+        for (int i = 0; i < SAMPLES / 10; i++) {
+            HanabiGameState copy = (HanabiGameState) state.copy(player);
+            List<String> sampled = new ArrayList<>();
+            StringBuilder hand = new StringBuilder();
+            for (int j = 0; j < copy.getPlayerDecks().get(player).getSize(); j++) {
+                HanabiCard real = hgs.getPlayerDecks().get(player).get(j);
+                HanabiCard c = copy.getPlayerDecks().get(player).get(j);
+                if (c.ownerKnowsColor) assertEquals(real.color, c.color);
+                if (c.ownerKnowsNumber) assertEquals(real.number, c.number);
+                assertTrue(c.possibleColour.contains(c.color));
+                assertTrue(c.possibleNumber.contains(c.number));
+                sampled.add(c.color + "" + c.number);
+                hand.append(c.color).append(c.number);
+            }
+            for (HanabiCard c : copy.getDrawDeck().getComponents()) sampled.add(c.color + "" + c.number);
+            Collections.sort(sampled);
+            assertEquals(hidden, sampled);
+            ownHands.add(hand.toString());
+        }
+        assertTrue(ownHands.size() > 1);
+    }
+}
@@ -0,0 +1,84 @@
+package core;
+
+import core.actions.AbstractAction;
+import core.interfaces.IStateFeatureVector;
+import games.GameType;
+import games.catan.CatanStateFeatures;
+import games.diamant.DiamantFeatures;
+import games.dotsboxes.DBStateFeatures;
+import games.loveletter.features.LLStateFeatures;
+import games.puertorico.PuertoRicoFeaturesBase;
+import games.sushigo.SGFeatures;
+import games.tictactoe.TTTFeatures;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class StateFeatureVectorTest {
+
+    /**
+     * Plays a game randomly, and checks that at each step the feature vector written into a buffer (at an offset, over
+     * old values) is the same as the one returned by featureVector(), for every player.
+     */
+    private void checkBufferMatches(GameType gameType, int nPlayers, IStateFeatureVector features) {
+        Game game = gameType.createGameInstance(nPlayers, 42);
+        AbstractGameState state = game.getGameState();
+        AbstractForwardModel fm = game.getForwardModel();
+        Random rnd = new Random(42);
+        int offset = 3;
+        double[] buffer = new double[offset + features.names().length + 1];
+        for (int i = 0; i < 100 && state.isNotTerminal(); i++) {
+            for (int p = 0; p < state.getNPlayers(); p++) {
+                double[] expected = features.featureVector(state, p);
+                assertEquals(features.names().length, expected.length);
+                Arrays.fill(buffer, -7.0);
+                features.featureVector(state, p, buffer, offset);
+                assertArrayEquals(expected, Arrays.copyOfRange(buffer, offset, offset + expected.length), 0.0);
+                // nothing written outside the feature vector
+                assertEquals(-7.0, buffer[offset - 1], 0.0);
+                assertEquals(-7.0, buffer[offset + expected.length], 0.0);
+            }
+            List<AbstractAction> actions = fm.computeAvailableActions(state);
+            fm.next(state, actions.get(rnd.nextInt(actions.size())));
+        }
+    }
+
+    @Test
+    public void loveLetter() {
+        checkBufferMatches(GameType.LoveLetter, 4, new LLStateFeatures());
+    }
+
+    @Test
+    public void dotsAndBoxes() {
+        checkBufferMatches(GameType.DotsAndBoxes, 2, new DBStateFeatures());
+    }
+
+    @Test
+    public void sushiGo() {
+        checkBufferMatches(GameType.SushiGo, 3, new SGFeatures());
+    }
+
+    @Test
+    public void ticTacToe() {
+        checkBufferMatches(GameType.TicTacToe, 2, new TTTFeatures());
+    }
+
+    @Test
+    public void diamant() {
+        checkBufferMatches(GameType.Diamant, 3, new DiamantFeatures());
+    }
+
+    @Test
+    public void catan() {
+        checkBufferMatches(GameType.Catan, 3, new CatanStateFeatures());
+    }
+
+    @Test
+    public void puertoRico() {
+        checkBufferMatches(GameType.PuertoRico, 3, new PuertoRicoFeaturesBase());
+    }
+}
@@ -0,0 +1,74 @@
+package core.components;
+
+import core.properties.PropertyInt;
+import core.properties.PropertyString;
+import org.junit.Before;
+import org.junit.Test;
+import utilities.Hash;
+
+import static core.CoreConstants.nameHash;
+import static org.junit.Assert.*;
+
+public class GraphBoardTest {
+
+    GraphBoard board;
+    BoardNode[] nodes = new BoardNode[10];
+    int sizeHash = Hash.GetInstance().hash("size");
+
+    @Before
+    public void setup() {
+        board = new GraphBoard("test");
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = new BoardNode(-1, "node");
+            nodes[i].setProperty(new PropertyString("name", "City " + i));
+            nodes[i].setProperty(new PropertyInt("size", i % 3));
+            board.addBoardNode(nodes[i]);
+        }
+        for (int i = 1; i < nodes.length; i++)
+            board.addConnection(nodes[i - 1], nodes[i]);
+    }
+
+    @Test
+    public void lookupsFindTheNodeWithTheProperty() {
+        for (int i = 0; i < nodes.length; i++)
+            assertSame(nodes[i], board.getNodeByStringProperty(nameHash, "City " + i));
+        assertNull(board.getNodeByStringProperty(nameHash, "Nowhere"));
+        assertNull(board.getNodeByProperty(nameHash, null));
+        // several nodes have the same size, and the first one is found, as with a scan
+        assertEquals(0, ((PropertyInt) board.getNodeByProperty(sizeHash, new PropertyInt("size", 0)).getProperty(sizeHash)).value);
+        assertNull(board.getNodeByProperty(sizeHash, new PropertyInt("size", 5)));
+    }
+
+    @Test
+    public void changedPropertiesAreStillFound() {
+        // build the index, then change the names it was built from
+        assertSame(nodes[3], board.getNodeByStringProperty(nameHash, "City 3"));
+        nodes[3].setProperty(new PropertyString("name", "Renamed"));
+        nodes[4].setProperty(new PropertyString("name", "City 3"));
+
+        assertSame(nodes[3], board.getNodeByStringProperty(nameHash, "Renamed"));
+        assertSame(nodes[4], board.getNodeByStringProperty(nameHash, "City 3"));
+        assertNull(board.getNodeByStringProperty(nameHash, "City 4"));
+    }
+
+    @Test
+    public void copiesShareTheIndexUntilTheirStructureChanges() {
+        assertSame(nodes[5], board.getNodeByStringProperty(nameHash, "City 5"));
+        GraphBoard copy = board.copy();
+        assertSame(board.nodeIndex, copy.nodeIndex);
+        BoardNode node5 = copy.getNodeByStringProperty(nameHash, "City 5");
+        assertNotSame(nodes[5], node5);
+        assertEquals(nodes[5].getComponentID(), node5.getComponentID());
+
+        BoardNode extra = new BoardNode(-1, "node");
+        extra.setProperty(new PropertyString("name", "City 10"));
+        copy.addBoardNode(extra);
+        assertNotSame(board.nodeIndex, copy.nodeIndex);
+        assertSame(extra, copy.getNodeByStringProperty(nameHash, "City 10"));
+        assertNull(board.getNodeByStringProperty(nameHash, "City 10"));
+
+        copy.removeBoardNode(node5);
+        assertNull(copy.getNodeByStringProperty(nameHash, "City 5"));
+        assertSame(nodes[5], board.getNodeByStringProperty(nameHash, "City 5"));
+    }
+}
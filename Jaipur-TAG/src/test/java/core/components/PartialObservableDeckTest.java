@@ -0,0 +1,114 @@
+package core.components;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class PartialObservableDeckTest {
+
+    PartialObservableDeck<Card> deck;
+
+    @Before
+    public void setup() {
+        deck = new PartialObservableDeck<>("test", 0, new boolean[]{true, false, false});
+        for (int i = 0; i < 10; i++)
+            deck.add(new Card("c" + i));
+        // cards are added to the top, so c9 is at index 0
+    }
+
+    @Test
+    public void addAndPickKeepVisibilityInStep() {
+        deck.setVisibilityOfComponent(3, 1, true);
+        Card c = deck.get(3);
+        deck.add(new Card("new"), new boolean[]{false, false, true});
+        assertSame(c, deck.get(4));
+        assertTrue(deck.getVisibilityForPlayer(4, 1));
+        assertTrue(deck.getVisibilityForPlayer(0, 2));
+        assertFalse(deck.getVisibilityForPlayer(0, 0));
+
+        deck.pick(0);
+        assertSame(c, deck.get(3));
+        assertArrayEquals(new boolean[]{true, true, false}, deck.getVisibilityOfComponent(3));
+        assertEquals(0b011, deck.getVisibilityMask(3));
+
+        deck.remove(3);
+        for (int i = 0; i < deck.getSize(); i++)
+            assertArrayEquals(new boolean[]{true, false, false}, deck.getVisibilityOfComponent(i));
+    }
+
+    @Test
+    public void addingDecksAddsVisibility() {
+        PartialObservableDeck<Card> other = new PartialObservableDeck<>("other", 1, new boolean[]{true, true, true});
+        other.add(new Card("o1"));
+        other.add(new Card("o0"));
+        other.setVisibilityOfComponent(1, 2, false);
+        deck.add(other);
+        assertEquals(12, deck.getSize());
+        assertEquals("o0", deck.get(0).getComponentName());
+        assertArrayEquals(new boolean[]{true, true, true}, deck.getVisibilityOfComponent(0));
+        assertArrayEquals(new boolean[]{true, true, false}, deck.getVisibilityOfComponent(1));
+        assertArrayEquals(new boolean[]{true, false, false}, deck.getVisibilityOfComponent(2));
+
+        Deck<Card> plain = new Deck<>("plain", core.CoreConstants.VisibilityMode.VISIBLE_TO_ALL);
+        plain.add(new Card("p"));
+        deck.add(plain, 5);
+        assertEquals(13, deck.getSize());
+        assertEquals("p", deck.get(5).getComponentName());
+        assertArrayEquals(new boolean[]{true, false, false}, deck.getVisibilityOfComponent(5));
+        assertArrayEquals(new boolean[]{true, false, false}, deck.getVisibilityOfComponent(12));
+    }
+
+    @Test
+    public void bulkVisibilityChanges() {
+        deck.setComponentVisibleToAll(2);
+        assertArrayEquals(new boolean[]{true, true, true}, deck.getVisibilityOfComponent(2));
+        deck.setVisibilityOfAllComponents(0, false);
+        for (int i = 0; i < deck.getSize(); i++)
+            assertFalse(deck.getVisibilityForPlayer(i, 0));
+        assertTrue(deck.getVisibilityForPlayer(2, 1));
+        deck.setVisibilityMask(4, 1L << 2);
+        assertArrayEquals(new boolean[]{false, false, true}, deck.getVisibilityOfComponent(4));
+    }
+
+    @Test
+    public void shuffleVisibleOnlyMovesHiddenCards() {
+        for (int i = 0; i < 10; i += 3)
+            deck.setVisibilityOfComponent(i, 1, true);
+        Card[] before = deck.getComponents().toArray(new Card[0]);
+        deck.shuffleVisible(new Random(3), 1, false);
+        for (int i = 0; i < 10; i++) {
+            if (i % 3 == 0) {
+                assertSame(before[i], deck.get(i));
+                assertTrue(deck.getVisibilityForPlayer(i, 1));
+            } else {
+                assertFalse(deck.getVisibilityForPlayer(i, 1));
+            }
+        }
+        deck.shuffle(new Random(3));
+        int visible = 0;
+        for (int i = 0; i < 10; i++) {
+            if (deck.getVisibilityForPlayer(i, 1)) {
+                visible++;
+                assertEquals(0, Integer.parseInt(deck.get(i).getComponentName().substring(1)) % 3);
+            }
+        }
+        assertEquals(4, visible);
+    }
+
+    @Test
+    public void copiesAreIndependent() {
+        PartialObservableDeck<Card> copy = deck.copy();
+        copy.setVisibilityOfComponent(0, 2, true);
+        copy.add(new Card("extra"));
+        assertFalse(deck.getVisibilityForPlayer(0, 2));
+        assertEquals(10, deck.getSize());
+
+        deck.copyComponentsFrom(copy);
+        assertEquals(11, deck.getSize());
+        assertTrue(deck.getVisibilityForPlayer(1, 2));
+        assertFalse(deck.getVisibilityForPlayer(0, 2));
+    }
+}
@@ -0,0 +1,99 @@
+package core.rules;
+
+import core.AbstractForwardModel;
+import core.AbstractGameState;
+import core.AbstractGameStateWithTurnOrder;
+import core.Game;
+import core.actions.AbstractAction;
+import games.GameType;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+public class RuleCursorTest {
+
+    private AbstractGameStateWithTurnOrder newState(AbstractRuleBasedForwardModel fm, long seed) {
+        Game game = GameType.Pandemic.createGameInstance(2, seed);
+        AbstractGameStateWithTurnOrder state = (AbstractGameStateWithTurnOrder) game.getGameState();
+        fm.setup(state);
+        return state;
+    }
+
+    private void play(AbstractForwardModel fm, AbstractGameState state, Random rnd, int nActions) {
+        for (int i = 0; i < nActions && state.isNotTerminal(); i++) {
+            List<AbstractAction> actions = fm.computeAvailableActions(state);
+            fm.next(state, actions.get(rnd.nextInt(actions.size())));
+        }
+    }
+
+    /**
+     * Plays on from a copy of the given state, which keeps its component IDs, so the game is reproducible.
+     */
+    private List<String> playCopy(AbstractForwardModel fm, AbstractGameState start, long seed) {
+        AbstractGameState state = start.copy();
+        state.setRnd(new Random(seed));
+        play(fm, state, new Random(seed), 300);
+        return state.getHistoryAsText();
+    }
+
+    @Test
+    public void copiesOfTheForwardModelShareTheRuleGraph() {
+        AbstractRuleBasedForwardModel fm = (AbstractRuleBasedForwardModel) GameType.Pandemic.createGameInstance(2, 1).getForwardModel();
+        AbstractRuleBasedForwardModel copy = (AbstractRuleBasedForwardModel) fm.copy();
+        assertSame(fm.root, copy.root);
+        assertSame(fm.getRuleNodes(), copy.getRuleNodes());
+        for (int i = 0; i < fm.getRuleNodes().size(); i++)
+            assertEquals(i, fm.getRuleNodes().get(i).getIndex());
+    }
+
+    @Test
+    public void statesSharingARuleGraphKeepTheirOwnCursors() {
+        AbstractRuleBasedForwardModel fm = (AbstractRuleBasedForwardModel) GameType.Pandemic.createGameInstance(2, 2).getForwardModel();
+        AbstractGameStateWithTurnOrder first = newState(fm, 2);
+        play(fm, first, new Random(2), 5);
+        AbstractGameStateWithTurnOrder second = (AbstractGameStateWithTurnOrder) first.copy();
+        first.setRnd(new Random(3));
+        second.setRnd(new Random(3));
+        RuleCursor before = second.getRuleCursor().copy();
+        assertEquals(first.getRuleCursor(), second.getRuleCursor());
+        assertNotSame(first.getRuleCursor(), second.getRuleCursor());
+
+        // moving one game on does not move the other
+        play(fm, first, new Random(3), 20);
+        assertEquals(before, second.getRuleCursor());
+        assertNotEquals(before, first.getRuleCursor());
+
+        // and the other, played the same way with a copy of the forward model, ends up in the same place
+        play(fm.copy(), second, new Random(3), 20);
+        assertEquals(first.getRuleCursor(), second.getRuleCursor());
+        assertEquals(first.getHistoryAsText(), second.getHistoryAsText());
+    }
+
+    @Test
+    public void gamesOnSeveralThreadsCanShareTheRuleGraph() throws Exception {
+        AbstractRuleBasedForwardModel shared = (AbstractRuleBasedForwardModel) GameType.Pandemic.createGameInstance(2, 4).getForwardModel();
+        AbstractGameState start = newState(shared, 4);
+        int nGames = 8;
+        List<List<String>> expected = new ArrayList<>();
+        for (int g = 0; g < nGames; g++)
+            expected.add(playCopy(shared.copy(), start, g));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<String>>> results = new ArrayList<>();
+            for (int g = 0; g < nGames; g++) {
+                long seed = g;
+                AbstractForwardModel fm = shared.copy();
+                AbstractGameState state = start.copy();
+                results.add(executor.submit(() -> playCopy(fm, state, seed)));
+            }
+            for (int g = 0; g < nGames; g++)
+                assertEquals(expected.get(g), results.get(g).get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
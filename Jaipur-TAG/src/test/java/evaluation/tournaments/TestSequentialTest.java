@@ -0,0 +1,118 @@
+package evaluation.tournaments;
+
+import core.AbstractPlayer;
+import evaluation.RunArg;
+import games.GameType;
+import org.junit.Test;
+import players.simple.RandomPlayer;
+import players.solver.SolverPlayer;
+
+import java.util.*;
+
+import static evaluation.tournaments.AbstractTournament.TournamentMode.NO_SELF_PLAY;
+import static evaluation.tournaments.AbstractTournament.TournamentMode.ONE_VS_ALL;
+import static org.junit.Assert.*;
+
+public class TestSequentialTest {
+
+    @Test
+    public void clearDifferenceIsDecidedAfterEnoughGames() {
+        SequentialTest test = new SequentialTest(2, 0.05);
+        int n = 0;
+        while (!test.isDecided(0, 1)) {
+            test.addResult(0, 1, 1.0);
+            n++;
+        }
+        // the bound holds over all numbers of games, so even a perfect record needs a few games
+        assertTrue(n > 10);
+        assertTrue(n < 40);
+        assertTrue(test.isDecided(1, 0));
+        assertEquals(-1.0, test.getMeanDifference(1, 0), 1e-9);
+        assertTrue(test.getConfidence(0, 1) > 0.95);
+    }
+
+    @Test
+    public void equalAgentsAreNotDecided() {
+        SequentialTest test = new SequentialTest(3, 0.05);
+        Random rnd = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            test.addResult(0, 1, rnd.nextBoolean() ? 1.0 : -1.0);
+            test.addResult(1, 2, rnd.nextBoolean() ? 1.0 : -1.0);
+        }
+        assertFalse(test.isDecided(0, 1));
+        assertFalse(test.isDecided(1, 2));
+        assertFalse(test.isDecided(0, 0));
+        assertFalse(test.allDecided(Arrays.asList(0, 1, 2)));
+        assertEquals(0, test.getGames(0, 2));
+    }
+
+    private Map<RunArg, Object> config(int matchups, double earlyStop) {
+        Map<RunArg, Object> config = new HashMap<>();
+        config.put(RunArg.matchups, matchups);
+        config.put(RunArg.earlyStop, earlyStop);
+        return config;
+    }
+
+    @Test
+    public void roundRobinStopsDecidedMatchupsEarly() {
+        List<AbstractPlayer> agents = Arrays.asList(new SolverPlayer(), new RandomPlayer(new Random(3)));
+        RoundRobinTournament full = new RoundRobinTournament(agents, GameType.TicTacToe, 2, null, NO_SELF_PLAY, config(100, 0.0));
+        full.setRandomSeed(42);
+        full.setVerbose(false);
+        full.run();
+        assertEquals(200, full.getGamesPlayed());
+        assertNull(full.getSequentialTest());
+
+        RoundRobinTournament early = new RoundRobinTournament(agents, GameType.TicTacToe, 2, null, NO_SELF_PLAY, config(100, 0.05));
+        early.setRandomSeed(42);
+        early.setVerbose(false);
+        early.run();
+        assertTrue(early.getGamesPlayed() < 200);
+        assertTrue(early.getSequentialTest().isDecided(0, 1));
+        assertTrue(early.getSequentialTest().getMeanDifference(0, 1) > 0.0);
+        assertEquals(early.getGamesPlayed(), early.getSequentialTest().getGames(0, 1));
+        // the same agent comes out on top
+        assertEquals(full.getWinnerIndex(), early.getWinnerIndex());
+    }
+
+    @Test
+    public void oneVsAllKeepsPositionsBalanced() {
+        List<AbstractPlayer> agents = Arrays.asList(new SolverPlayer(), new RandomPlayer(new Random(3)));
+        RoundRobinTournament early = new RoundRobinTournament(agents, GameType.TicTacToe, 2, null, ONE_VS_ALL, config(200, 0.05));
+        early.setRandomSeed(42);
+        early.setVerbose(false);
+        early.run();
+        assertTrue(early.getGamesPlayed() < 200);
+        assertEquals(0, early.getGamesPlayed() % 2);
+        assertTrue(early.getSequentialTest().isDecided(0, 1));
+    }
+
+    @Test
+    public void savedGamesGoToUndecidedPairs() {
+        // Two random players are never decided, so they get the games saved on the matchups with the solver
+        List<AbstractPlayer> agents = Arrays.asList(new SolverPlayer(), new RandomPlayer(new Random(3)), new RandomPlayer(new Random(4)));
+        RoundRobinTournament early = new RoundRobinTournament(agents, GameType.TicTacToe, 2, null, NO_SELF_PLAY, config(50, 0.05));
+        early.setRandomSeed(42);
+        early.setVerbose(false);
+        early.run();
+        SequentialTest test = early.getSequentialTest();
+        assertTrue(test.isDecided(0, 1));
+        assertTrue(test.isDecided(0, 2));
+        assertFalse(test.isDecided(1, 2));
+        assertTrue(test.getGames(1, 2) > 100);
+        // the total is never more than without early stopping
+        assertTrue(early.getGamesPlayed() <= 300);
+        assertTrue(early.getGamesPlayed() > 300 - 2);
+    }
+
+    @Test
+    public void randomTournamentStopsWhenAllPairsAreDecided() {
+        List<AbstractPlayer> agents = Arrays.asList(new SolverPlayer(), new RandomPlayer(new Random(3)));
+        RoundRobinTournament early = new RandomRRTournament(agents, GameType.TicTacToe, 2, null, NO_SELF_PLAY, config(500, 0.05));
+        early.setRandomSeed(42);
+        early.setVerbose(false);
+        early.run();
+        assertTrue(early.getGamesPlayed() < 500);
+        assertTrue(early.getSequentialTest().isDecided(0, 1));
+    }
+}
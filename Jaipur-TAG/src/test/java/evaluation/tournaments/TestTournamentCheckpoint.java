@@ -0,0 +1,133 @@
+package evaluation.tournaments;
+
+import core.AbstractGameState;
+import core.AbstractPlayer;
+import core.actions.AbstractAction;
+import evaluation.RunArg;
+import games.GameType;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import players.simple.RandomPlayer;
+
+import java.io.File;
+import java.util.*;
+
+import static evaluation.tournaments.AbstractTournament.TournamentMode.NO_SELF_PLAY;
+import static org.junit.Assert.*;
+
+public class TestTournamentCheckpoint {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Random player that fails after a number of decisions, to interrupt a tournament.
+     */
+    static class FailingPlayer extends RandomPlayer {
+        int decisionsLeft;
+
+        FailingPlayer(Random rnd, int decisions) {
+            super(rnd);
+            decisionsLeft = decisions;
+        }
+
+        @Override
+        public AbstractAction _getAction(AbstractGameState observation, List<AbstractAction> actions) {
+            if (decisionsLeft-- == 0)
+                throw new IllegalStateException("Interrupted");
+            return super._getAction(observation, actions);
+        }
+    }
+
+    private List<AbstractPlayer> agents(int decisions) {
+        return Arrays.asList(new RandomPlayer(new Random(3)), new RandomPlayer(new Random(4)),
+                new FailingPlayer(new Random(5), decisions));
+    }
+
+    private Map<RunArg, Object> config(String checkpoint, boolean resume, double earlyStop) {
+        Map<RunArg, Object> config = new HashMap<>();
+        config.put(RunArg.matchups, 30);
+        config.put(RunArg.earlyStop, earlyStop);
+        config.put(RunArg.checkpoint, checkpoint);
+        config.put(RunArg.checkpointPeriod, 7);
+        config.put(RunArg.resume, resume);
+        return config;
+    }
+
+    private RoundRobinTournament tournament(boolean random, List<AbstractPlayer> agents, Map<RunArg, Object> config) {
+        RoundRobinTournament tournament = random ?
+                new RandomRRTournament(agents, GameType.TicTacToe, 2, null, NO_SELF_PLAY, config) :
+                new RoundRobinTournament(agents, GameType.TicTacToe, 2, null, NO_SELF_PLAY, config);
+        tournament.setRandomSeed(42);
+        tournament.setVerbose(false);
+        return tournament;
+    }
+
+    private void assertSameResults(RoundRobinTournament expected, RoundRobinTournament actual) {
+        assertEquals(expected.getGamesPlayed(), actual.getGamesPlayed());
+        for (int i = 0; i < expected.getNumberOfAgents(); i++) {
+            assertEquals(expected.getWinRate(i), actual.getWinRate(i), 0.0);
+            assertEquals(expected.getOrdinalRank(i), actual.getOrdinalRank(i), 0.0);
+            assertEquals(expected.getWinStdErr(i), actual.getWinStdErr(i), 0.0);
+        }
+    }
+
+    private void checkResume(boolean random, double earlyStop, int decisionsBeforeFailure) {
+        RoundRobinTournament uninterrupted = tournament(random, agents(Integer.MAX_VALUE), config("", false, earlyStop));
+        uninterrupted.run();
+
+        String file = new File(folder.getRoot(), "rrt_" + random + "_" + earlyStop + ".ckpt").getPath();
+        RoundRobinTournament interrupted = tournament(random, agents(decisionsBeforeFailure), config(file, false, earlyStop));
+        try {
+            interrupted.run();
+            fail("Expected the tournament to be interrupted");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        assertTrue(new File(file).exists());
+
+        // new agents, with their generators in the state they had at the start; the checkpoint restores them
+        RoundRobinTournament resumed = tournament(random, agents(Integer.MAX_VALUE), config(file, true, earlyStop));
+        resumed.run();
+        assertSameResults(uninterrupted, resumed);
+        if (earlyStop > 0.0)
+            for (int i = 0; i < 3; i++)
+                for (int j = 0; j < 3; j++)
+                    assertEquals(uninterrupted.getSequentialTest().getGames(i, j), resumed.getSequentialTest().getGames(i, j));
+
+        // resuming a finished tournament just gives the same results again
+        RoundRobinTournament again = tournament(random, agents(0), config(file, true, earlyStop));
+        again.run();
+        assertSameResults(uninterrupted, again);
+    }
+
+    @Test
+    public void resumedExhaustiveTournamentMatchesUninterrupted() {
+        checkResume(false, 0.0, 200);
+    }
+
+    @Test
+    public void resumedRandomTournamentMatchesUninterrupted() {
+        checkResume(true, 0.0, 30);
+    }
+
+    @Test
+    public void resumedSequentialTestingMatchesUninterrupted() {
+        checkResume(false, 0.2, 200);
+    }
+
+    @Test
+    public void checkpointOfDifferentTournamentIsRejected() {
+        String file = new File(folder.getRoot(), "other.ckpt").getPath();
+        tournament(false, agents(Integer.MAX_VALUE), config(file, false, 0.0)).run();
+        Map<RunArg, Object> config = config(file, true, 0.0);
+        config.put(RunArg.matchups, 20);
+        try {
+            tournament(false, agents(Integer.MAX_VALUE), config).run();
+            fail("Expected the checkpoint to be rejected");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package evaluation.tournaments;
+
+import core.AbstractPlayer;
+import evaluation.RunArg;
+import games.GameType;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import players.simple.FirstActionPlayer;
+import players.simple.RandomPlayer;
+
+import java.io.File;
+import java.util.*;
+import java.util.function.Supplier;
+
+import static evaluation.tournaments.AbstractTournament.TournamentMode.NO_SELF_PLAY;
+import static org.junit.Assert.*;
+
+public class TestTournamentShards {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Map<RunArg, Object> config(int shards) {
+        Map<RunArg, Object> config = new HashMap<>();
+        config.put(RunArg.matchups, 25);
+        config.put(RunArg.shards, shards);
+        return config;
+    }
+
+    private RoundRobinTournament tournament(boolean random, List<AbstractPlayer> agents, int shards) {
+        RoundRobinTournament tournament = random ?
+                new RandomRRTournament(agents, GameType.LoveLetter, 2, null, NO_SELF_PLAY, config(shards)) :
+                new RoundRobinTournament(agents, GameType.LoveLetter, 2, null, NO_SELF_PLAY, config(shards));
+        tournament.setRandomSeed(42);
+        tournament.setVerbose(false);
+        return tournament;
+    }
+
+    /**
+     * Plays each shard with its own copy of the agents (as separate processes would), and merges the results.
+     */
+    private RoundRobinTournament runSharded(boolean random, Supplier<List<AbstractPlayer>> agents, int shards) {
+        List<String> files = new ArrayList<>();
+        for (int k = 0; k < shards; k++) {
+            String file = new File(folder.getRoot(), random + "_" + k + ".shard").getPath();
+            RoundRobinTournament worker = tournament(random, agents.get(), shards);
+            worker.setShard(k, file);
+            worker.run();
+            files.add(file);
+        }
+        RoundRobinTournament coordinator = tournament(random, agents.get(), shards);
+        coordinator.mergeShards(files);
+        coordinator.run();
+        return coordinator;
+    }
+
+    private List<AbstractPlayer> deterministicAgents() {
+        return Arrays.asList(new FirstActionPlayer(), new FirstActionPlayer(), new FirstActionPlayer());
+    }
+
+    private void assertSameResults(RoundRobinTournament expected, RoundRobinTournament actual) {
+        assertEquals(expected.getGamesPlayed(), actual.getGamesPlayed());
+        for (int i = 0; i < expected.getNumberOfAgents(); i++) {
+            assertEquals(expected.getWinRate(i), actual.getWinRate(i), 0.0);
+            assertEquals(expected.getOrdinalRank(i), actual.getOrdinalRank(i), 0.0);
+        }
+    }
+
+    @Test
+    public void deterministicAgentsGiveTheSameResultsAsOneProcess() {
+        for (boolean random : new boolean[]{false, true}) {
+            RoundRobinTournament single = tournament(random, deterministicAgents(), 1);
+            single.run();
+            RoundRobinTournament sharded = runSharded(random, this::deterministicAgents, 3);
+            assertSameResults(single, sharded);
+        }
+    }
+
+    @Test
+    public void shardedResultsAreReproducible() {
+        Supplier<List<AbstractPlayer>> agents = () ->
+                Arrays.asList(new RandomPlayer(new Random(1)), new RandomPlayer(new Random(2)), new RandomPlayer(new Random(3)));
+        RoundRobinTournament first = runSharded(false, agents, 2);
+        RoundRobinTournament second = runSharded(false, agents, 2);
+        assertSameResults(first, second);
+        assertEquals(150, first.getGamesPlayed());
+    }
+
+    @Test
+    public void missingShardIsRejected() {
+        String file = new File(folder.getRoot(), "only.shard").getPath();
+        RoundRobinTournament worker = tournament(false, deterministicAgents(), 2);
+        worker.setShard(0, file);
+        worker.run();
+        RoundRobinTournament coordinator = tournament(false, deterministicAgents(), 2);
+        try {
+            coordinator.mergeShards(Arrays.asList(file, file));
+            fail("Expected the shards to be rejected");
+        } catch (IllegalArgumentException e) {
+            // expected, as the games of shard 0 are there twice, and those of shard 1 are missing
+        }
+    }
+}
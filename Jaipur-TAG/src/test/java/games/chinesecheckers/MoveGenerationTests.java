@@ -0,0 +1,148 @@
+package games.chinesecheckers;
+
+import core.Game;
+import core.actions.AbstractAction;
+import games.GameType;
+import games.chinesecheckers.actions.MovePeg;
+import games.chinesecheckers.components.CCNode;
+import games.chinesecheckers.components.Peg;
+import games.chinesecheckers.components.StarBoard;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the table-driven move generation and the peg array of CCGameState against a reference that keeps Pegs on
+ * the nodes of a StarBoard graph, and finds moves with a breadth-first search over that graph.
+ */
+public class MoveGenerationTests {
+
+    CCForwardModel fm = new CCForwardModel();
+
+    private static boolean isPlayerPlaceable(Peg.Colour col, Peg.Colour playerCol) {
+        return col == playerCol || col == Peg.Colour.neutral ||
+                col == Peg.Colour.values()[(playerCol.ordinal() + 3) % 6];
+    }
+
+    private static CCNode neighbourInDirection(CCNode node, int dir) {
+        for (CCNode neig : node.getNeighbours()) {
+            if (node.getNeighbourSideMapping().get(neig) == dir) {
+                return neig;
+            }
+        }
+        return null;
+    }
+
+    private static Set<MovePeg> referenceMoves(StarBoard board, Peg.Colour playerCol) {
+        Set<MovePeg> moves = new HashSet<>();
+        for (CCNode node : board.getBoardNodes()) {
+            if (node.getOccupiedPeg() == null || node.getOccupiedPeg().getColour() != playerCol) continue;
+            // single steps
+            for (CCNode nei : node.getNeighbours()) {
+                if (!nei.isNodeOccupied() && isPlayerPlaceable(nei.getBaseColour(), playerCol) &&
+                        (!node.getOccupiedPeg().getInDestination() || nei.getBaseColour() != Peg.Colour.neutral)) {
+                    moves.add(new MovePeg(node.getID(), nei.getID()));
+                }
+            }
+            // chains of jumps
+            Set<CCNode> visited = new HashSet<>();
+            Deque<CCNode> toVisit = new ArrayDeque<>();
+            toVisit.add(node);
+            while (!toVisit.isEmpty()) {
+                CCNode expNode = toVisit.poll();
+                if (!visited.add(expNode)) continue;
+                boolean canLeaveZone = expNode.getBaseColour() != playerCol;
+                for (CCNode neighbour : expNode.getNeighbours()) {
+                    int side = expNode.getNeighbourSideMapping().get(neighbour);
+                    if (neighbour.isNodeOccupied()) {
+                        CCNode stride = neighbourInDirection(neighbour, side);
+                        if (stride != null && !stride.isNodeOccupied() &&
+                                (canLeaveZone || stride.getBaseColour() == playerCol) && !visited.contains(stride)) {
+                            toVisit.add(stride);
+                        }
+                    }
+                }
+            }
+            visited.remove(node);
+            for (CCNode v : visited) {
+                if (isPlayerPlaceable(v.getBaseColour(), playerCol)) {
+                    moves.add(new MovePeg(node.getID(), v.getID()));
+                }
+            }
+        }
+        return moves;
+    }
+
+    private static void referenceMove(StarBoard board, CCParameters params, MovePeg move) {
+        CCNode from = board.getBoardNodes().get(move.getFrom());
+        CCNode to = board.getBoardNodes().get(move.getTo());
+        Peg peg = from.getOccupiedPeg();
+        from.setOccupiedPeg(null);
+        to.setOccupiedPeg(peg);
+        for (int destination : params.colourIndices.get(params.boardOpposites.get(peg.getColour()))) {
+            if (destination == move.getTo()) {
+                peg.setInDestination(true);
+            }
+        }
+    }
+
+    private static void assertSamePegs(StarBoard reference, CCGameState state) {
+        for (CCNode node : reference.getBoardNodes()) {
+            int id = node.getID();
+            Peg peg = node.getOccupiedPeg();
+            assertEquals(peg != null, state.isNodeOccupied(id));
+            assertEquals(peg == null ? null : peg.getColour(), state.getPegColour(id));
+            assertEquals(peg != null && peg.getInDestination(), state.isPegInDestination(id));
+        }
+    }
+
+    @Test
+    public void movesMatchSearchOverTheBoardGraph() {
+        Random rnd = new Random(9876);
+        int positions = 0;
+        for (int nPlayers : new int[]{2, 3, 4, 6}) {
+            for (int g = 0; g < 5; g++) {
+                CCParameters params = new CCParameters();
+                Game game = GameType.ChineseCheckers.createGameInstance(nPlayers, params);
+                CCGameState state = (CCGameState) game.getGameState();
+                StarBoard reference = new StarBoard();
+                for (int i = 0; i < StarBoard.N_NODES; i++) {
+                    if (state.isNodeOccupied(i)) {
+                        CCNode node = reference.getBoardNodes().get(i);
+                        node.setOccupiedPeg(new Peg(state.getPegColour(i), node));
+                    }
+                }
+                for (int move = 0; move < 200 && state.isNotTerminal(); move++) {
+                    assertSamePegs(reference, state);
+                    List<AbstractAction> actions = fm.computeAvailableActions(state);
+                    Set<MovePeg> moves = new HashSet<>();
+                    for (AbstractAction action : actions)
+                        moves.add((MovePeg) action);
+                    assertEquals(actions.size(), moves.size());
+                    assertEquals(referenceMoves(reference, state.getPlayerColour(state.getCurrentPlayer())), moves);
+                    positions++;
+
+                    MovePeg chosen = (MovePeg) actions.get(rnd.nextInt(actions.size()));
+                    referenceMove(reference, params, chosen);
+                    fm.next(state, chosen);
+                }
+            }
+        }
+        assertTrue(positions > 1000);
+    }
+
+    @Test
+    public void copiesHaveTheirOwnPegs() {
+        Game game = GameType.ChineseCheckers.createGameInstance(2, new CCParameters());
+        CCGameState state = (CCGameState) game.getGameState();
+        CCGameState copy = (CCGameState) state.copy();
+        fm.next(copy, new MovePeg(6, 14));
+        assertTrue(state.isNodeOccupied(6));
+        assertFalse(state.isNodeOccupied(14));
+        assertFalse(copy.isNodeOccupied(6));
+        assertEquals(Peg.Colour.purple, copy.getPegColour(14));
+        assertNotEquals(state, copy);
+    }
+}
@@ -0,0 +1,130 @@
+package games.connect4;
+
+import core.actions.AbstractAction;
+import core.actions.SetGridValueAction;
+import core.components.GridBoard;
+import core.components.Token;
+import org.junit.Test;
+import utilities.Pair;
+
+import java.util.*;
+
+import static core.CoreConstants.GameResult.WIN_GAME;
+import static org.junit.Assert.*;
+
+public class TestConnect4Bitboard {
+
+    Connect4ForwardModel gridFM = new Connect4ForwardModel();
+    Connect4BitboardForwardModel bitFM = new Connect4BitboardForwardModel();
+
+    private Connect4GameParameters params(int gridSize, int winCount) {
+        Connect4GameParameters params = new Connect4GameParameters();
+        params.setParameterValue("gridSize", gridSize);
+        params.setParameterValue("winCount", winCount);
+        return params;
+    }
+
+    private void assertSameGrid(GridBoard<Token> expected, GridBoard<Token> actual) {
+        assertEquals(expected.getWidth(), actual.getWidth());
+        assertEquals(expected.getHeight(), actual.getHeight());
+        for (int x = 0; x < expected.getWidth(); x++)
+            for (int y = 0; y < expected.getHeight(); y++)
+                assertEquals(expected.getElement(x, y).getTokenType(), actual.getElement(x, y).getTokenType());
+    }
+
+    private List<Pair<Integer, Integer>> cells(List<AbstractAction> actions) {
+        List<Pair<Integer, Integer>> cells = new ArrayList<>();
+        for (AbstractAction action : actions) {
+            SetGridValueAction<?> a = (SetGridValueAction<?>) action;
+            cells.add(new Pair<>(a.getX(), a.getY()));
+        }
+        return cells;
+    }
+
+    /**
+     * Plays a random game on both representations, and checks they agree after every move.
+     */
+    private void playBoth(Connect4GameParameters params, Random rnd) {
+        Connect4GameState grid = new Connect4GameState(params, 2);
+        Connect4BitboardGameState bits = new Connect4BitboardGameState(params, 2);
+        gridFM.setup(grid);
+        bitFM.setup(bits);
+        while (true) {
+            assertSameGrid(grid.getGridBoard(), bits.getGridBoard());
+            assertEquals(grid.getGameStatus(), bits.getGameStatus());
+            assertArrayEquals(grid.getPlayerResults(), bits.getPlayerResults());
+            assertEquals(grid.getCurrentPlayer(), bits.getCurrentPlayer());
+            List<AbstractAction> gridActions = gridFM.computeAvailableActions(grid);
+            List<AbstractAction> bitActions = bitFM.computeAvailableActions(bits);
+            assertEquals(cells(gridActions), cells(bitActions));
+            if (!grid.isNotTerminal())
+                break;
+            int choice = rnd.nextInt(gridActions.size());
+            gridFM.next(grid, gridActions.get(choice));
+            bitFM.next(bits, bitActions.get(choice));
+        }
+        int winner = Arrays.asList(bits.getPlayerResults()).indexOf(WIN_GAME);
+        if (winner >= 0) {
+            // the line found may not be the same one, but it is the winner's
+            assertEquals(params.winCount, bits.getWinningCells().size());
+            for (Pair<Integer, Integer> cell : bits.getWinningCells())
+                assertEquals(Connect4Constants.playerMapping.get(winner).getTokenType(),
+                        bits.getGridBoard().getElement(cell.a, cell.b).getTokenType());
+        } else {
+            assertTrue(bits.isBoardFull());
+        }
+    }
+
+    @Test
+    public void bitboardGamesMatchTheGridImplementation() {
+        Random rnd = new Random(4242);
+        for (int gridSize : new int[]{6, 8, 10, 12})
+            for (int winCount : new int[]{3, 4, 5, 6})
+                for (int game = 0; game < 20; game++)
+                    playBoth(params(gridSize, winCount), rnd);
+    }
+
+    @Test
+    public void gridViewIsRebuiltAfterEachDisc() {
+        Connect4BitboardGameState bits = new Connect4BitboardGameState(params(6, 4), 2);
+        bitFM.setup(bits);
+        GridBoard<Token> before = bits.getGridBoard();
+        assertSame(before, bits.getGridBoard());
+        bitFM.next(bits, bitFM.computeAvailableActions(bits).get(2));
+        GridBoard<Token> after = bits.getGridBoard();
+        assertNotSame(before, after);
+        assertEquals(Connect4Constants.emptyCell, before.getElement(2, 5).getTokenType());
+        assertEquals(Connect4Constants.playerMapping.get(0).getTokenType(), after.getElement(2, 5).getTokenType());
+
+        // copies have their own view
+        Connect4BitboardGameState copy = (Connect4BitboardGameState) bits.copy();
+        bitFM.next(copy, bitFM.computeAvailableActions(copy).get(2));
+        assertEquals(Connect4Constants.emptyCell, bits.getGridBoard().getElement(2, 4).getTokenType());
+        assertEquals(Connect4Constants.playerMapping.get(1).getTokenType(), copy.getGridBoard().getElement(2, 4).getTokenType());
+    }
+
+    @Test
+    public void copiesKeepTheirOwnWinningCells() {
+        Random rnd = new Random(77);
+        for (int game = 0; game < 50; game++) {
+            Connect4BitboardGameState bits = new Connect4BitboardGameState(params(6, 4), 2);
+            bitFM.setup(bits);
+            while (bits.isNotTerminal()) {
+                List<AbstractAction> actions = bitFM.computeAvailableActions(bits);
+                bitFM.next(bits, actions.get(rnd.nextInt(actions.size())));
+            }
+            if (bits.getWinningCells().isEmpty()) continue;
+            List<Pair<Integer, Integer>> before = new ArrayList<>(bits.getWinningCells());
+
+            // a copy of the finished game, set up again and played to another win, leaves the original alone
+            Connect4BitboardGameState copy = (Connect4BitboardGameState) bits.copy();
+            bitFM.setup(copy);
+            assertTrue(copy.getWinningCells().isEmpty());
+            while (copy.isNotTerminal()) {
+                List<AbstractAction> actions = bitFM.computeAvailableActions(copy);
+                bitFM.next(copy, actions.get(rnd.nextInt(actions.size())));
+            }
+            assertEquals(before, bits.getWinningCells());
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package games.dotsboxes;
+
+import core.AbstractPlayer;
+import core.Game;
+import core.actions.AbstractAction;
+import games.GameType;
+import org.junit.Before;
+import org.junit.Test;
+import players.simple.RandomPlayer;
+import utilities.Vector2D;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TestDotsAndBoxes {
+
+    Game game;
+    DBGameState state;
+    DBForwardModel fm = new DBForwardModel();
+
+    @Before
+    public void setup() {
+        List<AbstractPlayer> players = Arrays.asList(new RandomPlayer(), new RandomPlayer());
+        game = GameType.DotsAndBoxes.createGameInstance(2, 42);
+        game.reset(players);
+        state = (DBGameState) game.getGameState();
+    }
+
+    @Test
+    public void gridIncidenceIsConsistent() {
+        DBGrid grid = state.getGrid();
+        DBParameters params = (DBParameters) state.getGameParameters();
+        assertEquals(params.gridWidth * params.gridHeight, grid.nCells());
+        assertEquals((params.gridHeight + 1) * params.gridWidth + params.gridHeight * (params.gridWidth + 1), grid.nEdges());
+        for (int c = 0; c < grid.nCells(); c++) {
+            assertEquals(c, grid.indexOf(grid.getCell(c)));
+            for (int i = 0; i < 4; i++) {
+                int e = grid.cellEdges[4 * c + i];
+                assertTrue(grid.edgeCells[2 * e] == c || grid.edgeCells[2 * e + 1] == c);
+            }
+        }
+        for (int e = 0; e < grid.nEdges(); e++) {
+            DBEdge edge = grid.getEdge(e);
+            assertEquals(e, grid.indexOf(edge));
+            assertEquals(e, grid.indexOf(new DBEdge(edge.to, edge.from)));
+        }
+        assertEquals(-1, grid.indexOf(new DBEdge(new Vector2D(0, 0), new Vector2D(1, 1))));
+        assertSame(grid, DBGrid.get(params.gridWidth, params.gridHeight));
+    }
+
+    @Test
+    public void completingCellScoresAndKeepsTurn() {
+        // Three sides of the top left cell, placed by alternating players
+        fm.next(state, new AddGridCellEdge(new DBEdge(new Vector2D(0, 0), new Vector2D(1, 0))));
+        fm.next(state, new AddGridCellEdge(new DBEdge(new Vector2D(0, 0), new Vector2D(0, 1))));
+        fm.next(state, new AddGridCellEdge(new DBEdge(new Vector2D(1, 0), new Vector2D(1, 1))));
+        assertEquals(3, state.countCompleteEdges(new DBCell(0, 0)));
+        assertEquals(1, state.getCurrentPlayer());
+        assertEquals(-1, state.getCellOwner(0));
+
+        fm.next(state, new AddGridCellEdge(new DBEdge(new Vector2D(1, 1), new Vector2D(0, 1))));
+        assertEquals(1, state.getCellOwner(0));
+        assertEquals(1, state.getGameScore(1), 0.0);
+        assertEquals(0, state.getGameScore(0), 0.0);
+        assertEquals(1, state.getCurrentPlayer());
+        assertFalse(state.getLastActionDidNotScore());
+    }
+
+    @Test
+    public void copiesAreIndependent() {
+        List<AbstractAction> actions = fm.computeAvailableActions(state);
+        assertEquals(state.getGrid().nEdges(), actions.size());
+        DBGameState copy = (DBGameState) state.copy();
+        assertEquals(state, copy);
+
+        fm.next(copy, actions.get(0));
+        assertNotEquals(state, copy);
+        assertEquals(state.getGrid().nEdges(), fm.computeAvailableActions(state).size());
+        assertEquals(state.getGrid().nEdges() - 1, fm.computeAvailableActions(copy).size());
+        for (int e = 0; e < state.getGrid().nEdges(); e++)
+            assertEquals(-1, state.getEdgeOwner(e));
+    }
+}
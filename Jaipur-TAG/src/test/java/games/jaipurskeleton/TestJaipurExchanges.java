@@ -0,0 +1,159 @@
+package games.jaipurskeleton;
+
+import com.google.common.collect.ImmutableMap;
+import core.AbstractPlayer;
+import core.Game;
+import core.actions.AbstractAction;
+import core.components.Counter;
+import games.GameType;
+import games.jaipurskeleton.actions.TakeCards;
+import games.jaipurskeleton.components.JaipurCard;
+import games.jaipurskeleton.components.JaipurCard.GoodType;
+import org.junit.Before;
+import org.junit.Test;
+import players.simple.RandomPlayer;
+
+import java.util.*;
+
+import static games.jaipurskeleton.components.JaipurCard.GoodType.*;
+import static org.junit.Assert.*;
+
+public class TestJaipurExchanges {
+
+    Game game;
+    JaipurGameState state;
+    JaipurForwardModel fm = new JaipurForwardModel();
+
+    @Before
+    public void setup() {
+        List<AbstractPlayer> players = Arrays.asList(new RandomPlayer(new Random(1)), new RandomPlayer(new Random(2)));
+        game = GameType.Jaipur.createGameInstance(2, 42);
+        game.reset(players);
+        state = (JaipurGameState) game.getGameState();
+    }
+
+    private void setMarket(Map<GoodType, Integer> cards) {
+        for (GoodType gt : GoodType.values())
+            state.market.get(gt).setValue(cards.getOrDefault(gt, 0));
+    }
+
+    private void setHand(int player, Map<GoodType, Integer> cards, int camels) {
+        for (Map.Entry<GoodType, Counter> e : state.playerHands.get(player).entrySet())
+            e.getValue().setValue(cards.getOrDefault(e.getKey(), 0));
+        state.playerHerds.get(player).setValue(camels);
+    }
+
+    /**
+     * All exchanges, found by trying every set of market cards against every set of cards from the hand and herd.
+     */
+    private Set<TakeCards> bruteForceExchanges() {
+        int player = state.getCurrentPlayer();
+        JaipurParameters jp = (JaipurParameters) state.getGameParameters();
+        List<GoodType> marketCards = new ArrayList<>();
+        for (GoodType gt : GoodType.values()) {
+            if (gt == Camel) continue;
+            for (int i = 0; i < state.market.get(gt).getValue(); i++)
+                marketCards.add(gt);
+        }
+        List<GoodType> myCards = new ArrayList<>();
+        for (Map.Entry<GoodType, Counter> e : state.playerHands.get(player).entrySet())
+            for (int i = 0; i < e.getValue().getValue(); i++)
+                myCards.add(e.getKey());
+        int nCamels = Math.min(state.playerHerds.get(player).getValue(), jp.getHandLimit() - myCards.size());
+        for (int i = 0; i < nCamels; i++)
+            myCards.add(Camel);
+
+        Set<TakeCards> exchanges = new HashSet<>();
+        for (int takeMask = 0; takeMask < 1 << marketCards.size(); takeMask++) {
+            int n = Integer.bitCount(takeMask);
+            if (n < 2) continue;
+            Map<GoodType, Integer> take = countCards(marketCards, takeMask);
+            for (int giveMask = 0; giveMask < 1 << myCards.size(); giveMask++) {
+                if (Integer.bitCount(giveMask) != n) continue;
+                Map<GoodType, Integer> give = countCards(myCards, giveMask);
+                if (!Collections.disjoint(take.keySet(), give.keySet())) continue;
+                exchanges.add(new TakeCards(ImmutableMap.copyOf(take), ImmutableMap.copyOf(give), player));
+            }
+        }
+        return exchanges;
+    }
+
+    private Map<GoodType, Integer> countCards(List<GoodType> cards, int mask) {
+        Map<GoodType, Integer> counts = new EnumMap<>(GoodType.class);
+        for (int i = 0; i < cards.size(); i++)
+            if ((mask & (1 << i)) != 0)
+                counts.merge(cards.get(i), 1, Integer::sum);
+        return counts;
+    }
+
+    private Set<TakeCards> exchanges(List<AbstractAction> actions) {
+        Set<TakeCards> exchanges = new HashSet<>();
+        for (AbstractAction action : actions)
+            if (action instanceof TakeCards tc && tc.howManyPerTypeGiveFromHand != null)
+                exchanges.add(tc);
+        return exchanges;
+    }
+
+    @Test
+    public void exchangesMatchBruteForceEnumeration() {
+        Random rnd = new Random(330245);
+        int positions = 0;
+        for (int g = 0; g < 20; g++) {
+            game.reset(Arrays.asList(new RandomPlayer(new Random(g)), new RandomPlayer(new Random(-g))), g);
+            state = (JaipurGameState) game.getGameState();
+            while (state.isNotTerminal()) {
+                List<AbstractAction> actions = fm.computeAvailableActions(state);
+                assertEquals(new HashSet<>(actions).size(), actions.size());
+                assertEquals(bruteForceExchanges(), exchanges(actions));
+                positions++;
+                fm.next(state, actions.get(rnd.nextInt(actions.size())));
+            }
+        }
+        assertTrue(positions > 100);
+    }
+
+    @Test
+    public void exchangesBelongToTheCurrentPlayer() {
+        // Taking two Jade and giving back Gold and a Camel puts something in every field of the exchange
+        TakeCards[] expected = new TakeCards[2];
+        for (int player = 0; player < 2; player++) {
+            state.setTurnOwner(player);
+            setMarket(ImmutableMap.of(Jade, 2, Diamonds, 3));
+            setHand(player, ImmutableMap.of(Gold, 1), 1);
+            List<AbstractAction> actions = fm.computeAvailableActions(state);
+            assertEquals(bruteForceExchanges(), exchanges(actions));
+            expected[player] = new TakeCards(ImmutableMap.of(Jade, 2), ImmutableMap.of(Gold, 1, Camel, 1), player);
+            assertTrue(actions.contains(expected[player]));
+
+            // and it is the current player's hand and herd that change
+            JaipurGameState copy = (JaipurGameState) state.copy();
+            actions.get(actions.indexOf(expected[player])).execute(copy);
+            assertEquals(2, copy.playerHands.get(player).get(Jade).getValue());
+            assertEquals(0, copy.playerHands.get(player).get(Gold).getValue());
+            assertEquals(0, copy.playerHerds.get(player).getValue());
+            assertEquals(state.playerHerds.get(1 - player).getValue(), copy.playerHerds.get(1 - player).getValue());
+        }
+        assertNotEquals(expected[0], expected[1]);
+    }
+
+    @Test
+    public void roundEndsWhenTheMarketCannotBeRefilled() {
+        int round = state.getRoundCounter();
+        setMarket(ImmutableMap.of(Jade, 1, Diamonds, 2, Camel, 2));
+        state.drawDeck.clear();
+        state.drawDeck.add(new JaipurCard(Gold));
+
+        // one card left, so taking a single good refills the market
+        fm.next(state, new TakeCards(ImmutableMap.of(Jade, 1), null, state.getCurrentPlayer()));
+        assertEquals(round, state.getRoundCounter());
+        assertEquals(0, state.drawDeck.getSize());
+
+        // taking the camels leaves the market short
+        fm.next(state, new TakeCards(ImmutableMap.of(Camel, 2), null, state.getCurrentPlayer()));
+        assertEquals(round + 1, state.getRoundCounter());
+        int market = 0;
+        for (Counter c : state.market.values())
+            market += c.getValue();
+        assertEquals(((JaipurParameters) state.getGameParameters()).getMarketSize(), market);
+    }
+}
@@ -0,0 +1,68 @@
+package games.terraformingmars;
+
+import core.AbstractForwardModel;
+import core.Game;
+import core.actions.AbstractAction;
+import games.GameType;
+import games.terraformingmars.components.GlobalParameter;
+import games.terraformingmars.components.TMCard;
+import games.terraformingmars.rules.requirements.Requirement;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TestCardRequirements {
+
+    private static boolean requirementsMet(TMGameState gs, TMCard card) {
+        for (Requirement<TMGameState> r : card.requirements) {
+            if (!r.testCondition(gs)) return false;
+        }
+        return true;
+    }
+
+    private static int checkHands(TMGameState gs) {
+        int checked = 0;
+        for (TMCard card : gs.getPlayerHands()[gs.getCurrentPlayer()].getComponents()) {
+            // twice, so that the second answer may come from the cache
+            assertEquals(card.getComponentName(), requirementsMet(gs, card), gs.cardRequirementsMet(card));
+            assertEquals(card.getComponentName(), requirementsMet(gs, card), gs.cardRequirementsMet(card));
+            if (!card.requirements.isEmpty()) checked++;
+        }
+        return checked;
+    }
+
+    @Test
+    public void cachedRequirementsFollowTheState() {
+        int checked = 0;
+        for (int seed = 1; seed <= 3; seed++) {
+            Game game = GameType.TerraformingMars.createGameInstance(2, seed);
+            TMGameState gs = (TMGameState) game.getGameState();
+            AbstractForwardModel fm = game.getForwardModel();
+            Random rnd = new Random(seed);
+            for (int i = 0; i < 500 && gs.isNotTerminal(); i++) {
+                checked += checkHands(gs);
+                List<AbstractAction> actions = fm.computeAvailableActions(gs);
+                if (actions.isEmpty()) break;
+                try {
+                    fm.next(gs, actions.get(rnd.nextInt(actions.size())));
+                } catch (AssertionError e) {
+                    break;  // some random card combinations are not supported by the forward model
+                }
+            }
+
+            // changing the global parameters changes the answers
+            for (GlobalParameter gp : gs.getGlobalParameters().values()) {
+                gp.setValue(gp.getMaximum());
+            }
+            checked += checkHands(gs);
+            for (GlobalParameter gp : gs.getGlobalParameters().values()) {
+                gp.setValue(gp.getMinimum());
+            }
+            checked += checkHands(gs);
+        }
+        assertTrue(checked > 0);
+    }
+}
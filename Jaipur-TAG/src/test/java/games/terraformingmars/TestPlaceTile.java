@@ -0,0 +1,117 @@
+package games.terraformingmars;
+
+import core.Game;
+import core.actions.AbstractAction;
+import games.GameType;
+import games.terraformingmars.actions.PlaceTile;
+import games.terraformingmars.components.TMMapTile;
+import org.junit.Test;
+import utilities.Group;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class TestPlaceTile {
+
+    /**
+     * Map tiles where the tile can be placed, found by checking every cell of the board.
+     */
+    private static List<Integer> scanBoard(TMGameState gs, PlaceTile pt, int player) {
+        List<Integer> legal = new ArrayList<>();
+        for (int i = 0; i < gs.getBoard().getHeight(); i++) {
+            for (int j = 0; j < gs.getBoard().getWidth(); j++) {
+                TMMapTile mt = gs.getBoard().getElement(j, i);
+                if (mt == null || mt.getTilePlaced() != null) continue;
+                if (mt.isReserved() && mt.getReserved() != player) continue;
+                if (pt.mapType != null && mt.getTileType() != pt.mapType) continue;
+                if (pt.adjacencyRequirement != null && !pt.adjacencyRequirement.testCondition(new Group<>(gs, mt, player)))
+                    continue;
+                legal.add(mt.getComponentID());
+            }
+        }
+        return legal;
+    }
+
+    private static List<Integer> generated(TMGameState gs, PlaceTile pt) {
+        List<Integer> legal = new ArrayList<>();
+        for (AbstractAction a : pt._computeAvailableActions(gs)) {
+            if (a instanceof PlaceTile) legal.add(((PlaceTile) a).mapTileID);
+        }
+        return legal;
+    }
+
+    @Test
+    public void placementsMatchFullBoardScan() {
+        Game game = GameType.TerraformingMars.createGameInstance(3, 7);
+        TMGameState gs = (TMGameState) game.getGameState();
+        Random rnd = new Random(7);
+        TMTypes.Tile[] tiles = {TMTypes.Tile.Ocean, TMTypes.Tile.Greenery, TMTypes.Tile.City};
+        TMTypes.MapTileType[] types = {TMTypes.MapTileType.Ocean, TMTypes.MapTileType.Ground, TMTypes.MapTileType.Ground};
+        int tilesPlaced = 0;
+        for (int i = 0; i < 60; i++) {
+            for (int p = 0; p < gs.getNPlayers(); p++) {
+                for (int t = 0; t < tiles.length; t++) {
+                    PlaceTile pt = new PlaceTile(p, tiles[t], types[t], true);
+                    assertEquals(tiles[t] + " for player " + p, scanBoard(gs, pt, p), generated(gs, pt));
+                }
+            }
+
+            // caches are copied with the state, and the same as those built from scratch
+            TMGameState copy = (TMGameState) gs.copy();
+            assertEquals(gs.getEmptyCells(), copy.getEmptyCells());
+            copy.emptyCells = null;
+            assertEquals(gs.getEmptyCells(), copy.getEmptyCells());
+            assertEquals(gs.getCellsAdjacentToCity(), copy.getCellsAdjacentToCity());
+            for (int p = 0; p < gs.getNPlayers(); p++)
+                assertEquals(gs.getCellsAdjacentToOwned(p), copy.getCellsAdjacentToOwned(p));
+
+            // place a random tile for a random player
+            int player = rnd.nextInt(gs.getNPlayers());
+            int t = rnd.nextInt(tiles.length);
+            gs.getTurnOrder().setTurnOwner(player);
+            List<Integer> legal = generated(gs, new PlaceTile(player, tiles[t], types[t], true));
+            if (!legal.isEmpty()) {
+                TMMapTile mt = (TMMapTile) gs.getComponentById(legal.get(rnd.nextInt(legal.size())));
+                mt.setTilePlaced(tiles[t], gs);
+                tilesPlaced++;
+            }
+        }
+        assertTrue(tilesPlaced > 30);
+    }
+
+    @Test
+    public void placementsAreRebuiltForTheNextGame() {
+        Game game = GameType.TerraformingMars.createGameInstance(2, 11);
+        TMGameState gs = (TMGameState) game.getGameState();
+        Random rnd = new Random(11);
+        TMTypes.Tile[] tiles = {TMTypes.Tile.Ocean, TMTypes.Tile.Greenery, TMTypes.Tile.City};
+        TMTypes.MapTileType[] types = {TMTypes.MapTileType.Ocean, TMTypes.MapTileType.Ground, TMTypes.MapTileType.Ground};
+        int tilesPlaced = 0;
+        for (int i = 0; i < 30; i++) {
+            int player = i % 2;
+            int t = i % tiles.length;
+            List<Integer> legal = generated(gs, new PlaceTile(player, tiles[t], types[t], true));
+            if (legal.isEmpty()) continue;
+            TMMapTile mt = (TMMapTile) gs.getComponentById(legal.get(rnd.nextInt(legal.size())));
+            mt.setTilePlaced(tiles[t], gs);
+            tilesPlaced++;
+        }
+        assertTrue(tilesPlaced > 20);
+
+        // the next game is set up in the same state object, and starts from an empty board
+        game.reset(new ArrayList<>(), 11);
+        assertSame(gs, game.getGameState());
+        TMGameState fresh = (TMGameState) GameType.TerraformingMars.createGameInstance(2, 11).getGameState();
+        assertEquals(fresh.getEmptyCells(), gs.getEmptyCells());
+        assertEquals(fresh.getCellsAdjacentToCity(), gs.getCellsAdjacentToCity());
+        for (int p = 0; p < gs.getNPlayers(); p++) {
+            assertEquals(fresh.getCellsAdjacentToOwned(p), gs.getCellsAdjacentToOwned(p));
+            for (int t = 0; t < tiles.length; t++) {
+                PlaceTile pt = new PlaceTile(p, tiles[t], types[t], true);
+                assertEquals(scanBoard(gs, pt, p), generated(gs, pt));
+                assertEquals(generated(fresh, pt).size(), generated(gs, pt).size());
+            }
+        }
+    }
+}
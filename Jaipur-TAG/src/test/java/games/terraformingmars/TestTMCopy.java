@@ -0,0 +1,101 @@
+package games.terraformingmars;
+
+import core.AbstractForwardModel;
+import core.Game;
+import core.actions.AbstractAction;
+import games.GameType;
+import games.terraformingmars.actions.TMAction;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class TestTMCopy {
+
+    TMGameState gs;
+    AbstractForwardModel fm;
+
+    /**
+     * Plays random actions, chosen among those the forward model can apply (some random card combinations are not
+     * supported by it), and returns the number played. This can still be short of nActions, as the forward model
+     * sometimes offers only actions it cannot apply.
+     */
+    private int play(TMGameState state, int nActions, Random rnd) {
+        int played = 0;
+        while (played < nActions && state.isNotTerminal()) {
+            List<AbstractAction> actions = fm.computeAvailableActions(state);
+            Collections.shuffle(actions, rnd);
+            AbstractAction chosen = null;
+            for (AbstractAction action : actions) {
+                try {
+                    fm.next(state.copy(), action.copy());
+                    chosen = action;
+                    break;
+                } catch (AssertionError e) {
+                    // try another
+                }
+            }
+            if (chosen == null) break;
+            fm.next(state, chosen);
+            played++;
+        }
+        return played;
+    }
+
+    private static List<Integer> effectSizes(TMGameState state) {
+        List<Integer> sizes = new ArrayList<>();
+        for (int p = 0; p < state.getNPlayers(); p++) {
+            sizes.add(state.getPlayerExtraActions()[p].size());
+            sizes.add(state.getPlayerResourceMap()[p].size());
+            sizes.add(state.getPlayerDiscountEffects()[p].size());
+            sizes.add(state.getPlayerPersistingEffects()[p].size());
+        }
+        return sizes;
+    }
+
+    @Before
+    public void setup() {
+        Game game = GameType.TerraformingMars.createGameInstance(2, 3);
+        gs = (TMGameState) game.getGameState();
+        fm = game.getForwardModel();
+        assertTrue(play(gs, 150, new Random(3)) >= 100);
+    }
+
+    @Test
+    public void copiesShareEffectsUntilModified() {
+        TMGameState copy = (TMGameState) gs.copy();
+        assertSame(gs.getPlayerPersistingEffects()[0], copy.getPlayerPersistingEffects()[0]);
+
+        List<Integer> before = effectSizes(gs);
+        copy.addExtraAction(0, new TMAction(0));
+        assertNotSame(gs.getPlayerExtraActions()[0], copy.getPlayerExtraActions()[0]);
+        assertSame(gs.getPlayerExtraActions()[1], copy.getPlayerExtraActions()[1]);
+        assertEquals(before.get(0) + 1, copy.getPlayerExtraActions()[0].size());
+        assertEquals(before, effectSizes(gs));
+
+        // the original unshares too, and does not change the copy
+        TMGameState copy2 = (TMGameState) gs.copy();
+        gs.addExtraAction(1, new TMAction(1));
+        assertEquals(before.get(4), (Integer) copy2.getPlayerExtraActions()[1].size());
+        assertEquals(before.get(4), (Integer) copy.getPlayerExtraActions()[1].size());
+    }
+
+    @Test
+    public void playingCopiesLeavesOriginalUnchanged() {
+        TMGameState original = (TMGameState) gs.copy();
+        List<Integer> before = effectSizes(gs);
+        int played = 0;
+        for (int i = 0; i < 5; i++) {
+            TMGameState copy = (TMGameState) gs.copy();
+            copy.getPlayerResources()[0].get(TMTypes.Resource.MegaCredit).increment(5);
+            copy.getPlayerCardsPlayedTags()[1].get(TMTypes.Tag.Space).increment(1);
+            played += play(copy, 200, new Random(i));
+        }
+        assertTrue(played >= 500);
+        assertEquals(before, effectSizes(gs));
+        assertEquals(original, gs);
+        assertEquals(original.hashCode(), gs.hashCode());
+    }
+}
@@ -0,0 +1,73 @@
+package players;
+
+import core.AbstractPlayer;
+import core.Game;
+import games.GameType;
+import org.junit.Test;
+import players.rmhc.RMHCParams;
+import players.rmhc.RMHCPlayer;
+import players.simple.RandomPlayer;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class WorkerPoolTest {
+
+    @Test
+    public void everyTaskIsRunWithTheSameWorker() {
+        WorkerPool<List<Integer>> pool = new WorkerPool<>(Arrays.asList(new ArrayList<>(), new ArrayList<>(), new ArrayList<>()));
+        String[] threads = new String[10];
+        pool.run(10, (worker, i) -> {
+            worker.add(i);
+            threads[i] = Thread.currentThread().getName();
+        });
+        assertEquals(Arrays.asList(0, 3, 6, 9), pool.getWorker(0));
+        assertEquals(Arrays.asList(1, 4, 7), pool.getWorker(1));
+        assertEquals(Arrays.asList(2, 5, 8), pool.getWorker(2));
+        // the first worker's tasks are run by the calling thread
+        assertEquals(Thread.currentThread().getName(), threads[0]);
+        assertNotEquals(Thread.currentThread().getName(), threads[1]);
+
+        // fewer tasks than workers is fine
+        pool.run(1, (worker, i) -> worker.add(-1));
+        assertEquals(-1, (int) pool.getWorker(0).get(4));
+        assertEquals(3, pool.getWorker(1).size());
+    }
+
+    @Test
+    public void exceptionsAreRethrownOnceAllTasksHaveFinished() {
+        WorkerPool<int[]> pool = new WorkerPool<>(Arrays.asList(new int[1], new int[1]));
+        try {
+            pool.run(6, (worker, i) -> {
+                if (i == 1) throw new IllegalStateException("task " + i);
+                worker[0]++;
+            });
+            fail("Expected the exception to be rethrown");
+        } catch (IllegalStateException e) {
+            assertEquals("task 1", e.getMessage());
+        }
+        // the second worker stops at its first task, but the other finishes its own
+        assertEquals(3, pool.getWorker(0)[0]);
+        assertEquals(0, pool.getWorker(1)[0]);
+    }
+
+    private String playRMHC(long seed, int threads) {
+        RMHCParams params = new RMHCParams();
+        params.budgetType = PlayerConstants.BUDGET_ITERATIONS;
+        params.budget = 20;
+        params.threads = threads;
+        params.setRandomSeed(seed);
+        Game game = GameType.LoveLetter.createGameInstance(2, seed);
+        List<AbstractPlayer> players = Arrays.asList(new RMHCPlayer(params), new RandomPlayer(new Random(seed)));
+        game.reset(players, seed);
+        game.run();
+        return game.getGameState().getHistoryAsText().toString();
+    }
+
+    @Test
+    public void parallelRMHCIsReproducible() {
+        for (long seed = 1; seed <= 2; seed++)
+            assertEquals(playRMHC(seed, 3), playRMHC(seed, 3));
+    }
+}
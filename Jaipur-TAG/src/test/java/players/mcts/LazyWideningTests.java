@@ -0,0 +1,149 @@
+package players.mcts;
+
+import core.*;
+import core.actions.AbstractAction;
+import games.GameType;
+import games.tictactoe.TicTacToeForwardModel;
+import games.tictactoe.TicTacToeGameParameters;
+import games.tictactoe.TicTacToeGameState;
+import org.junit.Before;
+import org.junit.Test;
+import players.PlayerConstants;
+import players.simple.RandomPlayer;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class LazyWideningTests {
+
+    TestMCTSPlayer mctsPlayer;
+    MCTSParams params;
+
+    @Before
+    public void setup() {
+        params = new MCTSParams();
+        params.setRandomSeed(9332);
+        params.information = MCTSEnums.Information.Open_Loop;
+        params.rolloutLength = 10;
+        params.budgetType = PlayerConstants.BUDGET_ITERATIONS;
+        params.budget = 200;
+        params.progressiveWideningConstant = 2.0;
+        params.progressiveWideningExponent = 0.5;
+        params.lazyActionEnumeration = true;
+    }
+
+    private Game createTicTacToe(int gridSize) {
+        mctsPlayer = new TestMCTSPlayer(params, null);
+        List<AbstractPlayer> players = Arrays.asList(mctsPlayer, new RandomPlayer(new Random(3023)));
+        TicTacToeGameParameters gameParams = new TicTacToeGameParameters();
+        gameParams.setRandomSeed(330245);
+        gameParams.setParameterValue("gridSize", gridSize);
+        return new Game(GameType.TicTacToe, players, new TicTacToeForwardModel(), new TicTacToeGameState(gameParams, players.size()));
+    }
+
+    private int widenedTo(int visits) {
+        return (int) Math.floor(params.progressiveWideningConstant * Math.pow(visits, params.progressiveWideningExponent));
+    }
+
+    @Test
+    public void lazyActionsAreTheSameAsTheActionList() {
+        Game game = createTicTacToe(5);
+        AbstractGameState state = game.getGameState();
+        AbstractForwardModel forwardModel = game.getForwardModel();
+        Random rnd = new Random(42);
+        while (true) {
+            List<AbstractAction> actions = forwardModel.computeAvailableActions(state);
+            List<AbstractAction> lazyActions = new ArrayList<>();
+            forwardModel.availableActionIterator(state, state.getCoreGameParameters().actionSpace).forEachRemaining(lazyActions::add);
+            assertEquals(actions, lazyActions);
+            if (!state.isNotTerminal())
+                break;
+            forwardModel.next(state, actions.get(rnd.nextInt(actions.size())));
+        }
+    }
+
+    /**
+     * Checks the lazily generated actions against the list at every position of random games. Actions the forward
+     * model fails to apply (some random Terraforming Mars card combinations) are not chosen. The list is asked for
+     * twice, as the first Terraforming Mars list after a move is now and then only Pass.
+     */
+    private void checkRandomGames(GameType gameType, int nGames, int minPositions) {
+        Random rnd = new Random(42);
+        int positions = 0;
+        for (int g = 0; g < nGames; g++) {
+            Game game = gameType.createGameInstance(2, g);
+            AbstractGameState state = game.getGameState();
+            AbstractForwardModel forwardModel = game.getForwardModel();
+            for (int move = 0; move < 500 && state.isNotTerminal(); move++) {
+                forwardModel.computeAvailableActions(state);
+                List<AbstractAction> actions = forwardModel.computeAvailableActions(state);
+                List<AbstractAction> lazyActions = new ArrayList<>();
+                forwardModel.availableActionIterator(state, state.getCoreGameParameters().actionSpace).forEachRemaining(lazyActions::add);
+                assertEquals(actions, lazyActions);
+                positions++;
+
+                Collections.shuffle(actions, rnd);
+                AbstractAction chosen = null;
+                for (AbstractAction action : actions) {
+                    try {
+                        forwardModel.next(state.copy(), action.copy());
+                        chosen = action;
+                        break;
+                    } catch (AssertionError e) {
+                        // try another
+                    }
+                }
+                if (chosen == null) break;
+                forwardModel.next(state, chosen);
+            }
+        }
+        assertTrue(positions >= minPositions);
+    }
+
+    @Test
+    public void jaipurExchangesAreGeneratedLazily() {
+        checkRandomGames(GameType.Jaipur, 10, 300);
+    }
+
+    @Test
+    public void terraformingMarsActionsAreGeneratedLazily() {
+        checkRandomGames(GameType.TerraformingMars, 3, 200);
+    }
+
+    private void checkWidening() {
+        Game game = createTicTacToe(10);
+        AbstractGameState state = game.getGameState();
+        AbstractForwardModel forwardModel = game.getForwardModel();
+        for (int move = 0; move < 4; move++) {
+            AbstractAction chosen = game.getPlayers().get(state.getCurrentPlayer())
+                    ._getAction(state, forwardModel.computeAvailableActions(state));
+            if (state.getCurrentPlayer() == 0) {
+                SingleTreeNode root = mctsPlayer.getRoot(0);
+                assertEquals(200, root.getVisits());
+                assertEquals(widenedTo(200), root.actionValues.size());
+                assertTrue(root.actionValues.containsKey(chosen));
+                for (SingleTreeNode node : root.allNodesInTree()) {
+                    assertTrue(node.actionValues.size() <= widenedTo(node.getVisits() + 1));
+                    assertEquals(node.actionValues.size(), node.children.size());
+                }
+            }
+            forwardModel.next(state, chosen);
+        }
+    }
+
+    @Test
+    public void openLoopOnlyEnumeratesTheWidenedActions() {
+        checkWidening();
+    }
+
+    @Test
+    public void closedLoopWidensAsNodesAreVisited() {
+        params.information = MCTSEnums.Information.Closed_Loop;
+        params.discardStateAfterEachIteration = false;
+        checkWidening();
+        // the nodes below the root have widened too
+        assertTrue(mctsPlayer.getRoot(0).allNodesInTree().stream()
+                .anyMatch(n -> n.depth > 0 && n.actionValues.size() > widenedTo(1)));
+    }
+}
@@ -0,0 +1,137 @@
+package players.mcts;
+
+import core.*;
+import core.actions.AbstractAction;
+import games.GameType;
+import games.dominion.DominionForwardModel;
+import games.dominion.DominionGameState;
+import games.dominion.DominionParameters;
+import org.junit.Before;
+import org.junit.Test;
+import players.PlayerConstants;
+import players.simple.RandomPlayer;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.*;
+
+public class TreeLimitTests {
+
+    TestMCTSPlayer mctsPlayer;
+    MCTSParams params;
+
+    @Before
+    public void setup() {
+        params = new MCTSParams();
+        params.setRandomSeed(9332);
+        params.opponentTreePolicy = MCTSEnums.OpponentTreePolicy.OneTree;
+        params.information = MCTSEnums.Information.Information_Set;
+        params.maxTreeDepth = 50;
+        params.rolloutLength = 10;
+        params.budgetType = PlayerConstants.BUDGET_ITERATIONS;
+        params.budget = 500;
+        params.K = 1.0;
+    }
+
+    private Game createDominion(Supplier<? extends SingleTreeNode> factory) {
+        mctsPlayer = new TestMCTSPlayer(params, factory);
+        List<AbstractPlayer> players = new ArrayList<>();
+        players.add(mctsPlayer);
+        players.add(new RandomPlayer(new Random(3023)));
+        players.add(new RandomPlayer(new Random(244)));
+        DominionParameters dp = new DominionParameters();
+        dp.setRandomSeed(330245);
+        return new Game(GameType.Dominion, players, new DominionForwardModel(), new DominionGameState(dp, players.size()));
+    }
+
+    /**
+     * Makes the first few decisions of player 0 with the MCTS player, and checks the tree after each one.
+     */
+    private void runGame(Game game, int moves) {
+        int counter = 0;
+        AbstractGameState state = game.getGameState();
+        AbstractForwardModel forwardModel = game.getForwardModel();
+        do {
+            AbstractAction actionChosen = game.getPlayers().get(state.getCurrentPlayer())
+                    ._getAction(state, forwardModel.computeAvailableActions(state));
+            if (state.getCurrentPlayer() == 0) {
+                SingleTreeNode root = mctsPlayer.getRoot(0);
+                List<SingleTreeNode> nodes = root.allNodesInTree();
+                assertEquals(params.budget, root.getVisits());
+                assertEquals(nodes.size(), root.nodeCount);
+                assertTrue(nodes.size() <= params.maxTreeNodes);
+                for (SingleTreeNode node : nodes) {
+                    assertSame(root, node.root);
+                    if (node.parent != null)
+                        assertTrue(Arrays.asList(node.parent.children.get(node.actionToReach)).contains(node));
+                }
+                counter++;
+            }
+            forwardModel.next(state, actionChosen);
+        } while (counter < moves);
+    }
+
+    @Test
+    public void stopExpandingKeepsTheTreeWithinTheLimit() {
+        params.maxTreeNodes = 50;
+        params.treeLimitPolicy = MCTSEnums.TreeLimitPolicy.STOP_EXPANDING;
+        runGame(createDominion(null), 3);
+        assertEquals(50, mctsPlayer.getRoot(0).nodeCount);
+    }
+
+    @Test
+    public void pruningKeepsTheTreeWithinTheLimit() {
+        params.maxTreeNodes = 50;
+        params.treeLimitPolicy = MCTSEnums.TreeLimitPolicy.PRUNE;
+        runGame(createDominion(null), 3);
+    }
+
+    @Test
+    public void pruningWorksWithOMA() {
+        params.maxTreeNodes = 40;
+        params.treeLimitPolicy = MCTSEnums.TreeLimitPolicy.PRUNE;
+        params.opponentTreePolicy = MCTSEnums.OpponentTreePolicy.OMA_All;
+        params.omaVisits = 10;
+        runGame(createDominion(OMATreeNode::new), 3);
+    }
+
+    @Test
+    public void prunedNodesAreReused() {
+        params.maxTreeNodes = 50;
+        params.treeLimitPolicy = MCTSEnums.TreeLimitPolicy.PRUNE;
+        Set<SingleTreeNode> created = Collections.newSetFromMap(new IdentityHashMap<>());
+        runGame(createDominion(() -> {
+            SingleTreeNode node = new SingleTreeNode();
+            created.add(node);
+            return node;
+        }), 1);
+        // one node per iteration would be added without the limit
+        assertTrue(created.size() < 0.5 * params.budget);
+        assertTrue(created.containsAll(mctsPlayer.getRoot(0).allNodesInTree()));
+    }
+
+    @Test
+    public void statesInBetweenAreRecomputed() {
+        params.information = MCTSEnums.Information.Open_Loop;
+        params.maintainMasterState = true;
+        params.masterStateInterval = 3;
+        params.budget = 300;
+        mctsPlayer = new TestMCTSPlayer(params, null);
+        Game game = GameType.TicTacToe.createGameInstance(2, 42);
+        AbstractGameState state = game.getGameState();
+        AbstractForwardModel forwardModel = game.getForwardModel();
+        mctsPlayer.setForwardModel(forwardModel);
+        mctsPlayer._getAction(state, forwardModel.computeAvailableActions(state));
+
+        List<SingleTreeNode> nodes = mctsPlayer.getRoot(0).allNodesInTree();
+        assertTrue(nodes.stream().anyMatch(n -> n.depth > 3));
+        for (SingleTreeNode node : nodes) {
+            assertEquals(node.depth % 3 == 0, node.state != null);
+            AbstractGameState nodeState = node.getState();
+            assertEquals(node.depth, nodeState.getHistory().size() - state.getHistory().size());
+            if (nodeState.isNotTerminal())
+                assertEquals(new HashSet<>(forwardModel.computeAvailableActions(nodeState)), node.actionValues.keySet());
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package players.rhea;
+
+import core.AbstractForwardModel;
+import core.AbstractGameState;
+import core.AbstractPlayer;
+import core.Game;
+import core.actions.AbstractAction;
+import core.actions.DoNothing;
+import games.GameType;
+import org.junit.Test;
+import players.PlayerConstants;
+import players.simple.RandomPlayer;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class ClosedLoopRHEATest {
+
+    private RHEAPlayer player(boolean closedLoop, long seed) {
+        RHEAParams params = new RHEAParams();
+        params.budgetType = PlayerConstants.BUDGET_ITERATIONS;
+        params.budget = 20;
+        params.horizon = 8;
+        params.closedLoop = closedLoop;
+        params.setRandomSeed(seed);
+        return new RHEAPlayer(params);
+    }
+
+    private Game game(GameType gameType, RHEAPlayer rhea, long seed) {
+        Game game = gameType.createGameInstance(2, seed);
+        List<AbstractPlayer> players = Arrays.asList(rhea, new RandomPlayer(new Random(seed)));
+        game.reset(players, seed);
+        return game;
+    }
+
+    private void decide(Game game, RHEAPlayer rhea) {
+        // play on at random until the player has a decision to make
+        AbstractGameState state = game.getGameState();
+        AbstractForwardModel fm = game.getForwardModel();
+        Random rnd = new Random(0);
+        List<AbstractAction> actions = fm.computeAvailableActions(state, rhea.getParameters().actionSpace);
+        while (state.getCurrentPlayer() != rhea.getPlayerID() || actions.size() < 2) {
+            fm.next(state, actions.get(rnd.nextInt(actions.size())));
+            actions = fm.computeAvailableActions(state, rhea.getParameters().actionSpace);
+        }
+        rhea.getAction(state.copy(rhea.getPlayerID()), actions);
+    }
+
+    @Test
+    public void playsLegalGames() {
+        for (GameType gameType : new GameType[]{GameType.TicTacToe, GameType.LoveLetter, GameType.Dominion}) {
+            for (boolean closedLoop : new boolean[]{false, true}) {
+                long seed = closedLoop ? 1 : 2;
+                RHEAPlayer rhea = player(closedLoop, seed);
+                Game game = game(gameType, rhea, seed);
+                // the player checks that the action it returns is legal
+                game.run();
+                assertFalse(game.getGameState().isNotTerminal());
+            }
+        }
+    }
+
+    @Test
+    public void cachedStatesAreConsistentWithTheGenes() {
+        RHEAPlayer rhea = player(true, 3);
+        Game game = game(GameType.Dominion, rhea, 3);
+        decide(game, rhea);
+        AbstractForwardModel fm = rhea.getForwardModel();
+        AbstractGameState root = rhea.population.get(0).gameStates[0];
+        for (RHEAIndividual individual : rhea.population) {
+            assertSame(root, individual.gameStates[0]);
+            assertEquals(individual.length, individual.validGenes);
+            for (int i = 0; i < individual.validGenes; i++) {
+                assertNotNull(individual.gameStates[i + 1]);
+                assertTrue(individual.gameStates[i + 1].getGameTick() > individual.gameStates[i].getGameTick());
+                if (individual.availableActions[i] != null) {
+                    assertEquals(fm.computeAvailableActions(individual.gameStates[i], rhea.getParameters().actionSpace),
+                            individual.availableActions[i]);
+                    assertTrue(individual.availableActions[i].contains(individual.actions[i]));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void changingAGeneInvalidatesTheStatesAfterIt() {
+        RHEAPlayer rhea = player(true, 4);
+        Game game = game(GameType.LoveLetter, rhea, 4);
+        decide(game, rhea);
+        RHEAIndividual individual = new RHEAIndividual(rhea.population.get(0));
+        int validGenes = individual.validGenes;
+        individual.setAction(0, individual.actions[0]);
+        assertEquals(validGenes, individual.validGenes);
+        individual.setAction(0, new DoNothing());
+        assertEquals(0, individual.validGenes);
+        // the gene is illegal, so it is repaired when the individual is next rolled out
+        individual.mutate(rhea.getForwardModel(), rhea.getPlayerID(), 1);
+        assertTrue(individual.availableActions[0].contains(individual.actions[0]));
+        assertEquals(individual.length, individual.validGenes);
+    }
+
+    @Test
+    public void closedLoopNeedsFewerCopies() {
+        int openCopies = 0, closedCopies = 0;
+        for (long seed = 1; seed <= 3; seed++) {
+            RHEAPlayer open = player(false, seed);
+            decide(game(GameType.Dominion, open, seed), open);
+            openCopies += open.copyCalls;
+            RHEAPlayer closed = player(true, seed);
+            decide(game(GameType.Dominion, closed, seed), closed);
+            closedCopies += closed.copyCalls;
+            assertEquals(20, closed.numIters);
+        }
+        assertTrue(closedCopies + " vs " + openCopies, closedCopies < openCopies / 2);
+    }
+}
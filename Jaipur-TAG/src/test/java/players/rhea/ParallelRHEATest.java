@@ -0,0 +1,150 @@
+package players.rhea;
+
+import core.AbstractForwardModel;
+import core.AbstractGameState;
+import core.AbstractPlayer;
+import core.Game;
+import core.actions.AbstractAction;
+import games.GameType;
+import org.junit.Test;
+import players.PlayerConstants;
+import players.simple.RandomPlayer;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class ParallelRHEATest {
+
+    private RHEAPlayer player(int threads, boolean useMAST, long seed) {
+        return player(threads, useMAST, false, seed);
+    }
+
+    private RHEAPlayer player(int threads, boolean useMAST, boolean closedLoop, long seed) {
+        RHEAParams params = new RHEAParams();
+        params.budgetType = PlayerConstants.BUDGET_ITERATIONS;
+        params.budget = 10;
+        params.horizon = 6;
+        params.threads = threads;
+        params.useMAST = useMAST;
+        params.closedLoop = closedLoop;
+        params.setRandomSeed(seed);
+        return new RHEAPlayer(params);
+    }
+
+    private Game play(GameType gameType, RHEAPlayer rhea, long seed) {
+        Game game = gameType.createGameInstance(2, seed);
+        List<AbstractPlayer> players = Arrays.asList(rhea, new RandomPlayer(new Random(seed)));
+        game.reset(players, seed);
+        game.run();
+        return game;
+    }
+
+    @Test
+    public void parallelGamesAreLegalAndReproducible() {
+        for (GameType gameType : new GameType[]{GameType.TicTacToe, GameType.LoveLetter}) {
+            for (boolean useMAST : new boolean[]{false, true}) {
+                Game first = play(gameType, player(3, useMAST, 5), 5);
+                Game second = play(gameType, player(3, useMAST, 5), 5);
+                assertFalse(first.getGameState().isNotTerminal());
+                if (useMAST) {
+                    // MAST samples from a HashMap of actions, whose order depends on component IDs, and these differ
+                    // between game instances, so only the statistics are checked
+                    assertFalse(((RHEAPlayer) first.getPlayers().get(0)).MASTStatistics.get(0).isEmpty());
+                } else {
+                    assertEquals(first.getGameState().getHistoryAsText(), second.getGameState().getHistoryAsText());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void budgetIsAddedUpOverThreads() {
+        RHEAPlayer sequential = player(1, false, 2);
+        RHEAPlayer parallel = player(4, false, 2);
+        for (RHEAPlayer rhea : new RHEAPlayer[]{sequential, parallel}) {
+            Game game = GameType.Dominion.createGameInstance(2, 2);
+            game.reset(Arrays.asList(rhea, new RandomPlayer(new Random(2))), 2);
+            AbstractGameState state = game.getGameState();
+            AbstractForwardModel fm = game.getForwardModel();
+            List<AbstractAction> actions = fm.computeAvailableActions(state);
+            Random rnd = new Random(0);
+            while (state.getCurrentPlayer() != 0 || actions.size() < 2) {
+                fm.next(state, actions.get(rnd.nextInt(actions.size())));
+                actions = fm.computeAvailableActions(state);
+            }
+            rhea.getAction(state.copy(0), actions);
+            assertEquals(10, rhea.numIters);
+            assertEquals(10, rhea.population.size());
+        }
+        // the same work is done, so the counts are about the same (but not equal, as the random numbers differ)
+        assertEquals(sequential.fmCalls, parallel.fmCalls, sequential.fmCalls * 0.25);
+        assertEquals(sequential.copyCalls, parallel.copyCalls, sequential.copyCalls * 0.25);
+    }
+
+    @Test
+    public void closedLoopGamesAreLegalAndReproducible() {
+        for (GameType gameType : new GameType[]{GameType.TicTacToe, GameType.Connect4Bitboard, GameType.Dominion}) {
+            Game first = play(gameType, player(3, false, true, 6), 6);
+            Game second = play(gameType, player(3, false, true, 6), 6);
+            assertFalse(first.getGameState().isNotTerminal());
+            if (gameType != GameType.Dominion)  // whose history text includes component IDs
+                assertEquals(first.getGameState().getHistoryAsText(), second.getGameState().getHistoryAsText());
+        }
+    }
+
+    @Test
+    public void closedLoopStatesAreOnlyReadByTheThreads() {
+        RHEAPlayer rhea = player(3, false, true, 7);
+        Game game = GameType.Connect4Bitboard.createGameInstance(2, 7);
+        game.reset(Arrays.asList(rhea, new RandomPlayer(new Random(7))), 7);
+        AbstractGameState state = game.getGameState();
+        AbstractForwardModel fm = game.getForwardModel();
+        for (int move = 0; move < 3; move++)
+            fm.next(state, fm.computeAvailableActions(state).get(move));
+        rhea.getAction(state.copy(0), fm.computeAvailableActions(state));
+
+        // the actions of every stored state were computed before it could be shared, so there is nothing left for
+        // a thread to compute (or cache) in a state that another thread may be using
+        AbstractGameState root = rhea.population.get(0).gameStates[0];
+        for (RHEAIndividual individual : rhea.population) {
+            assertSame(root, individual.gameStates[0]);
+            for (int i = 0; i < individual.length; i++) {
+                assertNotNull(individual.availableActions[i]);
+                assertEquals(fm.computeAvailableActions(individual.gameStates[i]), individual.availableActions[i]);
+            }
+            for (int i = 1; i <= individual.length; i++)
+                assertEquals(individual.gameStates[i].getGameScore(0), individual.stateScores[i], 0.0);
+        }
+    }
+
+    @Test
+    public void parallelPopulationStopsWhenTheBudgetIsUsed() {
+        RHEAPlayer rhea = player(2, false, 8);
+        RHEAParams params = rhea.getParameters();
+        params.budgetType = PlayerConstants.BUDGET_FM_CALLS;
+        params.populationSize = 40;
+        params.shiftLeft = true;
+        Game game = GameType.Connect4Bitboard.createGameInstance(2, 8);
+        game.reset(Arrays.asList(rhea, new RandomPlayer(new Random(8))), 8);
+        AbstractGameState state = game.getGameState();
+        AbstractForwardModel fm = game.getForwardModel();
+
+        // the first individuals are created whatever the budget, and then it is checked after each one per thread
+        params.budget = 20;
+        rhea.getAction(state.copy(0), fm.computeAvailableActions(state));
+        assertTrue(rhea.population.size() >= params.threads);
+        assertTrue(rhea.population.size() < params.populationSize);
+        assertEquals(0, rhea.population.size() % params.threads);
+
+        // and likewise when the population is shifted along
+        params.budget = 100000;
+        rhea.getAction(state.copy(0), fm.computeAvailableActions(state));
+        assertEquals(params.populationSize, rhea.population.size());
+        params.budget = 20;
+        rhea.getAction(state.copy(0), fm.computeAvailableActions(state));
+        long shifted = rhea.population.stream().filter(i -> i.value != Double.NEGATIVE_INFINITY).count();
+        assertTrue(shifted >= params.threads);
+        assertTrue(shifted < params.populationSize);
+    }
+}
@@ -0,0 +1,131 @@
+package players.solver;
+
+import core.AbstractForwardModel;
+import core.AbstractGameState;
+import core.AbstractPlayer;
+import core.CoreConstants;
+import core.Game;
+import core.actions.AbstractAction;
+import games.GameType;
+import games.connect4.Connect4GameParameters;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import players.simple.RandomPlayer;
+
+import java.io.File;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class GameSolverTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Game connect4(GameType gameType, int gridSize, int winCount) {
+        Connect4GameParameters params = new Connect4GameParameters();
+        params.setParameterValue("gridSize", gridSize);
+        params.setParameterValue("winCount", winCount);
+        return gameType.createGameInstance(2, 42, params);
+    }
+
+    /**
+     * Plays one game between the two players, and returns the results.
+     */
+    private CoreConstants.GameResult[] play(Game game, AbstractPlayer p0, AbstractPlayer p1) {
+        AbstractGameState state = game.getGameState();
+        AbstractForwardModel fm = game.getForwardModel();
+        AbstractPlayer[] players = {p0, p1};
+        for (AbstractPlayer p : players) p.setForwardModel(fm);
+        while (state.isNotTerminal()) {
+            AbstractPlayer player = players[state.getCurrentPlayer()];
+            List<AbstractAction> actions = fm.computeAvailableActions(state);
+            fm.next(state, player._getAction(state.copy(), actions));
+        }
+        return state.getPlayerResults();
+    }
+
+    @Test
+    public void ticTacToeIsADraw() {
+        Game game = GameType.TicTacToe.createGameInstance(2, 42);
+        GameSolver solver = new GameSolver(new GridSolverKey());
+        assertEquals(0, solver.solve(game.getGameState(), game.getForwardModel(), 0));
+        assertEquals(0, solver.solve(game.getGameState(), game.getForwardModel(), 1));
+        // every legal opening keeps the draw
+        assertEquals(9, solver.bestActions(game.getGameState(), game.getForwardModel(),
+                game.getForwardModel().computeAvailableActions(game.getGameState())).size());
+    }
+
+    @Test
+    public void connect3OnSmallBoardIsAFirstPlayerWin() {
+        for (GameType gameType : new GameType[]{GameType.Connect4, GameType.Connect4Bitboard}) {
+            Game game = connect4(gameType, 4, 3);
+            GameSolver solver = new GameSolver(new GridSolverKey());
+            assertEquals(1, solver.solve(game.getGameState(), game.getForwardModel(), 0));
+            assertEquals(-1, solver.solve(game.getGameState(), game.getForwardModel(), 1));
+        }
+    }
+
+    @Test
+    public void solverPlayerNeverLoses() {
+        GameSolver solver = new GameSolver(new GridSolverKey());
+        Random rnd = new Random(42);
+        for (int i = 0; i < 20; i++) {
+            Game game = GameType.TicTacToe.createGameInstance(2, i);
+            SolverPlayer solverPlayer = new SolverPlayer(solver, new Random(i));
+            RandomPlayer randomPlayer = new RandomPlayer(new Random(rnd.nextInt()));
+            int solverId = i % 2;
+            CoreConstants.GameResult[] results = solverId == 0 ?
+                    play(game, solverPlayer, randomPlayer) : play(game, randomPlayer, solverPlayer);
+            assertNotEquals(CoreConstants.GameResult.LOSE_GAME, results[solverId]);
+        }
+        // and perfect play on both sides is a draw
+        Game game = GameType.TicTacToe.createGameInstance(2, 42);
+        CoreConstants.GameResult[] results = play(game, new SolverPlayer(solver, new Random(1)), new SolverPlayer(solver, new Random(2)));
+        assertEquals(CoreConstants.GameResult.DRAW_GAME, results[0]);
+        assertEquals(CoreConstants.GameResult.DRAW_GAME, results[1]);
+    }
+
+    @Test
+    public void heuristicGivesExactValues() {
+        Game game = connect4(GameType.Connect4Bitboard, 4, 3);
+        AbstractGameState state = game.getGameState();
+        AbstractForwardModel fm = game.getForwardModel();
+        SolverHeuristic heuristic = new SolverHeuristic();
+        assertEquals(1.0, heuristic.evaluateState(state, 0), 0.0);
+        assertEquals(-1.0, heuristic.evaluateState(state, 1), 0.0);
+
+        // after any move by player 0 that keeps the win, player 1 is still lost
+        List<AbstractAction> best = heuristic.getSolver().bestActions(state, fm, fm.computeAvailableActions(state));
+        fm.next(state, best.get(0));
+        assertEquals(1, state.getCurrentPlayer());
+        assertEquals(-1.0, heuristic.evaluateState(state, 1), 0.0);
+        assertEquals(1.0, heuristic.evaluateState(state, 0), 0.0);
+    }
+
+    @Test
+    public void savedTableIsReused() {
+        Game game = GameType.TicTacToe.createGameInstance(2, 42);
+        GameSolver solver = new GameSolver(new GridSolverKey());
+        solver.solve(game.getGameState(), game.getForwardModel(), 0);
+        String file = new File(folder.getRoot(), "ttt.tbl").getPath();
+        solver.save(file);
+
+        GameSolver loaded = new GameSolver(new GridSolverKey(), file);
+        assertEquals(solver.getTable().size(), loaded.getTable().size());
+        assertEquals(solver.getTable().getId(), loaded.getTable().getId());
+        assertEquals(0, loaded.solve(game.getGameState(), game.getForwardModel(), 0));
+        assertEquals(0, loaded.getNodesSearched());
+
+        // a table solved for other rules is not used
+        Game other = connect4(GameType.Connect4, 4, 3);
+        try {
+            loaded.solve(other.getGameState(), other.getForwardModel(), 0);
+            fail("Expected the table to be rejected for a different game");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package utilities;
+
+import core.AbstractGameState;
+import core.Game;
+import core.actions.AbstractAction;
+import core.actions.SetGridValueAction;
+import core.components.Card;
+import core.components.Deck;
+import games.GameType;
+import org.junit.Test;
+import players.simple.RandomPlayer;
+
+import java.util.*;
+
+import static core.CoreConstants.VisibilityMode.VISIBLE_TO_ALL;
+import static org.junit.Assert.*;
+
+public class SplitMixRandomTest {
+
+    @Test
+    public void sameSeedGivesSameNumbers() {
+        SplitMixRandom a = new SplitMixRandom(42);
+        SplitMixRandom b = new SplitMixRandom(42);
+        for (int i = 0; i < 100; i++)
+            assertEquals(a.nextLong(), b.nextLong());
+        b.setSeed(42);
+        SplitMixRandom c = new SplitMixRandom(42);
+        for (int i = 0; i < 100; i++)
+            assertEquals(c.nextInt(17), b.nextInt(17));
+        assertNotEquals(new SplitMixRandom(43).nextLong(), new SplitMixRandom(42).nextLong());
+    }
+
+    @Test
+    public void splitDoesNotChangeTheParentStream() {
+        SplitMixRandom parent = new SplitMixRandom(7);
+        SplitMixRandom reference = new SplitMixRandom(7);
+        Random first = parent.split();
+        Random second = parent.split();
+        for (int i = 0; i < 100; i++)
+            assertEquals(reference.nextLong(), parent.nextLong());
+        assertNotEquals(first.nextLong(), second.nextLong());
+
+        // and the children only depend on the seed and the number of splits
+        SplitMixRandom other = new SplitMixRandom(7);
+        other.nextLong();
+        assertEquals(new SplitMixRandom(7).split().nextLong(), other.split().nextLong());
+    }
+
+    @Test
+    public void boundedIntegersAreInRangeAndUniform() {
+        SplitMixRandom rnd = new SplitMixRandom(1);
+        int bound = 7;
+        int n = 70000;
+        int[] counts = new int[bound];
+        for (int i = 0; i < n; i++)
+            counts[rnd.nextInt(bound)]++;
+        double chiSquared = 0.0;
+        for (int count : counts) {
+            double expected = (double) n / bound;
+            chiSquared += (count - expected) * (count - expected) / expected;
+        }
+        // the 99.9% point of chi-squared with 6 degrees of freedom
+        assertTrue(chiSquared < 22.46);
+        for (int i = 0; i < 1000; i++) {
+            double d = rnd.nextDouble();
+            assertTrue(d >= 0.0 && d < 1.0);
+            assertEquals(0, rnd.nextInt(1));
+        }
+        try {
+            rnd.nextInt(0);
+            fail("Expected a bound of zero to be rejected");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void deckShuffleMatchesCollectionsShuffle() {
+        Deck<Card> deck = new Deck<>("test", VISIBLE_TO_ALL);
+        List<Card> cards = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            Card c = new Card("c" + i);
+            deck.add(c);
+            cards.add(0, c);
+        }
+        deck.shuffle(new Random(3));
+        Collections.shuffle(cards, new Random(3));
+        assertEquals(cards, deck.getComponents());
+
+        deck.shuffle(2, 9, new Random(4));
+        Collections.shuffle(cards.subList(2, 9), new Random(4));
+        assertEquals(cards, deck.getComponents());
+    }
+
+    @Test
+    public void playerCopiesAreReproducibleAndLeaveTheGameStreamAlone() {
+        Game first = GameType.LoveLetter.createGameInstance(2, 42);
+        Game second = GameType.LoveLetter.createGameInstance(2, 42);
+        AbstractGameState a = first.getGameState();
+        AbstractGameState b = second.getGameState();
+
+        AbstractGameState copyA = a.copy(0);
+        AbstractGameState copyB = b.copy(0);
+        b.copy(1);
+        assertNotSame(a.getRnd(), copyA.getRnd());
+        for (int i = 0; i < 10; i++)
+            assertEquals(copyA.getRnd().nextLong(), copyB.getRnd().nextLong());
+        // b was copied once more, but its own numbers are the same as a's
+        for (int i = 0; i < 10; i++)
+            assertEquals(a.getRnd().nextLong(), b.getRnd().nextLong());
+        assertSame(a.getRnd(), a.copy().getRnd());
+    }
+
+    @Test
+    public void namingAPlayerKeepsItsGenerator() {
+        List<AbstractAction> actions = new ArrayList<>();
+        for (int i = 0; i < 10; i++)
+            actions.add(new SetGridValueAction<>(0, i, 0, null));
+        RandomPlayer player = new RandomPlayer(new Random(42));
+        player.setName("Named");
+        Random reference = new Random(42);
+        for (int i = 0; i < 20; i++)
+            assertSame(actions.get(reference.nextInt(actions.size())), player._getAction(null, actions));
+    }
+}